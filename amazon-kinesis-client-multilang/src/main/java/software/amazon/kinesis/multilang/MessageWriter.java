@@ -14,73 +14,99 @@
  */
 package software.amazon.kinesis.multilang;
 
-import java.io.BufferedWriter;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.kinesis.lifecycle.events.InitializationInput;
 import software.amazon.kinesis.lifecycle.events.LeaseLostInput;
 import software.amazon.kinesis.lifecycle.events.ProcessRecordsInput;
 import software.amazon.kinesis.lifecycle.events.ShardEndedInput;
+import software.amazon.kinesis.multilang.config.WireProtocol;
 import software.amazon.kinesis.multilang.messages.CheckpointMessage;
 import software.amazon.kinesis.multilang.messages.InitializeMessage;
+import software.amazon.kinesis.multilang.messages.JsonFriendlyRecord;
 import software.amazon.kinesis.multilang.messages.LeaseLostMessage;
 import software.amazon.kinesis.multilang.messages.Message;
 import software.amazon.kinesis.multilang.messages.ProcessRecordsMessage;
 import software.amazon.kinesis.multilang.messages.ShardEndedMessage;
 import software.amazon.kinesis.multilang.messages.ShutdownRequestedMessage;
+import software.amazon.kinesis.retrieval.KinesisClientRecord;
 
 /**
  * Defines methods for writing {@link Message} objects to the child process's STDIN.
+ *
+ * Messages are written with the JSON line protocol until {@link #enableBinaryFraming()} is called, after which they
+ * are written as length-prefixed frames as described in {@link WireProtocol#BINARY}.
  */
 @Slf4j
 class MessageWriter {
-    private BufferedWriter writer;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(Charset.defaultCharset());
+
+    private DataOutputStream stream;
 
     private volatile boolean open = true;
 
+    private volatile boolean binaryFraming = false;
+
+    /**
+     * Whether the stream is shared with the writers of other shards, in which case every message carries the shard id.
+     */
+    private boolean multiplexed = false;
+
     private String shardId;
 
     private ObjectMapper objectMapper;
 
     private ExecutorService executorService;
 
+    /**
+     * Writes a single message to the subprocess and returns the number of bytes that were written.
+     */
+    private interface MessageOutput {
+        long writeTo(DataOutputStream stream) throws IOException;
+    }
+
     /**
      * Use initialize method after construction.
      */
     MessageWriter() {}
 
     /**
-     * Writes the message then writes the line separator provided by the system. Flushes each message to guarantee it
-     * is delivered as soon as possible to the subprocess.
+     * Writes the message to the subprocess. Flushes each message to guarantee it is delivered as soon as possible to
+     * the subprocess.
      *
-     * @param message A message to be written to the subprocess.
+     * @param action The action of the message, used for logging.
+     * @param messageOutput Writes the encoded message.
      * @return
-     * @throws IOException
      */
-    private Future<Boolean> writeMessageToOutput(final String message) throws IOException {
+    private Future<Boolean> writeMessageToOutput(final String action, final MessageOutput messageOutput) {
         Callable<Boolean> writeMessageToOutputTask = new Callable<Boolean>() {
             public Boolean call() throws Exception {
                 try {
+                    long messageSize;
                     /*
                      * If the message size exceeds the size of the buffer, the write won't be guaranteed to be atomic,
-                     * so we synchronize on the writer to avoid interlaced lines from different calls to this method.
+                     * so we synchronize on the stream to avoid interlaced messages from different calls to this
+                     * method.
                      */
-                    synchronized (writer) {
-                        writer.write(message, 0, message.length());
-                        writer.write(
-                                System.lineSeparator(),
-                                0,
-                                System.lineSeparator().length());
-                        writer.flush();
+                    synchronized (stream) {
+                        messageSize = messageOutput.writeTo(stream);
+                        stream.flush();
                     }
-                    log.info("Message size == {} bytes for shard {}", message.getBytes().length, shardId);
+                    log.info("Message size == {} bytes for shard {}", messageSize, shardId);
                 } catch (IOException e) {
                     open = false;
                 }
@@ -91,14 +117,15 @@ class MessageWriter {
         if (open) {
             return this.executorService.submit(writeMessageToOutputTask);
         } else {
-            String errorMessage = "Cannot write message " + message + " because writer is closed for shard " + shardId;
+            String errorMessage = "Cannot write " + action + " message because writer is closed for shard " + shardId;
             log.info(errorMessage);
             throw new IllegalStateException(errorMessage);
         }
     }
 
     /**
-     * Converts the message to a JSON string and writes it to the subprocess.
+     * Encodes the message and writes it to the subprocess, as a line of JSON text or as a frame without payload
+     * depending on the wire protocol in use.
      *
      * @param message A message to be written to the subprocess.
      * @return
@@ -106,8 +133,17 @@ class MessageWriter {
     private Future<Boolean> writeMessage(Message message) {
         log.info("Writing {} to child process for shard {}", message.getClass().getSimpleName(), shardId);
         try {
-            String jsonText = objectMapper.writeValueAsString(message);
-            return writeMessageToOutput(jsonText);
+            final String action = message.getClass().getSimpleName();
+            if (binaryFraming) {
+                final byte[] header = objectMapper.writeValueAsBytes(message);
+                return writeMessageToOutput(action, s -> writeFrameHeader(s, header, 0));
+            }
+            final byte[] line = toJson(message).getBytes(Charset.defaultCharset());
+            return writeMessageToOutput(action, s -> {
+                s.write(line);
+                s.write(LINE_SEPARATOR);
+                return line.length + LINE_SEPARATOR.length;
+            });
         } catch (IOException e) {
             String errorMessage = String.format(
                     "Encountered I/O error while writing %s action to subprocess",
@@ -117,6 +153,99 @@ class MessageWriter {
         }
     }
 
+    private String toJson(Message message) throws IOException {
+        if (!multiplexed) {
+            return objectMapper.writeValueAsString(message);
+        }
+        final ObjectNode node = objectMapper.valueToTree(message);
+        node.put("shardId", shardId);
+        return objectMapper.writeValueAsString(node);
+    }
+
+    /**
+     * Writes a processRecords frame. Only the record metadata is encoded into the header; the record data are written
+     * from their buffers straight to the stream.
+     *
+     * @param processRecordsInput the records, and associated metadata to be processed.
+     * @param batchId the id of the batch, or null if batches are not pipelined
+     * @return
+     */
+    private Future<Boolean> writeProcessRecordsFrame(ProcessRecordsInput processRecordsInput, Long batchId) {
+        log.info("Writing {} to child process for shard {}", ProcessRecordsMessage.class.getSimpleName(), shardId);
+        final List<KinesisClientRecord> records = processRecordsInput.records();
+        final ObjectNode header = objectMapper.createObjectNode();
+        header.put("action", ProcessRecordsMessage.ACTION);
+        final ArrayNode recordNodes = header.putArray("records");
+        long payloadLength = 0;
+        for (KinesisClientRecord record : records) {
+            final int dataLength = record.data() == null ? 0 : record.data().remaining();
+            payloadLength += dataLength;
+            final ObjectNode recordNode = recordNodes.addObject();
+            recordNode.put("dataLength", dataLength);
+            recordNode.put("partitionKey", record.partitionKey());
+            recordNode.put("sequenceNumber", record.sequenceNumber());
+            recordNode.put(
+                    "approximateArrivalTimestamp",
+                    record.approximateArrivalTimestamp() == null
+                            ? null
+                            : record.approximateArrivalTimestamp().toEpochMilli());
+            recordNode.put("subSequenceNumber", record.subSequenceNumber());
+            recordNode.put("action", JsonFriendlyRecord.ACTION);
+        }
+        header.put("millisBehindLatest", processRecordsInput.millisBehindLatest());
+        if (batchId != null) {
+            header.put("batchId", batchId);
+        }
+        if (payloadLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "Record data of " + payloadLength + " bytes does not fit in a single frame for shard " + shardId);
+        }
+        final byte[] headerBytes;
+        try {
+            headerBytes = objectMapper.writeValueAsBytes(header);
+        } catch (IOException e) {
+            String errorMessage = "Encountered I/O error while writing ProcessRecordsMessage action to subprocess";
+            log.error(errorMessage, e);
+            throw new RuntimeException(errorMessage, e);
+        }
+        final int framePayloadLength = (int) payloadLength;
+        return writeMessageToOutput(ProcessRecordsMessage.class.getSimpleName(), s -> {
+            long frameSize = writeFrameHeader(s, headerBytes, framePayloadLength);
+            for (KinesisClientRecord record : records) {
+                if (record.data() != null) {
+                    writeData(s, record.data());
+                }
+            }
+            return frameSize + framePayloadLength;
+        });
+    }
+
+    /**
+     * Writes everything of a frame but its payload.
+     *
+     * @return the number of bytes written
+     */
+    private static long writeFrameHeader(DataOutputStream s, byte[] header, int payloadLength) throws IOException {
+        s.writeInt(header.length);
+        s.write(header);
+        s.writeInt(payloadLength);
+        return 2 * Integer.BYTES + header.length;
+    }
+
+    private static void writeData(DataOutputStream s, ByteBuffer data) throws IOException {
+        if (data.hasArray()) {
+            s.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+        } else {
+            final ByteBuffer source = data.duplicate();
+            final byte[] chunk = new byte[Math.min(source.remaining(), BUFFER_SIZE)];
+            while (source.hasRemaining()) {
+                final int length = Math.min(source.remaining(), chunk.length);
+                source.get(chunk, 0, length);
+                s.write(chunk, 0, length);
+            }
+        }
+    }
+
     /**
      * Writes an {@link InitializeMessage} to the subprocess.
      *
@@ -127,6 +256,17 @@ class MessageWriter {
         return writeMessage(new InitializeMessage(initializationInput));
     }
 
+    /**
+     * Writes an {@link InitializeMessage} to the subprocess that may carry protocol offers. The message itself is
+     * always written with the line protocol.
+     *
+     * @param initializeMessage
+     *            the initialize message, including any protocol offers
+     */
+    Future<Boolean> writeInitializeMessage(InitializeMessage initializeMessage) {
+        return writeMessage(initializeMessage);
+    }
+
     /**
      * Writes a {@link ProcessRecordsMessage} message to the subprocess.
      *
@@ -134,7 +274,24 @@ class MessageWriter {
      *            the records, and associated metadata to be processed.
      */
     Future<Boolean> writeProcessRecordsMessage(ProcessRecordsInput processRecordsInput) {
-        return writeMessage(new ProcessRecordsMessage(processRecordsInput));
+        return writeProcessRecordsMessage(processRecordsInput, null);
+    }
+
+    /**
+     * Writes a {@link ProcessRecordsMessage} message with a batch id to the subprocess.
+     *
+     * @param processRecordsInput
+     *            the records, and associated metadata to be processed.
+     * @param batchId
+     *            the id of the batch, or null if batches are not pipelined
+     */
+    Future<Boolean> writeProcessRecordsMessage(ProcessRecordsInput processRecordsInput, Long batchId) {
+        if (binaryFraming) {
+            return writeProcessRecordsFrame(processRecordsInput, batchId);
+        }
+        ProcessRecordsMessage processRecordsMessage = new ProcessRecordsMessage(processRecordsInput);
+        processRecordsMessage.setBatchId(batchId);
+        return writeMessage(processRecordsMessage);
     }
 
     /**
@@ -188,13 +345,31 @@ class MessageWriter {
      */
     void close() throws IOException {
         open = false;
-        this.writer.close();
+        if (!multiplexed) {
+            this.stream.close();
+        }
     }
 
     boolean isOpen() {
         return this.open;
     }
 
+    /**
+     * Switches all following messages to the {@link WireProtocol#BINARY} framing. Called once the subprocess has
+     * accepted the binary protocol in response to the initialize message.
+     */
+    void enableBinaryFraming() {
+        this.binaryFraming = true;
+    }
+
+    boolean isBinaryFraming() {
+        return this.binaryFraming;
+    }
+
+    boolean isMultiplexed() {
+        return this.multiplexed;
+    }
+
     /**
      * An initialization method allows us to delay setting the attributes of this class. Some of the attributes,
      * stream and shardId, are not known to the {@link MultiLangRecordProcessorFactory} when it constructs a
@@ -210,19 +385,26 @@ class MessageWriter {
      */
     MessageWriter initialize(
             OutputStream stream, String shardId, ObjectMapper objectMapper, ExecutorService executorService) {
-        return this.initialize(
-                new BufferedWriter(new OutputStreamWriter(stream)), shardId, objectMapper, executorService);
+        this.stream = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+        this.shardId = shardId;
+        this.objectMapper = objectMapper;
+        this.executorService = executorService;
+        return this;
     }
 
     /**
-     * @param writer Used to write messages to the subprocess.
+     * Initializes a writer that shares the STDIN of a pooled child process with the writers of other shards. Every
+     * message is written as a JSON line that carries the shard id, and closing this writer leaves the stream open.
+     *
+     * @param stream The STDIN of the child process, shared by all writers for that process.
      * @param shardId The shard we're working on.
      * @param objectMapper The object mapper to encode messages.
      * @param executorService An executor service to run tasks in.
      */
-    MessageWriter initialize(
-            BufferedWriter writer, String shardId, ObjectMapper objectMapper, ExecutorService executorService) {
-        this.writer = writer;
+    MessageWriter initializeMultiplexed(
+            DataOutputStream stream, String shardId, ObjectMapper objectMapper, ExecutorService executorService) {
+        this.stream = stream;
+        this.multiplexed = true;
         this.shardId = shardId;
         this.objectMapper = objectMapper;
         this.executorService = executorService;
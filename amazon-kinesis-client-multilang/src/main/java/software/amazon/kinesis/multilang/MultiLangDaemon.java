@@ -186,6 +186,9 @@ public class MultiLangDaemon {
             } catch (InterruptedException | ExecutionException | TimeoutException e) {
                 log.error("Encountered an error during shutdown.", e);
             }
+            if (config.getRecordProcessorFactory() != null) {
+                config.getRecordProcessorFactory().shutdown();
+            }
         }));
     }
 
@@ -26,6 +26,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.kinesis.multilang.config.KinesisClientLibConfigurator;
@@ -43,6 +44,7 @@ public class MultiLangDaemonConfig {
     private static final String PROP_EXECUTABLE_NAME = "executableName";
     private static final String PROP_PROCESSING_LANGUAGE = "processingLanguage";
     private static final String PROP_MAX_ACTIVE_THREADS = "maxActiveThreads";
+    private static final String PROP_PROCESS_POOL_SIZE = "processPoolSize";
 
     private final MultiLangDaemonConfiguration multiLangDaemonConfiguration;
 
@@ -107,8 +109,12 @@ public class MultiLangDaemonConfig {
 
         multiLangDaemonConfiguration = configurator.getConfiguration(properties);
         executorService = buildExecutorService(properties);
-        recordProcessorFactory =
-                new MultiLangRecordProcessorFactory(executableName, executorService, multiLangDaemonConfiguration);
+        recordProcessorFactory = new MultiLangRecordProcessorFactory(
+                executableName,
+                executorService,
+                new ObjectMapper(),
+                multiLangDaemonConfiguration,
+                getProcessPoolSize(properties));
 
         log.info(
                 "Running {} to process stream {} with executable {}",
@@ -178,6 +184,14 @@ public class MultiLangDaemonConfig {
         return Integer.parseInt(properties.getProperty(PROP_MAX_ACTIVE_THREADS, "0"));
     }
 
+    private static int getProcessPoolSize(Properties properties) {
+        int processPoolSize = Integer.parseInt(properties.getProperty(PROP_PROCESS_POOL_SIZE, "0"));
+        if (processPoolSize > 0) {
+            log.info("Sharing a pool of {} child processes between all record processors.", processPoolSize);
+        }
+        return processPoolSize;
+    }
+
     private static ExecutorService buildExecutorService(Properties properties) {
         int maxActiveThreads = getMaxActiveThreads(properties);
         ThreadFactoryBuilder builder = new ThreadFactoryBuilder().setNameFormat("multi-lang-daemon-%04d");
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.multilang;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.kinesis.multilang.messages.Message;
+
+/**
+ * A fixed number of long-lived child processes that each serve many shards.
+ *
+ * <p>
+ * Every shard is attached to the child process serving the fewest shards. All messages on the STDIN and STDOUT of a
+ * pooled child process are JSON lines that carry a {@code shardId} field, which the child process uses to tell the
+ * shards apart, and which the pool uses to route the messages of the child process to the reader of each shard. Lines
+ * on STDOUT without a shard id are logged and skipped.
+ * </p>
+ *
+ * <p>
+ * Child processes are started on demand and outlive lease changes. If a child process exits, the shards attached to
+ * it see their reads and writes fail, and the next shard attached to its slot starts a replacement. Writes of all
+ * shards of a child process go through the same pipe, so a child that falls behind blocks the shards it serves once
+ * the pipe is full, without affecting the other child processes.
+ * </p>
+ */
+@Slf4j
+class MultiLangProcessPool {
+    private static final long SHUTDOWN_WAIT_SECONDS = 5L;
+
+    private final String[] commandArray;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executorService;
+    private final ChildProcess[] children;
+
+    private boolean shutdown = false;
+
+    /**
+     * @param commandArray The command that starts a child process.
+     * @param size The number of child processes.
+     * @param objectMapper The object mapper to encode and decode messages.
+     * @param executorService An executor service to run tasks in.
+     */
+    MultiLangProcessPool(String[] commandArray, int size, ObjectMapper objectMapper, ExecutorService executorService) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Process pool size must be positive, but was " + size);
+        }
+        this.commandArray = commandArray;
+        this.objectMapper = objectMapper;
+        this.executorService = executorService;
+        this.children = new ChildProcess[size];
+    }
+
+    /**
+     * Attaches a shard to the child process serving the fewest shards, starting a child process if that slot has
+     * none or its child process exited.
+     *
+     * @param shardId The shard to attach.
+     * @return The channel the shard uses to talk to its child process.
+     * @throws IOException If a child process can't be started.
+     */
+    synchronized ShardChannel attach(String shardId) throws IOException {
+        if (shutdown) {
+            throw new IllegalStateException("Process pool is shut down, can't attach shard " + shardId);
+        }
+        int slot = 0;
+        for (int i = 0; i < children.length; i++) {
+            if (load(i) < load(slot)) {
+                slot = i;
+            }
+        }
+        if (children[slot] == null || !children[slot].isAlive()) {
+            children[slot] = new ChildProcess(slot, startProcess());
+            children[slot].start();
+        }
+        return children[slot].attach(shardId);
+    }
+
+    private int load(int slot) {
+        return children[slot] == null || !children[slot].isAlive() ? 0 : children[slot].inboxes.size();
+    }
+
+    /**
+     * Detaches a shard from its child process. The child process keeps running for the other shards.
+     *
+     * @param channel The channel returned when the shard was attached.
+     */
+    synchronized void detach(ShardChannel channel) {
+        try {
+            channel.messageWriter().close();
+        } catch (IOException e) {
+            log.error("Encountered exception while closing the writer for shard {}", channel.shardId(), e);
+        }
+        channel.childProcess.inboxes.remove(channel.shardId(), channel.inbox);
+    }
+
+    /**
+     * Closes the STDIN of every child process, and waits for them to exit.
+     */
+    synchronized void shutdown() {
+        shutdown = true;
+        for (ChildProcess child : children) {
+            if (child != null) {
+                child.shutdown();
+            }
+        }
+    }
+
+    /**
+     * The {@link ProcessBuilder} class is final so not easily mocked. We wrap the only interaction we have with it in
+     * this package level method to permit unit testing.
+     *
+     * @return The process started by the process builder
+     * @throws IOException If the process can't be started.
+     */
+    Process startProcess() throws IOException {
+        return new ProcessBuilder(commandArray).start();
+    }
+
+    /**
+     * The connection of one shard to its child process.
+     */
+    @Accessors(fluent = true)
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    static class ShardChannel {
+        @Getter
+        private final String shardId;
+
+        private final ChildProcess childProcess;
+        private final BlockingQueue<Message> inbox;
+
+        @Getter
+        private final MessageWriter messageWriter;
+
+        @Getter
+        private final MessageReader messageReader;
+
+        /**
+         * @return true if the child process serving this shard exited
+         */
+        boolean isBroken() {
+            return !childProcess.isAlive();
+        }
+    }
+
+    private class ChildProcess {
+        private final String name;
+        private final Process process;
+        private final DataOutputStream stdin;
+        private final Map<String, BlockingQueue<Message>> inboxes = new ConcurrentHashMap<>();
+        private volatile boolean alive = true;
+
+        ChildProcess(int slot, Process process) {
+            this.name = "pooled child process " + slot;
+            this.process = process;
+            this.stdin = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+        }
+
+        void start() {
+            executorService.submit(this::demultiplexSTDOUT);
+            executorService.submit(new DrainChildSTDERRTask()
+                    .initialize(process.getErrorStream(), name, "Reading STDERR for " + name));
+            log.info("Started {}", name);
+        }
+
+        boolean isAlive() {
+            return alive;
+        }
+
+        ShardChannel attach(String shardId) {
+            BlockingQueue<Message> inbox = new LinkedBlockingQueue<>();
+            if (inboxes.put(shardId, inbox) != null) {
+                log.warn("Shard {} was already attached to {}, replacing its previous channel", shardId, name);
+            }
+            MessageWriter messageWriter =
+                    new MessageWriter().initializeMultiplexed(stdin, shardId, objectMapper, executorService);
+            MessageReader messageReader = new MultiplexedMessageReader(shardId, inbox, this::isAlive, executorService);
+            log.info("Attached shard {} to {}, which now serves {} shards", shardId, name, inboxes.size());
+            return new ShardChannel(shardId, this, inbox, messageWriter, messageReader);
+        }
+
+        /**
+         * Reads the STDOUT of the child process until it is closed, and routes every message to the shard it names.
+         */
+        private void demultiplexSTDOUT() {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    route(line);
+                }
+            } catch (IOException e) {
+                log.error("Encountered an error while reading STDOUT of {}", name, e);
+            } finally {
+                alive = false;
+                log.warn("STDOUT of {} was closed, it no longer serves shards {}", name, inboxes.keySet());
+            }
+        }
+
+        private void route(String line) {
+            if (GetNextMessageTask.isEmptyLine(line)) {
+                return;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                if (!(node instanceof ObjectNode) || !node.hasNonNull("shardId")) {
+                    log.info("Skipping line without a shard id on STDOUT of {}: {}", name, line);
+                    return;
+                }
+                String shardId = ((ObjectNode) node).remove("shardId").asText();
+                Message message = objectMapper.treeToValue(node, Message.class);
+                BlockingQueue<Message> inbox = inboxes.get(shardId);
+                if (inbox == null) {
+                    log.warn("Skipping message for shard {}, which is not attached to {}: {}", shardId, name, line);
+                    return;
+                }
+                inbox.add(message);
+            } catch (IOException e) {
+                log.info("Skipping unexpected line on STDOUT of {}: {}", name, line);
+            }
+        }
+
+        void shutdown() {
+            try {
+                stdin.close();
+            } catch (IOException e) {
+                log.error("Encountered exception while closing STDIN of {}", name, e);
+            }
+            try {
+                if (!process.waitFor(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("{} did not exit after its STDIN was closed, destroying it", name);
+                    process.destroy();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroy();
+            }
+        }
+    }
+}
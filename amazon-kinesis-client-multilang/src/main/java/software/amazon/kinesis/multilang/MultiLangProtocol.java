@@ -14,12 +14,16 @@
  */
 package software.amazon.kinesis.multilang;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.kinesis.exceptions.InvalidStateException;
 import software.amazon.kinesis.lifecycle.events.InitializationInput;
@@ -27,6 +31,7 @@ import software.amazon.kinesis.lifecycle.events.LeaseLostInput;
 import software.amazon.kinesis.lifecycle.events.ProcessRecordsInput;
 import software.amazon.kinesis.lifecycle.events.ShardEndedInput;
 import software.amazon.kinesis.multilang.config.MultiLangDaemonConfiguration;
+import software.amazon.kinesis.multilang.config.WireProtocol;
 import software.amazon.kinesis.multilang.messages.CheckpointMessage;
 import software.amazon.kinesis.multilang.messages.InitializeMessage;
 import software.amazon.kinesis.multilang.messages.LeaseLostMessage;
@@ -36,6 +41,8 @@ import software.amazon.kinesis.multilang.messages.ShardEndedMessage;
 import software.amazon.kinesis.multilang.messages.ShutdownRequestedMessage;
 import software.amazon.kinesis.multilang.messages.StatusMessage;
 import software.amazon.kinesis.processor.RecordProcessorCheckpointer;
+import software.amazon.kinesis.retrieval.KinesisClientRecord;
+import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
 
 /**
  * An implementation of the multi language protocol.
@@ -51,6 +58,36 @@ class MultiLangProtocol {
 
     private MultiLangDaemonConfiguration configuration;
 
+    /**
+     * The number of processRecords messages that may be in flight, as agreed with the child process during
+     * initialization. A window of 1 sends one batch at a time and waits for its status before returning.
+     */
+    private int processRecordsWindow = 1;
+
+    private long nextBatchId = 0;
+
+    /**
+     * The last record delivered to the child process, used to resolve checkpoints without a sequence number while later
+     * batches are in flight.
+     */
+    private ExtendedSequenceNumber lastDeliveredRecord;
+
+    private final Deque<InFlightBatch> inFlightBatches = new ArrayDeque<>();
+
+    /**
+     * A processRecords message that was written to the child process and whose status has not been received yet.
+     */
+    @RequiredArgsConstructor
+    private static class InFlightBatch {
+        private final long batchId;
+        private final Future<Boolean> writeFuture;
+        private final RecordProcessorCheckpointer checkpointer;
+        /**
+         * The last record delivered up to and including this batch.
+         */
+        private final ExtendedSequenceNumber lastRecord;
+    }
+
     /**
      * Constructor.
      *
@@ -71,6 +108,7 @@ class MultiLangProtocol {
         this.initializationInput = initializationInput;
         this.configuration = configuration;
         this.timeoutInSeconds = Optional.ofNullable(configuration.getTimeoutInSeconds());
+        this.lastDeliveredRecord = initializationInput.extendedSequenceNumber();
     }
 
     /**
@@ -83,21 +121,163 @@ class MultiLangProtocol {
         /*
          * Call and response to child process.
          */
-        Future<Boolean> writeFuture = messageWriter.writeInitializeMessage(initializationInput);
-        return waitForStatusMessage(InitializeMessage.ACTION, null, writeFuture);
+        boolean offerBinary = false;
+        int offeredWindow = 1;
+        if (messageWriter.isMultiplexed()) {
+            /*
+             * The STDIN of a pooled child process is shared by many shards, so it has to stay on the line protocol,
+             * and batches are sent one at a time so that a batch can be sent again if the child process exits.
+             */
+            log.debug(
+                    "Not offering protocol extensions on the multiplexed channel for shard {}",
+                    initializationInput.shardId());
+        } else {
+            offerBinary = WireProtocol.BINARY == configuration.getWireProtocol();
+            offeredWindow = Optional.ofNullable(configuration.getMaxInFlightProcessRecords())
+                    .orElse(1);
+        }
+        if (!offerBinary && offeredWindow <= 1) {
+            Future<Boolean> writeFuture = messageWriter.writeInitializeMessage(initializationInput);
+            return waitForStatusMessage(InitializeMessage.ACTION, null, writeFuture);
+        }
+
+        /*
+         * The child process accepts an offer by echoing it in its status message. Children that don't support an
+         * offer ignore it, and keep receiving JSON lines one batch at a time.
+         */
+        InitializeMessage initializeMessage = new InitializeMessage(initializationInput);
+        if (offerBinary) {
+            initializeMessage.setWireProtocol(WireProtocol.BINARY.value());
+        }
+        if (offeredWindow > 1) {
+            initializeMessage.setMaxInFlightProcessRecords(offeredWindow);
+        }
+        Future<Boolean> writeFuture = messageWriter.writeInitializeMessage(initializeMessage);
+        Optional<StatusMessage> statusMessage = readStatusMessage(InitializeMessage.ACTION, null, null);
+        boolean statusWasCorrect = statusMessage
+                .map(m -> validateStatusMessage(m, InitializeMessage.ACTION))
+                .orElse(false);
+        boolean succeeded = waitForWrite(InitializeMessage.ACTION, writeFuture) && statusWasCorrect;
+        if (succeeded) {
+            if (offerBinary) {
+                acceptWireProtocol(statusMessage.get());
+            }
+            if (offeredWindow > 1) {
+                acceptProcessRecordsWindow(statusMessage.get(), offeredWindow);
+            }
+        }
+        return succeeded;
+    }
+
+    private void acceptWireProtocol(StatusMessage statusMessage) {
+        if (WireProtocol.BINARY.value().equals(statusMessage.getWireProtocol())) {
+            log.info("Child process accepted the binary wire protocol for shard {}", initializationInput.shardId());
+            messageWriter.enableBinaryFraming();
+        } else {
+            log.info(
+                    "Child process did not accept the binary wire protocol for shard {}, using the line protocol",
+                    initializationInput.shardId());
+        }
+    }
+
+    private void acceptProcessRecordsWindow(StatusMessage statusMessage, int offeredWindow) {
+        Integer acceptedWindow = statusMessage.getMaxInFlightProcessRecords();
+        if (acceptedWindow != null && acceptedWindow > 1) {
+            processRecordsWindow = Math.min(acceptedWindow, offeredWindow);
+            log.info(
+                    "Child process accepted {} in flight processRecords messages for shard {}",
+                    processRecordsWindow,
+                    initializationInput.shardId());
+        } else {
+            log.info(
+                    "Child process did not accept pipelined processRecords messages for shard {}",
+                    initializationInput.shardId());
+        }
     }
 
     /**
      * Writes a {@link ProcessRecordsMessage} to the child process's STDIN and waits for the child process to respond
      * with a {@link StatusMessage} on its STDOUT.
      *
+     * <p>
+     * If the child process accepted pipelined batches, each message carries a batch id, and this method only waits for
+     * the statuses of earlier batches until fewer than the agreed number of batches are in flight. The statuses must
+     * arrive in the order the batches were written.
+     * </p>
+     *
      * @param processRecordsInput
      *            The records, and associated metadata, to process.
      * @return Whether or not this operation succeeded.
      */
     boolean processRecords(ProcessRecordsInput processRecordsInput) {
-        Future<Boolean> writeFuture = messageWriter.writeProcessRecordsMessage(processRecordsInput);
-        return waitForStatusMessage(ProcessRecordsMessage.ACTION, processRecordsInput.checkpointer(), writeFuture);
+        if (processRecordsWindow <= 1) {
+            Future<Boolean> writeFuture = messageWriter.writeProcessRecordsMessage(processRecordsInput);
+            return waitForStatusMessage(ProcessRecordsMessage.ACTION, processRecordsInput.checkpointer(), writeFuture);
+        }
+
+        /*
+         * Writes run on the executor, so the previous batch has to be completely written before the next one is
+         * submitted to keep the batches in order on the child's STDIN.
+         */
+        InFlightBatch previousBatch = inFlightBatches.peekLast();
+        if (previousBatch != null && !waitForWrite(ProcessRecordsMessage.ACTION, previousBatch.writeFuture)) {
+            return false;
+        }
+
+        List<KinesisClientRecord> records = processRecordsInput.records();
+        if (records != null && !records.isEmpty()) {
+            KinesisClientRecord lastRecord = records.get(records.size() - 1);
+            lastDeliveredRecord =
+                    new ExtendedSequenceNumber(lastRecord.sequenceNumber(), lastRecord.subSequenceNumber());
+        }
+        long batchId = nextBatchId++;
+        Future<Boolean> writeFuture = messageWriter.writeProcessRecordsMessage(processRecordsInput, batchId);
+        inFlightBatches.add(
+                new InFlightBatch(batchId, writeFuture, processRecordsInput.checkpointer(), lastDeliveredRecord));
+
+        while (inFlightBatches.size() >= processRecordsWindow) {
+            if (!awaitOldestBatch()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits for the statuses of all in flight batches, so that messages written after this call are handled by the
+     * child process after all records have been processed.
+     *
+     * @return Whether or not all batches were processed successfully.
+     */
+    private boolean drainInFlightBatches() {
+        while (!inFlightBatches.isEmpty()) {
+            if (!awaitOldestBatch()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean awaitOldestBatch() {
+        InFlightBatch batch = inFlightBatches.poll();
+        Optional<StatusMessage> statusMessage =
+                readStatusMessage(ProcessRecordsMessage.ACTION, batch.checkpointer, batch.lastRecord);
+        boolean statusWasCorrect = statusMessage
+                .map(m -> validateStatusMessage(m, ProcessRecordsMessage.ACTION) && validateBatchId(m, batch.batchId))
+                .orElse(false);
+        return waitForWrite(ProcessRecordsMessage.ACTION, batch.writeFuture) && statusWasCorrect;
+    }
+
+    private boolean validateBatchId(StatusMessage statusMessage, long batchId) {
+        if (statusMessage.getBatchId() == null || statusMessage.getBatchId() != batchId) {
+            log.error(
+                    "Received status for batch {} while waiting for batch {} for shard {}",
+                    statusMessage.getBatchId(),
+                    batchId,
+                    initializationInput.shardId());
+            return false;
+        }
+        return true;
     }
 
     /**
@@ -108,6 +288,9 @@ class MultiLangProtocol {
      * @return true if the message was successfully writtem
      */
     boolean leaseLost(LeaseLostInput leaseLostInput) {
+        if (!drainInFlightBatches()) {
+            return false;
+        }
         return waitForStatusMessage(LeaseLostMessage.ACTION, null, messageWriter.writeLeaseLossMessage(leaseLostInput));
     }
 
@@ -117,6 +300,9 @@ class MultiLangProtocol {
      * @return
      */
     boolean shardEnded(ShardEndedInput shardEndedInput) {
+        if (!drainInFlightBatches()) {
+            return false;
+        }
         return waitForStatusMessage(
                 ShardEndedMessage.ACTION,
                 shardEndedInput.checkpointer(),
@@ -131,6 +317,9 @@ class MultiLangProtocol {
      * @return Whether or not this operation succeeded.
      */
     boolean shutdownRequested(RecordProcessorCheckpointer checkpointer) {
+        if (!drainInFlightBatches()) {
+            return false;
+        }
         Future<Boolean> writeFuture = messageWriter.writeShutdownRequestedMessage();
         return waitForStatusMessage(ShutdownRequestedMessage.ACTION, checkpointer, writeFuture);
     }
@@ -156,9 +345,21 @@ class MultiLangProtocol {
         boolean statusWasCorrect = waitForStatusMessage(action, checkpointer);
 
         // Examine whether or not we failed somewhere along the line.
+        return waitForWrite(action, writeFuture) && statusWasCorrect;
+    }
+
+    /**
+     * Waits for a message to be written to the child process.
+     *
+     * @param action
+     *            What action is being written.
+     * @param writeFuture
+     *            The writing task.
+     * @return Whether or not the writer is still open after the message was written.
+     */
+    private boolean waitForWrite(String action, Future<Boolean> writeFuture) {
         try {
-            boolean writerIsStillOpen = writeFuture.get();
-            return statusWasCorrect && writerIsStillOpen;
+            return writeFuture.get();
         } catch (InterruptedException e) {
             log.error("Interrupted while writing {} message for shard {}", action, initializationInput.shardId());
             return false;
@@ -178,6 +379,25 @@ class MultiLangProtocol {
      * @return Whether or not this operation succeeded.
      */
     boolean waitForStatusMessage(String action, RecordProcessorCheckpointer checkpointer) {
+        return readStatusMessage(action, checkpointer, null)
+                .map(statusMessage -> this.validateStatusMessage(statusMessage, action))
+                .orElse(false);
+    }
+
+    /**
+     * Reads messages from the child process until a {@link StatusMessage} is found, handling any
+     * {@link CheckpointMessage} on the way.
+     *
+     * @param action
+     *            What action is being waited on.
+     * @param checkpointer
+     *            the original process records request
+     * @param lastRecord
+     *            the last record delivered with the batch being waited on, if later batches may be in flight
+     * @return The status message, or empty if reading from the child process or checkpointing failed.
+     */
+    private Optional<StatusMessage> readStatusMessage(
+            String action, RecordProcessorCheckpointer checkpointer, ExtendedSequenceNumber lastRecord) {
         Optional<StatusMessage> statusMessage = Optional.empty();
         while (!statusMessage.isPresent()) {
             Future<Message> future = this.messageReader.getNextMessageFromSTDOUT();
@@ -186,21 +406,22 @@ class MultiLangProtocol {
                     .orElse(futureMethod(future::get, action));
 
             if (!message.isPresent()) {
-                return false;
+                return Optional.empty();
             }
 
             Optional<Boolean> checkpointFailed = message.filter(m -> m instanceof CheckpointMessage)
                     .map(m -> (CheckpointMessage) m)
-                    .flatMap(m -> futureMethod(() -> checkpoint(m, checkpointer).get(), "Checkpoint"))
+                    .flatMap(m -> futureMethod(
+                            () -> checkpoint(m, checkpointer, lastRecord).get(), "Checkpoint"))
                     .map(checkpointSuccess -> !checkpointSuccess);
 
             if (checkpointFailed.orElse(false)) {
-                return false;
+                return Optional.empty();
             }
 
             statusMessage = message.filter(m -> m instanceof StatusMessage).map(m -> (StatusMessage) m);
         }
-        return this.validateStatusMessage(statusMessage.get(), action);
+        return statusMessage;
     }
 
     private interface FutureMethod<T> {
@@ -261,14 +482,20 @@ class MultiLangProtocol {
     /**
      * Attempts to checkpoint with the provided {@link RecordProcessorCheckpointer} at the sequence number in the
      * provided {@link CheckpointMessage}. If no sequence number is provided, i.e. the sequence number is null, then
-     * this method will call {@link RecordProcessorCheckpointer#checkpoint()}. The method returns a future representing
+     * this method will call {@link RecordProcessorCheckpointer#checkpoint()}, or checkpoint at the last record of the
+     * batch being processed if later batches may already have been delivered. The method returns a future representing
      * the attempt to write the result of this checkpoint attempt to the child process.
      *
      * @param checkpointMessage A checkpoint message.
      * @param checkpointer A checkpointer.
+     * @param lastRecord The last record delivered with the batch being processed, or null if batches are not
+     *            pipelined.
      * @return Whether or not this operation succeeded.
      */
-    private Future<Boolean> checkpoint(CheckpointMessage checkpointMessage, RecordProcessorCheckpointer checkpointer) {
+    private Future<Boolean> checkpoint(
+            CheckpointMessage checkpointMessage,
+            RecordProcessorCheckpointer checkpointer,
+            ExtendedSequenceNumber lastRecord) {
         String sequenceNumber = checkpointMessage.getSequenceNumber();
         Long subSequenceNumber = checkpointMessage.getSubSequenceNumber();
         try {
@@ -280,8 +507,14 @@ class MultiLangProtocol {
                     } else {
                         checkpointer.checkpoint(sequenceNumber);
                     }
-                } else {
+                } else if (lastRecord == null) {
                     checkpointer.checkpoint();
+                } else if (!lastRecord.isSentinelCheckpoint()) {
+                    checkpointer.checkpoint(lastRecord.sequenceNumber(), lastRecord.subSequenceNumber());
+                } else {
+                    log.debug(
+                            "No records were delivered before the checkpoint request for shard {}, nothing to checkpoint",
+                            initializationInput.shardId());
                 }
                 return this.messageWriter.writeCheckpointMessageWithError(sequenceNumber, subSequenceNumber, null);
             } else {
@@ -38,6 +38,12 @@ public class MultiLangRecordProcessorFactory implements ShardRecordProcessorFact
 
     private final MultiLangDaemonConfiguration configuration;
 
+    /**
+     * Pool of child processes shared by all record processors, or null if every record processor starts its own child
+     * process.
+     */
+    private final MultiLangProcessPool processPool;
+
     /**
      * @param command The command that will do processing for this factory's record processors.
      * @param executorService An executor service to use while processing inputs and outputs of the child process.
@@ -57,16 +63,38 @@ public class MultiLangRecordProcessorFactory implements ShardRecordProcessorFact
             ExecutorService executorService,
             ObjectMapper objectMapper,
             MultiLangDaemonConfiguration configuration) {
+        this(command, executorService, objectMapper, configuration, 0);
+    }
+
+    /**
+     * @param command The command that will do processing for this factory's record processors.
+     * @param executorService An executor service to use while processing inputs and outputs of the child process.
+     * @param objectMapper An object mapper used to convert messages to json to be written to the child process
+     * @param processPoolSize Number of child processes shared by all record processors. If this is not positive, every
+     *            record processor starts a child process of its own.
+     */
+    public MultiLangRecordProcessorFactory(
+            String command,
+            ExecutorService executorService,
+            ObjectMapper objectMapper,
+            MultiLangDaemonConfiguration configuration,
+            int processPoolSize) {
         this.command = command;
         this.commandArray = command.split(COMMAND_DELIMETER_REGEX);
         this.executorService = executorService;
         this.objectMapper = objectMapper;
         this.configuration = configuration;
+        this.processPool = processPoolSize > 0
+                ? new MultiLangProcessPool(commandArray, processPoolSize, objectMapper, executorService)
+                : null;
     }
 
     @Override
     public ShardRecordProcessor shardRecordProcessor() {
         log.debug("Creating new record processor for client executable: {}", command);
+        if (processPool != null) {
+            return new PooledMultiLangShardRecordProcessor(processPool, configuration);
+        }
         /*
          * Giving ProcessBuilder the command as an array of Strings allows users to specify command line arguments.
          */
@@ -74,6 +102,16 @@ public class MultiLangRecordProcessorFactory implements ShardRecordProcessorFact
                 new ProcessBuilder(commandArray), executorService, this.objectMapper, this.configuration);
     }
 
+    /**
+     * Stops the pooled child processes, if any. Child processes started by individual record processors are stopped
+     * by the record processors themselves.
+     */
+    public void shutdown() {
+        if (processPool != null) {
+            processPool.shutdown();
+        }
+    }
+
     String[] getCommandArray() {
         return commandArray;
     }
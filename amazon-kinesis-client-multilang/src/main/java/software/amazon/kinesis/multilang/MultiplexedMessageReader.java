@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.multilang;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import software.amazon.kinesis.multilang.messages.Message;
+
+/**
+ * Reads the messages for one shard from a pooled child process. The STDOUT of the child process is read by
+ * {@link MultiLangProcessPool}, which routes each message to the inbox of the shard it names.
+ */
+class MultiplexedMessageReader extends MessageReader {
+    private static final long POLL_INTERVAL_MILLIS = 1000L;
+
+    private final String shardId;
+    private final BlockingQueue<Message> inbox;
+    private final BooleanSupplier childProcessAlive;
+    private final ExecutorService executorService;
+
+    /**
+     * @param shardId The shard we're working on.
+     * @param inbox The messages routed to this shard.
+     * @param childProcessAlive Whether the child process can still send messages.
+     * @param executorService An executor service to run tasks in.
+     */
+    MultiplexedMessageReader(
+            String shardId,
+            BlockingQueue<Message> inbox,
+            BooleanSupplier childProcessAlive,
+            ExecutorService executorService) {
+        this.shardId = shardId;
+        this.inbox = inbox;
+        this.childProcessAlive = childProcessAlive;
+        this.executorService = executorService;
+    }
+
+    /**
+     * Returns a future for the next message routed to this shard. Messages that arrived before the child process
+     * exited are still returned, after that the future fails.
+     */
+    @Override
+    Future<Message> getNextMessageFromSTDOUT() {
+        return executorService.submit(() -> {
+            while (true) {
+                Message message = inbox.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (message != null) {
+                    return message;
+                }
+                if (!childProcessAlive.getAsBoolean()) {
+                    throw new IllegalStateException(
+                            "Child process serving shard " + shardId + " exited before sending a message");
+                }
+            }
+        });
+    }
+
+    /**
+     * The STDOUT of the child process is shared with other shards and drained by the pool, so this only discards the
+     * messages left for this shard.
+     */
+    @Override
+    Future<Boolean> drainSTDOUT() {
+        inbox.clear();
+        return CompletableFuture.completedFuture(true);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.multilang;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.kinesis.lifecycle.events.InitializationInput;
+import software.amazon.kinesis.lifecycle.events.LeaseLostInput;
+import software.amazon.kinesis.lifecycle.events.ProcessRecordsInput;
+import software.amazon.kinesis.lifecycle.events.ShardEndedInput;
+import software.amazon.kinesis.lifecycle.events.ShutdownRequestedInput;
+import software.amazon.kinesis.multilang.config.MultiLangDaemonConfiguration;
+import software.amazon.kinesis.processor.ShardRecordProcessor;
+
+/**
+ * A record processor that talks to a child process of a {@link MultiLangProcessPool} instead of starting a child
+ * process of its own.
+ *
+ * <p>
+ * If the child process serving the shard exits, the shard is attached to a replacement child process, initialized
+ * again, and the message that failed is sent again. Batches are sent one at a time on pooled child processes, so the
+ * batch that failed is the only one the child process had not acknowledged.
+ * </p>
+ */
+@Slf4j
+class PooledMultiLangShardRecordProcessor implements ShardRecordProcessor {
+    private static final int EXIT_VALUE = 1;
+
+    private final MultiLangProcessPool pool;
+    private final MultiLangDaemonConfiguration configuration;
+
+    private InitializationInput initializationInput;
+    private MultiLangProcessPool.ShardChannel channel;
+    private MultiLangProtocol protocol;
+
+    /** Whether or not record processor initialization is successful. Defaults to false. */
+    private volatile boolean initialized;
+
+    PooledMultiLangShardRecordProcessor(MultiLangProcessPool pool, MultiLangDaemonConfiguration configuration) {
+        this.pool = pool;
+        this.configuration = configuration;
+    }
+
+    @Override
+    public void initialize(InitializationInput initializationInput) {
+        this.initializationInput = initializationInput;
+        try {
+            if (!attach() && !(channel.isBroken() && attach())) {
+                throw new RuntimeException("Failed to initialize child process");
+            }
+            initialized = true;
+        } catch (Throwable t) {
+            stopProcessing("Encountered an error while trying to initialize record processor", t);
+        }
+    }
+
+    @Override
+    public void processRecords(ProcessRecordsInput processRecordsInput) {
+        try {
+            if (!invoke(p -> p.processRecords(processRecordsInput))) {
+                throw new RuntimeException("Child process failed to process records");
+            }
+        } catch (Throwable t) {
+            stopProcessing("Encountered an error while trying to process records", t);
+        }
+    }
+
+    @Override
+    public void leaseLost(LeaseLostInput leaseLostInput) {
+        if (!initialized) {
+            log.info("Record processor was not initialized, so there is no child process to notify.");
+            return;
+        }
+        try {
+            if (channel.isBroken()) {
+                log.info(
+                        "Child process serving shard {} exited, not notifying it of the lost lease",
+                        initializationInput.shardId());
+            } else if (!protocol.leaseLost(leaseLostInput)) {
+                log.error("Child process failed to handle the lost lease for shard {}", initializationInput.shardId());
+            }
+        } finally {
+            detach();
+        }
+    }
+
+    @Override
+    public void shardEnded(ShardEndedInput shardEndedInput) {
+        if (!initialized) {
+            log.info("Record processor was not initialized, so there is no child process to notify.");
+            return;
+        }
+        try {
+            if (!invoke(p -> p.shardEnded(shardEndedInput))) {
+                throw new RuntimeException("Child process failed to shutdown");
+            }
+            detach();
+        } catch (Throwable t) {
+            stopProcessing("Encountered an error while trying to end the shard", t);
+        }
+    }
+
+    @Override
+    public void shutdownRequested(ShutdownRequestedInput shutdownRequestedInput) {
+        log.info("Shutdown is requested.");
+        if (!initialized) {
+            log.info("Record processor was not initialized so no need to initiate a final checkpoint.");
+            return;
+        }
+        log.info("Requesting a checkpoint on shutdown notification.");
+        if (!protocol.shutdownRequested(shutdownRequestedInput.checkpointer())) {
+            log.error("Child process failed to complete shutdown notification.");
+        }
+    }
+
+    /**
+     * Invokes the protocol, and if the child process exited, invokes it once more on a replacement child process.
+     */
+    private boolean invoke(Function<MultiLangProtocol, Boolean> protocolInvocation) throws IOException {
+        if (protocolInvocation.apply(protocol)) {
+            return true;
+        }
+        if (!channel.isBroken()) {
+            return false;
+        }
+        log.warn(
+                "Child process serving shard {} exited, retrying on a replacement child process",
+                initializationInput.shardId());
+        return attach() && protocolInvocation.apply(protocol);
+    }
+
+    /**
+     * Attaches this shard to a child process of the pool and initializes it there.
+     */
+    private boolean attach() throws IOException {
+        detach();
+        channel = pool.attach(initializationInput.shardId());
+        protocol = new MultiLangProtocol(
+                channel.messageReader(), channel.messageWriter(), initializationInput, configuration);
+        return protocol.initialize();
+    }
+
+    private void detach() {
+        if (channel != null) {
+            pool.detach(channel);
+        }
+    }
+
+    /**
+     * Convenience method for logging and shutting down the same way {@link MultiLangShardRecordProcessor} does, so
+     * that we don't throw an exception up to the KCL on accident.
+     *
+     * @param message The reason we are stopping processing.
+     * @param reason An exception that caused us to want to stop processing.
+     */
+    private void stopProcessing(String message, Throwable reason) {
+        try {
+            log.error(message, reason);
+            detach();
+        } catch (Throwable t) {
+            log.error("Encountered error while trying to shutdown", t);
+        }
+        exit();
+    }
+
+    /**
+     * We provide a package level method for unit testing this call to exit.
+     */
+    void exit() {
+        System.exit(EXIT_VALUE);
+    }
+}
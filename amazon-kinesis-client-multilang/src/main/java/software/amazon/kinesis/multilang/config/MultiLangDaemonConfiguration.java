@@ -228,6 +228,8 @@ public class MultiLangDaemonConfiguration {
 
     private long shutdownGraceMillis;
     private Integer timeoutInSeconds;
+    private WireProtocol wireProtocol = WireProtocol.JSON;
+    private Integer maxInFlightProcessRecords;
 
     private final BuilderDynaBean kinesisCredentialsProvider;
 
@@ -324,6 +326,15 @@ public class MultiLangDaemonConfiguration {
                 },
                 RetrievalMode.class);
 
+        convertUtilsBean.register(
+                new Converter() {
+                    @Override
+                    public <T> T convert(Class<T> type, Object value) {
+                        return type.cast(WireProtocol.from(value.toString()));
+                    }
+                },
+                WireProtocol.class);
+
         convertUtilsBean.register(
                 new Converter() {
                     @Override
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.multilang.config;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Encoding used for the messages written to the STDIN of the child process.
+ *
+ * <p>
+ * {@link #JSON} is the line protocol every child process understands: each message is a JSON document on its own line,
+ * with record data base64 encoded. {@link #BINARY} is only offered to the child process, by adding
+ * {@code "wireProtocol": "binary"} to the initialize message. The child accepts the offer by echoing the same field in
+ * the status message it sends in response; otherwise the daemon keeps using the line protocol for that shard.
+ * </p>
+ *
+ * <p>
+ * Once accepted, every message the daemon writes is a frame of big-endian fields:
+ * </p>
+ * <pre>
+ * frame := headerLength:int32 header:byte[headerLength] payloadLength:int32 payload:byte[payloadLength]
+ * </pre>
+ * <p>
+ * The header is the UTF-8 JSON document that the line protocol would have written. For processRecords messages each
+ * record carries a {@code dataLength} in place of the base64 {@code data}, and the raw record data follow each other
+ * in the payload in the order of the records. For all other messages the payload is empty. Messages from the child
+ * process to the daemon always use the line protocol.
+ * </p>
+ */
+public enum WireProtocol {
+    JSON("json"),
+    BINARY("binary");
+
+    private final String value;
+
+    WireProtocol(String value) {
+        this.value = value;
+    }
+
+    /**
+     * @return the value used for this protocol in the wireProtocol field of the initialize and status messages
+     */
+    public String value() {
+        return value;
+    }
+
+    public static WireProtocol from(String source) {
+        Validate.notEmpty(source);
+        try {
+            return WireProtocol.valueOf(source.toUpperCase());
+        } catch (IllegalArgumentException iae) {
+            throw new IllegalArgumentException(
+                    "Unknown wire protocol '" + source + "'. Available wire protocols: " + availableWireProtocols());
+        }
+    }
+
+    private static String availableWireProtocols() {
+        return "(" + Arrays.stream(WireProtocol.values()).map(Enum::name).collect(Collectors.joining(", ")) + ")";
+    }
+}
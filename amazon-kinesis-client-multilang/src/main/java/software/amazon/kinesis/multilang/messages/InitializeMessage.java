@@ -14,6 +14,7 @@
  */
 package software.amazon.kinesis.multilang.messages;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 import software.amazon.kinesis.lifecycle.events.InitializationInput;
@@ -37,6 +38,19 @@ public class InitializeMessage extends Message {
     private String sequenceNumber;
     private Long subSequenceNumber;
 
+    /**
+     * The wire protocol offered to the client's process, omitted when only the line protocol is offered.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String wireProtocol;
+
+    /**
+     * The number of processRecords messages the client's process is offered to have in flight, omitted when batches
+     * are only sent one at a time.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer maxInFlightProcessRecords;
+
     /**
      * Default constructor.
      */
@@ -17,6 +17,7 @@ package software.amazon.kinesis.multilang.messages;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 import software.amazon.kinesis.lifecycle.events.ProcessRecordsInput;
@@ -40,6 +41,13 @@ public class ProcessRecordsMessage extends Message {
 
     private Long millisBehindLatest;
 
+    /**
+     * Sequential id of this batch for the shard, only set when batches are pipelined. The client's process echoes it in
+     * the status message for this batch.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long batchId;
+
     /**
      * Default constructor.
      */
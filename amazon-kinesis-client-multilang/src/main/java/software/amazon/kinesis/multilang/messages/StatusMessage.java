@@ -14,7 +14,7 @@
  */
 package software.amazon.kinesis.multilang.messages;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -23,7 +23,6 @@ import lombok.Setter;
  * A message sent by the client's process to indicate to the record processor that it completed a particular action.
  */
 @NoArgsConstructor
-@AllArgsConstructor
 @Getter
 @Setter
 public class StatusMessage extends Message {
@@ -36,4 +35,33 @@ public class StatusMessage extends Message {
      * The name of the most recently received action.
      */
     private String responseFor;
+
+    /**
+     * The wire protocol accepted by the client's process in response to an initialize message. Absent if the client's
+     * process only supports the line protocol.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String wireProtocol;
+
+    /**
+     * The number of in flight processRecords messages accepted by the client's process in response to an initialize
+     * message. Absent if the client's process handles one batch at a time.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer maxInFlightProcessRecords;
+
+    /**
+     * The batch id of the processRecords message this status is a response for, when batches are pipelined.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long batchId;
+
+    /**
+     * Convenience constructor.
+     *
+     * @param responseFor the name of the action this status is a response for
+     */
+    public StatusMessage(String responseFor) {
+        this.responseFor = responseFor;
+    }
 }
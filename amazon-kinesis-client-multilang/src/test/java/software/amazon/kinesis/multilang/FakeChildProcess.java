@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.multilang;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A child process whose STDIN and STDOUT are pipes that tests read and write.
+ */
+class FakeChildProcess extends Process {
+    private final Pipe stdin;
+    private final Pipe stdout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BufferedReader stdinReader;
+    private final OutputStream stdoutWriter;
+    private volatile boolean destroyed = false;
+
+    FakeChildProcess() throws IOException {
+        stdin = Pipe.open();
+        stdout = Pipe.open();
+        stdinReader = new BufferedReader(
+                new InputStreamReader(Channels.newInputStream(stdin.source()), StandardCharsets.UTF_8));
+        stdoutWriter = Channels.newOutputStream(stdout.sink());
+    }
+
+    JsonNode readLine() throws IOException {
+        return objectMapper.readTree(stdinReader.readLine());
+    }
+
+    void writeLine(String line) throws IOException {
+        stdoutWriter.write((line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        stdoutWriter.flush();
+    }
+
+    boolean isDestroyed() {
+        return destroyed;
+    }
+
+    void exit() throws IOException {
+        stdoutWriter.close();
+    }
+
+    boolean isStdinClosed() {
+        return !stdin.sink().isOpen();
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        return Channels.newOutputStream(stdin.sink());
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return Channels.newInputStream(stdout.source());
+    }
+
+    @Override
+    public InputStream getErrorStream() {
+        return new ByteArrayInputStream(new byte[0]);
+    }
+
+    @Override
+    public int waitFor() {
+        return 0;
+    }
+
+    @Override
+    public int exitValue() {
+        return 0;
+    }
+
+    @Override
+    public void destroy() {
+        destroyed = true;
+    }
+}
@@ -14,16 +14,24 @@
  */
 package software.amazon.kinesis.multilang;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Assert;
 import org.junit.Before;
@@ -35,6 +43,8 @@ import software.amazon.kinesis.lifecycle.events.InitializationInput;
 import software.amazon.kinesis.lifecycle.events.LeaseLostInput;
 import software.amazon.kinesis.lifecycle.events.ProcessRecordsInput;
 import software.amazon.kinesis.lifecycle.events.ShardEndedInput;
+import software.amazon.kinesis.multilang.config.WireProtocol;
+import software.amazon.kinesis.multilang.messages.InitializeMessage;
 import software.amazon.kinesis.multilang.messages.Message;
 import software.amazon.kinesis.retrieval.KinesisClientRecord;
 
@@ -142,6 +152,132 @@ public class MessageWriterTest {
         messageWriter.writeLeaseLossMessage(LeaseLostInput.builder().build());
     }
 
+    @Test
+    public void writeInitializeMessageOfferingBinaryWireProtocolTest() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ObjectMapper objectMapper = new ObjectMapper();
+        messageWriter = new MessageWriter().initialize(output, SHARD_ID, objectMapper, Executors.newCachedThreadPool());
+
+        InitializeMessage initializeMessage = new InitializeMessage(
+                InitializationInput.builder().shardId(SHARD_ID).build());
+        initializeMessage.setWireProtocol(WireProtocol.BINARY.value());
+        messageWriter.writeInitializeMessage(initializeMessage).get();
+
+        String line = new String(output.toByteArray(), Charset.defaultCharset());
+        Assert.assertTrue(line.endsWith(System.lineSeparator()));
+        JsonNode message = objectMapper.readTree(line);
+        Assert.assertEquals("initialize", message.get("action").asText());
+        Assert.assertEquals("binary", message.get("wireProtocol").asText());
+        Assert.assertFalse(message.has("maxInFlightProcessRecords"));
+        Assert.assertFalse(messageWriter.isBinaryFraming());
+    }
+
+    @Test
+    public void writeProcessRecordsMessageBinaryFramingTest() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ObjectMapper objectMapper = new ObjectMapper();
+        messageWriter = new MessageWriter().initialize(output, SHARD_ID, objectMapper, Executors.newCachedThreadPool());
+        messageWriter.enableBinaryFraming();
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(5);
+        direct.put("puppy".getBytes(StandardCharsets.UTF_8)).flip();
+        ByteBuffer slice = ByteBuffer.wrap("xxkittenxx".getBytes(StandardCharsets.UTF_8), 2, 6)
+                .slice();
+        List<KinesisClientRecord> records = Arrays.asList(
+                KinesisClientRecord.builder()
+                        .data(slice)
+                        .partitionKey("some cats")
+                        .sequenceNumber("357234807854789057805")
+                        .approximateArrivalTimestamp(Instant.ofEpochMilli(1234L))
+                        .build(),
+                KinesisClientRecord.builder().build(),
+                KinesisClientRecord.builder()
+                        .data(direct)
+                        .partitionKey("some dogs")
+                        .sequenceNumber("357234807854789057806")
+                        .subSequenceNumber(3)
+                        .build());
+
+        messageWriter
+                .writeProcessRecordsMessage(
+                        ProcessRecordsInput.builder()
+                                .records(records)
+                                .millisBehindLatest(42L)
+                                .build(),
+                        7L)
+                .get();
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(output.toByteArray()));
+        byte[] header = new byte[input.readInt()];
+        input.readFully(header);
+        byte[] payload = new byte[input.readInt()];
+        input.readFully(payload);
+        Assert.assertEquals(-1, input.read());
+
+        JsonNode message = objectMapper.readTree(header);
+        Assert.assertEquals("processRecords", message.get("action").asText());
+        Assert.assertEquals(42L, message.get("millisBehindLatest").asLong());
+        Assert.assertEquals(7L, message.get("batchId").asLong());
+        JsonNode recordNodes = message.get("records");
+        Assert.assertEquals(3, recordNodes.size());
+        Assert.assertFalse(recordNodes.get(0).has("data"));
+        Assert.assertEquals("some cats", recordNodes.get(0).get("partitionKey").asText());
+        Assert.assertEquals(
+                1234L, recordNodes.get(0).get("approximateArrivalTimestamp").asLong());
+        Assert.assertEquals(6, recordNodes.get(0).get("dataLength").asInt());
+        Assert.assertEquals(0, recordNodes.get(1).get("dataLength").asInt());
+        Assert.assertEquals(5, recordNodes.get(2).get("dataLength").asInt());
+        Assert.assertEquals(3L, recordNodes.get(2).get("subSequenceNumber").asLong());
+        Assert.assertEquals("kittenpuppy", new String(payload, StandardCharsets.UTF_8));
+
+        // writing must not consume the record data
+        Assert.assertEquals(6, slice.remaining());
+        Assert.assertEquals(5, direct.remaining());
+    }
+
+    @Test
+    public void writeProcessRecordsMessageWithBatchIdTest() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ObjectMapper objectMapper = new ObjectMapper();
+        messageWriter = new MessageWriter().initialize(output, SHARD_ID, objectMapper, Executors.newCachedThreadPool());
+
+        messageWriter
+                .writeProcessRecordsMessage(
+                        ProcessRecordsInput.builder()
+                                .records(Collections.emptyList())
+                                .build(),
+                        3L)
+                .get();
+        messageWriter
+                .writeProcessRecordsMessage(ProcessRecordsInput.builder()
+                        .records(Collections.emptyList())
+                        .build())
+                .get();
+
+        String[] lines = new String(output.toByteArray(), Charset.defaultCharset()).split(System.lineSeparator());
+        Assert.assertEquals(2, lines.length);
+        Assert.assertEquals(3L, objectMapper.readTree(lines[0]).get("batchId").asLong());
+        Assert.assertFalse(objectMapper.readTree(lines[1]).has("batchId"));
+    }
+
+    @Test
+    public void writeLeaseLostMessageBinaryFramingTest() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ObjectMapper objectMapper = new ObjectMapper();
+        messageWriter = new MessageWriter().initialize(output, SHARD_ID, objectMapper, Executors.newCachedThreadPool());
+        messageWriter.enableBinaryFraming();
+
+        messageWriter.writeLeaseLossMessage(LeaseLostInput.builder().build()).get();
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(output.toByteArray()));
+        byte[] header = new byte[input.readInt()];
+        input.readFully(header);
+        Assert.assertEquals(0, input.readInt());
+        Assert.assertEquals(-1, input.read());
+        Assert.assertEquals(
+                "leaseLost", objectMapper.readTree(header).get("action").asText());
+    }
+
     @Test
     public void closeWriterTest() throws IOException {
         Assert.assertTrue(this.messageWriter.isOpen());
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.multilang;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.kinesis.lifecycle.events.LeaseLostInput;
+import software.amazon.kinesis.multilang.messages.LeaseLostMessage;
+import software.amazon.kinesis.multilang.messages.Message;
+import software.amazon.kinesis.multilang.messages.StatusMessage;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MultiLangProcessPoolTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<FakeChildProcess> processes = new ArrayList<>();
+    private ExecutorService executorService;
+
+    @Before
+    public void setup() {
+        executorService = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testShardsAreAttachedToLeastLoadedChild() throws Exception {
+        MultiLangProcessPool pool = pool(2);
+
+        MultiLangProcessPool.ShardChannel a = pool.attach("shard-a");
+        MultiLangProcessPool.ShardChannel b = pool.attach("shard-b");
+        MultiLangProcessPool.ShardChannel c = pool.attach("shard-c");
+
+        assertEquals(2, processes.size());
+        leaseLost(a);
+        leaseLost(b);
+        leaseLost(c);
+        assertEquals("shard-a", processes.get(0).readLine().get("shardId").asText());
+        assertEquals("shard-c", processes.get(0).readLine().get("shardId").asText());
+        assertEquals("shard-b", processes.get(1).readLine().get("shardId").asText());
+
+        pool.detach(a);
+        pool.detach(c);
+        pool.attach("shard-d");
+        leaseLost(pool.attach("shard-e"));
+        assertEquals(2, processes.size());
+        assertEquals("shard-e", processes.get(0).readLine().get("shardId").asText());
+    }
+
+    @Test
+    public void testWrittenLinesCarryShardIdAndAction() throws Exception {
+        MultiLangProcessPool pool = pool(1);
+        leaseLost(pool.attach("shard-a"));
+
+        JsonNode line = processes.get(0).readLine();
+        assertEquals("shard-a", line.get("shardId").asText());
+        assertEquals(LeaseLostMessage.ACTION, line.get("action").asText());
+    }
+
+    @Test
+    public void testStatusMessagesAreRoutedByShardId() throws Exception {
+        MultiLangProcessPool pool = pool(1);
+        MultiLangProcessPool.ShardChannel a = pool.attach("shard-a");
+        MultiLangProcessPool.ShardChannel b = pool.attach("shard-b");
+
+        FakeChildProcess child = processes.get(0);
+        child.writeLine("not json");
+        child.writeLine("{\"action\":\"status\",\"responseFor\":\"leaseLost\"}");
+        child.writeLine("{\"action\":\"status\",\"responseFor\":\"leaseLost\",\"shardId\":\"shard-z\"}");
+        child.writeLine("{\"action\":\"status\",\"responseFor\":\"shardEnded\",\"shardId\":\"shard-b\"}");
+        child.writeLine("{\"action\":\"status\",\"responseFor\":\"leaseLost\",\"shardId\":\"shard-a\"}");
+
+        assertEquals("shardEnded", nextStatus(b).getResponseFor());
+        assertEquals("leaseLost", nextStatus(a).getResponseFor());
+    }
+
+    @Test
+    public void testChildExitBreaksChannelsAndIsReplaced() throws Exception {
+        MultiLangProcessPool pool = pool(1);
+        MultiLangProcessPool.ShardChannel a = pool.attach("shard-a");
+        assertFalse(a.isBroken());
+
+        processes.get(0).writeLine("{\"action\":\"status\",\"responseFor\":\"leaseLost\",\"shardId\":\"shard-a\"}");
+        processes.get(0).exit();
+
+        assertEquals("leaseLost", nextStatus(a).getResponseFor());
+        try {
+            a.messageReader().getNextMessageFromSTDOUT().get(10, TimeUnit.SECONDS);
+            fail("Expected the read to fail after the child process exited");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+        }
+        assertTrue(a.isBroken());
+
+        MultiLangProcessPool.ShardChannel replacement = pool.attach("shard-a");
+        assertEquals(2, processes.size());
+        assertFalse(replacement.isBroken());
+        leaseLost(replacement);
+        assertEquals("shard-a", processes.get(1).readLine().get("shardId").asText());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAttachAfterShutdownFails() throws Exception {
+        MultiLangProcessPool pool = pool(1);
+        pool.attach("shard-a");
+        pool.shutdown();
+        assertTrue(processes.get(0).isDestroyed() || processes.get(0).isStdinClosed());
+        pool.attach("shard-b");
+    }
+
+    private MultiLangProcessPool pool(int size) {
+        return new MultiLangProcessPool(new String[] {"child"}, size, objectMapper, executorService) {
+            @Override
+            Process startProcess() throws IOException {
+                FakeChildProcess process = new FakeChildProcess();
+                processes.add(process);
+                return process;
+            }
+        };
+    }
+
+    private static void leaseLost(MultiLangProcessPool.ShardChannel channel) throws Exception {
+        assertTrue(channel.messageWriter()
+                .writeLeaseLossMessage(LeaseLostInput.builder().build())
+                .get(10, TimeUnit.SECONDS));
+    }
+
+    private static StatusMessage nextStatus(MultiLangProcessPool.ShardChannel channel) throws Exception {
+        Message message = channel.messageReader().getNextMessageFromSTDOUT().get(10, TimeUnit.SECONDS);
+        assertSame(StatusMessage.class, message.getClass());
+        return (StatusMessage) message;
+    }
+}
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -27,6 +28,8 @@ import com.google.common.util.concurrent.SettableFuture;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
@@ -41,7 +44,9 @@ import software.amazon.kinesis.lifecycle.events.LeaseLostInput;
 import software.amazon.kinesis.lifecycle.events.ProcessRecordsInput;
 import software.amazon.kinesis.lifecycle.events.ShardEndedInput;
 import software.amazon.kinesis.multilang.config.MultiLangDaemonConfiguration;
+import software.amazon.kinesis.multilang.config.WireProtocol;
 import software.amazon.kinesis.multilang.messages.CheckpointMessage;
+import software.amazon.kinesis.multilang.messages.InitializeMessage;
 import software.amazon.kinesis.multilang.messages.LeaseLostMessage;
 import software.amazon.kinesis.multilang.messages.Message;
 import software.amazon.kinesis.multilang.messages.ProcessRecordsMessage;
@@ -59,7 +64,9 @@ import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -118,6 +125,171 @@ public class MultiLangProtocolTest {
         assertThat(protocol.initialize(), equalTo(true));
     }
 
+    @Test
+    public void testInitializeWithBinaryWireProtocolAccepted() {
+        when(configuration.getWireProtocol()).thenReturn(WireProtocol.BINARY);
+        when(messageWriter.writeInitializeMessage(argThat(offers(WireProtocol.BINARY.value(), null))))
+                .thenReturn(buildFuture(true));
+        when(messageReader.getNextMessageFromSTDOUT())
+                .thenReturn(buildFuture(initializeStatus(WireProtocol.BINARY.value(), null), Message.class));
+        assertThat(protocol.initialize(), equalTo(true));
+        verify(messageWriter).enableBinaryFraming();
+    }
+
+    @Test
+    public void testInitializeWithBinaryWireProtocolIgnored() {
+        when(configuration.getWireProtocol()).thenReturn(WireProtocol.BINARY);
+        when(messageWriter.writeInitializeMessage(argThat(offers(WireProtocol.BINARY.value(), null))))
+                .thenReturn(buildFuture(true));
+        when(messageReader.getNextMessageFromSTDOUT())
+                .thenReturn(buildFuture(new StatusMessage("initialize"), Message.class));
+        assertThat(protocol.initialize(), equalTo(true));
+        verify(messageWriter, never()).enableBinaryFraming();
+    }
+
+    @Test
+    public void testInitializeWithBinaryWireProtocolWrongStatus() {
+        when(configuration.getWireProtocol()).thenReturn(WireProtocol.BINARY);
+        when(messageWriter.writeInitializeMessage(argThat(offers(WireProtocol.BINARY.value(), null))))
+                .thenReturn(buildFuture(true));
+        StatusMessage statusMessage = new StatusMessage("processRecords");
+        statusMessage.setWireProtocol(WireProtocol.BINARY.value());
+        when(messageReader.getNextMessageFromSTDOUT()).thenReturn(buildFuture(statusMessage, Message.class));
+        assertThat(protocol.initialize(), equalTo(false));
+        verify(messageWriter, never()).enableBinaryFraming();
+    }
+
+    @Test
+    public void testPipelinedProcessRecords() {
+        initializePipelined(4, 2);
+        when(messageWriter.writeProcessRecordsMessage(any(ProcessRecordsInput.class), anyLong()))
+                .thenReturn(buildFuture(true));
+        when(messageWriter.writeLeaseLossMessage(any(LeaseLostInput.class))).thenReturn(buildFuture(true));
+
+        // The first batch is only written, its status is read once the second batch has been written.
+        assertTrue(protocol.processRecords(
+                ProcessRecordsInput.builder().records(EMPTY_RECORD_LIST).build()));
+        verify(messageReader, times(1)).getNextMessageFromSTDOUT();
+
+        when(messageReader.getNextMessageFromSTDOUT()).thenAnswer(buildMessageAnswers(new ArrayList<Message>() {
+            {
+                this.add(processRecordsStatus(0L));
+                this.add(processRecordsStatus(1L));
+                this.add(new StatusMessage(LeaseLostMessage.ACTION));
+            }
+        }));
+        assertTrue(protocol.processRecords(
+                ProcessRecordsInput.builder().records(EMPTY_RECORD_LIST).build()));
+        verify(messageReader, times(2)).getNextMessageFromSTDOUT();
+
+        // The remaining batch is drained before the lease lost message is written.
+        assertTrue(protocol.leaseLost(LeaseLostInput.builder().build()));
+        InOrder inOrder = Mockito.inOrder(messageWriter);
+        inOrder.verify(messageWriter).writeProcessRecordsMessage(any(ProcessRecordsInput.class), eq(0L));
+        inOrder.verify(messageWriter).writeProcessRecordsMessage(any(ProcessRecordsInput.class), eq(1L));
+        inOrder.verify(messageWriter).writeLeaseLossMessage(any(LeaseLostInput.class));
+        verify(messageReader, times(4)).getNextMessageFromSTDOUT();
+    }
+
+    @Test
+    public void testPipelinedProcessRecordsStatusForWrongBatch() {
+        initializePipelined(2, 2);
+        when(messageWriter.writeProcessRecordsMessage(any(ProcessRecordsInput.class), anyLong()))
+                .thenReturn(buildFuture(true));
+
+        assertTrue(protocol.processRecords(
+                ProcessRecordsInput.builder().records(EMPTY_RECORD_LIST).build()));
+        when(messageReader.getNextMessageFromSTDOUT()).thenReturn(buildFuture(processRecordsStatus(1L), Message.class));
+        assertThat(
+                protocol.processRecords(
+                        ProcessRecordsInput.builder().records(EMPTY_RECORD_LIST).build()),
+                equalTo(false));
+    }
+
+    @Test
+    public void testPipelinedCheckpointWithoutSequenceNumberUsesEndOfBatch() throws Exception {
+        initializePipelined(2, 2);
+        when(messageWriter.writeProcessRecordsMessage(any(ProcessRecordsInput.class), anyLong()))
+                .thenReturn(buildFuture(true));
+        when(messageWriter.writeCheckpointMessageWithError(any(String.class), any(Long.class), any(Throwable.class)))
+                .thenReturn(buildFuture(true));
+
+        assertTrue(protocol.processRecords(ProcessRecordsInput.builder()
+                .records(Collections.singletonList(KinesisClientRecord.builder()
+                        .sequenceNumber("100")
+                        .subSequenceNumber(2)
+                        .build()))
+                .checkpointer(checkpointer)
+                .build()));
+        when(messageReader.getNextMessageFromSTDOUT()).thenAnswer(buildMessageAnswers(new ArrayList<Message>() {
+            {
+                this.add(new CheckpointMessage(null, null, null));
+                this.add(processRecordsStatus(0L));
+            }
+        }));
+        assertTrue(protocol.processRecords(ProcessRecordsInput.builder()
+                .records(Collections.singletonList(
+                        KinesisClientRecord.builder().sequenceNumber("200").build()))
+                .checkpointer(checkpointer)
+                .build()));
+
+        // The second batch has already been delivered, so the checkpoint must not go past the first batch.
+        verify(checkpointer).checkpoint("100", 2L);
+        verify(checkpointer, never()).checkpoint();
+    }
+
+    @Test
+    public void testPipelinedProcessRecordsNotAccepted() {
+        when(configuration.getMaxInFlightProcessRecords()).thenReturn(2);
+        when(messageWriter.writeInitializeMessage(argThat(offers(null, 2)))).thenReturn(buildFuture(true));
+        when(messageReader.getNextMessageFromSTDOUT())
+                .thenReturn(buildFuture(new StatusMessage("initialize"), Message.class));
+        assertTrue(protocol.initialize());
+
+        when(messageWriter.writeProcessRecordsMessage(any(ProcessRecordsInput.class)))
+                .thenReturn(buildFuture(true));
+        when(messageReader.getNextMessageFromSTDOUT())
+                .thenReturn(buildFuture(new StatusMessage("processRecords"), Message.class));
+        assertTrue(protocol.processRecords(
+                ProcessRecordsInput.builder().records(EMPTY_RECORD_LIST).build()));
+        verify(messageWriter, never()).writeProcessRecordsMessage(any(ProcessRecordsInput.class), anyLong());
+    }
+
+    private void initializePipelined(int offeredWindow, int acceptedWindow) {
+        when(configuration.getMaxInFlightProcessRecords()).thenReturn(offeredWindow);
+        when(messageWriter.writeInitializeMessage(argThat(offers(null, offeredWindow))))
+                .thenReturn(buildFuture(true));
+        when(messageReader.getNextMessageFromSTDOUT())
+                .thenReturn(buildFuture(initializeStatus(null, acceptedWindow), Message.class));
+        assertTrue(protocol.initialize());
+    }
+
+    private static StatusMessage initializeStatus(String wireProtocol, Integer maxInFlightProcessRecords) {
+        StatusMessage statusMessage = new StatusMessage("initialize");
+        statusMessage.setWireProtocol(wireProtocol);
+        statusMessage.setMaxInFlightProcessRecords(maxInFlightProcessRecords);
+        return statusMessage;
+    }
+
+    private static StatusMessage processRecordsStatus(Long batchId) {
+        StatusMessage statusMessage = new StatusMessage("processRecords");
+        statusMessage.setBatchId(batchId);
+        return statusMessage;
+    }
+
+    private ArgumentMatcher<InitializeMessage> offers(
+            final String wireProtocol, final Integer maxInFlightProcessRecords) {
+        return new ArgumentMatcher<InitializeMessage>() {
+            @Override
+            public boolean matches(Object argument) {
+                InitializeMessage message = (InitializeMessage) argument;
+                return shardId.equals(message.getShardId())
+                        && Objects.equals(wireProtocol, message.getWireProtocol())
+                        && Objects.equals(maxInFlightProcessRecords, message.getMaxInFlightProcessRecords());
+            }
+        };
+    }
+
     @Test
     public void testProcessRecords() {
         when(messageWriter.writeProcessRecordsMessage(any(ProcessRecordsInput.class)))
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.multilang;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import software.amazon.kinesis.lifecycle.events.InitializationInput;
+import software.amazon.kinesis.lifecycle.events.LeaseLostInput;
+import software.amazon.kinesis.lifecycle.events.ProcessRecordsInput;
+import software.amazon.kinesis.multilang.config.MultiLangDaemonConfiguration;
+import software.amazon.kinesis.multilang.messages.ProcessRecordsMessage;
+import software.amazon.kinesis.processor.RecordProcessorCheckpointer;
+import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PooledMultiLangShardRecordProcessorTest {
+    private static final String SHARD_ID = "shard-a";
+
+    private final List<FakeChildProcess> processes = new ArrayList<>();
+    private final List<String> actions = new CopyOnWriteArrayList<>();
+    private ExecutorService executorService;
+    private MultiLangProcessPool pool;
+    private boolean exited;
+
+    @Before
+    public void setup() {
+        executorService = Executors.newCachedThreadPool();
+        pool = new MultiLangProcessPool(new String[] {"child"}, 1, new ObjectMapper(), executorService) {
+            @Override
+            Process startProcess() throws IOException {
+                FakeChildProcess process = new FakeChildProcess();
+                // The first child process exits as soon as it is asked to process records.
+                boolean crashOnProcessRecords = processes.isEmpty();
+                processes.add(process);
+                executorService.submit(() -> respond(process, crashOnProcessRecords));
+                return process;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testProcessRecordsIsRetriedOnReplacementChildProcess() {
+        MultiLangDaemonConfiguration configuration = Mockito.mock(MultiLangDaemonConfiguration.class);
+        // Mocks return 0 for Integer getters, which the protocol would treat as a timeout of zero seconds.
+        Mockito.when(configuration.getTimeoutInSeconds()).thenReturn(null);
+        PooledMultiLangShardRecordProcessor processor = new PooledMultiLangShardRecordProcessor(pool, configuration) {
+            @Override
+            void exit() {
+                exited = true;
+            }
+        };
+
+        processor.initialize(InitializationInput.builder()
+                .shardId(SHARD_ID)
+                .extendedSequenceNumber(ExtendedSequenceNumber.TRIM_HORIZON)
+                .build());
+        processor.processRecords(ProcessRecordsInput.builder()
+                .records(Collections.emptyList())
+                .checkpointer(Mockito.mock(RecordProcessorCheckpointer.class))
+                .build());
+        processor.leaseLost(LeaseLostInput.builder().build());
+
+        assertFalse(exited);
+        assertEquals(2, processes.size());
+        assertEquals(
+                Arrays.asList("0:initialize", "0:processRecords", "1:initialize", "1:processRecords", "1:leaseLost"),
+                actions);
+    }
+
+    /**
+     * Answers every message of the child process with a status message for the same shard.
+     */
+    private Void respond(FakeChildProcess process, boolean crashOnProcessRecords) throws IOException {
+        int index = processes.indexOf(process);
+        while (true) {
+            JsonNode line = process.readLine();
+            String action = line.get("action").asText();
+            actions.add(index + ":" + action);
+            if (crashOnProcessRecords && ProcessRecordsMessage.ACTION.equals(action)) {
+                process.exit();
+                return null;
+            }
+            process.writeLine("{\"action\":\"status\",\"responseFor\":\"" + action + "\",\"shardId\":\""
+                    + line.get("shardId").asText() + "\"}");
+        }
+    }
+}
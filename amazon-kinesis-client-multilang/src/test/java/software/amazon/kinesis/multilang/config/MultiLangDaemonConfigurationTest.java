@@ -450,6 +450,30 @@ public class MultiLangDaemonConfigurationTest {
         utilsBean.setProperty(configuration, "retrievalMode", "invalid");
     }
 
+    @Test
+    public void testWireProtocolDefaultsToJson() {
+        assertThat(baseConfiguration().getWireProtocol(), equalTo(WireProtocol.JSON));
+    }
+
+    @Test
+    public void testWireProtocolSetForBinaryString() throws Exception {
+        MultiLangDaemonConfiguration configuration = baseConfiguration();
+
+        utilsBean.setProperty(configuration, "wireProtocol", "binary");
+
+        assertThat(configuration.getWireProtocol(), equalTo(WireProtocol.BINARY));
+    }
+
+    @Test
+    public void testInvalidWireProtocol() throws Exception {
+        thrown.expect(IllegalArgumentException.class);
+        thrown.expectMessage("Unknown wire protocol");
+
+        MultiLangDaemonConfiguration configuration = baseConfiguration();
+
+        utilsBean.setProperty(configuration, "wireProtocol", "invalid");
+    }
+
     @Test
     public void testmetricsEnabledDimensions() {
         MultiLangDaemonConfiguration configuration = baseConfiguration();
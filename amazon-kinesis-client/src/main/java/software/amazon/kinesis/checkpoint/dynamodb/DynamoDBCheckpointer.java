@@ -29,6 +29,8 @@ import software.amazon.kinesis.exceptions.KinesisClientLibException;
 import software.amazon.kinesis.exceptions.ShutdownException;
 import software.amazon.kinesis.exceptions.ThrottlingException;
 import software.amazon.kinesis.exceptions.internal.KinesisClientLibIOException;
+import software.amazon.kinesis.jfr.FlightRecorderEvents;
+import software.amazon.kinesis.jfr.TimedEvent;
 import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseCoordinator;
 import software.amazon.kinesis.leases.LeaseRefresher;
@@ -146,7 +148,14 @@ public class DynamoDBCheckpointer implements Checkpointer {
         lease.pendingCheckpointState(null);
         lease.ownerSwitchesSinceCheckpoint(0L);
 
-        return leaseCoordinator.updateLease(lease, concurrencyToken, operation, leaseKey);
+        final TimedEvent checkpointEvent = FlightRecorderEvents.beginCheckpoint();
+        boolean success = false;
+        try {
+            success = leaseCoordinator.updateLease(lease, concurrencyToken, operation, leaseKey);
+            return success;
+        } finally {
+            FlightRecorderEvents.checkpoint(checkpointEvent, leaseKey, checkpoint, success);
+        }
     }
 
     boolean prepareCheckpoint(
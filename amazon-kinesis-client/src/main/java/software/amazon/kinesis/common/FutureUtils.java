@@ -15,14 +15,19 @@
 package software.amazon.kinesis.common;
 
 import java.time.Duration;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 public class FutureUtils {
 
     public static <T> T resolveOrCancelFuture(Future<T> future, Duration timeout)
@@ -45,4 +50,80 @@ public class FutureUtils {
             throw e;
         }
     }
+
+    /**
+     * Returns a future that completes like the given future, or exceptionally with a {@link TimeoutException} if the
+     * given future has not completed within the timeout, in which case the given future is cancelled. This is the
+     * non-blocking equivalent of {@link #resolveOrCancelFuture(Future, Duration)}.
+     */
+    public static <T> CompletableFuture<T> withTimeout(final CompletableFuture<T> future, final Duration timeout) {
+        if (future.isDone()) {
+            return future;
+        }
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final ScheduledFuture<?> timer = TimeoutScheduler.INSTANCE.schedule(
+                () -> {
+                    if (result.completeExceptionally(new TimeoutException("Timed out after " + timeout))) {
+                        future.cancel(true);
+                    }
+                },
+                timeout.toMillis(),
+                TimeUnit.MILLISECONDS);
+        future.whenComplete((value, throwable) -> {
+            timer.cancel(false);
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Calls the given callable on the calling thread, and returns a future completed with its result or with the
+     * exception it threw.
+     */
+    public static <T> CompletableFuture<T> completeNow(final Callable<T> callable) {
+        try {
+            return CompletableFuture.completedFuture(callable.call());
+        } catch (Exception e) {
+            return failedFuture(e);
+        }
+    }
+
+    public static <T> CompletableFuture<T> failedFuture(final Throwable throwable) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(throwable);
+        return future;
+    }
+
+    /**
+     * Strips the {@link CompletionException}s and {@link ExecutionException}s that futures wrap failures in.
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /**
+     * Single daemon thread shared by all timeouts, created when the first timeout is scheduled.
+     */
+    private static class TimeoutScheduler {
+        private static final ScheduledThreadPoolExecutor INSTANCE = createScheduler();
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+            final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(
+                    1,
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("FutureTimeout-%04d")
+                            .setDaemon(true)
+                            .build());
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
 }
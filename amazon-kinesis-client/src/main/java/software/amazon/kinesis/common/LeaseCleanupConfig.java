@@ -38,4 +38,15 @@ public class LeaseCleanupConfig {
      * Interval at which to check if a lease is garbage (i.e trimmed past the stream's retention period) or not.
      */
     private final long garbageLeaseCleanupIntervalMillis;
+    /**
+     * Number of leases cleaned up together. The leases of a batch and the leases of their parent and child shards are
+     * read with BatchGetItem, child shards are looked up with one ListShards per stream, and the leases are deleted
+     * with BatchWriteItem. 0 cleans up one lease at a time.
+     */
+    private final int leaseCleanupBatchSize;
+    /**
+     * Maximum number of leases deleted per second by batched lease cleanup, to bound the write capacity it consumes.
+     * 0 does not limit deletions.
+     */
+    private final int maxLeaseDeletionsPerSecond;
 }
@@ -78,6 +78,24 @@ public class CoordinatorConfig {
      */
     private long shardConsumerDispatchPollIntervalMillis = 1000L;
 
+    /**
+     * Maximum time in milliseconds a graceful shutdown waits on the record processors to complete the shutdown
+     * request. The shards that did not complete it by then are shut down with their leases dropped, as in a regular
+     * shutdown. 0 waits without a deadline.
+     *
+     * <p>Default value: 0</p>
+     */
+    private long gracefulShutdownDrainDeadlineMillis = 0L;
+
+    /**
+     * Whether a graceful shutdown releases the lease of a shard in the lease table as soon as its record processor
+     * completed the shutdown request, so that another worker can take the lease right away instead of waiting for
+     * it to expire.
+     *
+     * <p>Default value: false</p>
+     */
+    private boolean releaseLeasesOnGracefulShutdown = false;
+
     /**
      * Shard prioritization strategy.
      *
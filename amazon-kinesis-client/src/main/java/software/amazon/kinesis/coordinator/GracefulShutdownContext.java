@@ -14,11 +14,14 @@
  */
 package software.amazon.kinesis.coordinator;
 
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import lombok.Builder;
 import lombok.Data;
 import lombok.experimental.Accessors;
+import software.amazon.kinesis.lifecycle.ShardConsumerShutdownNotification;
+import software.amazon.kinesis.metrics.MetricsFactory;
 
 @Data
 @Builder
@@ -28,6 +31,17 @@ class GracefulShutdownContext {
     private final CountDownLatch notificationCompleteLatch;
     private final CountDownLatch finalShutdownLatch;
     private final Scheduler scheduler;
+    /**
+     * Shutdown requests sent to the record processors, used to report which shards are still draining.
+     */
+    private final List<ShardConsumerShutdownNotification> shutdownNotifications;
+    /**
+     * Time in epoch millis after which the shutdown stops waiting on the record processors to complete the shutdown
+     * request, 0 if there is no deadline.
+     */
+    private final long drainDeadlineMillis;
+
+    private final MetricsFactory metricsFactory;
 
     boolean isRecordProcessorShutdownComplete() {
         return shutdownCompleteLatch == null && notificationCompleteLatch == null && scheduler == null;
@@ -14,11 +14,18 @@
  */
 package software.amazon.kinesis.coordinator;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
+import software.amazon.kinesis.lifecycle.ShardConsumerShutdownNotification;
+import software.amazon.kinesis.metrics.MetricsLevel;
+import software.amazon.kinesis.metrics.MetricsScope;
+import software.amazon.kinesis.metrics.MetricsUtil;
 
 class GracefulShutdownCoordinator {
 
@@ -27,6 +34,8 @@ class GracefulShutdownCoordinator {
      */
     private static final long FINAL_SHUTDOWN_WAIT_TIME_SECONDS = 60L;
 
+    private static final String GRACEFUL_SHUTDOWN_OPERATION = "GracefulShutdown";
+
     CompletableFuture<Boolean> startGracefulShutdown(Callable<Boolean> shutdownCallable) {
         CompletableFuture<Boolean> cf = new CompletableFuture<>();
         CompletableFuture.runAsync(() -> {
@@ -78,6 +87,40 @@ class GracefulShutdownCoordinator {
             return context.finalShutdownLatch().await(FINAL_SHUTDOWN_WAIT_TIME_SECONDS, TimeUnit.SECONDS);
         }
 
+        /**
+         * @return true if the deadline for the record processors to complete the shutdown request passed
+         */
+        private boolean isDrainDeadlineExceeded(GracefulShutdownContext context) {
+            return context.drainDeadlineMillis() > 0 && System.currentTimeMillis() >= context.drainDeadlineMillis();
+        }
+
+        private List<String> drainingLeaseKeys(GracefulShutdownContext context) {
+            if (context.shutdownNotifications() == null) {
+                return Collections.emptyList();
+            }
+            return context.shutdownNotifications().stream()
+                    .filter(notification -> !notification.isNotificationComplete())
+                    .map(ShardConsumerShutdownNotification::leaseKey)
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * Publishes how many shards completed the shutdown request, and how long it took.
+         */
+        private void publishDrainMetrics(GracefulShutdownContext context, long startTimeMillis) {
+            if (context.metricsFactory() == null || context.shutdownNotifications() == null) {
+                return;
+            }
+            final int notDrained = drainingLeaseKeys(context).size();
+            final MetricsScope scope =
+                    MetricsUtil.createMetricsWithOperation(context.metricsFactory(), GRACEFUL_SHUTDOWN_OPERATION);
+            MetricsUtil.addCount(
+                    scope, "ShardsDrained", context.shutdownNotifications().size() - notDrained, MetricsLevel.SUMMARY);
+            MetricsUtil.addCount(scope, "ShardsNotDrained", notDrained, MetricsLevel.SUMMARY);
+            MetricsUtil.addLatency(scope, "DrainTime", startTimeMillis, MetricsLevel.SUMMARY);
+            MetricsUtil.endScope(scope);
+        }
+
         private boolean waitForRecordProcessors(GracefulShutdownContext context) {
             if (context.isRecordProcessorShutdownComplete()) {
                 return true;
@@ -89,6 +132,7 @@ class GracefulShutdownCoordinator {
             // notification is started, but before the ShardConsumer is sent the notification. In this case the
             // ShardConsumer would start the lease loss shutdown, and may never call the notification methods.
             //
+            final long drainStartTimeMillis = System.currentTimeMillis();
             try {
                 while (!context.notificationCompleteLatch().await(1, TimeUnit.SECONDS)) {
                     if (Thread.interrupted()) {
@@ -99,6 +143,16 @@ class GracefulShutdownCoordinator {
                             context.shutdownCompleteLatch().getCount(), context)) {
                         return false;
                     }
+                    if (isDrainDeadlineExceeded(context)) {
+                        //
+                        // Stop waiting on the remaining record processors, the worker shutdown drops their leases.
+                        //
+                        log.warn(
+                                "Graceful shutdown deadline passed, shutting down the worker with shards still"
+                                        + " completing the shutdown request: {}",
+                                drainingLeaseKeys(context));
+                        break;
+                    }
                 }
             } catch (InterruptedException ie) {
                 log.warn(
@@ -106,6 +160,7 @@ class GracefulShutdownCoordinator {
                         awaitingLogMessage(context));
                 return false;
             }
+            publishDrainMetrics(context, drainStartTimeMillis);
 
             if (Thread.interrupted()) {
                 log.warn("Interrupted before worker shutdown, terminating shutdown");
@@ -23,9 +23,15 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -34,6 +40,7 @@ import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ComparisonChain;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -85,7 +92,13 @@ class PeriodicShardSyncManager {
     static final BigInteger MAX_HASH_KEY = new BigInteger("2").pow(128).subtract(BigInteger.ONE);
 
     static final String PERIODIC_SHARD_SYNC_MANAGER = "PeriodicShardSyncManager";
-    private final Map<StreamIdentifier, HashRangeHoleTracker> hashRangeHoleTrackerMap = new HashMap<>();
+    private static final String HASH_RANGE_CHECK = "HashRangeCheck";
+    private static final Comparator<HashKeyRangeForLease> HASH_KEY_RANGE_COMPARATOR = Comparator.comparing(
+                    HashKeyRangeForLease::startingHashKey)
+            .thenComparing(HashKeyRangeForLease::endingHashKey);
+
+    private final Map<StreamIdentifier, HashRangeHoleTracker> hashRangeHoleTrackerMap = new ConcurrentHashMap<>();
+    private final Map<StreamIdentifier, HashRangeIndex> hashRangeIndexMap = new ConcurrentHashMap<>();
 
     private final String workerId;
     private LeaderDecider leaderDecider;
@@ -99,6 +112,14 @@ class PeriodicShardSyncManager {
     private final long leasesRecoveryAuditorExecutionFrequencyMillis;
     private final int leasesRecoveryAuditorInconsistencyConfidenceThreshold;
 
+    private final int leasesRecoveryAuditorThreadCount;
+
+    /**
+     * Checks the leases of different streams for holes in parallel. Created on start, and null if the checks run on
+     * the shard sync thread.
+     */
+    private ExecutorService hashRangeCheckThreadPool;
+
     @Getter(AccessLevel.NONE)
     private final AtomicBoolean leaderSynced;
 
@@ -114,6 +135,7 @@ class PeriodicShardSyncManager {
             MetricsFactory metricsFactory,
             long leasesRecoveryAuditorExecutionFrequencyMillis,
             int leasesRecoveryAuditorInconsistencyConfidenceThreshold,
+            int leasesRecoveryAuditorThreadCount,
             AtomicBoolean leaderSynced) {
         this(
                 workerId,
@@ -126,6 +148,34 @@ class PeriodicShardSyncManager {
                 metricsFactory,
                 leasesRecoveryAuditorExecutionFrequencyMillis,
                 leasesRecoveryAuditorInconsistencyConfidenceThreshold,
+                leasesRecoveryAuditorThreadCount,
+                leaderSynced);
+    }
+
+    PeriodicShardSyncManager(
+            String workerId,
+            LeaseRefresher leaseRefresher,
+            Map<StreamIdentifier, StreamConfig> currentStreamConfigMap,
+            Function<StreamConfig, ShardSyncTaskManager> shardSyncTaskManagerProvider,
+            Map<StreamConfig, ShardSyncTaskManager> streamToShardSyncTaskManagerMap,
+            ScheduledExecutorService shardSyncThreadPool,
+            boolean isMultiStreamingMode,
+            MetricsFactory metricsFactory,
+            long leasesRecoveryAuditorExecutionFrequencyMillis,
+            int leasesRecoveryAuditorInconsistencyConfidenceThreshold,
+            AtomicBoolean leaderSynced) {
+        this(
+                workerId,
+                leaseRefresher,
+                currentStreamConfigMap,
+                shardSyncTaskManagerProvider,
+                streamToShardSyncTaskManagerMap,
+                shardSyncThreadPool,
+                isMultiStreamingMode,
+                metricsFactory,
+                leasesRecoveryAuditorExecutionFrequencyMillis,
+                leasesRecoveryAuditorInconsistencyConfidenceThreshold,
+                1,
                 leaderSynced);
     }
 
@@ -140,6 +190,7 @@ class PeriodicShardSyncManager {
             MetricsFactory metricsFactory,
             long leasesRecoveryAuditorExecutionFrequencyMillis,
             int leasesRecoveryAuditorInconsistencyConfidenceThreshold,
+            int leasesRecoveryAuditorThreadCount,
             AtomicBoolean leaderSynced) {
         Validate.notBlank(workerId, "WorkerID is required to initialize PeriodicShardSyncManager.");
         this.workerId = workerId;
@@ -153,6 +204,7 @@ class PeriodicShardSyncManager {
         this.leasesRecoveryAuditorExecutionFrequencyMillis = leasesRecoveryAuditorExecutionFrequencyMillis;
         this.leasesRecoveryAuditorInconsistencyConfidenceThreshold =
                 leasesRecoveryAuditorInconsistencyConfidenceThreshold;
+        this.leasesRecoveryAuditorThreadCount = leasesRecoveryAuditorThreadCount;
         this.leaderSynced = leaderSynced;
     }
 
@@ -160,6 +212,14 @@ class PeriodicShardSyncManager {
         Validate.notNull(leaderDecider, "LeaderDecider is required to start PeriodicShardSyncManager.");
         this.leaderDecider = leaderDecider;
         if (!isRunning) {
+            if (isMultiStreamingMode && leasesRecoveryAuditorThreadCount > 1) {
+                hashRangeCheckThreadPool = Executors.newFixedThreadPool(
+                        leasesRecoveryAuditorThreadCount,
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("PeriodicShardSyncManager-HashRangeCheck-%04d")
+                                .setDaemon(true)
+                                .build());
+            }
             final Runnable periodicShardSyncer = () -> {
                 try {
                     runShardSync();
@@ -200,6 +260,9 @@ class PeriodicShardSyncManager {
             leaderDecider.shutdown();
             log.info(String.format("Shutting down periodic shard sync task scheduler on worker %s", workerId));
             shardSyncThreadPool.shutdown();
+            if (hashRangeCheckThreadPool != null) {
+                hashRangeCheckThreadPool.shutdown();
+            }
             isRunning = false;
         }
     }
@@ -224,13 +287,16 @@ class PeriodicShardSyncManager {
                 final Map<StreamIdentifier, List<Lease>> streamToLeasesMap = getStreamToLeasesMap(streamConfigMap);
 
                 // For each of the stream, check if shard sync needs to be done based on the leases state.
+                final Map<StreamIdentifier, ShardSyncResponse> streamToShardSyncResponseMap =
+                        checkForShardSync(streamConfigMap, streamToLeasesMap);
+                // Drop the hash ranges of the streams that are no longer processed.
+                hashRangeIndexMap.keySet().retainAll(streamConfigMap);
+
                 for (StreamIdentifier streamIdentifier : streamConfigMap) {
-                    if (!currentStreamConfigMap.containsKey(streamIdentifier)) {
-                        log.info("Skipping shard sync task for {} as stream is purged", streamIdentifier);
+                    final ShardSyncResponse shardSyncResponse = streamToShardSyncResponseMap.get(streamIdentifier);
+                    if (shardSyncResponse == null) {
                         continue;
                     }
-                    final ShardSyncResponse shardSyncResponse =
-                            checkForShardSync(streamIdentifier, streamToLeasesMap.get(streamIdentifier));
 
                     numStreamsWithPartialLeases += shardSyncResponse.isHoleDetected() ? 1 : 0;
                     numStreamsToSync += shardSyncResponse.shouldDoShardSync ? 1 : 0;
@@ -334,6 +400,64 @@ class PeriodicShardSyncManager {
         }
     }
 
+    /**
+     * Determines for each of the streams if a shard sync is necessary. The streams are checked in parallel on
+     * {@link #hashRangeCheckThreadPool} if there is one, and the latency of the check is emitted per stream.
+     *
+     * @return the shard sync response per stream, without the streams that got purged
+     */
+    private Map<StreamIdentifier, ShardSyncResponse> checkForShardSync(
+            final Set<StreamIdentifier> streamIdentifiers, final Map<StreamIdentifier, List<Lease>> streamToLeasesMap)
+            throws InterruptedException, ExecutionException {
+        final Map<StreamIdentifier, ShardSyncResponse> streamToShardSyncResponseMap = new ConcurrentHashMap<>();
+        final ExecutorService hashRangeCheckThreadPool = this.hashRangeCheckThreadPool;
+        final List<Future<?>> hashRangeChecks = new ArrayList<>();
+        for (StreamIdentifier streamIdentifier : streamIdentifiers) {
+            if (!currentStreamConfigMap.containsKey(streamIdentifier)) {
+                log.info("Skipping shard sync task for {} as stream is purged", streamIdentifier);
+                continue;
+            }
+            final Runnable hashRangeCheck = () -> streamToShardSyncResponseMap.put(
+                    streamIdentifier,
+                    checkForShardSyncWithMetrics(streamIdentifier, streamToLeasesMap.get(streamIdentifier)));
+            if (hashRangeCheckThreadPool == null) {
+                hashRangeCheck.run();
+            } else {
+                hashRangeChecks.add(hashRangeCheckThreadPool.submit(hashRangeCheck));
+            }
+        }
+        // Wait for all the checks, so that no check of this run is still in progress when the next run starts.
+        ExecutionException firstFailure = null;
+        for (Future<?> hashRangeCheck : hashRangeChecks) {
+            try {
+                hashRangeCheck.get();
+            } catch (ExecutionException e) {
+                if (firstFailure == null) {
+                    firstFailure = e;
+                }
+            }
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+        return streamToShardSyncResponseMap;
+    }
+
+    private ShardSyncResponse checkForShardSyncWithMetrics(StreamIdentifier streamIdentifier, List<Lease> leases) {
+        final MetricsScope scope = MetricsUtil.createMetricsWithOperation(metricsFactory, PERIODIC_SHARD_SYNC_MANAGER);
+        MetricsUtil.addStreamId(scope, streamIdentifier);
+        final long startMillis = System.currentTimeMillis();
+        boolean success = false;
+        try {
+            final ShardSyncResponse shardSyncResponse = checkForShardSync(streamIdentifier, leases);
+            success = true;
+            return shardSyncResponse;
+        } finally {
+            MetricsUtil.addSuccessAndLatency(scope, HASH_RANGE_CHECK, success, startMillis, MetricsLevel.DETAILED);
+            scope.end();
+        }
+    }
+
     /**
      * Given a list of leases for a stream, determine if a shard sync is necessary.
      * @param streamIdentifier
@@ -400,7 +524,10 @@ class PeriodicShardSyncManager {
                         lease.checkpoint() != null && !lease.checkpoint().isShardEnd())
                 .collect(Collectors.toList());
         List<Lease> activeLeasesWithHashRanges = fillWithHashRangesIfRequired(streamIdentifier, activeLeases);
-        return checkForHoleInHashKeyRanges(streamIdentifier, activeLeasesWithHashRanges);
+        final HashRangeIndex hashRangeIndex =
+                hashRangeIndexMap.computeIfAbsent(streamIdentifier, s -> new HashRangeIndex());
+        hashRangeIndex.update(activeLeasesWithHashRanges);
+        return hashRangeIndex.findHole(streamIdentifier);
     }
 
     // If leases are missing hashranges information, update the leases in-memory as well as in the lease storage
@@ -453,43 +580,41 @@ class PeriodicShardSyncManager {
             StreamIdentifier streamIdentifier, List<Lease> leasesWithHashKeyRanges) {
         // Sort the hash ranges by starting hash key.
         List<Lease> sortedLeasesWithHashKeyRanges = sortLeasesByHashRange(leasesWithHashKeyRanges);
-        if (sortedLeasesWithHashKeyRanges.isEmpty()) {
+        return checkForHoleInSortedHashKeyRanges(
+                streamIdentifier,
+                sortedLeasesWithHashKeyRanges.stream()
+                        .map(Lease::hashKeyRangeForLease)
+                        .collect(Collectors.toList()));
+    }
+
+    private static Optional<HashRangeHole> checkForHoleInSortedHashKeyRanges(
+            StreamIdentifier streamIdentifier, List<HashKeyRangeForLease> sortedHashKeyRanges) {
+        if (sortedHashKeyRanges.isEmpty()) {
             if (isHashRangeErrorLoggingEnabled(streamIdentifier)) {
                 log.error("No leases with valid hashranges found for stream {}", streamIdentifier);
             }
             return Optional.of(new HashRangeHole());
         }
         // Validate for hashranges bounds.
-        if (!sortedLeasesWithHashKeyRanges
-                        .get(0)
-                        .hashKeyRangeForLease()
-                        .startingHashKey()
-                        .equals(MIN_HASH_KEY)
-                || !sortedLeasesWithHashKeyRanges
-                        .get(sortedLeasesWithHashKeyRanges.size() - 1)
-                        .hashKeyRangeForLease()
-                        .endingHashKey()
-                        .equals(MAX_HASH_KEY)) {
+        final HashKeyRangeForLease firstHashKeyRange = sortedHashKeyRanges.get(0);
+        final HashKeyRangeForLease lastHashKeyRange = sortedHashKeyRanges.get(sortedHashKeyRanges.size() - 1);
+        if (!firstHashKeyRange.startingHashKey().equals(MIN_HASH_KEY)
+                || !lastHashKeyRange.endingHashKey().equals(MAX_HASH_KEY)) {
             if (isHashRangeErrorLoggingEnabled(streamIdentifier)) {
                 log.error(
                         "Incomplete hash range found for stream {} between {} and {}.",
                         streamIdentifier,
-                        sortedLeasesWithHashKeyRanges.get(0),
-                        sortedLeasesWithHashKeyRanges.get(sortedLeasesWithHashKeyRanges.size() - 1));
+                        firstHashKeyRange,
+                        lastHashKeyRange);
             }
-            return Optional.of(new HashRangeHole(
-                    sortedLeasesWithHashKeyRanges.get(0).hashKeyRangeForLease(),
-                    sortedLeasesWithHashKeyRanges
-                            .get(sortedLeasesWithHashKeyRanges.size() - 1)
-                            .hashKeyRangeForLease()));
+            return Optional.of(new HashRangeHole(firstHashKeyRange, lastHashKeyRange));
         }
         // Check for any holes in the sorted hashrange intervals.
-        if (sortedLeasesWithHashKeyRanges.size() > 1) {
-            Lease leftMostLeaseToReportInCaseOfHole = sortedLeasesWithHashKeyRanges.get(0);
-            HashKeyRangeForLease leftLeaseHashRange = leftMostLeaseToReportInCaseOfHole.hashKeyRangeForLease();
-            for (int i = 1; i < sortedLeasesWithHashKeyRanges.size(); i++) {
-                final HashKeyRangeForLease rightLeaseHashRange =
-                        sortedLeasesWithHashKeyRanges.get(i).hashKeyRangeForLease();
+        if (sortedHashKeyRanges.size() > 1) {
+            HashKeyRangeForLease leftMostHashRangeToReportInCaseOfHole = firstHashKeyRange;
+            HashKeyRangeForLease leftLeaseHashRange = leftMostHashRangeToReportInCaseOfHole;
+            for (int i = 1; i < sortedHashKeyRanges.size(); i++) {
+                final HashKeyRangeForLease rightLeaseHashRange = sortedHashKeyRanges.get(i);
                 final BigInteger rangeDiff =
                         rightLeaseHashRange.startingHashKey().subtract(leftLeaseHashRange.endingHashKey());
                 // Case of overlapping leases when the rangediff is 0 or negative.
@@ -507,14 +632,13 @@ class PeriodicShardSyncManager {
                             log.error(
                                     "Incomplete hash range found for {} between {} and {}.",
                                     streamIdentifier,
-                                    leftMostLeaseToReportInCaseOfHole,
-                                    sortedLeasesWithHashKeyRanges.get(i));
+                                    leftMostHashRangeToReportInCaseOfHole,
+                                    rightLeaseHashRange);
                         }
-                        return Optional.of(new HashRangeHole(
-                                leftMostLeaseToReportInCaseOfHole.hashKeyRangeForLease(),
-                                sortedLeasesWithHashKeyRanges.get(i).hashKeyRangeForLease()));
+                        return Optional.of(
+                                new HashRangeHole(leftMostHashRangeToReportInCaseOfHole, rightLeaseHashRange));
                     }
-                    leftMostLeaseToReportInCaseOfHole = sortedLeasesWithHashKeyRanges.get(i);
+                    leftMostHashRangeToReportInCaseOfHole = rightLeaseHashRange;
                     leftLeaseHashRange = rightLeaseHashRange;
                 }
             }
@@ -540,6 +664,21 @@ class PeriodicShardSyncManager {
         return STREAM_TYPE_KINESIS.equals(streamIdentifier.streamType());
     }
 
+    private static void logHashRangeHole(StreamIdentifier streamIdentifier, HashRangeHole hashRangeHole) {
+        if (!isHashRangeErrorLoggingEnabled(streamIdentifier)) {
+            return;
+        }
+        if (hashRangeHole.getHashRangeAtStartOfPossibleHole() == null) {
+            log.error("No leases with valid hashranges found for stream {}", streamIdentifier);
+        } else {
+            log.error(
+                    "Incomplete hash range found for {} between {} and {}.",
+                    streamIdentifier,
+                    hashRangeHole.getHashRangeAtStartOfPossibleHole(),
+                    hashRangeHole.getHashRangeAtEndOfPossibleHole());
+        }
+    }
+
     @Value
     private static class HashRangeHole {
         HashRangeHole() {
@@ -557,6 +696,53 @@ class PeriodicShardSyncManager {
         private final HashKeyRangeForLease hashRangeAtEndOfPossibleHole;
     }
 
+    /**
+     * Hash ranges of the active leases of a stream, kept sorted across checks. Each check only adds and removes the hash
+     * ranges that changed since the previous check, and only walks the sorted hash ranges for holes if any changed.
+     */
+    private static class HashRangeIndex {
+        private final NavigableSet<HashKeyRangeForLease> sortedHashKeyRanges = new TreeSet<>(HASH_KEY_RANGE_COMPARATOR);
+        private Set<HashKeyRangeForLease> hashKeyRanges = new HashSet<>();
+        private Optional<HashRangeHole> hashRangeHole = Optional.empty();
+        private boolean hasChanges = true;
+
+        /**
+         * @return the number of hash ranges added or removed
+         */
+        int update(List<Lease> leasesWithHashKeyRanges) {
+            final Set<HashKeyRangeForLease> newHashKeyRanges = new HashSet<>(leasesWithHashKeyRanges.size());
+            leasesWithHashKeyRanges.forEach(lease -> newHashKeyRanges.add(lease.hashKeyRangeForLease()));
+            int numChanges = 0;
+            for (HashKeyRangeForLease hashKeyRange : newHashKeyRanges) {
+                if (!hashKeyRanges.contains(hashKeyRange)) {
+                    sortedHashKeyRanges.add(hashKeyRange);
+                    numChanges++;
+                }
+            }
+            for (HashKeyRangeForLease hashKeyRange : hashKeyRanges) {
+                if (!newHashKeyRanges.contains(hashKeyRange)) {
+                    sortedHashKeyRanges.remove(hashKeyRange);
+                    numChanges++;
+                }
+            }
+            hashKeyRanges = newHashKeyRanges;
+            hasChanges |= numChanges > 0;
+            return numChanges;
+        }
+
+        Optional<HashRangeHole> findHole(StreamIdentifier streamIdentifier) {
+            if (hasChanges) {
+                hashRangeHole =
+                        checkForHoleInSortedHashKeyRanges(streamIdentifier, new ArrayList<>(sortedHashKeyRanges));
+                hasChanges = false;
+            } else {
+                // The hole is still there, so report it on every check like a fresh walk of the hash ranges does.
+                hashRangeHole.ifPresent(hole -> logHashRangeHole(streamIdentifier, hole));
+            }
+            return hashRangeHole;
+        }
+    }
+
     private class HashRangeHoleTracker {
         private HashRangeHole hashRangeHole;
 
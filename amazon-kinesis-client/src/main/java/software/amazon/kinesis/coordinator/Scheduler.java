@@ -37,6 +37,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
@@ -86,6 +87,7 @@ import software.amazon.kinesis.leases.LeaseManagementFactory;
 import software.amazon.kinesis.leases.LeaseRefresher;
 import software.amazon.kinesis.leases.LeaseSerializer;
 import software.amazon.kinesis.leases.MultiStreamLease;
+import software.amazon.kinesis.leases.ParentShardCompletionRegistry;
 import software.amazon.kinesis.leases.ShardDetector;
 import software.amazon.kinesis.leases.ShardInfo;
 import software.amazon.kinesis.leases.ShardPrioritization;
@@ -102,7 +104,6 @@ import software.amazon.kinesis.lifecycle.LifecycleConfig;
 import software.amazon.kinesis.lifecycle.ShardConsumer;
 import software.amazon.kinesis.lifecycle.ShardConsumerArgument;
 import software.amazon.kinesis.lifecycle.ShardConsumerShutdownNotification;
-import software.amazon.kinesis.lifecycle.ShutdownNotification;
 import software.amazon.kinesis.lifecycle.ShutdownReason;
 import software.amazon.kinesis.metrics.CloudWatchMetricsFactory;
 import software.amazon.kinesis.metrics.MetricsConfig;
@@ -123,6 +124,11 @@ import software.amazon.kinesis.retrieval.RetrievalConfig;
 import software.amazon.kinesis.retrieval.polling.PollingConfig;
 import software.amazon.kinesis.schemaregistry.SchemaRegistryDecoder;
 import software.amazon.kinesis.worker.WorkerMetricsSelector;
+import software.amazon.kinesis.worker.metric.OperatingRange;
+import software.amazon.kinesis.worker.metric.WorkerMetric;
+import software.amazon.kinesis.worker.metric.impl.executor.ProcessingPoolSaturationWorkerMetric;
+import software.amazon.kinesis.worker.metric.impl.jmx.AllocationRateWorkerMetric;
+import software.amazon.kinesis.worker.metric.impl.jmx.GcPauseWorkerMetric;
 import software.amazon.kinesis.worker.metricstats.WorkerMetricStatsDAO;
 import software.amazon.kinesis.worker.metricstats.WorkerMetricStatsManager;
 
@@ -138,6 +144,7 @@ import static software.amazon.kinesis.processor.FormerStreamsLeasesDeletionStrat
 public class Scheduler implements Runnable {
 
     private static final int PERIODIC_SHARD_SYNC_MAX_WORKERS_DEFAULT = 1;
+    private static final String STARTUP_METRICS_OPERATION = "Scheduler:Startup";
     private static final long LEASE_TABLE_CHECK_FREQUENCY_MILLIS = 3 * 1000L;
     private static final long MIN_WAIT_TIME_FOR_LEASE_TABLE_CHECK_MILLIS = 1000L;
     private static final long MAX_WAIT_TIME_FOR_LEASE_TABLE_CHECK_MILLIS = 30 * 1000L;
@@ -355,9 +362,12 @@ public class Scheduler implements Runnable {
                 leaseManagementConfig.tableName(),
                 leaseSerializer,
                 coordinatorStateDAO.getLeaseTableDaoDelegate(),
-                Executors.newCachedThreadPool(),
-                leaseManagementConfig.leaseTableScanTotalSegments());
+                DynamoDBLeaseTableDao.createScanExecutor(leaseManagementConfig.leaseTableScanTotalSegments()),
+                leaseManagementConfig.leaseTableScanTotalSegments(),
+                metricsFactory);
 
+        // The processing pool saturation WorkerMetric reads the executor.
+        this.executorService = this.coordinatorConfig.coordinatorFactory().createExecutorService();
         this.migrationComponentsInitializer =
                 createDynamicMigrationComponentsInitializer(leaseSerializer, tableMigrationStatusProvider);
         this.migrationStateMachine = new MigrationStateMachineImpl(
@@ -387,7 +397,6 @@ public class Scheduler implements Runnable {
         //
         this.shardConsumerDispatchPollIntervalMillis = this.coordinatorConfig.shardConsumerDispatchPollIntervalMillis();
         this.parentShardPollIntervalMillis = this.coordinatorConfig.parentShardPollIntervalMillis();
-        this.executorService = this.coordinatorConfig.coordinatorFactory().createExecutorService();
         this.diagnosticEventFactory = diagnosticEventFactory;
         this.diagnosticEventHandler = new DiagnosticEventLogger();
         this.deletedStreamListProvider = new DeletedStreamListProvider();
@@ -431,6 +440,7 @@ public class Scheduler implements Runnable {
                 metricsFactory,
                 leaseManagementConfig.leasesRecoveryAuditorExecutionFrequencyMillis(),
                 leaseManagementConfig.leasesRecoveryAuditorInconsistencyConfidenceThreshold(),
+                leaseManagementConfig.leasesRecoveryAuditorThreadCount(),
                 leaderSynced);
         this.leaseCleanupManager = leaseManagementFactory.createLeaseCleanupManager(metricsFactory);
         this.schemaRegistryDecoder = this.retrievalConfig.glueSchemaRegistryDeserializer() == null
@@ -459,12 +469,20 @@ public class Scheduler implements Runnable {
                 leaseManagementConfig.workerUtilizationAwareAssignmentConfig().workerMetricsTableConfig(),
                 leaseManagementConfig.tableName(),
                 leaseManagementConfig.workerUtilizationAwareAssignmentConfig().workerMetricsReporterFreqInMillis(),
-                tableMigrationStatusProvider);
+                tableMigrationStatusProvider,
+                leaseManagementConfig.workerUtilizationAwareAssignmentConfig().compactWorkerMetricStatsEncoding());
         final MigrationAwareLAMDataManager lamDataManager = new MigrationAwareLAMDataManager(
                 entityDAO,
                 workerMetricsDAO,
                 tableMigrationStatusProvider,
                 ((TableMigrationStateMachineImpl) tableMigrationStateMachine)::updateMigrationSummary,
+                leases -> {
+                    final ParentShardCompletionRegistry parentShardCompletionRegistry =
+                            leaseCoordinator.parentShardCompletionRegistry();
+                    if (parentShardCompletionRegistry != null) {
+                        parentShardCompletionRegistry.onLeaseTableScan(leases);
+                    }
+                },
                 leaseManagementConfig.workerUtilizationAwareAssignmentConfig(),
                 Executors.newFixedThreadPool(
                         Runtime.getRuntime().availableProcessors(),
@@ -560,69 +578,51 @@ public class Scheduler implements Runnable {
 
             boolean isDone = false;
             Exception lastException = null;
-            for (int i = 0; (!isDone) && (i < maxInitializationAttempts); i++) {
-                try {
-                    log.info("Initializing LeaseCoordinator attempt {}", (i + 1));
-                    leaseCoordinator.initialize();
-
-                    // Initialize table migration state machine first. This:
-                    // 1. Calls coordinatorStateDAO.initializeDelegates() (legacy checks table existence)
-                    // 2. Determines TableMigrationStatus and sets the TableMigrationStatusProvider
-                    // 3. Calls coordinatorStateDAO.initialize() to enable writes
-                    // After this, CoordinatorStateDAO is fully operational for reads and writes.
-                    tableMigrationStateMachine.initialize();
-
-                    StreamIdCache.initialize(streamIdCacheManager, leaseManagementConfig.streamIdOnboardingState());
-
-                    // Initialize the client version state machine after CoordinatorStateDAO is ready.
-                    // Migration state machine creates and waits for GSI if necessary,
-                    // it must be initialized before starting leaseCoordinator, which runs LeaseDiscoverer
-                    // and that requires GSI to be present and active. (migrationStateMachine.initialize is idempotent)
-                    migrationStateMachine.initialize();
-                    leaderDecider = migrationComponentsInitializer.leaderDecider();
-
-                    if (!skipShardSyncAtWorkerInitializationIfLeasesExist || leaseRefresher.isLeaseTableEmpty()) {
-                        if (shouldInitiateLeaseSync()
-                                && leaderDecider.isLeader(leaseManagementConfig.workerIdentifier())) {
-                            log.info(
-                                    "Worker {} is initiating the lease sync.",
-                                    leaseManagementConfig.workerIdentifier());
-                            leaderElectedPeriodicShardSyncManager.syncShardsOnce();
-                        }
-                    } else {
-                        log.info("Skipping shard sync per configuration setting (and lease table is not empty)");
-                    }
-
-                    leaseCleanupManager.start();
+            final ExecutorService startupExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                    .setNameFormat("SchedulerStartup-%04d")
+                    .setDaemon(true)
+                    .build());
+            try {
+                for (int i = 0; (!isDone) && (i < maxInitializationAttempts); i++) {
+                    final MetricsScope metricsScope =
+                            MetricsUtil.createMetricsWithOperation(metricsFactory, STARTUP_METRICS_OPERATION);
+                    try {
+                        log.info("Initializing LeaseCoordinator attempt {}", (i + 1));
+                        runStartupSteps(startupExecutor, metricsScope);
 
-                    // If we reach this point, then we either skipped the lease sync or did not have any exception
-                    // for any of the shard sync in the previous attempt.
+                        // If we reach this point, then we either skipped the lease sync or did not have any
+                        // exception for any of the shard sync in the previous attempt.
 
-                    if (!leaseCoordinator.isRunning()) {
-                        log.info("Starting LeaseCoordinator");
-                        leaseCoordinator.start(leaseAssignmentModeProvider);
-                    } else {
-                        log.info("LeaseCoordinator is already running. No need to start it.");
+                        if (!leaseCoordinator.isRunning()) {
+                            log.info("Starting LeaseCoordinator");
+                            leaseCoordinator.start(leaseAssignmentModeProvider);
+                        } else {
+                            log.info("LeaseCoordinator is already running. No need to start it.");
+                        }
+                        log.info("Scheduling periodicShardSync");
+                        leaderElectedPeriodicShardSyncManager.start(leaderDecider);
+                        streamSyncWatch.start();
+                        isDone = true;
+                    } catch (final Exception e) {
+                        log.error("Caught exception when initializing LeaseCoordinator", e);
+                        lastException = e;
+                    } finally {
+                        MetricsUtil.endScope(metricsScope);
                     }
-                    log.info("Scheduling periodicShardSync");
-                    leaderElectedPeriodicShardSyncManager.start(leaderDecider);
-                    streamSyncWatch.start();
-                    isDone = true;
-                } catch (final Exception e) {
-                    log.error("Caught exception when initializing LeaseCoordinator", e);
-                    lastException = e;
-                }
 
-                if (!isDone) {
-                    try {
-                        Thread.sleep(schedulerInitializationBackoffTimeMillis);
-                        leaderElectedPeriodicShardSyncManager.stop();
-                        streamInfoManager.stop(false);
-                        streamIdCacheManager.stop();
-                    } catch (InterruptedException e) {
-                        log.debug("Sleep interrupted while initializing worker.");
+                    if (!isDone) {
+                        try {
+                            Thread.sleep(schedulerInitializationBackoffTimeMillis);
+                            leaderElectedPeriodicShardSyncManager.stop();
+                            streamInfoManager.stop(false);
+                            streamIdCacheManager.stop();
+                        } catch (InterruptedException e) {
+                            log.debug("Sleep interrupted while initializing worker.");
+                        }
                     }
                 }
+            } finally {
+                startupExecutor.shutdownNow();
             }
 
             if (!isDone) {
@@ -633,6 +633,70 @@ public class Scheduler implements Runnable {
         }
     }
 
+    /**
+     * Runs the startup steps, steps that do not depend on each other run concurrently. The wait for another worker to
+     * bootstrap an empty lease table only needs the lease table, so it overlaps with the initialization of the
+     * migration components, which may wait for the lease owner GSI. The lease cleanup manager is started once the
+     * migration components and the stream id cache are initialized.
+     */
+    private void runStartupSteps(final ExecutorService startupExecutor, final MetricsScope metricsScope)
+            throws Exception {
+        final AtomicBoolean initiateLeaseSync = new AtomicBoolean(false);
+        new StartupStepGraph(startupExecutor)
+                .add("LeaseTable", leaseCoordinator::initialize)
+                // Initialize table migration state machine first. This:
+                // 1. Calls coordinatorStateDAO.initializeDelegates() (legacy checks table existence)
+                // 2. Determines TableMigrationStatus and sets the TableMigrationStatusProvider
+                // 3. Calls coordinatorStateDAO.initialize() to enable writes
+                // After this, CoordinatorStateDAO is fully operational for reads and writes.
+                .add(
+                        "TableMigration",
+                        () -> {
+                            tableMigrationStateMachine.initialize();
+                            StreamIdCache.initialize(
+                                    streamIdCacheManager, leaseManagementConfig.streamIdOnboardingState());
+                        },
+                        "LeaseTable")
+                // Initialize the client version state machine after CoordinatorStateDAO is ready.
+                // Migration state machine creates and waits for GSI if necessary,
+                // it must be initialized before starting leaseCoordinator, which runs LeaseDiscoverer
+                // and that requires GSI to be present and active. (migrationStateMachine.initialize is idempotent)
+                .add(
+                        "MigrationComponents",
+                        () -> {
+                            migrationStateMachine.initialize();
+                            leaderDecider = migrationComponentsInitializer.leaderDecider();
+                        },
+                        "TableMigration")
+                .add(
+                        "LeaseSyncCheck",
+                        () -> {
+                            if (!skipShardSyncAtWorkerInitializationIfLeasesExist
+                                    || leaseRefresher.isLeaseTableEmpty()) {
+                                initiateLeaseSync.set(shouldInitiateLeaseSync());
+                            } else {
+                                log.info(
+                                        "Skipping shard sync per configuration setting (and lease table is not empty)");
+                            }
+                        },
+                        "LeaseTable")
+                .add(
+                        "InitialShardSync",
+                        () -> {
+                            if (initiateLeaseSync.get()
+                                    && leaderDecider.isLeader(leaseManagementConfig.workerIdentifier())) {
+                                log.info(
+                                        "Worker {} is initiating the lease sync.",
+                                        leaseManagementConfig.workerIdentifier());
+                                leaderElectedPeriodicShardSyncManager.syncShardsOnce();
+                            }
+                        },
+                        "LeaseSyncCheck",
+                        "MigrationComponents")
+                .add("LeaseCleanupManager", leaseCleanupManager::start, "MigrationComponents")
+                .await(metricsScope);
+    }
+
     @VisibleForTesting
     boolean shouldInitiateLeaseSync()
             throws InterruptedException, DependencyException, ProvisionedThroughputException, InvalidStateException {
@@ -748,6 +812,7 @@ public class Scheduler implements Runnable {
                                         "Removing stream {} from currentStreamConfigMap due to not being active",
                                         stream);
                                 currentStreamConfigMap.remove(stream);
+                                clearShardLineage(stream);
                                 staleStreamDeletionMap.remove(stream);
                                 streamsSynced.add(stream);
                             });
@@ -942,6 +1007,7 @@ public class Scheduler implements Runnable {
             // Deleting leases will cause the workers to shutdown the record processors for these shards.
             if (deleteMultiStreamLeases(streamIdToShardsMap.get(streamIdentifier.serialize()))) {
                 streamInfoManager.deleteStreamInfo(streamIdentifier);
+                clearShardLineage(streamIdentifier);
                 staleStreamDeletionMap.remove(streamIdentifier);
                 streamsSynced.add(streamIdentifier);
             }
@@ -953,6 +1019,18 @@ public class Scheduler implements Runnable {
         return streamsSynced;
     }
 
+    /**
+     * Drops the shard lineage kept for a stream that is no longer tracked, so that it does not stay in memory for the
+     * life of the worker.
+     */
+    private void clearShardLineage(StreamIdentifier streamIdentifier) {
+        streamToShardSyncTaskManagerMap.forEach((streamConfig, shardSyncTaskManager) -> {
+            if (streamIdentifier.equals(streamConfig.streamIdentifier())) {
+                shardSyncTaskManager.hierarchicalShardSyncer().clearShardLineage(streamIdentifier);
+            }
+        });
+    }
+
     private boolean deleteMultiStreamLeases(List<MultiStreamLease> leases) {
         if (leases != null) {
             for (MultiStreamLease lease : leases) {
@@ -1087,11 +1165,21 @@ public class Scheduler implements Runnable {
                         .finalShutdownLatch(finalShutdownLatch)
                         .build();
             }
+            final long drainDeadlineMillis = coordinatorConfig.gracefulShutdownDrainDeadlineMillis() > 0
+                    ? System.currentTimeMillis() + coordinatorConfig.gracefulShutdownDrainDeadlineMillis()
+                    : 0L;
             CountDownLatch shutdownCompleteLatch = new CountDownLatch(leases.size());
             CountDownLatch notificationCompleteLatch = new CountDownLatch(leases.size());
+            final List<ShardConsumerShutdownNotification> shutdownNotifications = new ArrayList<>(leases.size());
             for (Lease lease : leases) {
-                ShutdownNotification shutdownNotification = new ShardConsumerShutdownNotification(
-                        leaseCoordinator, lease, notificationCompleteLatch, shutdownCompleteLatch);
+                ShardConsumerShutdownNotification shutdownNotification = new ShardConsumerShutdownNotification(
+                        leaseCoordinator,
+                        lease,
+                        notificationCompleteLatch,
+                        shutdownCompleteLatch,
+                        coordinatorConfig.releaseLeasesOnGracefulShutdown(),
+                        metricsFactory);
+                shutdownNotifications.add(shutdownNotification);
                 ShardInfo shardInfo = DynamoDBLeaseCoordinator.convertLeaseToAssignment(lease);
                 ShardConsumer consumer = shardInfoShardConsumerMap.get(shardInfo);
                 if (consumer != null && !consumer.isShutdown()) {
@@ -1111,6 +1199,9 @@ public class Scheduler implements Runnable {
                     .notificationCompleteLatch(notificationCompleteLatch)
                     .finalShutdownLatch(finalShutdownLatch)
                     .scheduler(this)
+                    .shutdownNotifications(shutdownNotifications)
+                    .drainDeadlineMillis(drainDeadlineMillis)
+                    .metricsFactory(metricsFactory)
                     .build();
         };
     }
@@ -1518,6 +1609,29 @@ public class Scheduler implements Runnable {
         return null;
     }
 
+    private List<WorkerMetric> createJvmWorkerMetrics(
+            final WorkerUtilizationAwareAssignmentConfig workerUtilizationAwareAssignmentConfig) {
+        final OperatingRange operatingRange =
+                OperatingRange.builder().maxUtilization(100).build();
+        final List<WorkerMetric> workerMetrics = new ArrayList<>();
+        workerMetrics.add(new GcPauseWorkerMetric(operatingRange));
+        workerMetrics.add(new AllocationRateWorkerMetric(
+                operatingRange, workerUtilizationAwareAssignmentConfig.maxAllocationRateInMBps()));
+        if (executorService instanceof ThreadPoolExecutor) {
+            final int processingPoolCapacity = workerUtilizationAwareAssignmentConfig.processingPoolCapacity() > 0
+                    ? workerUtilizationAwareAssignmentConfig.processingPoolCapacity()
+                    : Runtime.getRuntime().availableProcessors();
+            workerMetrics.add(new ProcessingPoolSaturationWorkerMetric(
+                    operatingRange, (ThreadPoolExecutor) executorService, processingPoolCapacity));
+        } else {
+            log.warn(
+                    "Executor service {} is not a ThreadPoolExecutor, not adding the processing pool saturation "
+                            + "WorkerMetric",
+                    executorService.getClass().getName());
+        }
+        return workerMetrics;
+    }
+
     /**
      * If WorkerMetricStats list is empty and the disable flag is false, select WorkerMetricStats automatically.
      */
@@ -1526,8 +1640,12 @@ public class Scheduler implements Runnable {
         try {
             if (workerUtilizationAwareAssignmentConfig.workerMetricList().isEmpty()
                     && !workerUtilizationAwareAssignmentConfig.disableWorkerMetrics()) {
-                workerUtilizationAwareAssignmentConfig.workerMetricList(
-                        WorkerMetricsSelector.create().getDefaultWorkerMetrics());
+                final List<WorkerMetric> workerMetrics =
+                        new ArrayList<>(WorkerMetricsSelector.create().getDefaultWorkerMetrics());
+                if (workerUtilizationAwareAssignmentConfig.enableJvmWorkerMetrics()) {
+                    workerMetrics.addAll(createJvmWorkerMetrics(workerUtilizationAwareAssignmentConfig));
+                }
+                workerUtilizationAwareAssignmentConfig.workerMetricList(workerMetrics);
             }
         } catch (final Exception e) {
             log.warn(
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.coordinator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import com.google.common.base.Preconditions;
+import lombok.NonNull;
+import lombok.Value;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.metrics.MetricsLevel;
+import software.amazon.kinesis.metrics.MetricsScope;
+import software.amazon.kinesis.metrics.MetricsUtil;
+
+/**
+ * Runs the Scheduler startup steps as a dependency graph. A step is started on the executor as soon as all steps it
+ * depends on completed, so steps that do not depend on each other run concurrently. Steps whose dependencies failed
+ * are skipped.
+ *
+ * Once all steps finished, the time taken by each step is published as "&lt;step&gt;.Time" and a startup trace with
+ * the start offset and duration of every step is logged.
+ */
+@Slf4j
+@KinesisClientInternalApi
+class StartupStepGraph {
+
+    @FunctionalInterface
+    interface StartupStep {
+        void run() throws Exception;
+    }
+
+    private final ExecutorService executorService;
+    private final long startTimeMillis;
+    private final Map<String, CompletableFuture<Void>> steps = new LinkedHashMap<>();
+    private final Map<String, StepTiming> stepTimings = new ConcurrentHashMap<>();
+
+    StartupStepGraph(@NonNull final ExecutorService executorService) {
+        this.executorService = executorService;
+        this.startTimeMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Adds a step and starts it once the given steps completed. Dependencies have to be added before the steps
+     * depending on them, which keeps the graph acyclic.
+     */
+    StartupStepGraph add(@NonNull final String name, @NonNull final StartupStep step, final String... dependsOn) {
+        Preconditions.checkArgument(!steps.containsKey(name), "Startup step %s is already added", name);
+        final CompletableFuture<?>[] dependencies = new CompletableFuture<?>[dependsOn.length];
+        for (int i = 0; i < dependsOn.length; i++) {
+            dependencies[i] = steps.get(dependsOn[i]);
+            Preconditions.checkArgument(
+                    dependencies[i] != null, "Startup step %s depends on unknown step %s", name, dependsOn[i]);
+        }
+        steps.put(name, CompletableFuture.allOf(dependencies).thenRunAsync(() -> runStep(name, step), executorService));
+        return this;
+    }
+
+    private void runStep(final String name, final StartupStep step) {
+        final long stepStartTimeMillis = System.currentTimeMillis();
+        boolean success = false;
+        try {
+            step.run();
+            success = true;
+        } catch (final Exception e) {
+            throw new CompletionException(e);
+        } finally {
+            stepTimings.put(
+                    name,
+                    new StepTiming(
+                            stepStartTimeMillis - startTimeMillis,
+                            System.currentTimeMillis() - stepStartTimeMillis,
+                            success));
+        }
+    }
+
+    /**
+     * Waits for all steps to finish, then publishes the step timings to the given scope and logs the startup trace.
+     *
+     * @throws Exception the failure of the first added step that failed
+     */
+    void await(@NonNull final MetricsScope metricsScope) throws Exception {
+        try {
+            CompletableFuture.allOf(steps.values().toArray(new CompletableFuture<?>[0]))
+                    .join();
+        } catch (final CompletionException e) {
+            // Failures are rethrown below, once the timings of the steps that still ran are recorded.
+        }
+
+        stepTimings.forEach((name, timing) -> metricsScope.addData(
+                name + ".Time", timing.durationMillis(), StandardUnit.MILLISECONDS, MetricsLevel.SUMMARY));
+        MetricsUtil.addLatency(metricsScope, "Startup", startTimeMillis, MetricsLevel.SUMMARY);
+        log.info(
+                "Startup trace: {}, total {} ms",
+                steps.keySet().stream().map(this::traceOf).collect(Collectors.joining(", ")),
+                System.currentTimeMillis() - startTimeMillis);
+
+        for (final Map.Entry<String, CompletableFuture<Void>> step : steps.entrySet()) {
+            final StepTiming timing = stepTimings.get(step.getKey());
+            if (timing != null && !timing.success()) {
+                final Throwable cause = unwrap(step.getValue());
+                if (cause instanceof Exception) {
+                    throw (Exception) cause;
+                }
+                throw (Error) cause;
+            }
+        }
+    }
+
+    private String traceOf(final String name) {
+        final StepTiming timing = stepTimings.get(name);
+        if (timing == null) {
+            return name + " skipped";
+        }
+        return String.format(
+                "%s started at +%d ms took %d ms%s",
+                name, timing.offsetMillis(), timing.durationMillis(), timing.success() ? "" : " (failed)");
+    }
+
+    private static Throwable unwrap(final CompletableFuture<Void> future) {
+        try {
+            future.join();
+            throw new IllegalStateException("Startup step did not fail");
+        } catch (final CompletionException e) {
+            return e.getCause() != null ? e.getCause() : e;
+        }
+    }
+
+    @Value
+    @Accessors(fluent = true)
+    private static class StepTiming {
+        long offsetMillis;
+        long durationMillis;
+        boolean success;
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.coordinator.assignment;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.leases.Lease;
+import software.amazon.kinesis.worker.metricstats.WorkerMetricStats;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * BinPackingLeaseAssignmentDecider
+ * This implementation of LeaseAssignmentDecider treats every active worker as a bin with one dimension per
+ * WorkerMetricStats. The capacity of a bin in each dimension is the fleet level average of that WorkerMetricStats,
+ * capped by the operating range of the worker.
+ * Rebalancing is done in a single pass with best-fit-decreasing: workers outside of the {@code reBalanceThreshold}
+ * shed the largest leases that fit in their excess load, and the shed leases are placed, in decreasing order of
+ * throughput, on the worker that they fit tightest on, preferring workers below the {@code reBalanceThreshold}.
+ * Leases that do not fit on any other worker stay where they are, so every reassignment moves a worker towards the
+ * fleet average without pushing another worker above it.
+ * A worker stops shedding load once its remaining excess is below {@code migrationCostPercentage} of the average
+ * worker throughput, as a lease handoff pauses processing of the lease and is not worth a marginal improvement.
+ */
+@Slf4j
+@KinesisClientInternalApi
+public final class BinPackingLeaseAssignmentDecider implements LeaseAssignmentDecider {
+    private static final Comparator<Lease> DECREASING_THROUGHPUT =
+            Comparator.comparingDouble((Lease lease) -> lease.throughputKBps()).reversed();
+
+    private final LeaseAssignmentManager.InMemoryStorageView inMemoryStorageView;
+    private final int reBalanceThreshold;
+    private final int migrationCostPercentage;
+    private final boolean allowThroughputOvershoot;
+    private final Supplier<Long> nanoTimeProvider;
+    private final Map<String, Double> workerMetricsToFleetLevelAverageMap = new HashMap<>();
+    private final Map<String, WorkerBin> workerIdToBin = new LinkedHashMap<>();
+    private int targetLeasePerWorker;
+
+    public BinPackingLeaseAssignmentDecider(
+            final LeaseAssignmentManager.InMemoryStorageView inMemoryStorageView,
+            final int reBalanceThreshold,
+            final int migrationCostPercentage,
+            final boolean allowThroughputOvershoot,
+            final Supplier<Long> nanoTimeProvider) {
+        this.inMemoryStorageView = inMemoryStorageView;
+        this.reBalanceThreshold = reBalanceThreshold;
+        this.migrationCostPercentage = migrationCostPercentage;
+        this.allowThroughputOvershoot = allowThroughputOvershoot;
+        this.nanoTimeProvider = nanoTimeProvider;
+        initialize();
+    }
+
+    private void initialize() {
+        final List<WorkerMetricStats> activeWorkerMetrics = inMemoryStorageView.getActiveWorkerMetrics();
+        final Map<String, Double> workerMetricsNameToAverage = activeWorkerMetrics.stream()
+                .flatMap(workerMetrics -> workerMetrics.getMetricStats().keySet().stream()
+                        .map(workerMetricsName ->
+                                new SimpleEntry<>(workerMetricsName, workerMetrics.getMetricStat(workerMetricsName))))
+                .collect(Collectors.groupingBy(
+                        SimpleEntry::getKey, HashMap::new, Collectors.averagingDouble(SimpleEntry::getValue)));
+        workerMetricsToFleetLevelAverageMap.putAll(workerMetricsNameToAverage);
+
+        final int totalWorkers = Math.max(activeWorkerMetrics.size(), 1);
+        this.targetLeasePerWorker = Math.max(inMemoryStorageView.getLeaseList().size() / totalWorkers, 1);
+        activeWorkerMetrics.forEach(
+                workerMetrics -> workerIdToBin.put(workerMetrics.getWorkerId(), new WorkerBin(workerMetrics)));
+    }
+
+    /**
+     * Assigns the leases in decreasing order of throughput to the worker they fit tightest on. If a lease does not fit
+     * on any worker, it is assigned to the worker that stays least loaded after the assignment.
+     */
+    @Override
+    public void assignExpiredOrUnassignedLeases(final List<Lease> expiredOrUnAssignedLeases) {
+        // Decreasing throughput for the bin packing, leases expired first are picked first on ties.
+        expiredOrUnAssignedLeases.sort(DECREASING_THROUGHPUT.thenComparingLong(Lease::lastCounterIncrementNanos));
+        final Set<Lease> assignedLeases = new HashSet<>();
+        for (final Lease lease : expiredOrUnAssignedLeases) {
+            WorkerBin workerToAssign = findBestFit(lease, null);
+            if (isNull(workerToAssign)) {
+                workerToAssign = findLeastLoadedAfterAssignment(lease);
+            }
+            if (isNull(workerToAssign)) {
+                log.info("No worker available to assign lease {}", lease.leaseKey());
+                break;
+            }
+            assignLease(lease, workerToAssign, true);
+            assignedLeases.add(lease);
+        }
+        expiredOrUnAssignedLeases.removeAll(assignedLeases);
+    }
+
+    /**
+     * Determines the leases to shed from the workers above the fleet average, and moves the ones that fit on another
+     * worker. Leases are only moved when rebalancing is triggered, which is when a worker is outside of
+     * {@code reBalanceThreshold} of the fleet average or above its operating range for any WorkerMetricStats.
+     */
+    @Override
+    public void balanceWorkerVariance() {
+        log.info("WorkerMetricStats to corresponding fleet level average : {}", workerMetricsToFleetLevelAverageMap);
+        final double upperLimit = 1.0D + (double) reBalanceThreshold / 100;
+        final double lowerLimit = 1.0D - (double) reBalanceThreshold / 100;
+
+        boolean shouldTriggerReBalance = false;
+        final List<WorkerBin> workersAboveUpperLimit = new ArrayList<>();
+        final List<WorkerBin> workersAboveAverage = new ArrayList<>();
+        for (final WorkerBin bin : workerIdToBin.values()) {
+            final double maxLoadRatio = bin.maxLoadRatio();
+            if (maxLoadRatio > upperLimit || bin.minLoadRatio() < lowerLimit || bin.isAboveOperatingRange()) {
+                shouldTriggerReBalance = true;
+            }
+            if (maxLoadRatio >= upperLimit || bin.isAboveOperatingRange()) {
+                workersAboveUpperLimit.add(bin);
+            }
+            if (maxLoadRatio > 1.0D) {
+                workersAboveAverage.add(bin);
+            }
+        }
+        if (!shouldTriggerReBalance) {
+            log.info("All workers are within {}% of the fleet level average, no re-balance", reBalanceThreshold);
+            return;
+        }
+        // If no worker is above the upper limit, some worker is below the lower limit and takes from the workers
+        // above average.
+        final List<WorkerBin> workersToTakeLeasesFrom =
+                workersAboveUpperLimit.isEmpty() ? workersAboveAverage : workersAboveUpperLimit;
+
+        final long currentTimeMillis = TimeUnit.NANOSECONDS.toMillis(nanoTimeProvider.get());
+        final double minThroughputToShed =
+                inMemoryStorageView.getTargetAverageThroughput() * migrationCostPercentage / 100;
+        final List<Lease> leasesToShed = new ArrayList<>();
+        for (final WorkerBin bin : workersToTakeLeasesFrom) {
+            leasesToShed.addAll(getLeasesToShed(bin, currentTimeMillis, minThroughputToShed));
+        }
+        leasesToShed.sort(DECREASING_THROUGHPUT);
+
+        final Set<String> workersWithLeasesTaken = new HashSet<>();
+        int reassignedLeases = 0;
+        for (final Lease lease : leasesToShed) {
+            final String currentOwner = getCurrentOwner(lease);
+            final WorkerBin workerToAssign = findBestFit(lease, currentOwner);
+            if (nonNull(workerToAssign)) {
+                workersWithLeasesTaken.add(currentOwner);
+                assignLease(lease, workerToAssign, false);
+                reassignedLeases++;
+            }
+        }
+
+        if (allowThroughputOvershoot) {
+            for (final WorkerBin bin : workersToTakeLeasesFrom) {
+                final Lease minThroughputLease = inMemoryStorageView.getMinThroughputLease(bin.workerId());
+                if (!workersWithLeasesTaken.contains(bin.workerId())
+                        && nonNull(minThroughputLease)
+                        && !minThroughputLease.blockedOnPendingCheckpoint(currentTimeMillis)) {
+                    final WorkerBin workerToAssign = findBestFit(minThroughputLease, bin.workerId());
+                    if (nonNull(workerToAssign)) {
+                        assignLease(minThroughputLease, workerToAssign, false);
+                        reassignedLeases++;
+                    }
+                }
+            }
+        }
+        log.info(
+                "Re-balance took {} leases from {} workers, {} of them fit on another worker",
+                leasesToShed.size(),
+                workersToTakeLeasesFrom.size(),
+                reassignedLeases);
+    }
+
+    /**
+     * Picks the leases of the worker, largest first, that add up to the throughput above the fleet average in the
+     * most loaded WorkerMetricStats of the worker.
+     */
+    private List<Lease> getLeasesToShed(
+            final WorkerBin bin, final long currentTimeMillis, final double minThroughputToShed) {
+        final List<Lease> leasesToShed = new ArrayList<>();
+        final double totalThroughput = inMemoryStorageView.getTotalAssignedThroughput(bin.workerId());
+        if (totalThroughput == 0D) {
+            // Its not possible to determine leases to take based on throughput so simply take 1 lease and move on.
+            final Lease lease = inMemoryStorageView.getMaxThroughputLease(bin.workerId());
+            if (nonNull(lease) && !lease.blockedOnPendingCheckpoint(currentTimeMillis)) {
+                leasesToShed.add(lease);
+            }
+            return leasesToShed;
+        }
+        double remainingThroughputToShed = totalThroughput * (1.0D - 1.0D / bin.maxTargetRatio());
+        final List<Lease> candidateLeases =
+                inMemoryStorageView.getLeasesWithThroughputBelow(bin.workerId(), remainingThroughputToShed);
+        for (int i = candidateLeases.size() - 1; i >= 0; i--) {
+            if (remainingThroughputToShed < minThroughputToShed) {
+                break;
+            }
+            final Lease lease = candidateLeases.get(i);
+            if (lease.throughputKBps() < remainingThroughputToShed
+                    && !lease.blockedOnPendingCheckpoint(currentTimeMillis)) {
+                leasesToShed.add(lease);
+                remainingThroughputToShed -= lease.throughputKBps();
+            }
+        }
+        return leasesToShed;
+    }
+
+    /**
+     * @return the worker below the {@code reBalanceThreshold} of the fleet average on which the lease leaves the least
+     *         room, or if the lease does not fit on any of those, the worker on which it leaves the least room without
+     *         going above its capacity. Null if the lease does not fit on any worker other than
+     *         {@code excludedWorkerId}.
+     */
+    private WorkerBin findBestFit(final Lease lease, final String excludedWorkerId) {
+        final WorkerBin bestFit = findBestFit(lease, excludedWorkerId, 1.0D - (double) reBalanceThreshold / 100);
+        return nonNull(bestFit) ? bestFit : findBestFit(lease, excludedWorkerId, Double.MAX_VALUE);
+    }
+
+    private WorkerBin findBestFit(final Lease lease, final String excludedWorkerId, final double maxLoadRatio) {
+        WorkerBin bestFit = null;
+        double bestFitRemainingRatio = Double.MAX_VALUE;
+        for (final WorkerBin bin : workerIdToBin.values()) {
+            if (bin.workerId().equals(excludedWorkerId) || bin.maxLoadRatio() >= maxLoadRatio || !isAssignable(bin)) {
+                continue;
+            }
+            final double remainingRatio = bin.remainingCapacityRatioAfterAdding(lease.throughputKBps());
+            if (remainingRatio >= 0D && remainingRatio < bestFitRemainingRatio) {
+                bestFit = bin;
+                bestFitRemainingRatio = remainingRatio;
+            }
+        }
+        return bestFit;
+    }
+
+    private WorkerBin findLeastLoadedAfterAssignment(final Lease lease) {
+        WorkerBin leastLoaded = null;
+        double leastLoadRatio = Double.MAX_VALUE;
+        for (final WorkerBin bin : workerIdToBin.values()) {
+            if (!isAssignable(bin)) {
+                continue;
+            }
+            final double loadRatio = -bin.remainingCapacityRatioAfterAdding(lease.throughputKBps());
+            if (loadRatio < leastLoadRatio) {
+                leastLoaded = bin;
+                leastLoadRatio = loadRatio;
+            }
+        }
+        return leastLoaded;
+    }
+
+    private boolean isAssignable(final WorkerBin bin) {
+        return inMemoryStorageView.isWorkerTotalThroughputLessThanMaxThroughput(bin.workerId())
+                && inMemoryStorageView.isWorkerAssignedLeasesLessThanMaxLeases(bin.workerId());
+    }
+
+    private void assignLease(final Lease lease, final WorkerBin bin, final boolean isExpiredLease) {
+        // Same as in VarianceBasedLeaseAssignmentDecider, an expired lease pending checkpoint is reassigned even if
+        // its actual owner is the chosen worker, so that it does not get stuck.
+        final boolean isPendingCheckpointExpired = isExpiredLease && lease.shutdownRequested();
+        if (!isPendingCheckpointExpired
+                && nonNull(lease.actualOwner())
+                && lease.actualOwner().equals(bin.workerId())) {
+            // if a new owner and current owner are same then no assignment to do
+            return;
+        }
+        log.info("Assigning lease : {} to worker : {}", lease.leaseKey(), bin.workerId());
+
+        final String previousWorkerId = getCurrentOwner(lease);
+        final WorkerBin previousBin = isNull(previousWorkerId) ? null : workerIdToBin.get(previousWorkerId);
+        if (nonNull(previousBin)) {
+            previousBin.remove(lease.throughputKBps());
+        }
+        bin.add(lease.throughputKBps());
+        inMemoryStorageView.performLeaseAssignment(lease, bin.workerId());
+    }
+
+    /**
+     * @return the worker the lease is assigned to in-memory, including the assignments performed in this run
+     */
+    private String getCurrentOwner(final Lease lease) {
+        return inMemoryStorageView.getLeaseToNewAssignedWorkerMap().getOrDefault(lease, lease.actualOwner());
+    }
+
+    /**
+     * Estimated load of a worker in each of its WorkerMetricStats, updated as leases get assigned in this run.
+     * A lease added to a worker is expected to add load in proportion to the fleet level average load per throughput,
+     * like {@link WorkerMetricStats#extrapolateMetricStatValuesForAddedThroughput}. A lease removed from a worker is
+     * expected to remove the share of the load of the worker that corresponds to its share of the throughput of the
+     * worker.
+     */
+    private final class WorkerBin {
+        private final WorkerMetricStats workerMetrics;
+        private final Map<String, Double> load = new HashMap<>();
+        private final Map<String, Double> capacity = new HashMap<>();
+        private double throughput;
+        private int leaseCount;
+
+        private WorkerBin(final WorkerMetricStats workerMetrics) {
+            this.workerMetrics = workerMetrics;
+            this.throughput = inMemoryStorageView.getTotalAssignedThroughput(workerMetrics.getWorkerId());
+            final Set<Lease> leases = inMemoryStorageView.getWorkerToLeasesMap().get(workerMetrics.getWorkerId());
+            this.leaseCount = isNull(leases) ? 0 : leases.size();
+            for (final String workerMetricsName : workerMetrics.getMetricStats().keySet()) {
+                final double fleetLevelAverage = workerMetricsToFleetLevelAverageMap.get(workerMetricsName);
+                load.put(workerMetricsName, workerMetrics.getMetricStat(workerMetricsName));
+                capacity.put(
+                        workerMetricsName,
+                        Math.min(
+                                fleetLevelAverage,
+                                workerMetrics
+                                        .getOperatingRange()
+                                        .get(workerMetricsName)
+                                        .get(0)));
+            }
+        }
+
+        private String workerId() {
+            return workerMetrics.getWorkerId();
+        }
+
+        /**
+         * @return highest ratio of load to the fleet level average over all WorkerMetricStats of the worker
+         */
+        private double maxLoadRatio() {
+            double maxLoadRatio = 0D;
+            for (final Map.Entry<String, Double> entry : load.entrySet()) {
+                final double fleetLevelAverage = workerMetricsToFleetLevelAverageMap.get(entry.getKey());
+                if (fleetLevelAverage > 0D) {
+                    maxLoadRatio = Math.max(maxLoadRatio, entry.getValue() / fleetLevelAverage);
+                }
+            }
+            return maxLoadRatio;
+        }
+
+        /**
+         * @return lowest ratio of load to the fleet level average over all WorkerMetricStats of the worker
+         */
+        private double minLoadRatio() {
+            double minLoadRatio = Double.MAX_VALUE;
+            for (final Map.Entry<String, Double> entry : load.entrySet()) {
+                final double fleetLevelAverage = workerMetricsToFleetLevelAverageMap.get(entry.getKey());
+                if (fleetLevelAverage > 0D) {
+                    minLoadRatio = Math.min(minLoadRatio, entry.getValue() / fleetLevelAverage);
+                }
+            }
+            return minLoadRatio;
+        }
+
+        /**
+         * @return highest ratio of load to the fleet level average, or to the operating range if lower, over all
+         *         WorkerMetricStats of the worker
+         */
+        private double maxTargetRatio() {
+            double maxTargetRatio = 0D;
+            for (final Map.Entry<String, Double> entry : load.entrySet()) {
+                final double target = Math.min(
+                        workerMetricsToFleetLevelAverageMap.get(entry.getKey()),
+                        workerMetrics.getOperatingRange().get(entry.getKey()).get(0));
+                if (target > 0D) {
+                    maxTargetRatio = Math.max(maxTargetRatio, entry.getValue() / target);
+                }
+            }
+            return maxTargetRatio;
+        }
+
+        private boolean isAboveOperatingRange() {
+            for (final Map.Entry<String, Double> entry : load.entrySet()) {
+                if (entry.getValue()
+                        > workerMetrics.getOperatingRange().get(entry.getKey()).get(0)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return lowest remaining capacity, relative to the fleet level average, over all WorkerMetricStats of the
+         *         worker if a lease with the given throughput is added. Negative if the lease does not fit.
+         */
+        private double remainingCapacityRatioAfterAdding(final double leaseThroughput) {
+            double remainingRatio = Double.MAX_VALUE;
+            for (final Map.Entry<String, Double> entry : load.entrySet()) {
+                final double fleetLevelAverage = workerMetricsToFleetLevelAverageMap.get(entry.getKey());
+                if (fleetLevelAverage > 0D) {
+                    final double loadAfterAdding = entry.getValue() + addedLoad(entry.getKey(), leaseThroughput);
+                    remainingRatio = Math.min(
+                            remainingRatio, (capacity.get(entry.getKey()) - loadAfterAdding) / fleetLevelAverage);
+                }
+            }
+            return remainingRatio;
+        }
+
+        private void add(final double leaseThroughput) {
+            load.replaceAll((workerMetricsName, value) -> value + addedLoad(workerMetricsName, leaseThroughput));
+            throughput += leaseThroughput;
+            leaseCount++;
+        }
+
+        private void remove(final double leaseThroughput) {
+            final double removedShare;
+            if (throughput > 0D) {
+                removedShare = Math.min(1.0D, leaseThroughput / throughput);
+            } else {
+                removedShare = leaseCount > 0 ? 1.0D / leaseCount : 0D;
+            }
+            load.replaceAll((workerMetricsName, value) -> value * (1.0D - removedShare));
+            throughput -= leaseThroughput;
+            leaseCount--;
+        }
+
+        private double addedLoad(final String workerMetricsName, final double leaseThroughput) {
+            final double fleetLevelAverage = workerMetricsToFleetLevelAverageMap.get(workerMetricsName);
+            final double targetAverageThroughput = inMemoryStorageView.getTargetAverageThroughput();
+            if (targetAverageThroughput > 0D) {
+                return leaseThroughput * fleetLevelAverage / targetAverageThroughput;
+            }
+            return fleetLevelAverage / targetLeasePerWorker;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.coordinator.assignment;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.google.common.collect.Iterators;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.leases.Lease;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Index of the leases by the worker they are assigned to, kept by {@link LeaseAssignmentManager} across assignment
+ * runs.
+ *
+ * <p>
+ * Every run scans all leases, but between two runs only a few of them change owner or throughput. {@link #update(List)}
+ * only re-indexes the leases whose owner or throughput differs from the indexed values and swaps in the latest lease
+ * object for all others, so the cost of maintaining the per-worker structures grows with the churn of the lease table
+ * and not with its size. The leases of each worker are sorted by throughput, which lets deciders pick leases within a
+ * throughput budget without going through all leases of the worker, and the total throughput of each worker is
+ * maintained along with them.
+ * </p>
+ *
+ * <p>
+ * This class is not thread safe. It is only accessed from the thread running the assignment.
+ * </p>
+ */
+@KinesisClientInternalApi
+class LeaseAssignmentIndex {
+    private static final Comparator<IndexedLease> THROUGHPUT_ORDER = Comparator.comparingDouble(
+                    (IndexedLease indexedLease) -> indexedLease.throughputKBps)
+            .thenComparing(indexedLease -> indexedLease.leaseKey);
+
+    private final Map<String, IndexedLease> leaseKeyToIndexedLease = new HashMap<>();
+    /**
+     * Worker id to the leases assigned to it. Unassigned leases are kept under the {@code null} worker id. Workers
+     * without leases have no entry.
+     */
+    private final Map<String, WorkerLeases> workerToLeases = new HashMap<>();
+
+    private final Map<String, Set<Lease>> workerToLeasesView = Collections.unmodifiableMap(workerToLeases);
+    private long generation = 0L;
+
+    /**
+     * Applies the latest scan of the lease table to the index. The throughput of all leases must be set.
+     *
+     * @param latestLeases all leases of the lease table
+     * @return number of leases that were added, re-indexed or removed
+     */
+    int update(final List<Lease> latestLeases) {
+        generation++;
+        int changes = 0;
+        for (final Lease lease : latestLeases) {
+            final IndexedLease indexedLease = leaseKeyToIndexedLease.get(lease.leaseKey());
+            if (indexedLease != null
+                    && Objects.equals(indexedLease.workerId, lease.actualOwner())
+                    && indexedLease.throughputKBps == lease.throughputKBps()) {
+                indexedLease.lease = lease;
+                indexedLease.generation = generation;
+                continue;
+            }
+            if (indexedLease != null) {
+                removeFromWorker(indexedLease);
+            }
+            addToWorker(new IndexedLease(lease, lease.actualOwner(), lease.throughputKBps(), generation));
+            changes++;
+        }
+        if (leaseKeyToIndexedLease.size() != latestLeases.size()) {
+            final Iterator<IndexedLease> iterator =
+                    leaseKeyToIndexedLease.values().iterator();
+            while (iterator.hasNext()) {
+                final IndexedLease indexedLease = iterator.next();
+                if (indexedLease.generation != generation) {
+                    iterator.remove();
+                    removeFromWorker(indexedLease);
+                    changes++;
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Moves the lease to the given worker, e.g. for an assignment that is yet to be written to the lease table.
+     * Updates from later scans move the lease back if the assignment did not go through.
+     *
+     * @param lease indexed lease to move
+     * @param workerId worker to move the lease to
+     */
+    void reassign(final Lease lease, final String workerId) {
+        final IndexedLease indexedLease = leaseKeyToIndexedLease.get(lease.leaseKey());
+        removeFromWorker(indexedLease);
+        addToWorker(new IndexedLease(indexedLease.lease, workerId, indexedLease.throughputKBps, generation));
+    }
+
+    /**
+     * @param leaseKey key of the lease
+     * @return the lease from the latest update, or null if the lease is not indexed
+     */
+    Lease getLease(final String leaseKey) {
+        final IndexedLease indexedLease = leaseKeyToIndexedLease.get(leaseKey);
+        return isNull(indexedLease) ? null : indexedLease.lease;
+    }
+
+    /**
+     * @return read-only map of worker id to the leases assigned to it, each sorted by ascending throughput
+     */
+    Map<String, Set<Lease>> workerToLeases() {
+        return workerToLeasesView;
+    }
+
+    int leaseCount(final String workerId) {
+        final WorkerLeases leases = workerToLeases.get(workerId);
+        return isNull(leases) ? 0 : leases.size();
+    }
+
+    double totalThroughputKBps(final String workerId) {
+        final WorkerLeases leases = workerToLeases.get(workerId);
+        return isNull(leases) ? 0D : leases.totalThroughputKBps;
+    }
+
+    /**
+     * @return the lease with the highest throughput assigned to the worker, or null if the worker has no leases
+     */
+    Lease maxThroughputLease(final String workerId) {
+        final WorkerLeases leases = workerToLeases.get(workerId);
+        return isNull(leases) ? null : leases.sortedLeases.last().lease;
+    }
+
+    /**
+     * @return the lease with the lowest throughput assigned to the worker, or null if the worker has no leases
+     */
+    Lease minThroughputLease(final String workerId) {
+        final WorkerLeases leases = workerToLeases.get(workerId);
+        return isNull(leases) ? null : leases.sortedLeases.first().lease;
+    }
+
+    /**
+     * @return leases assigned to the worker with a throughput strictly below the given throughput, in ascending order
+     *         of throughput
+     */
+    List<Lease> leasesWithThroughputBelow(final String workerId, final double throughputKBps) {
+        final WorkerLeases leases = workerToLeases.get(workerId);
+        if (isNull(leases)) {
+            return new ArrayList<>();
+        }
+        final NavigableSet<IndexedLease> candidates =
+                leases.sortedLeases.headSet(IndexedLease.lowerBound(throughputKBps), false);
+        final List<Lease> response = new ArrayList<>(candidates.size());
+        candidates.forEach(indexedLease -> response.add(indexedLease.lease));
+        return response;
+    }
+
+    void clear() {
+        leaseKeyToIndexedLease.clear();
+        workerToLeases.clear();
+    }
+
+    private void addToWorker(final IndexedLease indexedLease) {
+        leaseKeyToIndexedLease.put(indexedLease.leaseKey, indexedLease);
+        final WorkerLeases leases =
+                workerToLeases.computeIfAbsent(indexedLease.workerId, workerId -> new WorkerLeases());
+        leases.sortedLeases.add(indexedLease);
+        leases.totalThroughputKBps += indexedLease.throughputKBps;
+    }
+
+    private void removeFromWorker(final IndexedLease indexedLease) {
+        final WorkerLeases leases = workerToLeases.get(indexedLease.workerId);
+        leases.sortedLeases.remove(indexedLease);
+        if (leases.sortedLeases.isEmpty()) {
+            // Dropping the entry also discards any rounding error accumulated in the total.
+            workerToLeases.remove(indexedLease.workerId);
+        } else {
+            leases.totalThroughputKBps -= indexedLease.throughputKBps;
+        }
+    }
+
+    /**
+     * Position of a lease in the index. The worker id and throughput determine where the lease is indexed and never
+     * change; the lease object itself is replaced by every update.
+     */
+    private static final class IndexedLease {
+        private final String leaseKey;
+        private final String workerId;
+        private final double throughputKBps;
+        private Lease lease;
+        private long generation;
+
+        private IndexedLease(
+                final Lease lease, final String workerId, final double throughputKBps, final long generation) {
+            this.leaseKey = lease.leaseKey();
+            this.workerId = workerId;
+            this.throughputKBps = throughputKBps;
+            this.lease = lease;
+            this.generation = generation;
+        }
+
+        private IndexedLease(final double throughputKBps) {
+            this.leaseKey = "";
+            this.workerId = null;
+            this.throughputKBps = throughputKBps;
+        }
+
+        /**
+         * @return an entry that sorts before all indexed leases with the given throughput
+         */
+        private static IndexedLease lowerBound(final double throughputKBps) {
+            return new IndexedLease(throughputKBps);
+        }
+    }
+
+    /**
+     * Leases of a single worker in ascending order of throughput, exposed as a read-only set of leases.
+     */
+    private final class WorkerLeases extends AbstractSet<Lease> {
+        private final NavigableSet<IndexedLease> sortedLeases = new TreeSet<>(THROUGHPUT_ORDER);
+        private double totalThroughputKBps = 0D;
+
+        @Override
+        public Iterator<Lease> iterator() {
+            return Iterators.unmodifiableIterator(
+                    Iterators.transform(sortedLeases.iterator(), indexedLease -> indexedLease.lease));
+        }
+
+        @Override
+        public int size() {
+            return sortedLeases.size();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Lease)) {
+                return false;
+            }
+            final IndexedLease indexedLease = leaseKeyToIndexedLease.get(((Lease) o).leaseKey());
+            return indexedLease != null && sortedLeases.contains(indexedLease) && indexedLease.lease.equals(o);
+        }
+    }
+}
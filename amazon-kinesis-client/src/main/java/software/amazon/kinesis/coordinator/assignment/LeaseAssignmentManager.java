@@ -15,13 +15,11 @@
 
 package software.amazon.kinesis.coordinator.assignment;
 
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -31,7 +29,6 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -40,7 +37,6 @@ import com.google.common.collect.ImmutableMap;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
 import software.amazon.kinesis.common.StreamIdentifier;
@@ -105,7 +101,11 @@ public final class LeaseAssignmentManager {
     private final LeaseManagementConfig.GracefulLeaseHandoffConfig gracefulLeaseHandoffConfig;
     private final LeaseAssignmentStrategy leaseAssignmentStrategy;
     private boolean tookOverLeadershipInThisRun = false;
-    private final Map<String, Lease> prevRunLeasesState = new HashMap<>();
+    /**
+     * Leases by assigned worker as of the previous run, updated with the changes seen in every run.
+     */
+    private final LeaseAssignmentIndex leaseAssignmentIndex = new LeaseAssignmentIndex();
+
     private final long leaseAssignmentIntervalMillis;
     private final StreamIdCacheManager streamIdCacheManager;
     private final LAMDataManager lamDataManager;
@@ -187,9 +187,6 @@ public final class LeaseAssignmentManager {
 
             final LeaseAssignmentDecider leaseAssignmentDecider = getLeaseAssignmentDecider(inMemoryStorageView);
 
-            updateLeasesLastCounterIncrementNanosAndLeaseShutdownTimeout(
-                    inMemoryStorageView.getLeaseList(), inMemoryStorageView.getLeaseTableScanTime());
-
             // This does not include the leases from the worker that has expired (based on WorkerMetricStats's
             // lastUpdateTime)
             // but the lease is not expired (based on the leaseCounter on lease).
@@ -283,6 +280,13 @@ public final class LeaseAssignmentManager {
         if (leaseAssignmentStrategy == LeaseAssignmentStrategy.LEASE_COUNT_BASED) {
             leaseAssignmentDecider = new LeaseCountBasedLeaseAssignmentDecider(
                     inMemoryStorageView, maxLeasesForWorker, nanoTimeProvider);
+        } else if (leaseAssignmentStrategy == LeaseAssignmentStrategy.WORKER_UTILIZATION_AWARE_BIN_PACKING) {
+            leaseAssignmentDecider = new BinPackingLeaseAssignmentDecider(
+                    inMemoryStorageView,
+                    config.reBalanceThresholdPercentage(),
+                    config.migrationCostPercentage(),
+                    config.allowThroughputOvershoot(),
+                    nanoTimeProvider);
         } else {
             leaseAssignmentDecider = new VarianceBasedLeaseAssignmentDecider(
                     inMemoryStorageView,
@@ -309,10 +313,8 @@ public final class LeaseAssignmentManager {
             log.info(
                     "Worker : {} and total leases : {} and totalThroughput : {}",
                     activeWorkerId,
-                    Optional.ofNullable(storageView.getWorkerToLeasesMap().get(activeWorkerId))
-                            .orElse(Collections.EMPTY_SET)
-                            .size(),
-                    storageView.getWorkerToTotalAssignedThroughputMap().get(activeWorkerId));
+                    leaseAssignmentIndex.leaseCount(activeWorkerId),
+                    leaseAssignmentIndex.totalThroughputKBps(activeWorkerId));
         });
     }
 
@@ -388,11 +390,11 @@ public final class LeaseAssignmentManager {
     }
 
     // Method updates all new leases with currentTime if the counter is updated since last run else keeps whatever
-    // was prev and update the prevRunLeasesState
+    // was prev. The previous leases are the ones in leaseAssignmentIndex, so this runs before the index is updated.
     private void updateLeasesLastCounterIncrementNanosAndLeaseShutdownTimeout(
             final List<Lease> leaseList, final Long scanTime) {
         for (final Lease lease : leaseList) {
-            final Lease prevLease = prevRunLeasesState.get(lease.leaseKey());
+            final Lease prevLease = leaseAssignmentIndex.getLease(lease.leaseKey());
 
             // make sure lease shutdown timeouts are tracked.
             if (lease.shutdownRequested()) {
@@ -422,12 +424,10 @@ public final class LeaseAssignmentManager {
                                 : prevLease.lastCounterIncrementNanos());
             }
         }
-        prevRunLeasesState.clear();
-        prevRunLeasesState.putAll(leaseList.stream().collect(Collectors.toMap(Lease::leaseKey, Function.identity())));
     }
 
     private void prepareAfterLeaderSwitch() {
-        prevRunLeasesState.clear();
+        leaseAssignmentIndex.clear();
         noOfContinuousFailedAttempts = 0;
     }
 
@@ -450,18 +450,12 @@ public final class LeaseAssignmentManager {
     /**
      * In memory view of the leases and workerMetrics.
      * This class supports queries (e.g., leases assigned to worker or total throughout assigned to worker).
+     * The worker to leases mapping is served from the {@link LeaseAssignmentIndex} kept across runs, which is
+     * updated in-memory before actual changes to storage.
      */
     @Getter
     class InMemoryStorageView {
 
-        // This is in-memory view of the workerToLeaseMapping, this is updated in-memory before actual
-        // changes to storage.
-        private final Map<String, Set<Lease>> workerToLeasesMap = new HashMap<>();
-        /**
-         * This is computed initially after the loading leases and then updated when the
-         * {@link InMemoryStorageView#performLeaseAssignment} is called.
-         */
-        private final Map<String, Double> workerToTotalAssignedThroughputMap = new HashMap<>();
         /**
          * Captures the new assignment done during the lifecycle of single run.
          */
@@ -496,14 +490,7 @@ public final class LeaseAssignmentManager {
          * @param newOwner new owner of the lease
          */
         public void performLeaseAssignment(final Lease lease, final String newOwner) {
-            final String existingOwner = lease.actualOwner();
-            workerToLeasesMap.get(existingOwner).remove(lease);
-            workerToLeasesMap
-                    .computeIfAbsent(newOwner, owner -> new HashSet<>())
-                    .add(lease);
-            updateWorkerThroughput(newOwner, lease.throughputKBps());
-            // Remove the same lease throughput from oldOwner
-            updateWorkerThroughput(existingOwner, -lease.throughputKBps());
+            leaseAssignmentIndex.reassign(lease, newOwner);
             leaseToNewAssignedWorkerMap.put(lease, newOwner);
         }
 
@@ -559,12 +546,13 @@ public final class LeaseAssignmentManager {
                     // as good enough value to start with.
                     lease.throughputKBps(averageLeaseThroughput);
                 }
-                workerToLeasesMap
-                        .computeIfAbsent(lease.actualOwner(), workerId -> new HashSet<>())
-                        .add(lease);
-                updateWorkerThroughput(lease.actualOwner(), lease.throughputKBps());
             });
 
+            updateLeasesLastCounterIncrementNanosAndLeaseShutdownTimeout(leaseList, leaseTableScanTime);
+            final int changedLeases = leaseAssignmentIndex.update(leaseList);
+            log.info("Total leases added, moved or removed since previous run : {}", changedLeases);
+            metricsScope.addData("ChangedLeases", changedLeases, StandardUnit.COUNT, MetricsLevel.DETAILED);
+
             this.activeWorkerIdSet = new HashSet<>();
             // Calculate initial ratio
             this.activeWorkerMetrics.forEach(workerMetrics -> {
@@ -578,11 +566,6 @@ public final class LeaseAssignmentManager {
             });
         }
 
-        private void updateWorkerThroughput(final String workerId, final double leaseThroughput) {
-            double value = workerToTotalAssignedThroughputMap.computeIfAbsent(workerId, worker -> (double) 0L);
-            workerToTotalAssignedThroughputMap.put(workerId, value + leaseThroughput);
-        }
-
         private void setOperatingRangeAndWorkerMetricsDataForDefaultWorker(
                 final WorkerMetricStats workerMetrics, final Double ratio) {
             // for workers with default WorkerMetricStats, the operating range ceiling of 100 represents the
@@ -610,17 +593,41 @@ public final class LeaseAssignmentManager {
          * no leases assigned or less than maxNumberOfLeasesPerHost else false.
          */
         public boolean isWorkerAssignedLeasesLessThanMaxLeases(final String workerId) {
-            final Set<Lease> assignedLeases = workerToLeasesMap.get(workerId);
-            if (CollectionUtils.isEmpty(assignedLeases)) {
-                // There are no leases assigned to the worker, that means its less than maxNumberOfLeasesPerHost.
-                return true;
-            } else {
-                return assignedLeases.size() < maxLeasesForWorker;
-            }
+            // Workers without leases assigned have no entry in the index and thus a count of 0.
+            return leaseAssignmentIndex.leaseCount(workerId) < maxLeasesForWorker;
         }
 
         public Double getTotalAssignedThroughput(final String workerId) {
-            return workerToTotalAssignedThroughputMap.getOrDefault(workerId, 0D);
+            return leaseAssignmentIndex.totalThroughputKBps(workerId);
+        }
+
+        /**
+         * @return read-only map of worker id to the leases currently assigned to it in-memory, including the
+         *         assignments performed in this run
+         */
+        public Map<String, Set<Lease>> getWorkerToLeasesMap() {
+            return leaseAssignmentIndex.workerToLeases();
+        }
+
+        /**
+         * @return leases assigned to the worker with a throughput strictly below {@code throughputKBps}
+         */
+        public List<Lease> getLeasesWithThroughputBelow(final String workerId, final double throughputKBps) {
+            return leaseAssignmentIndex.leasesWithThroughputBelow(workerId, throughputKBps);
+        }
+
+        /**
+         * @return the lease with the lowest throughput assigned to the worker, or null if there is none
+         */
+        public Lease getMinThroughputLease(final String workerId) {
+            return leaseAssignmentIndex.minThroughputLease(workerId);
+        }
+
+        /**
+         * @return the lease with the highest throughput assigned to the worker, or null if there is none
+         */
+        public Lease getMaxThroughputLease(final String workerId) {
+            return leaseAssignmentIndex.maxThroughputLease(workerId);
         }
     }
 
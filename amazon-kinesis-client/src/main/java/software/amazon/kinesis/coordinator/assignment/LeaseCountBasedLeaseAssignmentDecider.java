@@ -15,7 +15,9 @@
 
 package software.amazon.kinesis.coordinator.assignment;
 
+import java.util.ArrayDeque;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -112,7 +114,9 @@ public final class LeaseCountBasedLeaseAssignmentDecider implements LeaseAssignm
             return;
         }
         final Map<String, Integer> leaseCountPerActiveWorker = getActiveWorkerLeaseCounts();
-        final Map<String, List<Lease>> availableLeasesByWorker = computeAvailableLeases();
+        // Available leases are only computed for the overloaded workers that leases are taken from.
+        final Map<String, Deque<Lease>> availableLeasesByWorker = new HashMap<>();
+        final long currentTimeMillis = TimeUnit.NANOSECONDS.toMillis(nanoTimeProvider.get());
         final int target = calculateTargetLeaseCount();
 
         final List<Map.Entry<String, Integer>> sortedWorkers = leaseCountPerActiveWorker.entrySet().stream()
@@ -140,9 +144,9 @@ public final class LeaseCountBasedLeaseAssignmentDecider implements LeaseAssignm
             }
 
             // Find available lease from overloaded worker. These are leases not pending handoffs
-            final List<Lease> availableLeases = availableLeasesByWorker.get(overloaded.getKey());
-            final Lease leaseToSteal =
-                    (availableLeases != null && !availableLeases.isEmpty()) ? availableLeases.remove(0) : null;
+            final Deque<Lease> availableLeases = availableLeasesByWorker.computeIfAbsent(
+                    overloaded.getKey(), workerId -> computeAvailableLeases(workerId, currentTimeMillis));
+            final Lease leaseToSteal = availableLeases.pollFirst();
 
             if (leaseToSteal != null) {
                 assignLease(leaseToSteal, underloaded.getKey());
@@ -218,27 +222,22 @@ public final class LeaseCountBasedLeaseAssignmentDecider implements LeaseAssignm
     }
 
     /**
-     * Computes available leases that can be safely transferred (not pending handoff).
+     * Computes the leases of a worker that can be safely transferred (not pending handoff).
      * Uses workerToLeasesMap for real-time view of assignments.
      *
-     * @return map of worker ID to list of available leases
+     * @return available leases of the worker
      */
-    private Map<String, List<Lease>> computeAvailableLeases() {
-        final Map<String, List<Lease>> availableLeases = new HashMap<>();
-        final long currentTimeMillis = TimeUnit.NANOSECONDS.toMillis(nanoTimeProvider.get());
-
-        for (final Map.Entry<String, Set<Lease>> entry :
-                inMemoryStorageView.getWorkerToLeasesMap().entrySet()) {
-            final String workerId = entry.getKey();
-            final List<Lease> workerAvailableLeases = entry.getValue().stream()
-                    .filter(lease -> !lease.blockedOnPendingCheckpoint(currentTimeMillis))
-                    .collect(Collectors.toList());
-
-            if (!workerAvailableLeases.isEmpty()) {
-                availableLeases.put(workerId, workerAvailableLeases);
+    private Deque<Lease> computeAvailableLeases(final String workerId, final long currentTimeMillis) {
+        final Deque<Lease> availableLeases = new ArrayDeque<>();
+        final Set<Lease> workerLeases =
+                inMemoryStorageView.getWorkerToLeasesMap().get(workerId);
+        if (nonNull(workerLeases)) {
+            for (final Lease lease : workerLeases) {
+                if (!lease.blockedOnPendingCheckpoint(currentTimeMillis)) {
+                    availableLeases.add(lease);
+                }
             }
         }
-
         return availableLeases;
     }
 
@@ -85,6 +85,11 @@ public class MigrationAwareLAMDataManager implements LAMDataManager {
     private final WorkerMetricStatsDAO workerMetricsDAO;
     private final TableMigrationStatusProvider tableMigrationStatusProvider;
     private final Consumer<TableMigrationSummary> migrationSummaryConsumer;
+    /**
+     * Receives the leases of every lease table scan, e.g. to learn about leases that completed processing.
+     */
+    private final Consumer<List<Lease>> leaseScanConsumer;
+
     private final MetricsFactory metricsFactory;
     private final ExecutorService executorService;
     private final Duration staleWorkerMetricsCleanupDuration;
@@ -108,10 +113,31 @@ public class MigrationAwareLAMDataManager implements LAMDataManager {
             final LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig config,
             final ExecutorService executorService,
             final MetricsFactory metricsFactory) {
+        this(
+                entityDAO,
+                workerMetricsDAO,
+                tableMigrationStatusProvider,
+                migrationSummaryConsumer,
+                leases -> {},
+                config,
+                executorService,
+                metricsFactory);
+    }
+
+    public MigrationAwareLAMDataManager(
+            final EntityDAO entityDAO,
+            final WorkerMetricStatsDAO workerMetricsDAO,
+            final TableMigrationStatusProvider tableMigrationStatusProvider,
+            final Consumer<TableMigrationSummary> migrationSummaryConsumer,
+            final Consumer<List<Lease>> leaseScanConsumer,
+            final LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig config,
+            final ExecutorService executorService,
+            final MetricsFactory metricsFactory) {
         this.entityDAO = entityDAO;
         this.workerMetricsDAO = workerMetricsDAO;
         this.tableMigrationStatusProvider = tableMigrationStatusProvider;
         this.migrationSummaryConsumer = migrationSummaryConsumer;
+        this.leaseScanConsumer = leaseScanConsumer;
         this.metricsFactory = metricsFactory;
         this.workerMetricsExpiryDuration = Duration.ofMillis(
                 DEFAULT_NO_OF_SKIP_STAT_FOR_DEAD_WORKER_THRESHOLD * config.workerMetricsReporterFreqInMillis());
@@ -148,6 +174,9 @@ public class MigrationAwareLAMDataManager implements LAMDataManager {
         final List<Lease> leases = extractLeases(leaseScanList);
         final List<WorkerMetricStats> leaseTableWorkerMetrics = extractWorkerMetrics(metricsScanList);
         final List<String> leaseDeserializationFailures = leaseScanList.getDeserializationFailures();
+        // Decode compactly encoded entries in place, straight out of the scanned binary attribute.
+        leaseTableWorkerMetrics.forEach(WorkerMetricStats::decodeCompactStats);
+        legacyTableWorkerMetrics.forEach(WorkerMetricStats::decodeCompactStats);
 
         // Step 4: Log and emit deserialization failures
         if (!leaseDeserializationFailures.isEmpty()) {
@@ -161,6 +190,7 @@ public class MigrationAwareLAMDataManager implements LAMDataManager {
 
         // Step 5: Compute and publish migration summary (only active/non-expired workers count)
         publishMigrationSummary(leases, leaseTableWorkerMetrics, legacyTableWorkerMetrics);
+        leaseScanConsumer.accept(leases);
 
         // Step 6: Merge, validate, filter worker metrics
         final List<WorkerMetricStats> allRawMetrics = new ArrayList<>(leaseTableWorkerMetrics);
@@ -289,17 +289,16 @@ public final class VarianceBasedLeaseAssignmentDecider implements LeaseAssignmen
     }
 
     private Queue<Lease> getLeasesToTake(final String workerId, final double throughputToTake) {
-        final Set<Lease> existingLeases =
-                inMemoryStorageView.getWorkerToLeasesMap().get(workerId);
+        final Lease maxThroughputLease = inMemoryStorageView.getMaxThroughputLease(workerId);
 
-        if (isNull(existingLeases) || existingLeases.isEmpty()) {
+        if (isNull(maxThroughputLease)) {
             return new ArrayDeque<>();
         }
 
-        if (inMemoryStorageView.getTotalAssignedThroughput(workerId) == 0D) {
+        if (maxThroughputLease.throughputKBps() == 0D) {
             // This is the case where throughput of this worker is zero and have 1 or more leases assigned.
             // Its not possible to determine leases to take based on throughput so simply take 1 lease and move on.
-            return new ArrayDeque<>(new ArrayList<>(existingLeases).subList(0, 1));
+            return new ArrayDeque<>(Collections.singletonList(maxThroughputLease));
         }
 
         return getLeasesCombiningToThroughput(workerId, throughputToTake);
@@ -356,17 +355,13 @@ public final class VarianceBasedLeaseAssignmentDecider implements LeaseAssignmen
     }
 
     private Queue<Lease> getLeasesCombiningToThroughput(final String workerId, final double throughputToGet) {
-        final List<Lease> assignedLeases =
-                new ArrayList<>(inMemoryStorageView.getWorkerToLeasesMap().get(workerId));
-        if (assignedLeases.isEmpty()) {
-            // This is possible if the worker is having high utilization but does not have any leases assigned to it
-            return new ArrayDeque<>();
-        }
+        // Leases with throughput of throughputToGet or more can never be taken, only look at the ones below it.
+        final List<Lease> candidateLeases = inMemoryStorageView.getLeasesWithThroughputBelow(workerId, throughputToGet);
         // Shuffle leases to randomize what leases gets picked.
-        Collections.shuffle(assignedLeases);
+        Collections.shuffle(candidateLeases);
         final Queue<Lease> response = new ArrayDeque<>();
         double remainingThroughputToGet = throughputToGet;
-        for (final Lease lease : assignedLeases) {
+        for (final Lease lease : candidateLeases) {
             // if adding this lease makes throughout to take go below zero avoid taking this lease.
             if (remainingThroughputToGet - lease.throughputKBps() <= 0) {
                 continue;
@@ -377,9 +372,10 @@ public final class VarianceBasedLeaseAssignmentDecider implements LeaseAssignmen
 
         // If allowThroughputOvershoot is set to true, take a minimum throughput lease
         if (allowThroughputOvershoot && response.isEmpty()) {
-            assignedLeases.stream()
-                    .min(Comparator.comparingDouble(Lease::throughputKBps))
-                    .ifPresent(response::add);
+            final Lease minThroughputLease = inMemoryStorageView.getMinThroughputLease(workerId);
+            if (nonNull(minThroughputLease)) {
+                response.add(minThroughputLease);
+            }
         }
         return response;
     }
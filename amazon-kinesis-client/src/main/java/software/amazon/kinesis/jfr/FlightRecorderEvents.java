@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.jfr;
+
+import software.amazon.awssdk.services.kinesis.model.SubscribeToShardEvent;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.common.StreamIdentifier;
+import software.amazon.kinesis.leases.Lease;
+import software.amazon.kinesis.leases.ShardInfo;
+import software.amazon.kinesis.retrieval.GetRecordsResponseAdapter;
+import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
+
+/**
+ * Emits JDK Flight Recorder events for the hot paths of the KCL.
+ *
+ * <p>
+ * This is the Java 8 variant of a multi-release class, and every method is a no-op. On Java 11 and later the variant
+ * under {@code META-INF/versions/11} is loaded instead, which commits {@code jdk.jfr} events when a recording with
+ * the corresponding event types enabled is running.
+ * </p>
+ *
+ * <p>
+ * Timed events are begun with a {@code begin} method before the operation, which returns null if the event type is
+ * not enabled, and are committed by the matching method after the operation. Callers pass the raw objects they
+ * already hold, so that sizes and identifiers are only computed once an event is actually going to be committed.
+ * </p>
+ */
+@KinesisClientInternalApi
+public final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {}
+
+    /**
+     * @return event to pass to {@link #getRecords}, or null if the event type is not enabled
+     */
+    public static TimedEvent beginGetRecords() {
+        return null;
+    }
+
+    /**
+     * Records a GetRecords call made by a polling consumer.
+     *
+     * @param event event returned by {@link #beginGetRecords()} before the call was made
+     * @param streamIdentifier stream the shard belongs to
+     * @param shardId shard the records were fetched from
+     * @param response response of the call, or null if the call failed
+     */
+    public static void getRecords(
+            final TimedEvent event,
+            final StreamIdentifier streamIdentifier,
+            final String shardId,
+            final GetRecordsResponseAdapter response) {}
+
+    /**
+     * @return event to pass to {@link #subscribeToShardEvent}, or null if the event type is not enabled
+     */
+    public static TimedEvent beginSubscribeToShardEvent() {
+        return null;
+    }
+
+    /**
+     * Records a SubscribeToShard event delivered to a fan-out consumer.
+     *
+     * @param event event returned by {@link #beginSubscribeToShardEvent()} when the event was received
+     * @param streamIdentifier stream the shard belongs to
+     * @param shardId shard the event was received for
+     * @param subscribeToShardEvent event received from the service
+     */
+    public static void subscribeToShardEvent(
+            final TimedEvent event,
+            final StreamIdentifier streamIdentifier,
+            final String shardId,
+            final SubscribeToShardEvent subscribeToShardEvent) {}
+
+    /**
+     * @return event to pass to {@link #processRecords}, or null if the event type is not enabled
+     */
+    public static TimedEvent beginProcessRecords() {
+        return null;
+    }
+
+    /**
+     * Records a call to the application's processRecords.
+     *
+     * @param event event returned by {@link #beginProcessRecords()} before processRecords was called
+     * @param shardInfo shard the records belong to
+     * @param recordCount number of records passed to the record processor
+     * @param bytes total size of the record data
+     * @param success false if the record processor threw
+     */
+    public static void processRecords(
+            final TimedEvent event,
+            final ShardInfo shardInfo,
+            final int recordCount,
+            final long bytes,
+            final boolean success) {}
+
+    /**
+     * @return event to pass to {@link #checkpoint}, or null if the event type is not enabled
+     */
+    public static TimedEvent beginCheckpoint() {
+        return null;
+    }
+
+    /**
+     * Records a checkpoint write to the lease table.
+     *
+     * @param event event returned by {@link #beginCheckpoint()} before the write
+     * @param leaseKey lease the checkpoint was written for
+     * @param checkpoint checkpoint value
+     * @param success true if the checkpoint was written
+     */
+    public static void checkpoint(
+            final TimedEvent event,
+            final String leaseKey,
+            final ExtendedSequenceNumber checkpoint,
+            final boolean success) {}
+
+    /**
+     * @return event to pass to {@link #renewLease}, or null if the event type is not enabled
+     */
+    public static TimedEvent beginRenewLease() {
+        return null;
+    }
+
+    /**
+     * Records a lease renewal attempt.
+     *
+     * @param event event returned by {@link #beginRenewLease()} before the renewal
+     * @param lease lease that was renewed
+     * @param renewed true if the lease is still held after the renewal
+     */
+    public static void renewLease(final TimedEvent event, final Lease lease, final boolean renewed) {}
+
+    /**
+     * @return event to pass to {@link #takeLease}, or null if the event type is not enabled
+     */
+    public static TimedEvent beginTakeLease() {
+        return null;
+    }
+
+    /**
+     * Records an attempt to take or steal a lease.
+     *
+     * @param event event returned by {@link #beginTakeLease()} before the take
+     * @param lease lease that was taken
+     * @param previousOwner owner of the lease before it was taken, null if the lease was unassigned
+     * @param steal true if the lease was taken from a live worker to balance the leases
+     * @param taken true if the lease is now held by this worker
+     */
+    public static void takeLease(
+            final TimedEvent event,
+            final Lease lease,
+            final String previousOwner,
+            final boolean steal,
+            final boolean taken) {}
+
+    /**
+     * Records a state transition of a shard consumer.
+     *
+     * @param shardInfo shard of the consumer
+     * @param previousState name of the state the consumer transitioned from
+     * @param nextState name of the state the consumer transitioned to
+     */
+    public static void shardConsumerStateTransition(
+            final ShardInfo shardInfo, final String previousState, final String nextState) {}
+}
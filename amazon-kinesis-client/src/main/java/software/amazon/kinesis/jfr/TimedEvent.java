@@ -0,0 +1,25 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.jfr;
+
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+
+/**
+ * A JDK Flight Recorder event that was begun by one of the {@code begin} methods of {@link FlightRecorderEvents} and
+ * is ended and committed by the matching method once the operation completed. The {@code begin} methods return null
+ * when no recording has the event type enabled, in which case the matching method does nothing.
+ */
+@KinesisClientInternalApi
+public interface TimedEvent {}
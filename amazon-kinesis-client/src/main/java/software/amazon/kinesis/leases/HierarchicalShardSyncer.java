@@ -17,6 +17,7 @@ package software.amazon.kinesis.leases;
 import java.io.Serializable;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -88,6 +89,12 @@ public class HierarchicalShardSyncer {
 
     private static final long DELAY_BETWEEN_LIST_SHARDS_MILLIS = 1000;
 
+    /**
+     * Shard lineage of each stream synced by this instance, kept across syncs so that every sync only applies the
+     * shards that changed since the previous listing. Only accessed while holding the lock of this instance.
+     */
+    private final Map<StreamIdentifier, ShardLineageGraph> shardLineageGraphs = new HashMap<>();
+
     public HierarchicalShardSyncer() {
         this(false, "SingleStreamMode");
     }
@@ -114,6 +121,16 @@ public class HierarchicalShardSyncer {
         this.streamInfoManager = streamInfoManager;
     }
 
+    /**
+     * Forgets the shard lineage kept for the stream, e.g. once the stream is no longer tracked. The next sync of the
+     * stream builds the lineage again from a full shard listing.
+     *
+     * @param streamIdentifier stream to forget the shard lineage of
+     */
+    public synchronized void clearShardLineage(final StreamIdentifier streamIdentifier) {
+        shardLineageGraphs.remove(streamIdentifier);
+    }
+
     private static String getShardIdFromLease(Lease lease, MultiStreamArgs multiStreamArgs) {
         return multiStreamArgs.isMultiStreamMode() ? ((MultiStreamLease) lease).shardId() : lease.leaseKey();
     }
@@ -178,10 +195,23 @@ public class HierarchicalShardSyncer {
         // back-fill stream info before creating lease
         createStreamInfo(shardDetector.streamIdentifier());
 
-        final Map<String, Shard> shardIdToShardMap = constructShardIdToShardMap(latestShards);
-        final Map<String, Set<String>> shardIdToChildShardIdsMap =
-                constructShardIdToChildShardIdsMap(shardIdToShardMap);
-        final Set<String> inconsistentShardIds = findInconsistentShardIds(shardIdToChildShardIdsMap, shardIdToShardMap);
+        final Set<String> inconsistentShardIds;
+        final LeaseSynchronizer leaseSynchronizer;
+        if (isLeaseTableEmpty) {
+            // The shards were listed at the initial position, which leaves out closed shards, so they are not applied
+            // to the lineage graph.
+            final Map<String, Shard> shardIdToShardMap = constructShardIdToShardMap(latestShards);
+            inconsistentShardIds =
+                    findInconsistentShardIds(constructShardIdToChildShardIdsMap(shardIdToShardMap), shardIdToShardMap);
+            leaseSynchronizer = new EmptyLeaseTableSynchronizer();
+        } else {
+            final ShardLineageGraph shardLineageGraph = shardLineageGraphs.computeIfAbsent(
+                    shardDetector.streamIdentifier(), streamId -> new ShardLineageGraph());
+            final int changedShards = shardLineageGraph.update(latestShards);
+            log.debug("{} - Shards changed since the previous sync: {}", streamIdentifier, changedShards);
+            inconsistentShardIds = shardLineageGraph.inconsistentShardIds();
+            leaseSynchronizer = new ShardLineageGraphSynchronizer(shardLineageGraph);
+        }
         if (!ignoreUnexpectedChildShards) {
             assertAllParentShardsAreClosed(inconsistentShardIds);
         }
@@ -190,9 +220,6 @@ public class HierarchicalShardSyncer {
                 : leaseRefresher.listLeases();
         final MultiStreamArgs multiStreamArgs =
                 new MultiStreamArgs(isMultiStreamMode, shardDetector.streamIdentifier());
-        final LeaseSynchronizer leaseSynchronizer = isLeaseTableEmpty
-                ? new EmptyLeaseTableSynchronizer()
-                : new NonEmptyLeaseTableSynchronizer(shardDetector, shardIdToShardMap, shardIdToChildShardIdsMap);
         final List<Lease> newLeasesToCreate = determineNewLeasesToCreate(
                 leaseSynchronizer, latestShards, currentLeases, initialPosition, inconsistentShardIds, multiStreamArgs);
         log.info("{} - Number of new leases to create: {}", streamIdentifier, newLeasesToCreate.size());
@@ -268,11 +295,12 @@ public class HierarchicalShardSyncer {
     /**
      * Helper method to construct the list of inconsistent shards, which are open shards with non-closed ancestor
      * parent(s).
+     * Note: This has package access for testing purposes only.
      * @param shardIdToChildShardIdsMap
      * @param shardIdToShardMap
      * @return Set of inconsistent open shard ids for shards having open parents.
      */
-    private static Set<String> findInconsistentShardIds(
+    static Set<String> findInconsistentShardIds(
             final Map<String, Set<String>> shardIdToChildShardIdsMap, final Map<String, Shard> shardIdToShardMap) {
         return shardIdToChildShardIdsMap.entrySet().stream()
                 .filter(entry -> entry.getKey() == null
@@ -376,6 +404,7 @@ public class HierarchicalShardSyncer {
         try {
             shardList = shardDetector.listShardsWithoutConsumingResourceNotFoundException(consumerId);
         } catch (ResourceNotFoundException e) {
+            shardLineageGraphs.remove(shardDetector.streamIdentifier());
             if (nonNull(this.deletedStreamListProvider) && isMultiStreamMode) {
                 deletedStreamListProvider.add(StreamIdentifier.multiStreamInstance(streamIdentifier));
             }
@@ -1068,7 +1097,6 @@ public class HierarchicalShardSyncer {
                 final InitialPositionInStreamExtended initialPosition,
                 final Set<String> inconsistentShardIds,
                 final MultiStreamArgs multiStreamArgs) {
-            final Map<String, Lease> shardIdToNewLeaseMap = new HashMap<>();
             final Map<String, Shard> shardIdToShardMapOfAllKinesisShards = constructShardIdToShardMap(shards);
             final String streamIdentifier = Optional.ofNullable(multiStreamArgs.streamIdentifier())
                     .map(streamId -> streamId.serialize())
@@ -1079,71 +1107,126 @@ public class HierarchicalShardSyncer {
                     .collect(Collectors.toSet());
 
             final List<Shard> openShards = getOpenShards(shards, streamIdentifier);
-            final MemoizationContext memoizationContext = new MemoizationContext();
+            return determineNewLeasesForOpenShards(
+                    openShards,
+                    shardIdToShardMapOfAllKinesisShards,
+                    shardIdsOfCurrentLeases,
+                    initialPosition,
+                    inconsistentShardIds,
+                    multiStreamArgs,
+                    streamIdentifier);
+        }
+    }
 
-            // Iterate over the open shards and find those that don't have any lease entries.
-            for (Shard shard : openShards) {
-                final String shardId = shard.shardId();
-                log.debug("{} : Evaluating leases for open shard {} and its ancestors.", streamIdentifier, shardId);
-                if (shardIdsOfCurrentLeases.contains(shardId)) {
+    /**
+     * Class to help create leases when the lease table is not initially empty, using the lineage graph of the stream
+     * that is kept across syncs. The shards passed in must be the listing that was last applied to the graph. The
+     * leases determined are the same as the ones {@link NonEmptyLeaseTableSynchronizer} determines for that listing,
+     * without building the shard maps from the listing again.
+     */
+    @Slf4j
+    @AllArgsConstructor
+    static class ShardLineageGraphSynchronizer implements LeaseSynchronizer {
+
+        private final ShardLineageGraph shardLineageGraph;
+
+        @Override
+        public List<Lease> determineNewLeasesToCreate(
+                final List<Shard> shards,
+                final List<Lease> currentLeases,
+                final InitialPositionInStreamExtended initialPosition,
+                final Set<String> inconsistentShardIds,
+                final MultiStreamArgs multiStreamArgs) {
+            final String streamIdentifier = Optional.ofNullable(multiStreamArgs.streamIdentifier())
+                    .map(streamId -> streamId.serialize())
+                    .orElse("");
+            final Set<String> shardIdsOfCurrentLeases = new HashSet<>();
+            for (final Lease lease : currentLeases) {
+                shardIdsOfCurrentLeases.add(getShardIdFromLease(lease, multiStreamArgs));
+            }
+            return determineNewLeasesForOpenShards(
+                    shardLineageGraph.openShards(),
+                    shardLineageGraph.shardIdToShardMap(),
+                    shardIdsOfCurrentLeases,
+                    initialPosition,
+                    inconsistentShardIds,
+                    multiStreamArgs,
+                    streamIdentifier);
+        }
+    }
+
+    /**
+     * Determines the leases to create for open shards that do not have a lease yet, and for their ancestors as
+     * required. See {@link NonEmptyLeaseTableSynchronizer#determineNewLeasesToCreate} for the rules.
+     *
+     * @return List of new leases to create sorted by starting sequenceNumber of the corresponding shard
+     */
+    private static List<Lease> determineNewLeasesForOpenShards(
+            final Collection<Shard> openShards,
+            final Map<String, Shard> shardIdToShardMapOfAllKinesisShards,
+            final Set<String> shardIdsOfCurrentLeases,
+            final InitialPositionInStreamExtended initialPosition,
+            final Set<String> inconsistentShardIds,
+            final MultiStreamArgs multiStreamArgs,
+            final String streamIdentifier) {
+        final Map<String, Lease> shardIdToNewLeaseMap = new HashMap<>();
+        final MemoizationContext memoizationContext = new MemoizationContext();
+
+        // Iterate over the open shards and find those that don't have any lease entries.
+        for (Shard shard : openShards) {
+            final String shardId = shard.shardId();
+            log.debug("{} : Evaluating leases for open shard {} and its ancestors.", streamIdentifier, shardId);
+            if (shardIdsOfCurrentLeases.contains(shardId)) {
+                log.debug("{} : Lease for shardId {} already exists. Not creating a lease", streamIdentifier, shardId);
+            } else if (inconsistentShardIds.contains(shardId)) {
+                log.info("{} : shardId {} is an inconsistent child.  Not creating a lease", streamIdentifier, shardId);
+            } else {
+                log.debug("{} : Beginning traversal of ancestry tree for shardId {}", streamIdentifier, shardId);
+
+                // A shard is a descendant if at least one if its ancestors exists in the lease table.
+                // We will create leases for only one level in the ancestry tree. Once we find the first ancestor
+                // that needs to be processed in order to complete the hash range, we will not create leases for
+                // further descendants of that ancestor.
+                final boolean isDescendant = checkIfDescendantAndAddNewLeasesForAncestors(
+                        shardId,
+                        initialPosition,
+                        shardIdsOfCurrentLeases,
+                        shardIdToShardMapOfAllKinesisShards,
+                        shardIdToNewLeaseMap,
+                        memoizationContext,
+                        multiStreamArgs);
+
+                // If shard is a descendant, the leases for its ancestors were already created above. Open shards
+                // that are NOT descendants will not have leases yet, so we create them here. We will not create
+                // leases for open shards that ARE descendants yet - leases for these shards will be created upon
+                // SHARD_END of their parents.
+                if (!isDescendant) {
+                    log.debug("{} : shardId {} has no ancestors. Creating a lease.", streamIdentifier, shardId);
+                    final Lease newLease = multiStreamArgs.isMultiStreamMode()
+                            ? newKCLMultiStreamLease(shard, multiStreamArgs.streamIdentifier())
+                            : newKCLLease(shard);
+                    newLease.checkpoint(convertToCheckpoint(initialPosition));
                     log.debug(
-                            "{} : Lease for shardId {} already exists. Not creating a lease",
+                            "{} : Set checkpoint of {} to {}",
                             streamIdentifier,
-                            shardId);
-                } else if (inconsistentShardIds.contains(shardId)) {
-                    log.info(
-                            "{} : shardId {} is an inconsistent child.  Not creating a lease",
+                            newLease.leaseKey(),
+                            newLease.checkpoint());
+                    shardIdToNewLeaseMap.put(shardId, newLease);
+                } else {
+                    log.debug(
+                            "{} : shardId {} is a descendant whose ancestors should already have leases. "
+                                    + "Not creating a lease.",
                             streamIdentifier,
                             shardId);
-                } else {
-                    log.debug("{} : Beginning traversal of ancestry tree for shardId {}", streamIdentifier, shardId);
-
-                    // A shard is a descendant if at least one if its ancestors exists in the lease table.
-                    // We will create leases for only one level in the ancestry tree. Once we find the first ancestor
-                    // that needs to be processed in order to complete the hash range, we will not create leases for
-                    // further descendants of that ancestor.
-                    final boolean isDescendant = checkIfDescendantAndAddNewLeasesForAncestors(
-                            shardId,
-                            initialPosition,
-                            shardIdsOfCurrentLeases,
-                            shardIdToShardMapOfAllKinesisShards,
-                            shardIdToNewLeaseMap,
-                            memoizationContext,
-                            multiStreamArgs);
-
-                    // If shard is a descendant, the leases for its ancestors were already created above. Open shards
-                    // that are NOT descendants will not have leases yet, so we create them here. We will not create
-                    // leases for open shards that ARE descendants yet - leases for these shards will be created upon
-                    // SHARD_END of their parents.
-                    if (!isDescendant) {
-                        log.debug("{} : shardId {} has no ancestors. Creating a lease.", streamIdentifier, shardId);
-                        final Lease newLease = multiStreamArgs.isMultiStreamMode()
-                                ? newKCLMultiStreamLease(shard, multiStreamArgs.streamIdentifier())
-                                : newKCLLease(shard);
-                        newLease.checkpoint(convertToCheckpoint(initialPosition));
-                        log.debug(
-                                "{} : Set checkpoint of {} to {}",
-                                streamIdentifier,
-                                newLease.leaseKey(),
-                                newLease.checkpoint());
-                        shardIdToNewLeaseMap.put(shardId, newLease);
-                    } else {
-                        log.debug(
-                                "{} : shardId {} is a descendant whose ancestors should already have leases. "
-                                        + "Not creating a lease.",
-                                streamIdentifier,
-                                shardId);
-                    }
                 }
             }
-
-            final List<Lease> newLeasesToCreate = new ArrayList<>(shardIdToNewLeaseMap.values());
-            final Comparator<Lease> startingSequenceNumberComparator =
-                    new StartingSequenceNumberAndShardIdBasedComparator(
-                            shardIdToShardMapOfAllKinesisShards, multiStreamArgs);
-            newLeasesToCreate.sort(startingSequenceNumberComparator);
-            return newLeasesToCreate;
         }
+
+        final List<Lease> newLeasesToCreate = new ArrayList<>(shardIdToNewLeaseMap.values());
+        final Comparator<Lease> startingSequenceNumberComparator = new StartingSequenceNumberAndShardIdBasedComparator(
+                shardIdToShardMapOfAllKinesisShards, multiStreamArgs);
+        newLeasesToCreate.sort(startingSequenceNumberComparator);
+        return newLeasesToCreate;
     }
 
     /**
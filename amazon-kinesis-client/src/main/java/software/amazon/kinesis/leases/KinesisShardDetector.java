@@ -19,13 +19,18 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import lombok.AccessLevel;
@@ -49,6 +54,7 @@ import software.amazon.awssdk.services.kinesis.model.ResourceInUseException;
 import software.amazon.awssdk.services.kinesis.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.kinesis.model.Shard;
 import software.amazon.awssdk.services.kinesis.model.ShardFilter;
+import software.amazon.awssdk.services.kinesis.model.ShardFilterType;
 import software.amazon.awssdk.services.kinesis.model.ShardIteratorType;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
@@ -104,6 +110,24 @@ public class KinesisShardDetector implements ShardDetector {
 
     private static final Boolean THROW_RESOURCE_NOT_FOUND_EXCEPTION = true;
 
+    /**
+     * Number of cache ages after which a refresh lists all shards again rather than only the shards after the highest
+     * known shard id, so that shards closed since the last full listing get their ending sequence number.
+     */
+    private static final int FULL_REFRESH_CACHE_AGE_MULTIPLIER = 10;
+
+    /**
+     * Highest shard id in {@link #cachedShardMap}, the starting point of incremental refreshes.
+     */
+    private volatile String highestCachedShardId;
+
+    /**
+     * Time of the last unfiltered listing, or null if the cache was last replaced by a filtered listing.
+     */
+    private volatile Instant lastFullRefreshTime;
+
+    private final AtomicReference<CompletableFuture<Void>> inFlightRefresh = new AtomicReference<>();
+
     public KinesisShardDetector(
             KinesisAsyncClient kinesisClient,
             StreamIdentifier streamIdentifier,
@@ -126,40 +150,31 @@ public class KinesisShardDetector implements ShardDetector {
     @Override
     public Shard shard(@NonNull final String shardId) {
         if (CollectionUtils.isNullOrEmpty(this.cachedShardMap)) {
-            synchronized (this) {
-                if (CollectionUtils.isNullOrEmpty(this.cachedShardMap)) {
-                    listShards();
-                }
-            }
+            refreshShardMap(CollectionUtils::isNullOrEmpty);
         }
 
         Shard shard = cachedShardMap.get(shardId);
 
         if (shard == null) {
             if (cacheMisses.incrementAndGet() > maxCacheMissesBeforeReload || shouldRefreshCache()) {
-                synchronized (this) {
+                shard = cachedShardMap.get(shardId);
+
+                if (shard == null) {
+                    log.info("Too many shard map cache misses or cache is out of date -- forcing a refresh");
+                    refreshShardMap(shardMap -> !shardMap.containsKey(shardId));
                     shard = cachedShardMap.get(shardId);
 
                     if (shard == null) {
-                        log.info("Too many shard map cache misses or cache is out of date -- forcing a refresh");
-                        listShards();
-                        shard = cachedShardMap.get(shardId);
-
-                        if (shard == null) {
-                            log.warn(
-                                    "Even after cache refresh shard '{}' wasn't found. This could indicate a bigger"
-                                            + " problem.",
-                                    shardId);
-                        }
-
-                        cacheMisses.set(0);
-                    } else {
-                        //
-                        // If the shardmap got updated, go ahead and set cache misses to 0
-                        //
-                        cacheMisses.set(0);
+                        log.warn(
+                                "Even after cache refresh shard '{}' wasn't found. This could indicate a bigger"
+                                        + " problem.",
+                                shardId);
                     }
                 }
+                //
+                // If the shardmap got updated, go ahead and set cache misses to 0
+                //
+                cacheMisses.set(0);
             }
         }
 
@@ -214,6 +229,88 @@ public class KinesisShardDetector implements ShardDetector {
 
     private List<Shard> listShardsWithFilterInternal(
             ShardFilter shardFilter, boolean shouldPropagateResourceNotFoundException, String consumerId) {
+        final List<Shard> shards = listAllShards(shardFilter, shouldPropagateResourceNotFoundException, consumerId);
+        if (shards != null) {
+            cacheShards(shards, shardFilter == null);
+        }
+        return shards;
+    }
+
+    /**
+     * Refreshes {@link #cachedShardMap}. Callers that ask for a refresh while another one is in flight wait for that
+     * refresh instead of listing the shards again.
+     * <p>
+     * A refresh only lists the shards after the highest cached shard id, and merges them into a copy of the cache.
+     * Once {@link #FULL_REFRESH_CACHE_AGE_MULTIPLIER} cache ages have passed since the last full listing, or the cache
+     * was last replaced by a filtered listing, all shards are listed again.
+     * </p>
+     *
+     * @param isRefreshNeeded checked against the cache once no other refresh is in flight, so that a caller that
+     *        lost the race to a refresh that already loaded what it needs does not list the shards again
+     */
+    private void refreshShardMap(final Predicate<Map<String, Shard>> isRefreshNeeded) {
+        final CompletableFuture<Void> refresh = new CompletableFuture<>();
+        CompletableFuture<Void> inFlight;
+        do {
+            inFlight = inFlightRefresh.get();
+        } while (inFlight == null && !inFlightRefresh.compareAndSet(null, refresh));
+
+        if (inFlight != null) {
+            log.debug("Stream {}: waiting for the shard map refresh in flight", streamIdentifier);
+            inFlight.handle((result, throwable) -> null).join();
+            return;
+        }
+
+        try {
+            final Map<String, Shard> shardMap = cachedShardMap;
+            if (shardMap != null && !isRefreshNeeded.test(shardMap)) {
+                log.debug("Stream {}: shard map was refreshed concurrently", streamIdentifier);
+            } else if (isFullRefreshDue()) {
+                listShards();
+            } else {
+                listShardsAfterHighestCachedShardId();
+            }
+            refresh.complete(null);
+        } catch (RuntimeException e) {
+            refresh.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRefresh.set(null);
+        }
+    }
+
+    private boolean isFullRefreshDue() {
+        if (CollectionUtils.isNullOrEmpty(cachedShardMap) || lastFullRefreshTime == null) {
+            return true;
+        }
+        final Duration fullRefreshAge =
+                Duration.ofSeconds(listShardsCacheAllowedAgeInSeconds * FULL_REFRESH_CACHE_AGE_MULTIPLIER);
+        return Duration.between(lastFullRefreshTime, Instant.now()).compareTo(fullRefreshAge) > 0;
+    }
+
+    @Synchronized
+    private void listShardsAfterHighestCachedShardId() {
+        final String highestShardId = highestCachedShardId;
+        final ShardFilter shardFilter = ShardFilter.builder()
+                .type(ShardFilterType.AFTER_SHARD_ID)
+                .shardId(highestShardId)
+                .build();
+        final List<Shard> newShards = listAllShards(shardFilter, !THROW_RESOURCE_NOT_FOUND_EXCEPTION, "");
+        if (newShards == null) {
+            return;
+        }
+        final Map<String, Shard> shardMap = new HashMap<>(cachedShardMap);
+        for (final Shard shard : newShards) {
+            shardMap.put(shard.shardId(), shard);
+        }
+        log.info("Stream {}: merged {} shards listed after {}", streamIdentifier, newShards.size(), highestShardId);
+        cachedShardMap = shardMap;
+        highestCachedShardId = highestShardId(shardMap.keySet());
+        lastCacheUpdateTime = Instant.now();
+    }
+
+    private List<Shard> listAllShards(
+            ShardFilter shardFilter, boolean shouldPropagateResourceNotFoundException, String consumerId) {
         final List<Shard> shards = new ArrayList<>();
         ListShardsResponse result;
         String nextToken = null;
@@ -233,7 +330,6 @@ public class KinesisShardDetector implements ShardDetector {
             }
         } while (StringUtils.isNotEmpty(result.nextToken()));
 
-        cachedShardMap(shards);
         return shards;
     }
 
@@ -315,8 +411,32 @@ public class KinesisShardDetector implements ShardDetector {
     }
 
     void cachedShardMap(final List<Shard> shards) {
-        cachedShardMap = shards.stream().collect(Collectors.toMap(Shard::shardId, Function.identity()));
+        cacheShards(shards, true);
+    }
+
+    /**
+     * Replaces {@link #cachedShardMap} with the given shards.
+     *
+     * @param shards shards to cache
+     * @param allShards true if the shards were listed without a filter
+     */
+    private void cacheShards(final List<Shard> shards, final boolean allShards) {
+        final Map<String, Shard> shardMap =
+                shards.stream().collect(Collectors.toMap(Shard::shardId, Function.identity()));
+        cachedShardMap = shardMap;
+        highestCachedShardId = highestShardId(shardMap.keySet());
         lastCacheUpdateTime = Instant.now();
+        lastFullRefreshTime = allShards ? lastCacheUpdateTime : null;
+    }
+
+    private static String highestShardId(final Collection<String> shardIds) {
+        String highestShardId = null;
+        for (final String shardId : shardIds) {
+            if (highestShardId == null || shardId.compareTo(highestShardId) > 0) {
+                highestShardId = shardId;
+            }
+        }
+        return highestShardId;
     }
 
     private boolean shouldRefreshCache() {
@@ -35,6 +35,22 @@ public enum LeaseAssignmentStrategy {
      */
     WORKER_UTILIZATION_AWARE,
 
+    /**
+     * Worker utilization-aware assignment with bin-packing based balancing.
+     * <p>
+     * Assigns and balances leases on the same worker metrics as {@link #WORKER_UTILIZATION_AWARE}, but rebalances
+     * in a single pass: each worker is a bin with one dimension per worker metric, and the leases shed by the
+     * workers above the fleet average are placed best-fit-decreasing on the workers with room for them. This aims to
+     * converge in fewer assignment cycles and with fewer lease handoffs.
+     * <p>
+     * Features:
+     * - Multi-dimensional best-fit-decreasing balancing
+     * - No lease moves that would push another worker above the fleet average
+     * - Migration cost threshold, see
+     *   {@link LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig#migrationCostPercentage}
+     */
+    WORKER_UTILIZATION_AWARE_BIN_PACKING,
+
     /**
      * Lease count-based assignment.
      * <p>
@@ -15,7 +15,13 @@
 
 package software.amazon.kinesis.leases;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
@@ -37,6 +43,7 @@ import lombok.Value;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.kinesis.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.kinesis.model.Shard;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.kinesis.common.StreamIdentifier;
 import software.amazon.kinesis.leases.exceptions.DependencyException;
@@ -44,6 +51,9 @@ import software.amazon.kinesis.leases.exceptions.InvalidStateException;
 import software.amazon.kinesis.leases.exceptions.LeasePendingDeletion;
 import software.amazon.kinesis.leases.exceptions.ProvisionedThroughputException;
 import software.amazon.kinesis.metrics.MetricsFactory;
+import software.amazon.kinesis.metrics.MetricsLevel;
+import software.amazon.kinesis.metrics.MetricsScope;
+import software.amazon.kinesis.metrics.MetricsUtil;
 import software.amazon.kinesis.retrieval.AWSExceptionManager;
 import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
 
@@ -69,16 +79,51 @@ public class LeaseCleanupManager {
     private final long leaseCleanupIntervalMillis;
     private final long completedLeaseCleanupIntervalMillis;
     private final long garbageLeaseCleanupIntervalMillis;
+    /**
+     * Number of leases cleaned up together, 0 cleans up one lease at a time.
+     */
+    private final int leaseCleanupBatchSize;
+    /**
+     * Maximum number of leases deleted per second when cleaning up leases in batches, 0 does not limit deletions.
+     */
+    private final int maxLeaseDeletionsPerSecond;
+
     private final Stopwatch completedLeaseStopwatch = Stopwatch.createUnstarted();
     private final Stopwatch garbageLeaseStopwatch = Stopwatch.createUnstarted();
 
     private final Queue<LeasePendingDeletion> deletionQueue = new ConcurrentLinkedQueue<>();
 
     private static final long INITIAL_DELAY = 0L;
+    private static final String LEASE_CLEANUP_OPERATION = "LeaseCleanup";
+
+    /**
+     * Maximum number of leases deleted in one request, see {@link LeaseRefresher#batchDeleteLeases}.
+     */
+    private static final int MAX_LEASES_PER_DELETE = 25;
 
     @Getter
     private volatile boolean isRunning = false;
 
+    public LeaseCleanupManager(
+            @NonNull final LeaseCoordinator leaseCoordinator,
+            @NonNull final MetricsFactory metricsFactory,
+            @NonNull final ScheduledExecutorService deletionThreadPool,
+            final boolean cleanupLeasesUponShardCompletion,
+            final long leaseCleanupIntervalMillis,
+            final long completedLeaseCleanupIntervalMillis,
+            final long garbageLeaseCleanupIntervalMillis) {
+        this(
+                leaseCoordinator,
+                metricsFactory,
+                deletionThreadPool,
+                cleanupLeasesUponShardCompletion,
+                leaseCleanupIntervalMillis,
+                completedLeaseCleanupIntervalMillis,
+                garbageLeaseCleanupIntervalMillis,
+                0,
+                0);
+    }
+
     /**
      * Starts the lease cleanup thread, which is scheduled periodically as specified by
      * {@link LeaseCleanupManager#leaseCleanupIntervalMillis}
@@ -347,43 +392,14 @@ public class LeaseCleanupManager {
             log.debug("Attempting to clean up {} lease(s).", deletionQueue.size());
 
             while (!deletionQueue.isEmpty()) {
-                final LeasePendingDeletion leasePendingDeletion = deletionQueue.poll();
-                final String leaseKey = leasePendingDeletion.lease().leaseKey();
-                final StreamIdentifier streamIdentifier = leasePendingDeletion.streamIdentifier();
-                boolean deletionSucceeded = false;
-                try {
-                    final LeaseCleanupResult leaseCleanupResult = cleanupLease(
-                            leasePendingDeletion, timeToCheckForCompletedShard(), timeToCheckForGarbageShard());
-                    completedLeaseCleanedUp |= leaseCleanupResult.cleanedUpCompletedLease();
-                    garbageLeaseCleanedUp |= leaseCleanupResult.cleanedUpGarbageLease();
-
-                    if (leaseCleanupResult.leaseCleanedUp()) {
-                        log.info(
-                                "Successfully cleaned up lease {} for {} due to {}",
-                                leaseKey,
-                                streamIdentifier,
-                                leaseCleanupResult);
-                        deletionSucceeded = true;
-                    } else {
-                        log.warn(
-                                "Unable to clean up lease {} for {} due to {}",
-                                leaseKey,
-                                streamIdentifier,
-                                leaseCleanupResult);
-                    }
-                } catch (Exception e) {
-                    log.error(
-                            "Failed to cleanup lease {} for {}. Will re-enqueue for deletion and retry on next "
-                                    + "scheduled execution.",
-                            leaseKey,
-                            streamIdentifier,
-                            e);
-                }
-                if (!deletionSucceeded) {
-                    log.debug(
-                            "Did not cleanup lease {} for {}. Re-enqueueing for deletion.", leaseKey, streamIdentifier);
-                    failedDeletions.add(leasePendingDeletion);
+                final LeaseCleanupResult leaseCleanupResult;
+                if (leaseCleanupBatchSize > 0) {
+                    leaseCleanupResult = cleanupLeaseBatch(pollBatch(), failedDeletions);
+                } else {
+                    leaseCleanupResult = cleanupLeaseOrRetryLater(deletionQueue.poll(), failedDeletions);
                 }
+                completedLeaseCleanedUp |= leaseCleanupResult.cleanedUpCompletedLease();
+                garbageLeaseCleanedUp |= leaseCleanupResult.cleanedUpGarbageLease();
             }
             if (completedLeaseCleanedUp) {
                 log.debug("At least one completed lease was cleaned up - restarting interval");
@@ -399,6 +415,352 @@ public class LeaseCleanupManager {
         }
     }
 
+    /**
+     * Cleans up the lease, and adds it to {@code failedDeletions} if it was not cleaned up.
+     */
+    private LeaseCleanupResult cleanupLeaseOrRetryLater(
+            final LeasePendingDeletion leasePendingDeletion, final Queue<LeasePendingDeletion> failedDeletions) {
+        final String leaseKey = leasePendingDeletion.lease().leaseKey();
+        final StreamIdentifier streamIdentifier = leasePendingDeletion.streamIdentifier();
+        LeaseCleanupResult leaseCleanupResult = new LeaseCleanupResult(false, false, false, false);
+        try {
+            leaseCleanupResult =
+                    cleanupLease(leasePendingDeletion, timeToCheckForCompletedShard(), timeToCheckForGarbageShard());
+            if (leaseCleanupResult.leaseCleanedUp()) {
+                log.info(
+                        "Successfully cleaned up lease {} for {} due to {}",
+                        leaseKey,
+                        streamIdentifier,
+                        leaseCleanupResult);
+            } else {
+                log.warn(
+                        "Unable to clean up lease {} for {} due to {}", leaseKey, streamIdentifier, leaseCleanupResult);
+            }
+        } catch (Exception e) {
+            log.error(
+                    "Failed to cleanup lease {} for {}. Will re-enqueue for deletion and retry on next "
+                            + "scheduled execution.",
+                    leaseKey,
+                    streamIdentifier,
+                    e);
+        }
+        if (!leaseCleanupResult.leaseCleanedUp()) {
+            log.debug("Did not cleanup lease {} for {}. Re-enqueueing for deletion.", leaseKey, streamIdentifier);
+            failedDeletions.add(leasePendingDeletion);
+        }
+        return leaseCleanupResult;
+    }
+
+    private List<LeasePendingDeletion> pollBatch() {
+        final List<LeasePendingDeletion> batch = new ArrayList<>(leaseCleanupBatchSize);
+        while (batch.size() < leaseCleanupBatchSize && !deletionQueue.isEmpty()) {
+            batch.add(deletionQueue.poll());
+        }
+        return batch;
+    }
+
+    /**
+     * Cleans up a batch of leases with the same rules as {@link #cleanupLease}, but reads the leases involved with
+     * batched reads, looks up child shards with one ListShards call per stream, and deletes the leases with batched
+     * writes. Leases of shards the stream does not list are cleaned up one at a time, which finds out whether they
+     * are garbage. Leases that were not cleaned up are added to {@code failedDeletions}.
+     */
+    @VisibleForTesting
+    LeaseCleanupResult cleanupLeaseBatch(
+            final List<LeasePendingDeletion> batch, final Queue<LeasePendingDeletion> failedDeletions) {
+        final boolean checkForCompletedShard = cleanupLeasesUponShardCompletion && timeToCheckForCompletedShard();
+        final boolean checkForGarbageShard = timeToCheckForGarbageShard();
+        if (!checkForCompletedShard && !checkForGarbageShard) {
+            // Nothing to check for, so there is no need to look up the shards of the streams.
+            failedDeletions.addAll(batch);
+            return new LeaseCleanupResult(false, false, false, false);
+        }
+        final MetricsScope scope = MetricsUtil.createMetricsWithOperation(metricsFactory, LEASE_CLEANUP_OPERATION);
+        final long startTime = System.currentTimeMillis();
+        boolean cleanedUpCompletedLease = false;
+        boolean cleanedUpGarbageLease = false;
+        int leasesCleanedUp = 0;
+        try {
+            final Map<String, Lease> leasesFromDdb;
+            try {
+                leasesFromDdb = checkForCompletedShard ? batchGetLeases(leaseKeys(batch)) : Collections.emptyMap();
+            } catch (Exception e) {
+                log.error("Failed to read {} leases pending cleanup. Will retry on next execution.", batch.size(), e);
+                failedDeletions.addAll(batch);
+                return new LeaseCleanupResult(false, false, false, false);
+            }
+
+            final List<CleanupCandidate> candidates = new ArrayList<>();
+            final List<LeasePendingDeletion> shardLookups = new ArrayList<>();
+            for (LeasePendingDeletion leasePendingDeletion : batch) {
+                if (checkForCompletedShard) {
+                    final Lease leaseFromDdb =
+                            leasesFromDdb.get(leasePendingDeletion.lease().leaseKey());
+                    if (leaseFromDdb == null) {
+                        log.info(
+                                "Lease not present in lease table while cleaning the shard {} of {}",
+                                leasePendingDeletion.shardInfo().shardId(),
+                                leasePendingDeletion.streamIdentifier().streamName());
+                        cleanedUpCompletedLease = true;
+                        leasesCleanedUp++;
+                        continue;
+                    }
+                    if (!CollectionUtils.isNullOrEmpty(leaseFromDdb.childShardIds()) && !checkForGarbageShard) {
+                        candidates.add(new CleanupCandidate(leasePendingDeletion, leaseFromDdb.childShardIds()));
+                        continue;
+                    }
+                }
+                shardLookups.add(leasePendingDeletion);
+            }
+
+            final Map<StreamIdentifier, Map<String, Set<String>>> childShardsByStream =
+                    listChildShardsByStream(shardLookups);
+            for (LeasePendingDeletion leasePendingDeletion : shardLookups) {
+                final Set<String> childShardIds = childShardsByStream
+                        .getOrDefault(leasePendingDeletion.streamIdentifier(), Collections.emptyMap())
+                        .get(leasePendingDeletion.shardInfo().shardId());
+                if (childShardIds == null) {
+                    final LeaseCleanupResult result = cleanupLeaseOrRetryLater(leasePendingDeletion, failedDeletions);
+                    cleanedUpCompletedLease |= result.cleanedUpCompletedLease();
+                    cleanedUpGarbageLease |= result.cleanedUpGarbageLease();
+                    leasesCleanedUp += result.leaseCleanedUp() ? 1 : 0;
+                } else if (!checkForCompletedShard) {
+                    // The shard is still in the stream, so its lease is not garbage.
+                    failedDeletions.add(leasePendingDeletion);
+                } else {
+                    final CleanupCandidate candidate = withChildShards(
+                            leasePendingDeletion,
+                            leasesFromDdb.get(leasePendingDeletion.lease().leaseKey()),
+                            childShardIds);
+                    if (candidate == null) {
+                        failedDeletions.add(leasePendingDeletion);
+                    } else {
+                        candidates.add(candidate);
+                    }
+                }
+            }
+
+            final List<Lease> leasesToDelete = new ArrayList<>();
+            for (LeasePendingDeletion leasePendingDeletion : completedLeases(candidates)) {
+                leasesToDelete.add(leasePendingDeletion.lease());
+            }
+            final int leasesDeleted = deleteLeases(batch, leasesToDelete, failedDeletions);
+            cleanedUpCompletedLease |= leasesDeleted > 0;
+            leasesCleanedUp += leasesDeleted;
+            for (CleanupCandidate candidate : candidates) {
+                if (!leasesToDelete.contains(candidate.leasePendingDeletion().lease())) {
+                    failedDeletions.add(candidate.leasePendingDeletion());
+                }
+            }
+        } finally {
+            MetricsUtil.addCount(scope, "LeasesCleanedUp", leasesCleanedUp, MetricsLevel.SUMMARY);
+            MetricsUtil.addLatency(scope, "BatchCleanupTime", startTime, MetricsLevel.SUMMARY);
+            MetricsUtil.endScope(scope);
+        }
+        log.info(
+                "Cleaned up {} of {} leases in {} ms",
+                leasesCleanedUp,
+                batch.size(),
+                System.currentTimeMillis() - startTime);
+        return new LeaseCleanupResult(cleanedUpCompletedLease, cleanedUpGarbageLease, false, false);
+    }
+
+    /**
+     * @return candidate to clean up with the child shards from the service, or null if the lease could not be updated
+     *         with the child shards
+     */
+    private CleanupCandidate withChildShards(
+            final LeasePendingDeletion leasePendingDeletion,
+            final Lease leaseFromDdb,
+            final Set<String> childShardIds) {
+        if (!CollectionUtils.isNullOrEmpty(leaseFromDdb.childShardIds())) {
+            return new CleanupCandidate(leasePendingDeletion, leaseFromDdb.childShardIds());
+        }
+        if (childShardIds.isEmpty()) {
+            log.error(
+                    "No child shards returned from service for shard {} for {} while cleaning up lease.",
+                    leasePendingDeletion.shardInfo().shardId(),
+                    leasePendingDeletion.streamIdentifier().streamName());
+        } else {
+            try {
+                updateLeaseWithChildShards(leasePendingDeletion, childShardIds);
+            } catch (Exception e) {
+                log.warn(
+                        "Unable to update lease {} with its child shards",
+                        leasePendingDeletion.lease().leaseKey(),
+                        e);
+                return null;
+            }
+        }
+        return new CleanupCandidate(leasePendingDeletion, childShardIds);
+    }
+
+    /**
+     * Lists the shards of each stream once and maps every listed shard to its child shards. Streams whose shards
+     * could not be listed are left out.
+     */
+    private Map<StreamIdentifier, Map<String, Set<String>>> listChildShardsByStream(
+            final List<LeasePendingDeletion> leasePendingDeletions) {
+        final Map<StreamIdentifier, ShardDetector> shardDetectors = new HashMap<>();
+        leasePendingDeletions.forEach(leasePendingDeletion -> shardDetectors.putIfAbsent(
+                leasePendingDeletion.streamIdentifier(), leasePendingDeletion.shardDetector()));
+        final Map<StreamIdentifier, Map<String, Set<String>>> childShardsByStream = new HashMap<>();
+        shardDetectors.forEach((streamIdentifier, shardDetector) -> {
+            try {
+                final List<Shard> shards = shardDetector.listShards();
+                if (shards == null) {
+                    return;
+                }
+                final Map<String, Set<String>> childShards = new HashMap<>();
+                shards.forEach(shard -> childShards.put(shard.shardId(), new HashSet<>()));
+                for (Shard shard : shards) {
+                    Optional.ofNullable(shard.parentShardId())
+                            .map(childShards::get)
+                            .ifPresent(children -> children.add(shard.shardId()));
+                    Optional.ofNullable(shard.adjacentParentShardId())
+                            .map(childShards::get)
+                            .ifPresent(children -> children.add(shard.shardId()));
+                }
+                childShardsByStream.put(streamIdentifier, childShards);
+            } catch (Exception e) {
+                log.warn("Unable to list shards of {} while cleaning up leases", streamIdentifier, e);
+            }
+        });
+        return childShardsByStream;
+    }
+
+    /**
+     * @return the candidates whose child shard leases all exist and are being processed, and whose parent shard
+     *         leases were all deleted
+     */
+    private List<LeasePendingDeletion> completedLeases(final List<CleanupCandidate> candidates) {
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Set<String> relatedLeaseKeys = new HashSet<>();
+        for (CleanupCandidate candidate : candidates) {
+            final ShardInfo shardInfo = candidate.leasePendingDeletion().shardInfo();
+            candidate.childShardIds().forEach(id -> relatedLeaseKeys.add(ShardInfo.getLeaseKey(shardInfo, id)));
+            parentShardIds(candidate.leasePendingDeletion().lease())
+                    .forEach(id -> relatedLeaseKeys.add(ShardInfo.getLeaseKey(shardInfo, id)));
+        }
+        final Map<String, Lease> relatedLeases;
+        try {
+            relatedLeases = batchGetLeases(relatedLeaseKeys);
+        } catch (Exception e) {
+            log.error("Failed to read the parent and child leases of {} leases pending cleanup", candidates.size(), e);
+            return Collections.emptyList();
+        }
+
+        final List<LeasePendingDeletion> completedLeases = new ArrayList<>();
+        for (CleanupCandidate candidate : candidates) {
+            final Lease lease = candidate.leasePendingDeletion().lease();
+            final ShardInfo shardInfo = candidate.leasePendingDeletion().shardInfo();
+            final boolean childShardsProcessing = candidate.childShardIds().stream()
+                    .map(id -> relatedLeases.get(ShardInfo.getLeaseKey(shardInfo, id)))
+                    .allMatch(childShardLease -> childShardLease != null
+                            && !childShardLease.checkpoint().equals(ExtendedSequenceNumber.TRIM_HORIZON)
+                            && !childShardLease.checkpoint().equals(ExtendedSequenceNumber.AT_TIMESTAMP));
+            final boolean parentShardLeasesDeleted = parentShardIds(lease).stream()
+                    .noneMatch(id -> relatedLeases.containsKey(ShardInfo.getLeaseKey(shardInfo, id)));
+            if (childShardsProcessing && parentShardLeasesDeleted) {
+                completedLeases.add(candidate.leasePendingDeletion());
+            } else {
+                log.debug(
+                        "Not deleting lease {}, child shards processing: {}, parent shard leases deleted: {}",
+                        lease.leaseKey(),
+                        childShardsProcessing,
+                        parentShardLeasesDeleted);
+            }
+        }
+        return completedLeases;
+    }
+
+    /**
+     * Deletes the leases in chunks, at most {@link #maxLeaseDeletionsPerSecond} leases per second if set. The leases
+     * of chunks that could not be deleted are added to {@code failedDeletions}.
+     *
+     * @return number of leases deleted
+     */
+    private int deleteLeases(
+            final List<LeasePendingDeletion> batch,
+            final List<Lease> leasesToDelete,
+            final Queue<LeasePendingDeletion> failedDeletions) {
+        final int chunkSize = maxLeaseDeletionsPerSecond > 0
+                ? Math.min(MAX_LEASES_PER_DELETE, maxLeaseDeletionsPerSecond)
+                : MAX_LEASES_PER_DELETE;
+        int leasesDeleted = 0;
+        for (int from = 0; from < leasesToDelete.size(); from += chunkSize) {
+            final List<Lease> chunk = leasesToDelete.subList(from, Math.min(from + chunkSize, leasesToDelete.size()));
+            final long chunkStartNanos = System.nanoTime();
+            try {
+                leaseCoordinator.leaseRefresher().batchDeleteLeases(chunk);
+                chunk.forEach(lease -> log.info(
+                        "Deleted lease {} as it has been completely processed and processing of child shard(s) has"
+                                + " begun.",
+                        lease.leaseKey()));
+                leasesDeleted += chunk.size();
+            } catch (Exception e) {
+                log.error("Failed to delete {} leases. Will retry on next execution.", chunk.size(), e);
+                addPendingDeletions(batch, chunk, failedDeletions);
+            }
+            if (maxLeaseDeletionsPerSecond > 0) {
+                final long remainingNanos = TimeUnit.SECONDS.toNanos(chunk.size()) / maxLeaseDeletionsPerSecond
+                        - (System.nanoTime() - chunkStartNanos);
+                if (remainingNanos > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(remainingNanos);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        final List<Lease> notDeleted = leasesToDelete.subList(
+                                Math.min(from + chunkSize, leasesToDelete.size()), leasesToDelete.size());
+                        addPendingDeletions(batch, notDeleted, failedDeletions);
+                        break;
+                    }
+                }
+            }
+        }
+        return leasesDeleted;
+    }
+
+    private static void addPendingDeletions(
+            final List<LeasePendingDeletion> batch,
+            final List<Lease> leases,
+            final Queue<LeasePendingDeletion> failedDeletions) {
+        final Set<String> leaseKeys = leases.stream().map(Lease::leaseKey).collect(Collectors.toSet());
+        batch.stream()
+                .filter(leasePendingDeletion ->
+                        leaseKeys.contains(leasePendingDeletion.lease().leaseKey()))
+                .forEach(failedDeletions::add);
+    }
+
+    private Map<String, Lease> batchGetLeases(final Collection<String> leaseKeys)
+            throws DependencyException, ProvisionedThroughputException, InvalidStateException {
+        final Map<String, Lease> leases = new HashMap<>();
+        leaseCoordinator
+                .leaseRefresher()
+                .batchGetLeases(leaseKeys)
+                .forEach(lease -> leases.put(lease.leaseKey(), lease));
+        return leases;
+    }
+
+    private static List<String> leaseKeys(final List<LeasePendingDeletion> leasePendingDeletions) {
+        return leasePendingDeletions.stream()
+                .map(leasePendingDeletion -> leasePendingDeletion.lease().leaseKey())
+                .collect(Collectors.toList());
+    }
+
+    private static Collection<String> parentShardIds(final Lease lease) {
+        return lease.parentShardIds() == null ? Collections.emptySet() : lease.parentShardIds();
+    }
+
+    @Value
+    @Accessors(fluent = true)
+    private static class CleanupCandidate {
+        LeasePendingDeletion leasePendingDeletion;
+        Set<String> childShardIds;
+    }
+
     private class LeaseCleanupThread implements Runnable {
         @Override
         public void run() {
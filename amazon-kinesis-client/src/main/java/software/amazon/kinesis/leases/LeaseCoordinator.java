@@ -143,6 +143,36 @@ public interface LeaseCoordinator {
         return Collections.emptyList();
     }
 
+    /**
+     * Default implementation returns null, in which case child shards poll the lease table for the completion of
+     * their parent shards.
+     *
+     * @return registry of the leases this worker knows to be completely processed
+     */
+    default ParentShardCompletionRegistry parentShardCompletionRegistry() {
+        return null;
+    }
+
+    /**
+     * Prepares the lease of a child shard, which this worker is about to create when it finishes the parent shard, to
+     * be created as owned by this worker. Default implementation leaves the child lease to lease assignment.
+     *
+     * @param childLease lease of the child shard, not yet created in the lease table
+     * @return true if the lease was set up to be owned by this worker, in which case
+     *         {@link #addInheritedChildLease(Lease)} must be called once the lease is created
+     */
+    default boolean inheritChildLease(Lease childLease) {
+        return false;
+    }
+
+    /**
+     * Starts holding a child lease that was created as owned by this worker, see {@link #inheritChildLease(Lease)}.
+     * Implementations may release the lease instead if this worker reached its lease limit meanwhile.
+     *
+     * @param childLease lease of the child shard, as created in the lease table
+     */
+    default void addInheritedChildLease(Lease childLease) {}
+
     /**
      * @param writeCapacity The DynamoDB table used for tracking leases will be provisioned with the specified initial
      *        write capacity
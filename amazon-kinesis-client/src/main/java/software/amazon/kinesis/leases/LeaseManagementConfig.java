@@ -15,6 +15,7 @@
 
 package software.amazon.kinesis.leases;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -35,6 +36,7 @@ import org.apache.commons.lang3.Validate;
 import software.amazon.awssdk.core.util.DefaultSdkAutoConstructList;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
 import software.amazon.awssdk.services.dynamodb.model.Tag;
 import software.amazon.awssdk.services.kinesis.KinesisAsyncClient;
 import software.amazon.kinesis.common.DdbTableConfig;
@@ -73,6 +75,7 @@ public class LeaseManagementConfig {
     public static final boolean DEFAULT_LEASE_TABLE_PITR_ENABLED = false;
     public static final boolean DEFAULT_ENABLE_PRIORITY_LEASE_ASSIGNMENT = true;
     public static final int DEFAULT_CONSECUTIVE_HOLES_FOR_TRIGGERING_LEASE_RECOVERY = 3;
+    public static final int DEFAULT_LEASES_RECOVERY_AUDITOR_THREAD_COUNT = 4;
 
     public static final LeaseCleanupConfig DEFAULT_LEASE_CLEANUP_CONFIG = LeaseCleanupConfig.builder()
             .leaseCleanupIntervalMillis(DEFAULT_LEASE_CLEANUP_INTERVAL_MILLIS)
@@ -224,6 +227,51 @@ public class LeaseManagementConfig {
         return this;
     }
 
+    /**
+     * Number of leases renewed together in one DynamoDB TransactWriteItems request. Leases that a batch can't renew,
+     * because they were lost or their renewal conflicted with another write, are renewed one at a time. A
+     * transactional write consumes twice the write capacity of a regular write. 0 renews each lease with its own
+     * UpdateItem request.
+     *
+     * <p>Default value: 0</p>
+     */
+    private int leaseRenewalBatchSize = 0;
+
+    /**
+     * Maximum number of items DynamoDB accepts in one TransactWriteItems request.
+     */
+    private static final int MAX_LEASE_RENEWAL_BATCH_SIZE = 100;
+
+    public LeaseManagementConfig leaseRenewalBatchSize(final int leaseRenewalBatchSize) {
+        if (leaseRenewalBatchSize < 0 || leaseRenewalBatchSize > MAX_LEASE_RENEWAL_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "leaseRenewalBatchSize must be between 0 and " + MAX_LEASE_RENEWAL_BATCH_SIZE);
+        }
+        this.leaseRenewalBatchSize = leaseRenewalBatchSize;
+        return this;
+    }
+
+    /**
+     * Whether the worker that finishes processing a parent shard takes the leases of the child shards it creates at
+     * SHARD_END, as long as it holds fewer than {@link #maxLeasesForWorker} leases. The child leases are created
+     * already owned by the worker, so their processing starts without waiting for the lease taker or the lease
+     * assignment to pick them up. The lease assignment can still move the child leases to balance the workers.
+     *
+     * <p>Default value: false</p>
+     */
+    private boolean inheritChildLeasesOnShardEnd = false;
+
+    /**
+     * Local file in which the worker keeps the keys of the leases it holds. The file is rewritten when the held leases
+     * change and when the worker stops. On start, the worker reads only these leases from the lease table to renew
+     * the ones it still owns, instead of scanning the whole lease table, so processing resumes sooner after a
+     * restart. Leases assigned to the worker that are not in the file are picked up by the lease discovery. The file
+     * must not be shared by workers with different worker identifiers, a file written by another worker is ignored.
+     *
+     * <p>Default value: null, which disables the snapshot</p>
+     */
+    private Path leaseSnapshotPath = null;
+
     /**
      *
      */
@@ -257,6 +305,9 @@ public class LeaseManagementConfig {
      * <p>
      * LEASE_COUNT_BASED: Uses simple lease count-based assignment that distributes
      * leases evenly based purely on lease count, ignoring worker utilization metrics.
+     * <p>
+     * WORKER_UTILIZATION_AWARE_BIN_PACKING: Uses the same worker utilization metrics as WORKER_UTILIZATION_AWARE
+     * but balances leases with multi-dimensional bin packing, which aims to need fewer lease handoffs.
      *
      * <p>Default value: {@link LeaseAssignmentStrategy#WORKER_UTILIZATION_AWARE}</p>
      */
@@ -278,6 +329,17 @@ public class LeaseManagementConfig {
      */
     private boolean leaseTablePitrEnabled = DEFAULT_LEASE_TABLE_PITR_ENABLED;
 
+    /**
+     * Projection of the LeaseOwnerToLease index, which lets lease discovery read newly assigned leases from the
+     * query of the index instead of reading each lease from the lease table. DynamoDB can't change the projection of
+     * an existing index, so this index is created next to the KEYS_ONLY LeaseOwnerToLeaseKey index, and lease
+     * discovery uses it once it is ACTIVE. INCLUDE projects the attributes KCL reads, ALL projects every attribute.
+     * KEYS_ONLY does not create the index, and stops lease discovery from using it if it already exists.
+     *
+     * <p>Default value: {@link ProjectionType#KEYS_ONLY}</p>
+     */
+    private ProjectionType leaseOwnerIndexProjectionType = ProjectionType.KEYS_ONLY;
+
     /**
      * The list of tags to be applied to the DynamoDB table created for lease management.
      *
@@ -300,6 +362,14 @@ public class LeaseManagementConfig {
     private int leasesRecoveryAuditorInconsistencyConfidenceThreshold =
             DEFAULT_CONSECUTIVE_HOLES_FOR_TRIGGERING_LEASE_RECOVERY;
 
+    /**
+     * Number of threads the periodic auditor job uses to check the leases of different streams for holes in parallel.
+     * Only used in multi-stream mode, with a single stream the check runs on the auditor job thread.
+     *
+     * <p>Default value: {@value #DEFAULT_LEASES_RECOVERY_AUDITOR_THREAD_COUNT}</p>
+     */
+    private int leasesRecoveryAuditorThreadCount = DEFAULT_LEASES_RECOVERY_AUDITOR_THREAD_COUNT;
+
     /**
      * The initial position for getting records from Kinesis streams.
      *
@@ -549,6 +619,13 @@ public class LeaseManagementConfig {
          * This defines the frequency of reporting worker metric stats to storage. Default is 30s
          */
         private long workerMetricsReporterFreqInMillis = Duration.ofSeconds(30).toMillis();
+        /**
+         * Whether worker metric stats are written in a compact binary encoding instead of as maps of values. Entries
+         * in either encoding are always readable, but workers on versions that do not read the compact encoding treat
+         * a worker writing it as using the default WorkerMetric, so only enable this once every worker of the
+         * application runs a version that reads it. Default is false.
+         */
+        private boolean compactWorkerMetricStatsEncoding = false;
         /**
          * These are the no. of metrics that are persisted in storage in WorkerMetricStats ddb table.
          */
@@ -561,6 +638,21 @@ public class LeaseManagementConfig {
          * List of workerMetrics for the application.
          */
         private List<WorkerMetric> workerMetricList = new ArrayList<>();
+        /**
+         * Adds the GC pause, allocation rate and processing pool saturation WorkerMetrics to the WorkerMetrics selected
+         * for the platform the worker runs on. Only used when workerMetricList is not set. Default is false.
+         */
+        private boolean enableJvmWorkerMetrics = false;
+        /**
+         * Allocation rate in MBps at which a worker is fully utilized, used by the allocation rate WorkerMetric.
+         * Default is 1024 MBps.
+         */
+        private double maxAllocationRateInMBps = 1024;
+        /**
+         * Number of shard consumer tasks running or queued at which a worker is fully utilized, used by the processing
+         * pool saturation WorkerMetric. Default is 0, which uses the number of available processors.
+         */
+        private int processingPoolCapacity = 0;
         /**
          * Max throughput per host KBps, default is unlimited.
          */
@@ -585,6 +677,14 @@ public class LeaseManagementConfig {
          */
         private boolean allowThroughputOvershoot = true;
 
+        /**
+         * Used with {@link LeaseAssignmentStrategy#WORKER_UTILIZATION_AWARE_BIN_PACKING}. A worker above the fleet level
+         * average stops giving away leases once the throughput it is still above the average by is less than this
+         * percentage of the average worker throughput, as a lease handoff pauses processing of the lease and is not
+         * worth a marginal improvement.
+         */
+        private int migrationCostPercentage = 5;
+
         /**
          * Duration after which workerMetricStats entry from WorkerMetricStats table will be cleaned up. When an entry's
          * lastUpdateTime is older than staleWorkerMetricsEntryCleanupDuration from current time, entry will be removed
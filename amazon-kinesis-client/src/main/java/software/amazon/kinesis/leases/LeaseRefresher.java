@@ -14,11 +14,18 @@
  */
 package software.amazon.kinesis.leases;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.function.DoubleConsumer;
 import java.util.stream.Collectors;
 
+import com.google.common.util.concurrent.MoreExecutors;
+import software.amazon.kinesis.common.FutureUtils;
 import software.amazon.kinesis.common.StreamIdentifier;
 import software.amazon.kinesis.leases.exceptions.DependencyException;
 import software.amazon.kinesis.leases.exceptions.InvalidStateException;
@@ -139,6 +146,91 @@ public interface LeaseRefresher {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Asynchronous version of {@link #listLeaseKeysForWorker(String)}. The future completes exceptionally with the
+     * exceptions the synchronous method throws. The default implementation calls the synchronous method on the
+     * calling thread.
+     *
+     * @param workerIdentifier worker to list lease keys for
+     * @return future of the keys of the leases owned by the worker
+     */
+    default CompletableFuture<List<String>> listLeaseKeysForWorkerAsync(final String workerIdentifier) {
+        return FutureUtils.completeNow(() -> listLeaseKeysForWorker(workerIdentifier));
+    }
+
+    /**
+     * Creates the LeaseOwnerToLease index on the lease table if the refresher is configured to use one and it doesn't
+     * exist, and returns the status of the index. Unlike the LeaseOwnerToLeaseKey index, this index projects the
+     * lease attributes, so the leases of a worker can be read from the index without reading each lease.
+     *
+     * @return status of the index, or null if the refresher is not configured to use the index
+     * @throws DependencyException if storage's describe or update API fails in an unexpected way
+     */
+    default String createLeaseOwnerToLeaseIndexIfNotExists() throws DependencyException {
+        return null;
+    }
+
+    /**
+     * List all leases for a given workerIdentifier synchronously, read from the LeaseOwnerToLease index. The index is
+     * eventually consistent, so the leases may be stale or no longer owned by the worker.
+     *
+     * @param workerIdentifier worker to list leases for
+     * @param consumedReadCapacity receives the read capacity consumed by each request
+     *
+     * @throws DependencyException if DynamoDB query fails in an unexpected way
+     * @throws InvalidStateException if the index does not exist
+     * @throws ProvisionedThroughputException if DynamoDB query fails due to lack of capacity
+     *
+     * @return list of leases
+     */
+    default List<Lease> listLeasesForWorker(final String workerIdentifier, final DoubleConsumer consumedReadCapacity)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        throw new UnsupportedOperationException("listLeasesForWorker is not implemented");
+    }
+
+    /**
+     * Reads the ownership of the given leases with strongly consistent reads. The returned leases only have the
+     * lease key, lease owner, lease counter and checkpoint owner set. Leases that don't exist, or could not be read,
+     * are left out.
+     *
+     * @param leaseKeys keys of the leases to read
+     * @param consumedReadCapacity receives the read capacity consumed by each request
+     *
+     * @throws DependencyException if DynamoDB get fails in an unexpected way
+     * @throws InvalidStateException if lease table does not exist
+     * @throws ProvisionedThroughputException if DynamoDB get fails due to lack of capacity
+     *
+     * @return leases with their ownership fields
+     */
+    default List<Lease> batchGetLeaseOwnership(
+            final Collection<String> leaseKeys, final DoubleConsumer consumedReadCapacity)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        throw new UnsupportedOperationException("batchGetLeaseOwnership is not implemented");
+    }
+
+    /**
+     * Gets the leases with the given keys, with all their fields. Default implementation gets the leases one at a time.
+     *
+     * @param leaseKeys keys of the leases to read
+     *
+     * @throws DependencyException if DynamoDB get fails in an unexpected way
+     * @throws InvalidStateException if lease table does not exist
+     * @throws ProvisionedThroughputException if DynamoDB get fails due to lack of capacity
+     *
+     * @return the leases that exist, leases that do not exist are not in the result
+     */
+    default List<Lease> batchGetLeases(final Collection<String> leaseKeys)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        final List<Lease> leases = new ArrayList<>(leaseKeys.size());
+        for (String leaseKey : leaseKeys) {
+            final Lease lease = getLease(leaseKey);
+            if (lease != null) {
+                leases.add(lease);
+            }
+        }
+        return leases;
+    }
+
     /**
      * List all objects in table synchronously.
      *
@@ -150,6 +242,22 @@ public interface LeaseRefresher {
      */
     List<Lease> listLeases() throws DependencyException, InvalidStateException, ProvisionedThroughputException;
 
+    /**
+     * List a view of all leases in the table synchronously. Lease views only carry the attributes needed to decide on
+     * lease ownership (see {@link LeaseSerializer#getLeaseViewAttributes()}), so the full lease has to be read with
+     * {@link #getLease(String)} before it is handed to a record processor.
+     *
+     * @throws DependencyException if DynamoDB scan fails in an unexpected way
+     * @throws InvalidStateException if lease table does not exist
+     * @throws ProvisionedThroughputException if DynamoDB scan fails due to lack of capacity
+     *
+     * @return list of lease views
+     */
+    default List<Lease> listLeaseViews()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        return listLeases();
+    }
+
     /**
      * List all leases from the storage parallely and deserialize into Lease objects. Returns the list of leaseKey
      * that failed deserialize separately.
@@ -168,6 +276,22 @@ public interface LeaseRefresher {
         throw new UnsupportedOperationException("listLeasesParallely is not implemented");
     }
 
+    /**
+     * Asynchronous version of {@link #listLeasesParallely(ExecutorService, int)}, which scans the segments of the
+     * storage concurrently without a thread per segment. The future completes exceptionally with the exceptions the
+     * synchronous method throws. The default implementation calls the synchronous method on the calling thread, which
+     * then scans the segments one after the other.
+     *
+     * @param parallelismFactor no. of parallel scans.
+     *                          If parallelismFactor is 0 then parallelismFactor will be calculated based on table size
+     * @return future of the pair of List of leases from the storage and List of items failed to deserialize
+     */
+    default CompletableFuture<Map.Entry<List<Lease>, List<String>>> listLeasesParallelyAsync(
+            final int parallelismFactor) {
+        return FutureUtils.completeNow(
+                () -> listLeasesParallely(MoreExecutors.newDirectExecutorService(), parallelismFactor));
+    }
+
     /**
      * Create a new lease. Conditional on a lease not already existing with this shardId.
      *
@@ -193,6 +317,17 @@ public interface LeaseRefresher {
      */
     Lease getLease(String leaseKey) throws DependencyException, InvalidStateException, ProvisionedThroughputException;
 
+    /**
+     * Asynchronous version of {@link #getLease(String)}. The future completes exceptionally with the exceptions the
+     * synchronous method throws. The default implementation calls the synchronous method on the calling thread.
+     *
+     * @param leaseKey Get the lease for this leasekey
+     * @return future of the lease for the specified leaseKey, or of null if one doesn't exist
+     */
+    default CompletableFuture<Lease> getLeaseAsync(final String leaseKey) {
+        return FutureUtils.completeNow(() -> getLease(leaseKey));
+    }
+
     /**
      * Renew a lease by incrementing the lease counter. Conditional on the leaseCounter in DynamoDB matching the leaseCounter
      * of the input. Mutates the leaseCounter of the passed-in lease object after updating the record in DynamoDB.
@@ -207,6 +342,42 @@ public interface LeaseRefresher {
      */
     boolean renewLease(Lease lease) throws DependencyException, InvalidStateException, ProvisionedThroughputException;
 
+    /**
+     * Asynchronous version of {@link #renewLease(Lease)}. The passed-in lease is mutated when the future completes,
+     * so callers should pass a lease no other thread reads until then. The future completes exceptionally with the
+     * exceptions the synchronous method throws. The default implementation calls the synchronous method on the
+     * calling thread.
+     *
+     * @param lease the lease to renew
+     * @return future of true if renewal succeeded, false otherwise
+     */
+    default CompletableFuture<Boolean> renewLeaseAsync(final Lease lease) {
+        return FutureUtils.completeNow(() -> renewLease(lease));
+    }
+
+    /**
+     * Renews several leases by incrementing their lease counters in as few requests as possible. Each lease is only
+     * renewed if its counter still matches, and, unless a shutdown was requested for it, if it has no checkpoint
+     * owner. Unlike {@link #renewLease(Lease)}, this method does not mutate the passed-in leases.
+     *
+     * <p>
+     * Leases that are not in the result were not renewed. They were either lost, or their renewal conflicted with
+     * another write, and should be renewed with {@link #renewLease(Lease)} to find out which.
+     * </p>
+     *
+     * @param leases the leases to renew
+     *
+     * @return keys of the leases that were renewed
+     *
+     * @throws InvalidStateException if lease table does not exist
+     * @throws ProvisionedThroughputException if DynamoDB update fails due to lack of capacity
+     * @throws DependencyException if DynamoDB update fails in an unexpected way
+     */
+    default Set<String> batchRenewLeases(final List<Lease> leases)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        throw new UnsupportedOperationException("batchRenewLeases is not implemented");
+    }
+
     /**
      * Take a lease for the given owner by incrementing its leaseCounter and setting its owner field. Conditional on
      * the leaseCounter in DynamoDB matching the leaseCounter of the input. Mutates the leaseCounter and owner of the
@@ -224,6 +395,19 @@ public interface LeaseRefresher {
     boolean takeLease(Lease lease, String owner)
             throws DependencyException, InvalidStateException, ProvisionedThroughputException;
 
+    /**
+     * Asynchronous version of {@link #takeLease(Lease, String)}. The future completes exceptionally with the
+     * exceptions the synchronous method throws. The default implementation calls the synchronous method on the
+     * calling thread.
+     *
+     * @param lease the lease to take
+     * @param owner the new owner
+     * @return future of true if lease was successfully taken, false otherwise
+     */
+    default CompletableFuture<Boolean> takeLeaseAsync(final Lease lease, final String owner) {
+        return FutureUtils.completeNow(() -> takeLease(lease, owner));
+    }
+
     /**
      * Assigns given lease to newOwner owner by incrementing its leaseCounter and setting its owner field. Conditional
      * on the leaseOwner in DynamoDB matching the leaseOwner of the input lease. Mutates the leaseCounter and owner of
@@ -290,6 +474,22 @@ public interface LeaseRefresher {
      */
     void deleteLease(Lease lease) throws DependencyException, InvalidStateException, ProvisionedThroughputException;
 
+    /**
+     * Deletes the given leases from DynamoDB. Default implementation deletes the leases one at a time.
+     *
+     * @param leases the leases to delete
+     *
+     * @throws InvalidStateException if lease table does not exist
+     * @throws ProvisionedThroughputException if DynamoDB delete fails due to lack of capacity
+     * @throws DependencyException if DynamoDB delete fails in an unexpected way
+     */
+    default void batchDeleteLeases(final Collection<Lease> leases)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        for (Lease lease : leases) {
+            deleteLease(lease);
+        }
+    }
+
     /**
      * Delete all leases from DynamoDB. Useful for tools/utils and testing.
      *
@@ -313,6 +513,17 @@ public interface LeaseRefresher {
      */
     boolean updateLease(Lease lease) throws DependencyException, InvalidStateException, ProvisionedThroughputException;
 
+    /**
+     * Asynchronous version of {@link #updateLease(Lease)}. The future completes exceptionally with the exceptions the
+     * synchronous method throws. The default implementation calls the synchronous method on the calling thread.
+     *
+     * @param lease the lease to update
+     * @return future of true if update succeeded, false otherwise
+     */
+    default CompletableFuture<Boolean> updateLeaseAsync(final Lease lease) {
+        return FutureUtils.completeNow(() -> updateLease(lease));
+    }
+
     /**
      * Update application-specific fields of the given lease in DynamoDB. Does not update fields managed by the leasing
      * library such as leaseCounter, leaseOwner, or leaseKey.
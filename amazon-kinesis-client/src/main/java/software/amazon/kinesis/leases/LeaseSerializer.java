@@ -49,6 +49,26 @@ public interface LeaseSerializer {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Construct a lease view out of a DynamoDB record that was read with {@link #getLeaseViewAttributes()} as the
+     * projection. A lease view only carries the attributes needed to decide on lease ownership and the checkpoint,
+     * the pending checkpoint, shard lineage and hash range are left unset.
+     *
+     * @param dynamoRecord attribute value map from DynamoDB
+     * @return a lease view, or null if the record is not a lease
+     */
+    default Lease leaseViewFromDynamoRecord(Map<String, AttributeValue> dynamoRecord) {
+        return fromDynamoRecord(dynamoRecord);
+    }
+
+    /**
+     * @return the attributes to project when reading lease views, or an empty collection if the serializer does not
+     *         support lease views and whole items must be read
+     */
+    default Collection<String> getLeaseViewAttributes() {
+        return Collections.emptyList();
+    }
+
     /**
      * @param lease
      * @return the attribute value map representing a Lease's hash key given a Lease object.
@@ -145,6 +165,14 @@ public interface LeaseSerializer {
         return Collections.EMPTY_LIST;
     }
 
+    /**
+     * @return the attributes, other than the index and table keys, that an INCLUDE projection of the lease owner
+     *         index needs so that leases can be deserialized from the index
+     */
+    default Collection<String> getLeaseOwnerToLeaseIndexNonKeyAttributes() {
+        return Collections.EMPTY_LIST;
+    }
+
     /**
      * @return attribute definitions for creating a DynamoDB table to store leases
      */
@@ -15,17 +15,15 @@
 
 package software.amazon.kinesis.leases;
 
-import java.util.LinkedList;
 import java.util.Map;
-import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import software.amazon.awssdk.annotations.ThreadSafe;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
@@ -35,11 +33,12 @@ import static java.util.Objects.isNull;
 
 /**
  * This class records the stats for the leases.
- * The stats are recorded in a thread safe queue, and the throughput is calculated by summing up the bytes and dividing
- * by interval in seconds.
+ * The bytes of each lease are added to a fixed size ring of time buckets that together span
+ * {@link #renewerFrequencyInMillis}, and the throughput is calculated by summing up the buckets that are still within
+ * the interval and dividing by interval in seconds. Recording does not allocate once a lease has its ring, and reading
+ * the throughput takes time proportional to the number of buckets rather than the number of recorded batches.
  * This class is thread safe and backed by thread safe data structures.
  */
-@RequiredArgsConstructor
 @KinesisClientInternalApi
 @ThreadSafe
 public class LeaseStatsRecorder {
@@ -50,75 +49,79 @@ public class LeaseStatsRecorder {
      */
     private static final double DEFAULT_ALPHA = 0.5;
 
+    /**
+     * Number of buckets the renewer interval is split into. The interval covered by the buckets that are summed up is
+     * shorter than {@link #renewerFrequencyInMillis} by at most one bucket width.
+     */
+    static final int BUCKETS_PER_INTERVAL = 20;
+
     public static final int BYTES_PER_KB = 1024;
 
     private final Long renewerFrequencyInMillis;
-    private final Map<String, Queue<LeaseStats>> leaseStatsMap = new ConcurrentHashMap<>();
-    private final Map<String, ExponentialMovingAverage> leaseKeyToExponentialMovingAverageMap =
-            new ConcurrentHashMap<>();
     private final Callable<Long> timeProviderInMillis;
+    private final long bucketWidthMillis;
+    private final int bucketsPerInterval;
+    private final Map<String, LeaseThroughput> leaseThroughputMap = new ConcurrentHashMap<>();
+
+    public LeaseStatsRecorder(final Long renewerFrequencyInMillis, final Callable<Long> timeProviderInMillis) {
+        this.renewerFrequencyInMillis = renewerFrequencyInMillis;
+        this.timeProviderInMillis = timeProviderInMillis;
+        this.bucketWidthMillis = Math.max(1L, ceilDiv(renewerFrequencyInMillis, BUCKETS_PER_INTERVAL));
+        this.bucketsPerInterval = (int) Math.max(1L, ceilDiv(renewerFrequencyInMillis, bucketWidthMillis));
+    }
 
     /**
      * This method provides happens-before semantics (i.e., the action (access or removal) from a thread happens
      * before the action from subsequent thread) for the stats recording in multithreaded environment.
+     * The bytes are recorded against the bucket of {@link LeaseStats#getCreationTimeMillis()}.
      */
     public void recordStats(@NonNull final LeaseStats leaseStats) {
-        final Queue<LeaseStats> leaseStatsQueue =
-                leaseStatsMap.computeIfAbsent(leaseStats.getLeaseKey(), lease -> new ConcurrentLinkedQueue<>());
-        leaseStatsQueue.add(leaseStats);
+        leaseThroughput(leaseStats.getLeaseKey()).record(leaseStats.getCreationTimeMillis(), leaseStats.getBytes());
+    }
+
+    /**
+     * Records the bytes processed for a lease at the current time. Unlike {@link #recordStats(LeaseStats)} this does
+     * not need a {@link LeaseStats} object, which makes it suitable for the record processing path.
+     *
+     * @param leaseKey leaseKey for which the bytes are processed
+     * @param bytes bytes that are processed
+     */
+    public void recordStats(@NonNull final String leaseKey, final long bytes) {
+        leaseThroughput(leaseKey).record(getCurrenTimeInMillis(), bytes);
     }
 
     /**
      * Calculates the throughput in KBps for the given leaseKey.
-     * Method first clears the items that are older than {@link #renewerFrequencyInMillis} from the queue and then
-     * calculates the throughput per second during {@link #renewerFrequencyInMillis} interval and then returns the
-     * ExponentialMovingAverage of the throughput. If method is called in quick succession with or without new stats
-     * the result can be different as ExponentialMovingAverage decays old values on every new call.
+     * Method sums up the buckets that are within {@link #renewerFrequencyInMillis} of the current time and are not
+     * ahead of it, calculates the throughput per second during {@link #renewerFrequencyInMillis} interval and then
+     * returns the ExponentialMovingAverage of the throughput. If method is called in quick succession with or without
+     * new stats the result can be different as ExponentialMovingAverage decays old values on every new call.
      * This method is thread safe.
      * @param leaseKey leaseKey for which stats are required
      * @return throughput in Kbps, returns null if there is no stats available for the leaseKey.
      */
     public Double getThroughputKBps(final String leaseKey) {
-        final Queue<LeaseStats> leaseStatsQueue = leaseStatsMap.get(leaseKey);
+        final LeaseThroughput leaseThroughput = leaseThroughputMap.get(leaseKey);
 
-        if (isNull(leaseStatsQueue)) {
+        if (isNull(leaseThroughput)) {
             // This means there is no entry for this leaseKey yet
             return null;
         }
 
-        filterExpiredEntries(leaseStatsQueue);
-
-        // Convert bytes into KB and divide by interval in second to get throughput per second.
-        final ExponentialMovingAverage exponentialMovingAverage = leaseKeyToExponentialMovingAverageMap.computeIfAbsent(
-                leaseKey, leaseId -> new ExponentialMovingAverage(DEFAULT_ALPHA));
-
         // Specifically dividing by 1000.0 rather than using Duration class to get seconds, because Duration class
         // implementation rounds off to seconds and precision is lost.
         final double frequency = renewerFrequencyInMillis / 1000.0;
-        final double throughput = readQueue(leaseStatsQueue).stream()
-                        .mapToDouble(LeaseStats::getBytes)
-                        .sum()
-                / BYTES_PER_KB
-                / frequency;
-        exponentialMovingAverage.add(throughput);
-        return exponentialMovingAverage.getValue();
+        // Convert bytes into KB and divide by interval in second to get throughput per second.
+        final double throughput = leaseThroughput.sum(getCurrenTimeInMillis()) / (double) BYTES_PER_KB / frequency;
+        return leaseThroughput.addToAverage(throughput);
     }
 
-    /**
-     * Gets the currentTimeMillis and then iterates over the queue to get the stats with creation time less than
-     * currentTimeMillis.
-     * This is specifically done to avoid potential race between with high-frequency put thread blocking get thread.
-     */
-    private Queue<LeaseStats> readQueue(final Queue<LeaseStats> leaseStatsQueue) {
-        final long currentTimeMillis = getCurrenTimeInMillis();
-        final Queue<LeaseStats> response = new LinkedList<>();
-        for (LeaseStats leaseStats : leaseStatsQueue) {
-            if (leaseStats.creationTimeMillis > currentTimeMillis) {
-                break;
-            }
-            response.add(leaseStats);
+    private LeaseThroughput leaseThroughput(final String leaseKey) {
+        final LeaseThroughput leaseThroughput = leaseThroughputMap.get(leaseKey);
+        if (leaseThroughput != null) {
+            return leaseThroughput;
         }
-        return response;
+        return leaseThroughputMap.computeIfAbsent(leaseKey, key -> new LeaseThroughput());
     }
 
     private long getCurrenTimeInMillis() {
@@ -130,15 +133,8 @@ public class LeaseStatsRecorder {
         }
     }
 
-    private void filterExpiredEntries(final Queue<LeaseStats> leaseStatsQueue) {
-        final long currentTime = getCurrenTimeInMillis();
-        while (!leaseStatsQueue.isEmpty()) {
-            final LeaseStats leaseStats = leaseStatsQueue.peek();
-            if (isNull(leaseStats) || currentTime - leaseStats.getCreationTimeMillis() < renewerFrequencyInMillis) {
-                break;
-            }
-            leaseStatsQueue.poll();
-        }
+    private static long ceilDiv(final long dividend, final long divisor) {
+        return (dividend + divisor - 1) / divisor;
     }
 
     /**
@@ -146,8 +142,68 @@ public class LeaseStatsRecorder {
      * @param leaseKey leaseKey, for which stats are supposed to be clear.
      */
     public void dropLeaseStats(final String leaseKey) {
-        leaseStatsMap.remove(leaseKey);
-        leaseKeyToExponentialMovingAverageMap.remove(leaseKey);
+        leaseThroughputMap.remove(leaseKey);
+    }
+
+    /**
+     * Ring of time buckets for a single lease. Each slot holds the index of the bucket it currently counts, i.e. the
+     * time divided by the bucket width, and the bytes recorded for that bucket. A writer that finds a slot still
+     * holding an older bucket moves it to its own bucket with a compare-and-set and resets the counter, so a write
+     * racing with the rotation of its slot may be lost, which is acceptable for a throughput estimate. The ring has one
+     * slot more than the interval has buckets, so the bucket being written never overwrites a bucket that is still
+     * read.
+     */
+    private final class LeaseThroughput {
+        private final AtomicLongArray bucketIndexes;
+        private final LongAdder[] bucketBytes;
+        private final ExponentialMovingAverage exponentialMovingAverage = new ExponentialMovingAverage(DEFAULT_ALPHA);
+
+        LeaseThroughput() {
+            final int slots = bucketsPerInterval + 1;
+            bucketIndexes = new AtomicLongArray(slots);
+            bucketBytes = new LongAdder[slots];
+            for (int i = 0; i < slots; i++) {
+                bucketIndexes.set(i, Long.MIN_VALUE);
+                bucketBytes[i] = new LongAdder();
+            }
+        }
+
+        void record(final long timeMillis, final long bytes) {
+            final long bucketIndex = Math.floorDiv(timeMillis, bucketWidthMillis);
+            final int slot = (int) Math.floorMod(bucketIndex, (long) bucketBytes.length);
+            while (true) {
+                final long current = bucketIndexes.get(slot);
+                if (current == bucketIndex) {
+                    break;
+                }
+                if (current > bucketIndex) {
+                    // The slot already counts a newer bucket, so these bytes are outside the interval anyway.
+                    return;
+                }
+                if (bucketIndexes.compareAndSet(slot, current, bucketIndex)) {
+                    bucketBytes[slot].reset();
+                    break;
+                }
+            }
+            bucketBytes[slot].add(bytes);
+        }
+
+        long sum(final long timeMillis) {
+            final long currentBucketIndex = Math.floorDiv(timeMillis, bucketWidthMillis);
+            long sum = 0;
+            for (int slot = 0; slot < bucketBytes.length; slot++) {
+                final long bucketIndex = bucketIndexes.get(slot);
+                if (bucketIndex <= currentBucketIndex && bucketIndex > currentBucketIndex - bucketsPerInterval) {
+                    sum += bucketBytes[slot].sum();
+                }
+            }
+            return sum;
+        }
+
+        synchronized double addToAverage(final double throughput) {
+            exponentialMovingAverage.add(throughput);
+            return exponentialMovingAverage.getValue();
+        }
     }
 
     @Builder
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.leases;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
+
+/**
+ * Worker local registry of the leases that are known to have been completely processed, i.e. checkpointed at
+ * SHARD_END. Child shards blocked on their parents wait on the completion of the parent leases here instead of
+ * sleeping for a whole poll interval, and skip reading the parent leases from the lease table once they are known to
+ * be completed.
+ * The registry is notified when a ShutdownTask of this worker checkpoints SHARD_END, when the lease table scan of
+ * the lease assignment sees a lease at SHARD_END, and when a child shard reads its parent lease at SHARD_END.
+ */
+@Slf4j
+@KinesisClientInternalApi
+public class ParentShardCompletionRegistry {
+    /**
+     * Maximum number of completed lease keys remembered. Child shards start processing shortly after their parents
+     * complete, so only the most recently completed leases need to be remembered.
+     */
+    static final int MAX_COMPLETED_LEASE_KEYS = 10_000;
+
+    private final Set<String> completedLeaseKeys =
+            Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<String, Boolean>() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                    return size() > MAX_COMPLETED_LEASE_KEYS;
+                }
+            }));
+
+    /**
+     * Completion of the leases child shards are waiting on. Entries are removed once the lease completes or the last
+     * child shard waiting on it stops waiting, e.g. after its lease moved to another worker.
+     */
+    private final Map<String, PendingCompletion> pendingCompletions = new ConcurrentHashMap<>();
+
+    /**
+     * Time in millis at which a lease child shards are waiting on was last read from the lease table and was not
+     * completed yet.
+     */
+    private final Map<String, Long> lastInProgressReadMillis = new ConcurrentHashMap<>();
+
+    /**
+     * Marks the lease as completely processed, and wakes up the child shards waiting on it.
+     *
+     * @param leaseKey key of the lease checkpointed at SHARD_END
+     */
+    public void markCompleted(final String leaseKey) {
+        completedLeaseKeys.add(leaseKey);
+        lastInProgressReadMillis.remove(leaseKey);
+        final PendingCompletion pendingCompletion = pendingCompletions.remove(leaseKey);
+        if (pendingCompletion != null) {
+            log.debug("Lease {} completed, waking up the child shards waiting on it", leaseKey);
+            pendingCompletion.future.complete(null);
+        }
+    }
+
+    public boolean isCompleted(final String leaseKey) {
+        return completedLeaseKeys.contains(leaseKey);
+    }
+
+    /**
+     * Marks the leases of the scan that are checkpointed at SHARD_END as completely processed.
+     *
+     * @param leases leases read from the lease table, with their checkpoints
+     */
+    public void onLeaseTableScan(final Collection<Lease> leases) {
+        for (Lease lease : leases) {
+            if (ExtendedSequenceNumber.SHARD_END.equals(lease.checkpoint()) && !isCompleted(lease.leaseKey())) {
+                markCompleted(lease.leaseKey());
+            }
+        }
+    }
+
+    /**
+     * Registers a child shard waiting on the lease. Every call must be followed by a call to
+     * {@link #stopWaiting(String, CompletableFuture)} once the child shard stops waiting.
+     *
+     * @param leaseKey key of the lease to wait on
+     * @return future that completes once the lease is marked as completely processed
+     */
+    public CompletableFuture<Void> awaitCompletion(final String leaseKey) {
+        final PendingCompletion pendingCompletion = pendingCompletions.compute(leaseKey, (k, pending) -> {
+            final PendingCompletion result = pending == null ? new PendingCompletion() : pending;
+            result.waiters++;
+            return result;
+        });
+        // The lease could have completed before the future got registered.
+        if (isCompleted(leaseKey)) {
+            markCompleted(leaseKey);
+        }
+        return pendingCompletion.future;
+    }
+
+    /**
+     * Unregisters a child shard waiting on the lease, whether the lease completed or the wait timed out. The lease is
+     * forgotten once no child shard waits on it anymore.
+     *
+     * @param leaseKey key of the lease waited on
+     * @param completion future returned by {@link #awaitCompletion(String)}
+     */
+    public void stopWaiting(final String leaseKey, final CompletableFuture<Void> completion) {
+        pendingCompletions.computeIfPresent(leaseKey, (k, pending) -> {
+            // The lease completed and possibly got waited on again meanwhile.
+            if (pending.future != completion) {
+                return pending;
+            }
+            if (--pending.waiters > 0) {
+                return pending;
+            }
+            lastInProgressReadMillis.remove(leaseKey);
+            return null;
+        });
+    }
+
+    int pendingCompletionCount() {
+        return pendingCompletions.size();
+    }
+
+    /**
+     * Records that the lease was read from the lease table and was not completely processed yet, so that other child
+     * shards of the lease do not need to read it again right away.
+     */
+    public void recordInProgress(final String leaseKey, final long readMillis) {
+        if (!isCompleted(leaseKey)) {
+            lastInProgressReadMillis.merge(leaseKey, readMillis, Math::max);
+        }
+    }
+
+    /**
+     * @return true if the lease was read from the lease table at or after {@code sinceMillis} and was not completely
+     *         processed at that time
+     */
+    public boolean wasInProgressSince(final String leaseKey, final long sinceMillis) {
+        final Long readMillis = lastInProgressReadMillis.get(leaseKey);
+        return readMillis != null && readMillis >= sinceMillis && !isCompleted(leaseKey);
+    }
+
+    private static final class PendingCompletion {
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private int waiters;
+    }
+}
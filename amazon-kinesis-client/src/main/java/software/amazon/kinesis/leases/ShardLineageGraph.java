@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.leases;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import software.amazon.awssdk.services.kinesis.model.Shard;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+
+/**
+ * In-memory lineage graph of the shards of a single stream, kept across shard syncs.
+ *
+ * <p>
+ * Each {@link #update(List)} applies the difference between the graph and the latest shard listing: shards that were
+ * added, closed or trimmed since the previous listing update the shard map, the set of open shards and the parent to
+ * children index in place, instead of these being rebuilt from the whole listing on every sync. The graph always
+ * reflects exactly the latest listing, so lease creation decisions made from it are the same as the ones made from the
+ * listing itself.
+ * </p>
+ *
+ * <p>
+ * This class is not thread safe. {@link HierarchicalShardSyncer} only accesses it while holding its own lock.
+ * </p>
+ */
+@KinesisClientInternalApi
+class ShardLineageGraph {
+    private final Map<String, Shard> shardIdToShardMap = new HashMap<>();
+    private final Map<String, Shard> shardIdToShardMapView = Collections.unmodifiableMap(shardIdToShardMap);
+    /**
+     * Open shards in the order they were first listed.
+     */
+    private final Map<String, Shard> openShards = new LinkedHashMap<>();
+    /**
+     * Parent shardId to the ids of listed shards that name it as their parent or adjacent parent. The parent itself
+     * may have been trimmed already.
+     */
+    private final Map<String, Set<String>> parentShardIdToChildShardIds = new HashMap<>();
+
+    /**
+     * Applies the latest shard listing of the stream to the graph.
+     *
+     * @param latestShards all shards of the stream as returned by ListShards
+     * @return number of shards that were added, changed or removed
+     */
+    int update(final List<Shard> latestShards) {
+        final Set<String> latestShardIds = new HashSet<>();
+        int changes = 0;
+        for (final Shard shard : latestShards) {
+            final String shardId = shard.shardId();
+            latestShardIds.add(shardId);
+            final Shard previous = shardIdToShardMap.put(shardId, shard);
+            if (shard.equals(previous)) {
+                continue;
+            }
+            if (previous != null) {
+                removeParentEdges(previous);
+            }
+            addParentEdges(shard);
+            if (isOpen(shard)) {
+                openShards.put(shardId, shard);
+            } else {
+                openShards.remove(shardId);
+            }
+            changes++;
+        }
+        if (shardIdToShardMap.size() != latestShardIds.size()) {
+            final Iterator<Shard> iterator = shardIdToShardMap.values().iterator();
+            while (iterator.hasNext()) {
+                final Shard shard = iterator.next();
+                if (!latestShardIds.contains(shard.shardId())) {
+                    iterator.remove();
+                    removeParentEdges(shard);
+                    openShards.remove(shard.shardId());
+                    changes++;
+                }
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * @return read-only shardId to shard map of all listed shards
+     */
+    Map<String, Shard> shardIdToShardMap() {
+        return shardIdToShardMapView;
+    }
+
+    /**
+     * @return read-only view of the listed shards without an ending sequence number
+     */
+    Collection<Shard> openShards() {
+        return Collections.unmodifiableCollection(openShards.values());
+    }
+
+    /**
+     * Open shards with a parent that is listed and still open. This happens when the listing races with a reshard
+     * operation.
+     *
+     * @return ids of the inconsistent open shards
+     */
+    Set<String> inconsistentShardIds() {
+        final Set<String> inconsistentShardIds = new HashSet<>();
+        for (final String openShardId : openShards.keySet()) {
+            final Set<String> childShardIds = parentShardIdToChildShardIds.get(openShardId);
+            if (childShardIds != null) {
+                inconsistentShardIds.addAll(childShardIds);
+            }
+        }
+        return inconsistentShardIds;
+    }
+
+    private void addParentEdges(final Shard shard) {
+        addParentEdge(shard.parentShardId(), shard.shardId());
+        addParentEdge(shard.adjacentParentShardId(), shard.shardId());
+    }
+
+    private void addParentEdge(final String parentShardId, final String childShardId) {
+        if (parentShardId != null) {
+            parentShardIdToChildShardIds
+                    .computeIfAbsent(parentShardId, key -> new HashSet<>())
+                    .add(childShardId);
+        }
+    }
+
+    private void removeParentEdges(final Shard shard) {
+        removeParentEdge(shard.parentShardId(), shard.shardId());
+        removeParentEdge(shard.adjacentParentShardId(), shard.shardId());
+    }
+
+    private void removeParentEdge(final String parentShardId, final String childShardId) {
+        if (parentShardId == null) {
+            return;
+        }
+        final Set<String> childShardIds = parentShardIdToChildShardIds.get(parentShardId);
+        if (childShardIds != null) {
+            childShardIds.remove(childShardId);
+            if (childShardIds.isEmpty()) {
+                parentShardIdToChildShardIds.remove(parentShardId);
+            }
+        }
+    }
+
+    private static boolean isOpen(final Shard shard) {
+        return shard.sequenceNumberRange().endingSequenceNumber() == null;
+    }
+}
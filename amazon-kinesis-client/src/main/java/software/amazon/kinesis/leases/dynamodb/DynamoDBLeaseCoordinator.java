@@ -14,6 +14,7 @@
  */
 package software.amazon.kinesis.leases.dynamodb;
 
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -47,6 +48,7 @@ import software.amazon.kinesis.leases.LeaseRenewer;
 import software.amazon.kinesis.leases.LeaseStatsRecorder;
 import software.amazon.kinesis.leases.LeaseTaker;
 import software.amazon.kinesis.leases.MultiStreamLease;
+import software.amazon.kinesis.leases.ParentShardCompletionRegistry;
 import software.amazon.kinesis.leases.ShardInfo;
 import software.amazon.kinesis.leases.exceptions.DependencyException;
 import software.amazon.kinesis.leases.exceptions.InvalidStateException;
@@ -81,10 +83,6 @@ public class DynamoDBLeaseCoordinator implements LeaseCoordinator {
             .setNameFormat("LeaseRenewer-%04d")
             .setDaemon(true)
             .build();
-    private static final ThreadFactory LEASE_DISCOVERY_THREAD_FACTORY = new ThreadFactoryBuilder()
-            .setNameFormat("LeaseDiscovery-%04d")
-            .setDaemon(true)
-            .build();
 
     private final LeaseRenewer leaseRenewer;
     private final LeaseTaker leaseTaker;
@@ -93,7 +91,6 @@ public class DynamoDBLeaseCoordinator implements LeaseCoordinator {
     private final long takerIntervalMillis;
     private final long leaseDiscovererIntervalMillis;
     private final ExecutorService leaseRenewalThreadpool;
-    private final ExecutorService leaseDiscoveryThreadPool;
     private final LeaseRefresher leaseRefresher;
     private final LeaseStatsRecorder leaseStatsRecorder;
     private final LeaseGracefulShutdownHandler leaseGracefulShutdownHandler;
@@ -102,6 +99,10 @@ public class DynamoDBLeaseCoordinator implements LeaseCoordinator {
     protected final MetricsFactory metricsFactory;
 
     private final Object shutdownLock = new Object();
+    private final Object inheritedChildLeaseLock = new Object();
+    private final ParentShardCompletionRegistry parentShardCompletionRegistry = new ParentShardCompletionRegistry();
+    private final int maxLeasesForWorker;
+    private final boolean inheritChildLeasesOnShardEnd;
     private final LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig workerUtilizationAwareAssignmentConfig;
     private ScheduledExecutorService leaseCoordinatorThreadPool;
     private ScheduledFuture<?> leaseDiscoveryFuture;
@@ -139,6 +140,13 @@ public class DynamoDBLeaseCoordinator implements LeaseCoordinator {
      *            Interval at which Lease assignment manager runs
      * @param streamIdCacheManager
      *             StreamIdCacheManager instance to use
+     * @param leaseRenewalBatchSize
+     *            Number of leases renewed together in one request, 0 renews each lease with its own request
+     * @param inheritChildLeasesOnShardEnd
+     *            Whether this worker takes the leases of the child shards it creates when it finishes a parent shard
+     * @param leaseSnapshotPath
+     *            File in which the keys of the held leases are kept, so that a restarted worker renews its leases
+     *            without scanning the lease table. Null disables the snapshot.
      */
     public DynamoDBLeaseCoordinator(
             final LeaseRefresher leaseRefresher,
@@ -157,8 +165,13 @@ public class DynamoDBLeaseCoordinator implements LeaseCoordinator {
             final ConcurrentMap<ShardInfo, ShardConsumer> shardInfoShardConsumerMap,
             final long leaseAssignmentIntervalMillis,
             final StreamIdCacheManager streamIdCacheManager,
-            final int leaseTableScanTotalSegments) {
+            final int leaseTableScanTotalSegments,
+            final int leaseRenewalBatchSize,
+            final boolean inheritChildLeasesOnShardEnd,
+            final Path leaseSnapshotPath) {
         this.leaseRefresher = leaseRefresher;
+        this.maxLeasesForWorker = maxLeasesForWorker;
+        this.inheritChildLeasesOnShardEnd = inheritChildLeasesOnShardEnd;
         this.leaseRenewalThreadpool = createExecutorService(maxLeaseRenewerThreadCount, LEASE_RENEWAL_THREAD_FACTORY);
         this.leaseTaker = new DynamoDBLeaseTaker(
                         leaseRefresher, workerIdentifier, leaseDurationMillis, metricsFactory, streamIdCacheManager)
@@ -180,11 +193,11 @@ public class DynamoDBLeaseCoordinator implements LeaseCoordinator {
                 metricsFactory,
                 leaseStatsRecorder,
                 leaseGracefulShutdownHandler::enqueueShutdown,
-                leaseTableScanTotalSegments);
-        this.leaseDiscoveryThreadPool =
-                createExecutorService(maxLeaseRenewerThreadCount, LEASE_DISCOVERY_THREAD_FACTORY);
-        this.leaseDiscoverer = new DynamoDBLeaseDiscoverer(
-                this.leaseRefresher, this.leaseRenewer, metricsFactory, workerIdentifier, leaseDiscoveryThreadPool);
+                leaseTableScanTotalSegments,
+                leaseRenewalBatchSize,
+                leaseSnapshotPath == null ? null : new LeaseSnapshotFile(leaseSnapshotPath, workerIdentifier));
+        this.leaseDiscoverer =
+                new DynamoDBLeaseDiscoverer(this.leaseRefresher, this.leaseRenewer, metricsFactory, workerIdentifier);
         if (initialLeaseTableReadCapacity <= 0) {
             throw new IllegalArgumentException("readCapacity should be >= 1");
         }
@@ -379,6 +392,60 @@ public class DynamoDBLeaseCoordinator implements LeaseCoordinator {
         return leaseRefresher;
     }
 
+    @Override
+    public ParentShardCompletionRegistry parentShardCompletionRegistry() {
+        return parentShardCompletionRegistry;
+    }
+
+    @Override
+    public boolean inheritChildLease(final Lease childLease) {
+        if (!inheritChildLeasesOnShardEnd || !running) {
+            return false;
+        }
+        final int heldLeases = leaseRenewer.getCurrentlyHeldLeases().size();
+        if (heldLeases >= maxLeasesForWorker) {
+            log.info(
+                    "Worker {} holds {} leases, the maximum. Not inheriting child lease {}",
+                    workerIdentifier(),
+                    heldLeases,
+                    childLease.leaseKey());
+            return false;
+        }
+        childLease.leaseOwner(workerIdentifier());
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The lease limit is checked again for every child lease as it is added, since this worker may have reached
+     * {@code maxLeasesForWorker} after {@link #inheritChildLease(Lease)}, e.g. with the other child of a split. A child
+     * lease over the limit is released, so that lease assignment hands it to another worker.
+     */
+    @Override
+    public void addInheritedChildLease(final Lease childLease) {
+        final int heldLeases;
+        synchronized (inheritedChildLeaseLock) {
+            heldLeases = leaseRenewer.getCurrentlyHeldLeases().size();
+            if (heldLeases < maxLeasesForWorker) {
+                childLease.lastCounterIncrementNanos(System.nanoTime());
+                leaseRenewer.addLeasesToRenew(Collections.singleton(childLease));
+                log.info("Worker {} inherited child lease {}", workerIdentifier(), childLease.leaseKey());
+                return;
+            }
+        }
+        log.info(
+                "Worker {} holds {} leases, the maximum. Releasing inherited child lease {}",
+                workerIdentifier(),
+                heldLeases,
+                childLease.leaseKey());
+        try {
+            leaseRefresher.evictLease(childLease);
+        } catch (DependencyException | InvalidStateException | ProvisionedThroughputException e) {
+            log.warn("Unable to release child lease {}. It is reassigned once it expires.", childLease.leaseKey(), e);
+        }
+    }
+
     @Override
     public void stop() {
         if (leaseCoordinatorThreadPool != null) {
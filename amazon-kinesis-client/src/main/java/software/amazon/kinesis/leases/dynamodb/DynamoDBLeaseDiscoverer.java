@@ -15,16 +15,23 @@
 
 package software.amazon.kinesis.leases.dynamodb;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
+import software.amazon.awssdk.services.dynamodb.model.IndexStatus;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.common.FutureUtils;
 import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseDiscoverer;
 import software.amazon.kinesis.leases.LeaseRefresher;
@@ -44,17 +51,56 @@ import static java.util.Objects.isNull;
  * {@link DynamoDBLeaseRefresher#LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME } and find the leases assigned
  * to current worker and then filter and returns the leases that have not started processing (looks at
  * {@link LeaseRenewer#getCurrentlyHeldLeases()} to find out which leases are currently held leases).
+ *
+ * <p>
+ * If the lease refresher is configured with a projected {@link DynamoDBLeaseRefresher#LEASE_OWNER_TO_LEASE_INDEX_NAME}
+ * and that index is ACTIVE, the new leases are instead deserialized from the pages of the index query, and only the
+ * ownership of the new leases is read again with batched strongly consistent reads.
+ * </p>
  */
 @Slf4j
-@RequiredArgsConstructor
 @KinesisClientInternalApi
 public class DynamoDBLeaseDiscoverer implements LeaseDiscoverer {
+    private static final long LEASE_OWNER_TO_LEASE_INDEX_CHECK_INTERVAL_MILLIS =
+            Duration.ofMinutes(5).toMillis();
 
     private final LeaseRefresher leaseRefresher;
     private final LeaseRenewer leaseRenewer;
     private final MetricsFactory metricsFactory;
     private final String workerIdentifier;
-    private final ExecutorService executorService;
+
+    /**
+     * False once the lease refresher reported that it is not configured to use the projected index.
+     */
+    private boolean leaseOwnerToLeaseIndexConfigured = true;
+
+    private boolean leaseOwnerToLeaseIndexActive = false;
+    private long nextLeaseOwnerToLeaseIndexCheckMillis = 0L;
+
+    public DynamoDBLeaseDiscoverer(
+            final LeaseRefresher leaseRefresher,
+            final LeaseRenewer leaseRenewer,
+            final MetricsFactory metricsFactory,
+            final String workerIdentifier) {
+        this.leaseRefresher = leaseRefresher;
+        this.leaseRenewer = leaseRenewer;
+        this.metricsFactory = metricsFactory;
+        this.workerIdentifier = workerIdentifier;
+    }
+
+    /**
+     * @deprecated the new leases are fetched with {@link LeaseRefresher#getLeaseAsync(String)}, so the executor is no
+     * longer used. Use {@link #DynamoDBLeaseDiscoverer(LeaseRefresher, LeaseRenewer, MetricsFactory, String)} instead.
+     */
+    @Deprecated
+    public DynamoDBLeaseDiscoverer(
+            final LeaseRefresher leaseRefresher,
+            final LeaseRenewer leaseRenewer,
+            final MetricsFactory metricsFactory,
+            final String workerIdentifier,
+            final ExecutorService executorService) {
+        this(leaseRefresher, leaseRenewer, metricsFactory, workerIdentifier);
+    }
 
     @Override
     public List<Lease> discoverNewLeases()
@@ -67,25 +113,18 @@ public class DynamoDBLeaseDiscoverer implements LeaseDiscoverer {
             final Set<String> currentHeldLeaseKeys =
                     leaseRenewer.getCurrentlyHeldLeases().keySet();
 
-            final long listLeaseKeysForWorkerStartTime = System.currentTimeMillis();
-            final List<String> leaseKeys = leaseRefresher.listLeaseKeysForWorker(workerIdentifier);
-            MetricsUtil.addLatency(
-                    metricsScope, "ListLeaseKeysForWorker", listLeaseKeysForWorkerStartTime, MetricsLevel.DETAILED);
-
-            final List<String> newLeaseKeys = leaseKeys.stream()
-                    .filter(leaseKey -> !currentHeldLeaseKeys.contains(leaseKey))
-                    .collect(Collectors.toList());
-
-            final long fetchNewLeasesStartTime = System.currentTimeMillis();
-            final List<CompletableFuture<Lease>> completableFutures = newLeaseKeys.stream()
-                    .map(leaseKey ->
-                            CompletableFuture.supplyAsync(() -> fetchLease(leaseKey, metricsScope), executorService))
-                    .collect(Collectors.toList());
-
-            final List<Lease> newLeases = completableFutures.stream()
-                    .map(CompletableFuture::join)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+            List<Lease> newLeases = null;
+            if (useLeaseOwnerToLeaseIndex()) {
+                try {
+                    newLeases = discoverFromLeaseOwnerToLeaseIndex(currentHeldLeaseKeys, metricsScope);
+                } catch (final InvalidStateException e) {
+                    log.warn("Lease owner index is no longer available, falling back to reading leases by key", e);
+                    leaseOwnerToLeaseIndexActive = false;
+                }
+            }
+            if (newLeases == null) {
+                newLeases = discoverFromLeaseOwnerToLeaseKeyIndex(currentHeldLeaseKeys, metricsScope);
+            }
 
             log.info(
                     "New leases assigned to worker : {}, count : {}, leases : {}",
@@ -93,8 +132,6 @@ public class DynamoDBLeaseDiscoverer implements LeaseDiscoverer {
                     newLeases.size(),
                     newLeases.stream().map(Lease::leaseKey).collect(Collectors.toList()));
 
-            MetricsUtil.addLatency(metricsScope, "FetchNewLeases", fetchNewLeasesStartTime, MetricsLevel.DETAILED);
-
             success = true;
             MetricsUtil.addCount(metricsScope, "NewLeasesDiscovered", newLeases.size(), MetricsLevel.DETAILED);
             return newLeases;
@@ -104,9 +141,138 @@ public class DynamoDBLeaseDiscoverer implements LeaseDiscoverer {
         }
     }
 
-    private Lease fetchLease(final String leaseKey, final MetricsScope metricsScope) {
+    /**
+     * Checks, at most every few minutes until it is ACTIVE, whether the projected lease owner index can be used. The
+     * check also creates the index if the lease refresher is configured to use one.
+     */
+    private boolean useLeaseOwnerToLeaseIndex() {
+        if (leaseOwnerToLeaseIndexActive || !leaseOwnerToLeaseIndexConfigured) {
+            return leaseOwnerToLeaseIndexActive;
+        }
+        final long now = System.currentTimeMillis();
+        if (now < nextLeaseOwnerToLeaseIndexCheckMillis) {
+            return false;
+        }
+        nextLeaseOwnerToLeaseIndexCheckMillis = now + LEASE_OWNER_TO_LEASE_INDEX_CHECK_INTERVAL_MILLIS;
         try {
-            final Lease lease = leaseRefresher.getLease(leaseKey);
+            final String indexStatus = leaseRefresher.createLeaseOwnerToLeaseIndexIfNotExists();
+            if (isNull(indexStatus)) {
+                leaseOwnerToLeaseIndexConfigured = false;
+                return false;
+            }
+            leaseOwnerToLeaseIndexActive = IndexStatus.ACTIVE.toString().equals(indexStatus);
+            log.info("Lease owner index status is {}", indexStatus);
+        } catch (final Exception e) {
+            log.warn("Failed to create or describe the lease owner index, will check again later", e);
+        }
+        return leaseOwnerToLeaseIndexActive;
+    }
+
+    private List<Lease> discoverFromLeaseOwnerToLeaseKeyIndex(
+            final Set<String> currentHeldLeaseKeys, final MetricsScope metricsScope)
+            throws ProvisionedThroughputException, InvalidStateException, DependencyException {
+        final long listLeaseKeysForWorkerStartTime = System.currentTimeMillis();
+        final List<String> leaseKeys = leaseRefresher.listLeaseKeysForWorker(workerIdentifier);
+        MetricsUtil.addLatency(
+                metricsScope, "ListLeaseKeysForWorker", listLeaseKeysForWorkerStartTime, MetricsLevel.DETAILED);
+
+        final List<String> newLeaseKeys = leaseKeys.stream()
+                .filter(leaseKey -> !currentHeldLeaseKeys.contains(leaseKey))
+                .collect(Collectors.toList());
+
+        final long fetchNewLeasesStartTime = System.currentTimeMillis();
+        final List<CompletableFuture<Lease>> completableFutures = newLeaseKeys.stream()
+                .map(leaseKey -> fetchLease(leaseKey, metricsScope))
+                .collect(Collectors.toList());
+
+        final List<Lease> newLeases = completableFutures.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        MetricsUtil.addLatency(metricsScope, "FetchNewLeases", fetchNewLeasesStartTime, MetricsLevel.DETAILED);
+        return newLeases;
+    }
+
+    private List<Lease> discoverFromLeaseOwnerToLeaseIndex(
+            final Set<String> currentHeldLeaseKeys, final MetricsScope metricsScope)
+            throws ProvisionedThroughputException, InvalidStateException, DependencyException {
+        final DoubleAdder consumedReadCapacity = new DoubleAdder();
+        try {
+            final long listLeasesForWorkerStartTime = System.currentTimeMillis();
+            final List<Lease> candidateLeases =
+                    leaseRefresher.listLeasesForWorker(workerIdentifier, consumedReadCapacity::add).stream()
+                            .filter(lease -> !currentHeldLeaseKeys.contains(lease.leaseKey()))
+                            .collect(Collectors.toList());
+            MetricsUtil.addLatency(
+                    metricsScope, "ListLeasesForWorker", listLeasesForWorkerStartTime, MetricsLevel.DETAILED);
+            if (candidateLeases.isEmpty()) {
+                return candidateLeases;
+            }
+
+            final long confirmNewLeasesStartTime = System.currentTimeMillis();
+            final Map<String, Lease> consistentLeases;
+            try {
+                consistentLeases = leaseRefresher
+                        .batchGetLeaseOwnership(
+                                candidateLeases.stream().map(Lease::leaseKey).collect(Collectors.toList()),
+                                consumedReadCapacity::add)
+                        .stream()
+                        .collect(Collectors.toMap(Lease::leaseKey, Function.identity()));
+            } catch (final ProvisionedThroughputException | DependencyException e) {
+                // The new leases will be confirmed in the next iteration, or will be reassigned if they stay idle.
+                MetricsUtil.addCount(metricsScope, "BatchGetLeaseOwnership:Error", 1, MetricsLevel.SUMMARY);
+                log.error("BatchGetLeaseOwnership failed for {} leases", candidateLeases.size(), e);
+                return Collections.emptyList();
+            }
+            MetricsUtil.addLatency(metricsScope, "ConfirmNewLeases", confirmNewLeasesStartTime, MetricsLevel.DETAILED);
+
+            return candidateLeases.stream()
+                    .filter(lease -> isConfirmed(lease, consistentLeases.get(lease.leaseKey()), metricsScope))
+                    .collect(Collectors.toList());
+        } finally {
+            metricsScope.addData(
+                    "ConsumedReadCapacity", consumedReadCapacity.sum(), StandardUnit.COUNT, MetricsLevel.DETAILED);
+        }
+    }
+
+    /**
+     * Checks the lease read from the eventually consistent index against the strongly consistent read of its
+     * ownership. The lease counter is compared so that the lease is only taken over when the index had the latest
+     * version of the lease; otherwise it is picked up again in the next iteration.
+     */
+    private boolean isConfirmed(final Lease indexLease, final Lease consistentLease, final MetricsScope metricsScope) {
+        if (isNull(consistentLease)) {
+            MetricsUtil.addCount(metricsScope, "UnconfirmedLease", 1, MetricsLevel.DETAILED);
+            return false;
+        }
+        if (!workerIdentifier.equals(consistentLease.leaseOwner())) {
+            MetricsUtil.addCount(metricsScope, "OwnerMismatch", 1, MetricsLevel.DETAILED);
+            return false;
+        }
+        // if checkpointOwner is not null, it means that the lease is still pending shutdown for the last owner.
+        if (consistentLease.checkpointOwner() != null) {
+            return false;
+        }
+        if (!Objects.equals(indexLease.leaseCounter(), consistentLease.leaseCounter())) {
+            MetricsUtil.addCount(metricsScope, "StaleIndexLease", 1, MetricsLevel.DETAILED);
+            return false;
+        }
+        indexLease.lastCounterIncrementNanos(System.nanoTime());
+        return true;
+    }
+
+    private CompletableFuture<Lease> fetchLease(final String leaseKey, final MetricsScope metricsScope) {
+        final CompletableFuture<Lease> leaseFuture;
+        try {
+            leaseFuture = leaseRefresher.getLeaseAsync(leaseKey);
+        } catch (final Exception e) {
+            return CompletableFuture.completedFuture(onFetchLeaseFailure(leaseKey, metricsScope, e));
+        }
+        return leaseFuture.handle((lease, throwable) -> {
+            if (throwable != null) {
+                return onFetchLeaseFailure(leaseKey, metricsScope, FutureUtils.unwrap(throwable));
+            }
             if (isNull(lease)) {
                 return null;
             }
@@ -126,12 +292,14 @@ public class DynamoDBLeaseDiscoverer implements LeaseDiscoverer {
             // correct time.
             lease.lastCounterIncrementNanos(System.nanoTime());
             return lease;
-        } catch (final Exception e) {
-            // if getLease on some lease key fail, continue and fetch other leases, the one failed will
-            // be fetched in the next iteration or will be reassigned if stayed idle for long.
-            MetricsUtil.addCount(metricsScope, "GetLease:Error", 1, MetricsLevel.SUMMARY);
-            log.error("GetLease failed for leaseKey : {}", leaseKey, e);
-            return null;
-        }
+        });
+    }
+
+    private Lease onFetchLeaseFailure(final String leaseKey, final MetricsScope metricsScope, final Throwable e) {
+        // if getLease on some lease key fail, continue and fetch other leases, the one failed will
+        // be fetched in the next iteration or will be reassigned if stayed idle for long.
+        MetricsUtil.addCount(metricsScope, "GetLease:Error", 1, MetricsLevel.SUMMARY);
+        log.error("GetLease failed for leaseKey : {}", leaseKey, e);
+        return null;
     }
 }
@@ -15,6 +15,7 @@
 
 package software.amazon.kinesis.leases.dynamodb;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
@@ -30,6 +31,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
 import software.amazon.awssdk.services.dynamodb.model.Tag;
 import software.amazon.awssdk.services.kinesis.KinesisAsyncClient;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
@@ -117,6 +119,10 @@ public class DynamoDBLeaseManagementFactory implements LeaseManagementFactory {
     private final LeaseManagementConfig.GracefulLeaseHandoffConfig gracefulLeaseHandoffConfig;
     private final long leaseAssignmentIntervalMillis;
     private final int leaseTableScanTotalSegments;
+    private final ProjectionType leaseOwnerIndexProjectionType;
+    private final int leaseRenewalBatchSize;
+    private final boolean inheritChildLeasesOnShardEnd;
+    private final Path leaseSnapshotPath;
 
     @Deprecated
     public DynamoDBLeaseManagementFactory(
@@ -191,6 +197,10 @@ public class DynamoDBLeaseManagementFactory implements LeaseManagementFactory {
         this.gracefulLeaseHandoffConfig = gracefulLeaseHandoffConfig;
         this.leaseAssignmentIntervalMillis = leaseAssignmentIntervalMillis;
         this.leaseTableScanTotalSegments = 0;
+        this.leaseOwnerIndexProjectionType = ProjectionType.KEYS_ONLY;
+        this.leaseRenewalBatchSize = 0;
+        this.inheritChildLeasesOnShardEnd = false;
+        this.leaseSnapshotPath = null;
     }
 
     /**
@@ -237,6 +247,10 @@ public class DynamoDBLeaseManagementFactory implements LeaseManagementFactory {
         this.gracefulLeaseHandoffConfig = config.gracefulLeaseHandoffConfig();
         this.leaseAssignmentIntervalMillis = config.leaseAssignmentIntervalMillis();
         this.leaseTableScanTotalSegments = config.leaseTableScanTotalSegments();
+        this.leaseOwnerIndexProjectionType = config.leaseOwnerIndexProjectionType();
+        this.leaseRenewalBatchSize = config.leaseRenewalBatchSize();
+        this.inheritChildLeasesOnShardEnd = config.inheritChildLeasesOnShardEnd();
+        this.leaseSnapshotPath = config.leaseSnapshotPath();
     }
 
     @Override
@@ -273,7 +287,10 @@ public class DynamoDBLeaseManagementFactory implements LeaseManagementFactory {
                 shardInfoShardConsumerMap,
                 leaseAssignmentIntervalMillis,
                 streamIdCacheManager,
-                leaseTableScanTotalSegments);
+                leaseTableScanTotalSegments,
+                leaseRenewalBatchSize,
+                inheritChildLeasesOnShardEnd,
+                leaseSnapshotPath);
     }
 
     /**
@@ -340,7 +357,8 @@ public class DynamoDBLeaseManagementFactory implements LeaseManagementFactory {
                 ddbTableConfig,
                 leaseTableDeletionProtectionEnabled,
                 leaseTablePitrEnabled,
-                tags);
+                tags,
+                leaseOwnerIndexProjectionType);
     }
 
     /**
@@ -379,7 +397,9 @@ public class DynamoDBLeaseManagementFactory implements LeaseManagementFactory {
                 cleanupLeasesUponShardCompletion,
                 leaseCleanupConfig.leaseCleanupIntervalMillis(),
                 leaseCleanupConfig.completedLeaseCleanupIntervalMillis(),
-                leaseCleanupConfig.garbageLeaseCleanupIntervalMillis());
+                leaseCleanupConfig.garbageLeaseCleanupIntervalMillis(),
+                leaseCleanupConfig.leaseCleanupBatchSize(),
+                leaseCleanupConfig.maxLeaseDeletionsPerSecond());
     }
 
     @Override
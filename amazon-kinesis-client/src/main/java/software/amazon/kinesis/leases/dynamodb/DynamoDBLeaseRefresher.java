@@ -18,36 +18,51 @@ import java.time.Duration;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeAction;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValueUpdate;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.BillingMode;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.CreateGlobalSecondaryIndexAction;
 import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
 import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
 import software.amazon.awssdk.services.dynamodb.model.ExpectedAttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
-import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndexDescription;
 import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndexUpdate;
 import software.amazon.awssdk.services.dynamodb.model.IndexStatus;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
 import software.amazon.awssdk.services.dynamodb.model.LimitExceededException;
 import software.amazon.awssdk.services.dynamodb.model.Projection;
 import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
@@ -58,6 +73,7 @@ import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
 import software.amazon.awssdk.services.dynamodb.model.ResourceInUseException;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
 import software.amazon.awssdk.services.dynamodb.model.ReturnValue;
 import software.amazon.awssdk.services.dynamodb.model.ReturnValuesOnConditionCheckFailure;
 import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
@@ -65,11 +81,16 @@ import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
 import software.amazon.awssdk.services.dynamodb.model.TableDescription;
 import software.amazon.awssdk.services.dynamodb.model.TableStatus;
 import software.amazon.awssdk.services.dynamodb.model.Tag;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
 import software.amazon.awssdk.services.dynamodb.model.UpdateContinuousBackupsRequest;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.UpdateTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.UpdateTableResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
 import software.amazon.kinesis.common.DdbTableConfig;
@@ -90,8 +111,10 @@ import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static software.amazon.kinesis.leases.dynamodb.DynamoDBLeaseSerializer.CHECKPOINT_OWNER;
+import static software.amazon.kinesis.leases.dynamodb.DynamoDBLeaseSerializer.LEASE_COUNTER_KEY;
 import static software.amazon.kinesis.leases.dynamodb.DynamoDBLeaseSerializer.LEASE_KEY_KEY;
 import static software.amazon.kinesis.leases.dynamodb.DynamoDBLeaseSerializer.LEASE_OWNER_KEY;
+import static software.amazon.kinesis.leases.dynamodb.DynamoDBLeaseSerializer.OWNER_SWITCHES_KEY;
 
 /**
  * An implementation of {@link LeaseRefresher} that uses DynamoDB.
@@ -100,6 +123,43 @@ import static software.amazon.kinesis.leases.dynamodb.DynamoDBLeaseSerializer.LE
 @KinesisClientInternalApi
 public class DynamoDBLeaseRefresher implements LeaseRefresher {
     static final String LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME = "LeaseOwnerToLeaseKeyIndex";
+    static final String LEASE_OWNER_TO_LEASE_INDEX_NAME = "LeaseOwnerToLeaseIndex";
+
+    /**
+     * Maximum number of keys DynamoDB accepts in one BatchGetItem request.
+     */
+    static final int MAX_BATCH_GET_ITEM_KEYS = 100;
+
+    private static final int MAX_BATCH_GET_ITEM_ATTEMPTS = 3;
+
+    /**
+     * Maximum number of items DynamoDB accepts in one BatchWriteItem request.
+     */
+    static final int MAX_BATCH_WRITE_ITEMS = 25;
+
+    private static final int MAX_BATCH_WRITE_ITEM_ATTEMPTS = 3;
+
+    /**
+     * Delay before the first retry of the items DynamoDB left unprocessed in a batch request. DynamoDB leaves items
+     * unprocessed when it throttles the request, so the delay doubles with every retry and is jittered.
+     */
+    private static final long BATCH_RETRY_BASE_BACKOFF_MILLIS = 100L;
+
+    /**
+     * Maximum number of items DynamoDB accepts in one TransactWriteItems request.
+     */
+    static final int MAX_TRANSACT_WRITE_ITEMS = 100;
+
+    private static final String CANCELLATION_REASON_CONDITIONAL_CHECK_FAILED = "ConditionalCheckFailed";
+    private static final Set<String> CANCELLATION_REASONS_THROTTLED =
+            ImmutableSet.of("ThrottlingError", "ProvisionedThroughputExceeded");
+    private static final String LEASE_OWNERSHIP_PROJECTION_EXPRESSION = "#k, #o, #c, #os, #co";
+    private static final Map<String, String> LEASE_OWNERSHIP_EXPRESSION_ATTRIBUTE_NAMES = ImmutableMap.of(
+            "#k", LEASE_KEY_KEY,
+            "#o", LEASE_OWNER_KEY,
+            "#c", LEASE_COUNTER_KEY,
+            "#os", OWNER_SWITCHES_KEY,
+            "#co", CHECKPOINT_OWNER);
 
     protected final String table;
     protected final DynamoDbAsyncClient dynamoDBClient;
@@ -112,6 +172,7 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
     private final boolean leaseTableDeletionProtectionEnabled;
     private final boolean leaseTablePitrEnabled;
     private final Collection<Tag> tags;
+    private final ProjectionType leaseOwnerIndexProjectionType;
 
     private boolean newTableCreated = false;
 
@@ -155,6 +216,47 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
             final boolean leaseTableDeletionProtectionEnabled,
             final boolean leaseTablePitrEnabled,
             final Collection<Tag> tags) {
+        this(
+                table,
+                dynamoDBClient,
+                serializer,
+                consistentReads,
+                tableCreatorCallback,
+                dynamoDbRequestTimeout,
+                ddbTableConfig,
+                leaseTableDeletionProtectionEnabled,
+                leaseTablePitrEnabled,
+                tags,
+                ProjectionType.KEYS_ONLY);
+    }
+
+    /**
+     * Constructor.
+     * @param table
+     * @param dynamoDBClient
+     * @param serializer
+     * @param consistentReads
+     * @param tableCreatorCallback
+     * @param dynamoDbRequestTimeout
+     * @param ddbTableConfig
+     * @param leaseTableDeletionProtectionEnabled
+     * @param leaseTablePitrEnabled
+     * @param tags
+     * @param leaseOwnerIndexProjectionType projection of {@link #LEASE_OWNER_TO_LEASE_INDEX_NAME}, KEYS_ONLY if
+     *         lease discovery should not use that index
+     */
+    public DynamoDBLeaseRefresher(
+            final String table,
+            final DynamoDbAsyncClient dynamoDBClient,
+            final LeaseSerializer serializer,
+            final boolean consistentReads,
+            @NonNull final TableCreatorCallback tableCreatorCallback,
+            Duration dynamoDbRequestTimeout,
+            final DdbTableConfig ddbTableConfig,
+            final boolean leaseTableDeletionProtectionEnabled,
+            final boolean leaseTablePitrEnabled,
+            final Collection<Tag> tags,
+            @NonNull final ProjectionType leaseOwnerIndexProjectionType) {
         this.table = table;
         this.dynamoDBClient = dynamoDBClient;
         this.serializer = serializer;
@@ -165,6 +267,7 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
         this.leaseTableDeletionProtectionEnabled = leaseTableDeletionProtectionEnabled;
         this.leaseTablePitrEnabled = leaseTablePitrEnabled;
         this.tags = tags;
+        this.leaseOwnerIndexProjectionType = leaseOwnerIndexProjectionType;
         this.scanSegmentResolver = new LeaseTableScanSegmentResolver(0, this::describeLeaseTable);
     }
 
@@ -338,6 +441,33 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
 
     @Override
     public String createLeaseOwnerToLeaseKeyIndexIfNotExists() throws DependencyException {
+        return createLeaseOwnerIndexIfNotExists(
+                LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME,
+                Projection.builder().projectionType(ProjectionType.KEYS_ONLY).build());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * DynamoDB does not allow changing the projection of an existing index, so the projected index is a separate
+     * index next to {@link DynamoDBLeaseRefresher#LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME}, which older workers keep
+     * using while an application is rolled forward. DynamoDB builds one index at a time, so creating this index
+     * fails while the other one is still being created.
+     */
+    @Override
+    public String createLeaseOwnerToLeaseIndexIfNotExists() throws DependencyException {
+        if (leaseOwnerIndexProjectionType == ProjectionType.KEYS_ONLY) {
+            return null;
+        }
+        final Projection.Builder projection = Projection.builder().projectionType(leaseOwnerIndexProjectionType);
+        if (leaseOwnerIndexProjectionType == ProjectionType.INCLUDE) {
+            projection.nonKeyAttributes(serializer.getLeaseOwnerToLeaseIndexNonKeyAttributes());
+        }
+        return createLeaseOwnerIndexIfNotExists(LEASE_OWNER_TO_LEASE_INDEX_NAME, projection.build());
+    }
+
+    private String createLeaseOwnerIndexIfNotExists(final String indexName, final Projection projection)
+            throws DependencyException {
         final DescribeTableResponse describeTableResponse = describeLeaseTable();
         ProvisionedThroughput provisionedThroughput = null;
         if (nonNull(describeTableResponse)) {
@@ -364,13 +494,10 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
                         .build();
             }
 
-            final IndexStatus indexStatus = getIndexStatusFromDescribeTableResponse(
-                    describeTableResponse.table(), LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME);
+            final IndexStatus indexStatus =
+                    getIndexStatusFromDescribeTableResponse(describeTableResponse.table(), indexName);
             if (nonNull(indexStatus)) {
-                log.info(
-                        "Lease table GSI {} already exists with status {}",
-                        LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME,
-                        indexStatus);
+                log.info("Lease table GSI {} already exists with status {}", indexName, indexStatus);
 
                 // indexStatus is nonNull that means index already exists, return the status of index.
                 return indexStatus.toString();
@@ -381,22 +508,19 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
                 .attributeDefinitions(serializer.getWorkerIdToLeaseKeyIndexAttributeDefinitions())
                 .globalSecondaryIndexUpdates(GlobalSecondaryIndexUpdate.builder()
                         .create(CreateGlobalSecondaryIndexAction.builder()
-                                .indexName(LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME)
+                                .indexName(indexName)
                                 .keySchema(serializer.getWorkerIdToLeaseKeyIndexKeySchema())
-                                .projection(Projection.builder()
-                                        .projectionType(ProjectionType.KEYS_ONLY)
-                                        .build())
+                                .projection(projection)
                                 .provisionedThroughput(provisionedThroughput)
                                 .build())
                         .build())
                 .build();
 
         try {
-            log.info("Creating Lease table GSI {}", LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME);
+            log.info("Creating Lease table GSI {} with projection {}", indexName, projection.projectionType());
             final UpdateTableResponse response = FutureUtils.resolveOrCancelFuture(
                     dynamoDBClient.updateTable(updateTableRequest), dynamoDbRequestTimeout);
-            return getIndexStatusFromDescribeTableResponse(
-                            response.tableDescription(), LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME)
+            return getIndexStatusFromDescribeTableResponse(response.tableDescription(), indexName)
                     .toString();
         } catch (ExecutionException e) {
             throw new DependencyException(nonNull(e.getCause()) ? e.getCause() : e);
@@ -495,50 +619,233 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
     @Override
     public List<String> listLeaseKeysForWorker(final String workerIdentifier)
             throws DependencyException, InvalidStateException {
-        QueryRequest queryRequest = QueryRequest.builder()
-                .indexName(LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME)
+        final List<String> result = new ArrayList<>();
+        queryLeaseOwnerIndex(
+                LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME, workerIdentifier, ReturnConsumedCapacity.NONE, queryResponse -> {
+                    for (Map<String, AttributeValue> item : queryResponse.items()) {
+                        result.add(item.get(LEASE_KEY_KEY).s());
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The future completes exceptionally with InvalidStateException in case of
+     * {@link DynamoDBLeaseRefresher#LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME} does not exists.
+     */
+    @Override
+    public CompletableFuture<List<String>> listLeaseKeysForWorkerAsync(final String workerIdentifier) {
+        final List<String> result = new ArrayList<>();
+        return queryLeaseOwnerIndexAsync(
+                        LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME,
+                        workerIdentifier,
+                        ReturnConsumedCapacity.NONE,
+                        queryResponse -> {
+                            for (Map<String, AttributeValue> item : queryResponse.items()) {
+                                result.add(item.get(LEASE_KEY_KEY).s());
+                            }
+                        })
+                .thenApply(ignored -> result);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This method throws InvalidStateException in case of
+     * {@link DynamoDBLeaseRefresher#LEASE_OWNER_TO_LEASE_INDEX_NAME} does not exists.
+     */
+    @Override
+    public List<Lease> listLeasesForWorker(
+            final String workerIdentifier, @NonNull final DoubleConsumer consumedReadCapacity)
+            throws DependencyException, InvalidStateException {
+        final List<Lease> result = new ArrayList<>();
+        queryLeaseOwnerIndex(
+                LEASE_OWNER_TO_LEASE_INDEX_NAME, workerIdentifier, ReturnConsumedCapacity.TOTAL, queryResponse -> {
+                    if (nonNull(queryResponse.consumedCapacity())) {
+                        consumedReadCapacity.accept(
+                                queryResponse.consumedCapacity().capacityUnits());
+                    }
+                    for (Map<String, AttributeValue> item : queryResponse.items()) {
+                        final Lease lease = serializer.fromDynamoRecord(item);
+                        if (nonNull(lease)) {
+                            result.add(lease);
+                        }
+                    }
+                });
+        return result;
+    }
+
+    private void queryLeaseOwnerIndex(
+            final String indexName,
+            final String workerIdentifier,
+            final ReturnConsumedCapacity returnConsumedCapacity,
+            final Consumer<QueryResponse> pageConsumer)
+            throws DependencyException, InvalidStateException {
+        try {
+            queryLeaseOwnerIndexAsync(indexName, workerIdentifier, returnConsumedCapacity, pageConsumer)
+                    .get();
+        } catch (final InterruptedException e) {
+            throw new DependencyException(e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = FutureUtils.unwrap(e);
+            if (cause instanceof InvalidStateException) {
+                throw (InvalidStateException) cause;
+            }
+            throw cause instanceof DependencyException ? (DependencyException) cause : new DependencyException(cause);
+        }
+    }
+
+    private CompletableFuture<Void> queryLeaseOwnerIndexAsync(
+            final String indexName,
+            final String workerIdentifier,
+            final ReturnConsumedCapacity returnConsumedCapacity,
+            final Consumer<QueryResponse> pageConsumer) {
+        final QueryRequest queryRequest = QueryRequest.builder()
+                .indexName(indexName)
                 .keyConditionExpression(LEASE_OWNER_INDEX_QUERY_CONDITIONAL_EXPRESSION)
                 .expressionAttributeValues(ImmutableMap.of(
                         DDB_LEASE_OWNER,
                         AttributeValue.builder().s(workerIdentifier).build()))
+                .returnConsumedCapacity(returnConsumedCapacity)
                 .tableName(table)
                 .build();
 
-        final AWSExceptionManager exceptionManager = createExceptionManager();
-        exceptionManager.add(ResourceNotFoundException.class, t -> t);
+        return queryPagesAsync(queryRequest, pageConsumer).handle((ignored, throwable) -> {
+            if (throwable == null) {
+                return null;
+            }
+            final Throwable cause = FutureUtils.unwrap(throwable);
+            if (cause instanceof ResourceNotFoundException) {
+                throw new CompletionException(new InvalidStateException(indexName + " does not exists.", cause));
+            }
+            throw new CompletionException(new DependencyException(cause));
+        });
+    }
 
-        try {
-            try {
-                final List<String> result = new ArrayList<>();
+    private CompletableFuture<Void> queryPagesAsync(
+            final QueryRequest queryRequest, final Consumer<QueryResponse> pageConsumer) {
+        return withRequestTimeout(dynamoDBClient.query(queryRequest)).thenCompose(queryResponse -> {
+            pageConsumer.accept(queryResponse);
+            final Map<String, AttributeValue> lastEvaluatedKey = queryResponse.lastEvaluatedKey();
+            if (CollectionUtils.isNullOrEmpty(lastEvaluatedKey)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            // Make another request, picking up where we left off.
+            return queryPagesAsync(
+                    queryRequest.toBuilder().exclusiveStartKey(lastEvaluatedKey).build(), pageConsumer);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Leases are read with strongly consistent BatchGetItem requests of up to
+     * {@value #MAX_BATCH_GET_ITEM_KEYS} keys each. Keys that DynamoDB leaves unprocessed are retried a few times with
+     * exponential backoff and then left out of the result.
+     */
+    @Override
+    public List<Lease> batchGetLeaseOwnership(
+            @NonNull final Collection<String> leaseKeys, @NonNull final DoubleConsumer consumedReadCapacity)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        return batchGetLeases(
+                leaseKeys,
+                KeysAndAttributes.builder()
+                        .consistentRead(true)
+                        .projectionExpression(LEASE_OWNERSHIP_PROJECTION_EXPRESSION)
+                        .expressionAttributeNames(LEASE_OWNERSHIP_EXPRESSION_ATTRIBUTE_NAMES),
+                consumedReadCapacity,
+                false);
+    }
 
-                QueryResponse queryResponse =
-                        FutureUtils.resolveOrCancelFuture(dynamoDBClient.query(queryRequest), dynamoDbRequestTimeout);
+    /**
+     * {@inheritDoc}
+     *
+     * Leases are read with strongly consistent BatchGetItem requests of up to
+     * {@value #MAX_BATCH_GET_ITEM_KEYS} keys each. Keys that DynamoDB leaves unprocessed are retried a few times with
+     * exponential backoff.
+     */
+    @Override
+    public List<Lease> batchGetLeases(@NonNull final Collection<String> leaseKeys)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        return batchGetLeases(leaseKeys, KeysAndAttributes.builder().consistentRead(true), capacity -> {}, true);
+    }
 
-                while (queryResponse != null) {
-                    for (Map<String, AttributeValue> item : queryResponse.items()) {
-                        result.add(item.get(LEASE_KEY_KEY).s());
-                    }
-                    final Map<String, AttributeValue> lastEvaluatedKey = queryResponse.lastEvaluatedKey();
-                    if (CollectionUtils.isNullOrEmpty(lastEvaluatedKey)) {
-                        // Signify that we're done.
-                        queryResponse = null;
-                    } else {
-                        // Make another request, picking up where we left off.
-                        queryRequest = queryRequest.toBuilder()
-                                .exclusiveStartKey(lastEvaluatedKey)
-                                .build();
-                        queryResponse = FutureUtils.resolveOrCancelFuture(
-                                dynamoDBClient.query(queryRequest), dynamoDbRequestTimeout);
+    /**
+     * @param failOnUnprocessedKeys whether to throw if keys are still unprocessed after the last attempt, rather than
+     *        leaving them out of the result
+     */
+    private List<Lease> batchGetLeases(
+            final Collection<String> leaseKeys,
+            final KeysAndAttributes.Builder keysAndAttributesBuilder,
+            final DoubleConsumer consumedReadCapacity,
+            final boolean failOnUnprocessedKeys)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        final List<Lease> result = new ArrayList<>(leaseKeys.size());
+        final List<String> keys = new ArrayList<>(leaseKeys);
+        for (int from = 0; from < keys.size(); from += MAX_BATCH_GET_ITEM_KEYS) {
+            final List<Map<String, AttributeValue>> batch = new ArrayList<>();
+            for (String leaseKey : keys.subList(from, Math.min(from + MAX_BATCH_GET_ITEM_KEYS, keys.size()))) {
+                batch.add(serializer.getDynamoHashKey(leaseKey));
+            }
+            KeysAndAttributes keysAndAttributes =
+                    keysAndAttributesBuilder.keys(batch).build();
+            for (int attempt = 0;
+                    attempt < MAX_BATCH_GET_ITEM_ATTEMPTS
+                            && !keysAndAttributes.keys().isEmpty();
+                    attempt++) {
+                if (attempt > 0) {
+                    backoffBeforeBatchRetry(attempt);
+                }
+                final BatchGetItemResponse response = batchGetItem(keysAndAttributes);
+                if (!CollectionUtils.isNullOrEmpty(response.consumedCapacity())) {
+                    response.consumedCapacity()
+                            .forEach(capacity -> consumedReadCapacity.accept(capacity.capacityUnits()));
+                }
+                for (Map<String, AttributeValue> item :
+                        response.responses().getOrDefault(table, Collections.emptyList())) {
+                    final Lease lease = serializer.fromDynamoRecord(item);
+                    if (nonNull(lease)) {
+                        result.add(lease);
                     }
                 }
-                return result;
-            } catch (final ExecutionException e) {
+                keysAndAttributes = response.unprocessedKeys()
+                        .getOrDefault(
+                                table,
+                                keysAndAttributes.toBuilder()
+                                        .keys(Collections.emptyList())
+                                        .build());
+            }
+            if (!keysAndAttributes.keys().isEmpty()) {
+                final String message = keysAndAttributes.keys().size() + " lease keys were still unprocessed after "
+                        + MAX_BATCH_GET_ITEM_ATTEMPTS + " BatchGetItem attempts";
+                if (failOnUnprocessedKeys) {
+                    throw new ProvisionedThroughputException(message, null);
+                }
+                log.warn(message);
+            }
+        }
+        return result;
+    }
+
+    private BatchGetItemResponse batchGetItem(final KeysAndAttributes keysAndAttributes)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        final BatchGetItemRequest request = BatchGetItemRequest.builder()
+                .requestItems(Collections.singletonMap(table, keysAndAttributes))
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                .build();
+        final AWSExceptionManager exceptionManager = createExceptionManager();
+        try {
+            try {
+                return FutureUtils.resolveOrCancelFuture(dynamoDBClient.batchGetItem(request), dynamoDbRequestTimeout);
+            } catch (ExecutionException e) {
                 throw exceptionManager.apply(e.getCause());
+            } catch (InterruptedException e) {
+                throw new DependencyException(e);
             }
-        } catch (final ResourceNotFoundException e) {
-            throw new InvalidStateException(LEASE_OWNER_TO_LEASE_KEY_INDEX_NAME + " does not exists.", e);
-        } catch (final Exception e) {
-            throw new DependencyException(e);
+        } catch (DynamoDbException | TimeoutException e) {
+            throw convertAndRethrowExceptions("batchGet", null, e);
         }
     }
 
@@ -550,105 +857,165 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
         return list(null, null);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The scan uses a projection expression built from the serializer's lease view attributes, which reduces the
+     * read capacity and the deserialization cost of the scan for tables whose items carry large checkpoint states.
+     * The table is scanned in parallel with the number of segments planned by the
+     * {@link LeaseTableScanSegmentResolver}. Leases that fail to deserialize are left out of the result.
+     */
+    @Override
+    public List<Lease> listLeaseViews()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        final Map.Entry<List<Lease>, List<String>> result =
+                resolve(scanLeasesAsync(scanSegmentResolver.resolveTotalSegments(), leaseViewProjection()));
+        if (!result.getValue().isEmpty()) {
+            log.warn("Failed to deserialize lease views of {}", result.getValue());
+        }
+        return result.getKey();
+    }
+
+    /**
+     * @return expression attribute names of the lease view attributes, or an empty map if the serializer does not
+     *         support lease views
+     */
+    private Map<String, String> leaseViewProjection() {
+        final Map<String, String> names = new LinkedHashMap<>();
+        for (String attribute : serializer.getLeaseViewAttributes()) {
+            names.put("#p" + names.size(), attribute);
+        }
+        return names;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The segments are scanned with the asynchronous client, so the thread pool is not used.
+     */
     @Override
     public Map.Entry<List<Lease>, List<String>> listLeasesParallely(
             final ExecutorService parallelScanExecutorService, final int parallelScanTotalSegment)
             throws DependencyException, InvalidStateException, ProvisionedThroughputException {
-        final List<String> leaseItemFailedDeserialize = new ArrayList<>();
-        final List<Lease> response = new ArrayList<>();
-        final List<Future<Void>> futures = new ArrayList<>();
+        return resolve(listLeasesParallelyAsync(parallelScanTotalSegment));
+    }
 
+    @Override
+    public CompletableFuture<Map.Entry<List<Lease>, List<String>>> listLeasesParallelyAsync(
+            final int parallelScanTotalSegment) {
         final int totalSegments;
         if (parallelScanTotalSegment > 0) {
             totalSegments = parallelScanTotalSegment;
         } else {
             totalSegments = scanSegmentResolver.resolveTotalSegments();
         }
+        return scanLeasesAsync(totalSegments, Collections.emptyMap());
+    }
 
+    /**
+     * Scans all segments of the table in parallel and reports the latency, item count and throttling of each segment
+     * to the {@link LeaseTableScanSegmentResolver}.
+     *
+     * @param totalSegments number of segments to scan
+     * @param projection expression attribute names of the lease view attributes to read, or an empty map to read
+     *         whole leases
+     */
+    private CompletableFuture<Map.Entry<List<Lease>, List<String>>> scanLeasesAsync(
+            final int totalSegments, final Map<String, String> projection) {
+        final List<String> leaseItemFailedDeserialize = new ArrayList<>();
+        final List<Lease> response = new ArrayList<>();
+        final List<LeaseTableScanSegmentResolver.SegmentScan> segmentScans = new ArrayList<>(totalSegments);
+
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[totalSegments];
         for (int i = 0; i < totalSegments; ++i) {
-            final int segmentNumber = i;
-            futures.add(parallelScanExecutorService.submit(() -> {
-                scanSegment(segmentNumber, totalSegments, response, leaseItemFailedDeserialize);
-                return null;
-            }));
+            final List<Lease> localLeases = new ArrayList<>();
+            final List<String> localFailedDeserialize = new ArrayList<>();
+            final long startNanos = System.nanoTime();
+            futures[i] = scanSegmentAsync(i, totalSegments, null, projection, localLeases, localFailedDeserialize)
+                    .whenComplete((ignored, throwable) -> {
+                        final LeaseTableScanSegmentResolver.SegmentScan segmentScan =
+                                new LeaseTableScanSegmentResolver.SegmentScan(
+                                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                                        localLeases.size() + localFailedDeserialize.size(),
+                                        throwable != null
+                                                && FutureUtils.unwrap(throwable)
+                                                        instanceof ProvisionedThroughputExceededException);
+                        // merge per-segment results into the shared lists under a single short lock
+                        synchronized (response) {
+                            segmentScans.add(segmentScan);
+                            if (throwable == null) {
+                                response.addAll(localLeases);
+                                leaseItemFailedDeserialize.addAll(localFailedDeserialize);
+                            }
+                        }
+                    });
         }
-        try {
-            for (final Future<Void> future : futures) {
-                future.get();
+        return CompletableFuture.allOf(futures).handle((ignored, throwable) -> {
+            synchronized (response) {
+                scanSegmentResolver.recordScan(totalSegments, segmentScans);
             }
-        } catch (final ExecutionException e) {
-            final Throwable throwable = e.getCause() != null ? e.getCause() : e;
-            if (throwable instanceof ResourceNotFoundException) {
-                throw new InvalidStateException("Cannot scan lease table " + table + " because it does not exist.", e);
-            } else if (throwable instanceof ProvisionedThroughputException) {
-                throw new ProvisionedThroughputException(e);
-            } else {
-                throw new DependencyException(e);
+            if (throwable != null) {
+                final Throwable cause = FutureUtils.unwrap(throwable);
+                if (cause instanceof ResourceNotFoundException) {
+                    throw new CompletionException(new InvalidStateException(
+                            "Cannot scan lease table " + table + " because it does not exist.", cause));
+                } else if (cause instanceof ProvisionedThroughputExceededException) {
+                    throw new CompletionException(new ProvisionedThroughputException(cause));
+                }
+                throw new CompletionException(new DependencyException(cause));
             }
-        } catch (final InterruptedException e) {
-            throw new DependencyException(e);
-        }
-        return new AbstractMap.SimpleEntry<>(response, leaseItemFailedDeserialize);
+            return new AbstractMap.SimpleEntry<>(response, leaseItemFailedDeserialize);
+        });
     }
 
-    private void scanSegment(
+    private CompletableFuture<Void> scanSegmentAsync(
             final int segment,
             final int parallelScanTotalSegment,
-            final List<Lease> response,
-            final List<String> leaseItemFailedDeserialize)
-            throws DependencyException {
-
-        final AWSExceptionManager exceptionManager = createExceptionManager();
-        exceptionManager.add(ResourceNotFoundException.class, t -> t);
-        exceptionManager.add(ProvisionedThroughputExceededException.class, t -> t);
-
-        final List<Lease> localLeases = new ArrayList<>();
-        final List<String> localFailedDeserialize = new ArrayList<>();
-
-        Map<String, AttributeValue> lastEvaluatedKey = null;
-        do {
-            try {
-                final ScanRequest scanRequest = ScanRequest.builder()
-                        .tableName(table)
-                        .segment(segment)
-                        .totalSegments(parallelScanTotalSegment)
-                        .exclusiveStartKey(lastEvaluatedKey)
-                        .build();
+            final Map<String, AttributeValue> exclusiveStartKey,
+            final Map<String, String> projection,
+            final List<Lease> localLeases,
+            final List<String> localFailedDeserialize) {
+        final ScanRequest.Builder scanRequestBuilder = ScanRequest.builder()
+                .tableName(table)
+                .segment(segment)
+                .totalSegments(parallelScanTotalSegment)
+                .exclusiveStartKey(exclusiveStartKey);
+        if (!projection.isEmpty()) {
+            scanRequestBuilder
+                    .projectionExpression(String.join(", ", projection.keySet()))
+                    .expressionAttributeNames(projection);
+        }
+        final ScanRequest scanRequest = scanRequestBuilder.build();
 
-                final ScanResponse scanResult =
-                        FutureUtils.resolveOrCancelFuture(dynamoDBClient.scan(scanRequest), dynamoDbRequestTimeout);
-                for (final Map<String, AttributeValue> item : scanResult.items()) {
-                    try {
-                        Lease lease = serializer.fromDynamoRecord(item);
-                        if (lease != null) {
-                            localLeases.add(lease);
-                        }
-                    } catch (final Exception e) {
-                        // If one or more leases failed to deserialize for some reason (e.g. corrupted lease etc
-                        // do not fail all list call. Capture failed deserialize item and return to caller.
-                        log.error("Failed to deserialize lease", e);
-                        // If an item exists in DDB then "leaseKey" should be always present as its primaryKey
-                        localFailedDeserialize.add(item.get(LEASE_KEY_KEY).s());
+        return withRequestTimeout(dynamoDBClient.scan(scanRequest)).thenCompose(scanResult -> {
+            for (final Map<String, AttributeValue> item : scanResult.items()) {
+                try {
+                    Lease lease = projection.isEmpty()
+                            ? serializer.fromDynamoRecord(item)
+                            : serializer.leaseViewFromDynamoRecord(item);
+                    if (lease != null) {
+                        localLeases.add(lease);
                     }
+                } catch (final Exception e) {
+                    // If one or more leases failed to deserialize for some reason (e.g. corrupted lease etc
+                    // do not fail all list call. Capture failed deserialize item and return to caller.
+                    log.error("Failed to deserialize lease", e);
+                    // If an item exists in DDB then "leaseKey" should be always present as its primaryKey
+                    localFailedDeserialize.add(item.get(LEASE_KEY_KEY).s());
                 }
-                if (scanResult.hasLastEvaluatedKey()) {
-                    lastEvaluatedKey = scanResult.lastEvaluatedKey();
-                } else {
-                    // null signifies that the scan is complete for this segment.
-                    lastEvaluatedKey = null;
-                }
-            } catch (final ExecutionException e) {
-                throw exceptionManager.apply(e.getCause());
-            } catch (final InterruptedException | TimeoutException e) {
-                throw new DependencyException(e);
             }
-        } while (lastEvaluatedKey != null);
-
-        // merge per-segment results into the shared lists under a single short lock
-        synchronized (response) {
-            response.addAll(localLeases);
-            leaseItemFailedDeserialize.addAll(localFailedDeserialize);
-        }
+            if (scanResult.hasLastEvaluatedKey()) {
+                return scanSegmentAsync(
+                        segment,
+                        parallelScanTotalSegment,
+                        scanResult.lastEvaluatedKey(),
+                        projection,
+                        localLeases,
+                        localFailedDeserialize);
+            }
+            // the scan is complete for this segment.
+            return CompletableFuture.completedFuture(null);
+        });
     }
 
     /**
@@ -793,6 +1160,14 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
     @Override
     public Lease getLease(@NonNull final String leaseKey)
             throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        return resolve(getLeaseAsync(leaseKey));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Lease> getLeaseAsync(@NonNull final String leaseKey) {
         log.debug("Getting lease with key {}", leaseKey);
 
         GetItemRequest request = GetItemRequest.builder()
@@ -800,30 +1175,20 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
                 .key(serializer.getDynamoHashKey(leaseKey))
                 .consistentRead(consistentReads)
                 .build();
-        final AWSExceptionManager exceptionManager = createExceptionManager();
-        try {
-            try {
-                GetItemResponse result =
-                        FutureUtils.resolveOrCancelFuture(dynamoDBClient.getItem(request), dynamoDbRequestTimeout);
-
-                Map<String, AttributeValue> dynamoRecord = result.item();
-                if (CollectionUtils.isNullOrEmpty(dynamoRecord)) {
-                    log.debug("No lease found with key {}, returning null.", leaseKey);
-                    return null;
-                } else {
-                    final Lease lease = serializer.fromDynamoRecord(dynamoRecord);
-                    log.debug("Retrieved lease: {}", lease);
-                    return lease;
-                }
-            } catch (ExecutionException e) {
-                throw exceptionManager.apply(e.getCause());
-            } catch (InterruptedException e) {
-                // TODO: check behavior
-                throw new DependencyException(e);
+        return withRequestTimeout(dynamoDBClient.getItem(request)).handle((result, throwable) -> {
+            if (throwable != null) {
+                throw new CompletionException(convertAsyncException("get", leaseKey, throwable));
             }
-        } catch (DynamoDbException | TimeoutException e) {
-            throw convertAndRethrowExceptions("get", leaseKey, e);
-        }
+            Map<String, AttributeValue> dynamoRecord = result.item();
+            if (CollectionUtils.isNullOrEmpty(dynamoRecord)) {
+                log.debug("No lease found with key {}, returning null.", leaseKey);
+                return null;
+            } else {
+                final Lease lease = serializer.fromDynamoRecord(dynamoRecord);
+                log.debug("Retrieved lease: {}", lease);
+                return lease;
+            }
+        });
     }
 
     /**
@@ -832,6 +1197,14 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
     @Override
     public boolean renewLease(@NonNull final Lease lease)
             throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        return resolve(renewLeaseAsync(lease));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> renewLeaseAsync(@NonNull final Lease lease) {
         log.debug("Renewing lease with key {}", lease.leaseKey());
 
         final Map<String, AttributeValueUpdate> attributeUpdates = new HashMap<>();
@@ -860,45 +1233,55 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
                 .returnValuesOnConditionCheckFailure(ReturnValuesOnConditionCheckFailure.ALL_OLD)
                 .build();
 
-        final AWSExceptionManager exceptionManager = createExceptionManager();
-        exceptionManager.add(ConditionalCheckFailedException.class, t -> t);
+        return withRequestTimeout(dynamoDBClient.updateItem(request))
+                .handle((response, throwable) -> {
+                    if (throwable == null) {
+                        return CompletableFuture.completedFuture(renewed(lease));
+                    }
+                    final Throwable cause = FutureUtils.unwrap(throwable);
+                    if (cause instanceof ConditionalCheckFailedException) {
+                        return handleRenewalConditionFailure(lease, (ConditionalCheckFailedException) cause);
+                    }
+                    return FutureUtils.<Boolean>failedFuture(new DependencyException(cause));
+                })
+                .thenCompose(Function.identity());
+    }
 
-        try {
-            try {
-                FutureUtils.resolveOrCancelFuture(dynamoDBClient.updateItem(request), dynamoDbRequestTimeout);
-            } catch (ExecutionException e) {
-                throw exceptionManager.apply(e.getCause());
-            } catch (InterruptedException e) {
-                // TODO: Check if this is correct behavior
-                throw new DependencyException(e);
+    private CompletableFuture<Boolean> handleRenewalConditionFailure(
+            final Lease lease, final ConditionalCheckFailedException e) {
+        // run this code block only if the in-memory lease doesn't have the shutdown attributes
+        if (!lease.shutdownRequested()) {
+            final CompletableFuture<Lease> ddbLeaseFuture;
+            if (!e.hasItem()) {
+                // This is a workaround for unit testing and ddblocal since it doesn't return the item
+                // in the error response. Can remove it once the functionality is supported in ddblocal.
+                ddbLeaseFuture = getLeaseAsync(lease.leaseKey());
+            } else {
+                ddbLeaseFuture = CompletableFuture.completedFuture(serializer.fromDynamoRecord(e.item()));
             }
-        } catch (ConditionalCheckFailedException e) {
-            // run this code block only if the in-memory lease doesn't have the shutdown attributes
-            if (!lease.shutdownRequested()) {
-                final Lease ddbLease;
-                if (!e.hasItem()) {
-                    // This is a workaround for unit testing and ddblocal since it doesn't return the item
-                    // in the error response. Can remove it once the functionality is supported in ddblocal.
-                    ddbLease = getLease(lease.leaseKey());
-                } else {
-                    ddbLease = serializer.fromDynamoRecord(e.item());
-                }
+            return ddbLeaseFuture.thenCompose(ddbLease -> {
                 if (ddbLease != null && ddbLease.shutdownRequested()) {
                     return handleGracefulShutdown(lease, ddbLease);
                 }
-            }
-            log.debug(
-                    "Lease renewal failed for lease with key {} because the lease counter was not {}",
-                    lease.leaseKey(),
-                    lease.leaseCounter());
-            // If we had a spurious retry during the Dynamo update, then this conditional PUT failure
-            // might be incorrect. So, we get the item straight away and check if the lease owner + lease
-            // counter are what we expected.
-            // We need to use actualOwner because leaseOwner might have been updated to the nextOwner
-            // in the previous renewal.
-            final String expectedOwner = lease.actualOwner();
-            Long expectedCounter = lease.leaseCounter() + 1;
-            final Lease updatedLease = getLease(lease.leaseKey());
+                return detectSpuriousRenewalFailure(lease);
+            });
+        }
+        return detectSpuriousRenewalFailure(lease);
+    }
+
+    private CompletableFuture<Boolean> detectSpuriousRenewalFailure(final Lease lease) {
+        log.debug(
+                "Lease renewal failed for lease with key {} because the lease counter was not {}",
+                lease.leaseKey(),
+                lease.leaseCounter());
+        // If we had a spurious retry during the Dynamo update, then this conditional PUT failure
+        // might be incorrect. So, we get the item straight away and check if the lease owner + lease
+        // counter are what we expected.
+        // We need to use actualOwner because leaseOwner might have been updated to the nextOwner
+        // in the previous renewal.
+        final String expectedOwner = lease.actualOwner();
+        Long expectedCounter = lease.leaseCounter() + 1;
+        return getLeaseAsync(lease.leaseKey()).thenApply(updatedLease -> {
             if (updatedLease == null
                     || !expectedOwner.equals(updatedLease.leaseOwner())
                     || !expectedCounter.equals(updatedLease.leaseCounter())) {
@@ -906,20 +1289,173 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
             }
 
             log.info("Detected spurious renewal failure for lease with key {}, but recovered", lease.leaseKey());
-        } catch (DynamoDbException | TimeoutException e) {
-            throw new DependencyException(e);
-        }
+            return renewed(lease);
+        });
+    }
+
+    private static boolean renewed(final Lease lease) {
         lease.leaseCounter(lease.leaseCounter() + 1);
         log.debug("Renewed lease with key {}", lease.leaseKey());
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Leases are renewed with TransactWriteItems requests of up to {@value #MAX_TRANSACT_WRITE_ITEMS} conditional
+     * updates each. A transaction is cancelled as a whole if any of its conditions fails, so when a transaction is
+     * cancelled, the leases whose condition failed are left out and the others are retried. If the cancellation
+     * reasons don't point at any lease, for example because of a conflict with another write, the batch is bisected
+     * until the leases that can't be renewed are isolated.
+     */
+    @Override
+    public Set<String> batchRenewLeases(@NonNull final List<Lease> leases)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        final Set<String> renewedLeaseKeys = new HashSet<>();
+        for (int from = 0; from < leases.size(); from += MAX_TRANSACT_WRITE_ITEMS) {
+            renewLeasesInTransaction(
+                    leases.subList(from, Math.min(from + MAX_TRANSACT_WRITE_ITEMS, leases.size())), renewedLeaseKeys);
+        }
+        return renewedLeaseKeys;
+    }
+
+    private void renewLeasesInTransaction(final List<Lease> leases, final Set<String> renewedLeaseKeys)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        if (leases.isEmpty()) {
+            return;
+        }
+        final List<TransactWriteItem> transactItems = new ArrayList<>(leases.size());
+        for (Lease lease : leases) {
+            transactItems.add(TransactWriteItem.builder()
+                    .update(createRenewLeaseUpdate(lease))
+                    .build());
+        }
+        final TransactWriteItemsRequest request =
+                TransactWriteItemsRequest.builder().transactItems(transactItems).build();
+
+        final AWSExceptionManager exceptionManager = createExceptionManager();
+        exceptionManager.add(TransactionCanceledException.class, t -> t);
+
+        try {
+            try {
+                FutureUtils.resolveOrCancelFuture(dynamoDBClient.transactWriteItems(request), dynamoDbRequestTimeout);
+            } catch (ExecutionException e) {
+                throw exceptionManager.apply(e.getCause());
+            } catch (InterruptedException e) {
+                throw new DependencyException(e);
+            }
+        } catch (TransactionCanceledException e) {
+            final List<Lease> remainingLeases = new ArrayList<>(leases.size());
+            boolean conditionCheckFailed = false;
+            if (e.hasCancellationReasons() && e.cancellationReasons().size() == leases.size()) {
+                for (int i = 0; i < leases.size(); i++) {
+                    final String code = e.cancellationReasons().get(i).code();
+                    if (CANCELLATION_REASON_CONDITIONAL_CHECK_FAILED.equals(code)) {
+                        log.debug(
+                                "Batched renewal failed for lease with key {} because the lease counter was not {}",
+                                leases.get(i).leaseKey(),
+                                leases.get(i).leaseCounter());
+                        conditionCheckFailed = true;
+                    } else if (CANCELLATION_REASONS_THROTTLED.contains(code)) {
+                        throw new ProvisionedThroughputException(e);
+                    } else {
+                        remainingLeases.add(leases.get(i));
+                    }
+                }
+            }
+            if (conditionCheckFailed) {
+                renewLeasesInTransaction(remainingLeases, renewedLeaseKeys);
+            } else if (leases.size() > 1) {
+                final int middle = leases.size() / 2;
+                renewLeasesInTransaction(leases.subList(0, middle), renewedLeaseKeys);
+                renewLeasesInTransaction(leases.subList(middle, leases.size()), renewedLeaseKeys);
+            }
+            return;
+        } catch (DynamoDbException | TimeoutException e) {
+            throw convertAndRethrowExceptions("batchRenew", null, e);
+        }
+        for (Lease lease : leases) {
+            renewedLeaseKeys.add(lease.leaseKey());
+        }
+    }
+
+    /**
+     * Builds the transactional equivalent of the conditional update made by {@link #renewLease(Lease)}.
+     * TransactWriteItems only accepts expressions, so the serializer's expectations and updates are translated into
+     * a condition expression and an update expression.
+     */
+    private Update createRenewLeaseUpdate(final Lease lease) {
+        final Map<String, AttributeValueUpdate> attributeUpdates = new HashMap<>();
+        attributeUpdates.putAll(serializer.getDynamoLeaseCounterUpdate(lease));
+        if (nonNull(lease.throughputKBps())) {
+            attributeUpdates.putAll(serializer.getDynamoLeaseThroughputKbpsUpdate(lease));
+        }
+        final Map<String, ExpectedAttributeValue> expected = serializer.getDynamoLeaseCounterExpectation(lease);
+        if (!lease.shutdownRequested()) {
+            expected.put(
+                    CHECKPOINT_OWNER,
+                    ExpectedAttributeValue.builder().exists(false).build());
+        }
+
+        final Map<String, String> names = new HashMap<>();
+        final Map<String, AttributeValue> values = new HashMap<>();
+        final List<String> conditions = new ArrayList<>();
+        for (Map.Entry<String, ExpectedAttributeValue> entry : expected.entrySet()) {
+            final String name = "#e" + names.size();
+            names.put(name, entry.getKey());
+            if (Boolean.FALSE.equals(entry.getValue().exists())) {
+                conditions.add("attribute_not_exists(" + name + ")");
+            } else {
+                final String value = ":e" + values.size();
+                values.put(value, entry.getValue().value());
+                conditions.add(name + " = " + value);
+            }
+        }
+        final List<String> sets = new ArrayList<>();
+        final List<String> removes = new ArrayList<>();
+        for (Map.Entry<String, AttributeValueUpdate> entry : attributeUpdates.entrySet()) {
+            final String name = "#u" + names.size();
+            names.put(name, entry.getKey());
+            if (entry.getValue().action() == AttributeAction.DELETE) {
+                removes.add(name);
+            } else {
+                final String value = ":u" + values.size();
+                values.put(value, entry.getValue().value());
+                sets.add(name + " = " + value);
+            }
+        }
+        final StringBuilder updateExpression = new StringBuilder();
+        if (!sets.isEmpty()) {
+            updateExpression.append("SET ").append(String.join(", ", sets));
+        }
+        if (!removes.isEmpty()) {
+            updateExpression.append(" REMOVE ").append(String.join(", ", removes));
+        }
+
+        return Update.builder()
+                .tableName(table)
+                .key(serializer.getDynamoHashKey(lease))
+                .conditionExpression(String.join(" AND ", conditions))
+                .updateExpression(updateExpression.toString().trim())
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .build();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean takeLease(@NonNull final Lease lease, @NonNull final String owner)
             throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        return resolve(takeLeaseAsync(lease, owner));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> takeLeaseAsync(@NonNull final Lease lease, @NonNull final String owner) {
         final String oldOwner = lease.leaseOwner();
 
         log.debug(
@@ -928,9 +1464,6 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
                 lease.leaseOwner() == null ? "nobody" : lease.leaseOwner(),
                 owner);
 
-        final AWSExceptionManager exceptionManager = createExceptionManager();
-        exceptionManager.add(ConditionalCheckFailedException.class, t -> t);
-
         Map<String, AttributeValueUpdate> updates = serializer.getDynamoLeaseCounterUpdate(lease);
         updates.putAll(serializer.getDynamoTakeLeaseUpdate(lease, owner));
 
@@ -941,35 +1474,29 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
                 .attributeUpdates(updates)
                 .build();
 
-        try {
-            try {
-                FutureUtils.resolveOrCancelFuture(dynamoDBClient.updateItem(request), dynamoDbRequestTimeout);
-            } catch (ExecutionException e) {
-                throw exceptionManager.apply(e.getCause());
-            } catch (InterruptedException e) {
-                // TODO: Check behavior
-                throw new DependencyException(e);
+        return withRequestTimeout(dynamoDBClient.updateItem(request)).handle((response, throwable) -> {
+            if (throwable != null) {
+                if (FutureUtils.unwrap(throwable) instanceof ConditionalCheckFailedException) {
+                    log.debug(
+                            "Lease renewal failed for lease with key {} because the lease counter was not {}",
+                            lease.leaseKey(),
+                            lease.leaseCounter());
+                    return false;
+                }
+                throw new CompletionException(convertAsyncException("take", lease.leaseKey(), throwable));
             }
-        } catch (ConditionalCheckFailedException e) {
-            log.debug(
-                    "Lease renewal failed for lease with key {} because the lease counter was not {}",
-                    lease.leaseKey(),
-                    lease.leaseCounter());
-            return false;
-        } catch (DynamoDbException | TimeoutException e) {
-            throw convertAndRethrowExceptions("take", lease.leaseKey(), e);
-        }
 
-        lease.leaseCounter(lease.leaseCounter() + 1);
-        lease.leaseOwner(owner);
-        clearPendingShutdownAttributes(lease);
-        if (oldOwner != null && !oldOwner.equals(owner)) {
-            lease.ownerSwitchesSinceCheckpoint(lease.ownerSwitchesSinceCheckpoint() + 1);
-        }
+            lease.leaseCounter(lease.leaseCounter() + 1);
+            lease.leaseOwner(owner);
+            clearPendingShutdownAttributes(lease);
+            if (oldOwner != null && !oldOwner.equals(owner)) {
+                lease.ownerSwitchesSinceCheckpoint(lease.ownerSwitchesSinceCheckpoint() + 1);
+            }
 
-        log.info("Transferred lease {} ownership from {} to {}", lease.leaseKey(), oldOwner, owner);
+            log.info("Transferred lease {} ownership from {} to {}", lease.leaseKey(), oldOwner, owner);
 
-        return true;
+            return true;
+        });
     }
 
     /**
@@ -1273,14 +1800,87 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
 
     /**
      * {@inheritDoc}
+     *
+     * Leases are deleted with BatchWriteItem requests of up to {@value #MAX_BATCH_WRITE_ITEMS} leases each. Leases
+     * that DynamoDB leaves unprocessed are retried a few times with exponential backoff.
      */
     @Override
-    public boolean updateLease(@NonNull final Lease lease)
+    public void batchDeleteLeases(@NonNull final Collection<Lease> leases)
             throws DependencyException, InvalidStateException, ProvisionedThroughputException {
-        log.debug("Updating lease: {}", lease);
+        final List<Lease> leasesToDelete = new ArrayList<>(leases);
+        for (int from = 0; from < leasesToDelete.size(); from += MAX_BATCH_WRITE_ITEMS) {
+            List<WriteRequest> writeRequests = new ArrayList<>();
+            for (Lease lease :
+                    leasesToDelete.subList(from, Math.min(from + MAX_BATCH_WRITE_ITEMS, leasesToDelete.size()))) {
+                writeRequests.add(WriteRequest.builder()
+                        .deleteRequest(DeleteRequest.builder()
+                                .key(serializer.getDynamoHashKey(lease))
+                                .build())
+                        .build());
+            }
+            for (int attempt = 0; attempt < MAX_BATCH_WRITE_ITEM_ATTEMPTS && !writeRequests.isEmpty(); attempt++) {
+                if (attempt > 0) {
+                    backoffBeforeBatchRetry(attempt);
+                }
+                final BatchWriteItemResponse response = batchWriteItem(writeRequests);
+                writeRequests = response.unprocessedItems().getOrDefault(table, Collections.emptyList());
+            }
+            if (!writeRequests.isEmpty()) {
+                throw new ProvisionedThroughputException(
+                        writeRequests.size() + " leases were still not deleted after " + MAX_BATCH_WRITE_ITEM_ATTEMPTS
+                                + " BatchWriteItem attempts",
+                        null);
+            }
+            log.info("Deleted {} leases", Math.min(MAX_BATCH_WRITE_ITEMS, leasesToDelete.size() - from));
+        }
+    }
 
+    /**
+     * Sleeps before retrying the items DynamoDB left unprocessed in a batch request, for a random time between half
+     * and all of the exponential backoff of the retry.
+     *
+     * @param retry number of the retry, starting at 1
+     */
+    private void backoffBeforeBatchRetry(final int retry) {
+        final long backoffMillis = BATCH_RETRY_BASE_BACKOFF_MILLIS << (retry - 1);
+        sleep(backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1));
+    }
+
+    private BatchWriteItemResponse batchWriteItem(final List<WriteRequest> writeRequests)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        final BatchWriteItemRequest request = BatchWriteItemRequest.builder()
+                .requestItems(Collections.singletonMap(table, writeRequests))
+                .build();
         final AWSExceptionManager exceptionManager = createExceptionManager();
-        exceptionManager.add(ConditionalCheckFailedException.class, t -> t);
+        try {
+            try {
+                return FutureUtils.resolveOrCancelFuture(
+                        dynamoDBClient.batchWriteItem(request), dynamoDbRequestTimeout);
+            } catch (ExecutionException e) {
+                throw exceptionManager.apply(e.getCause());
+            } catch (InterruptedException e) {
+                throw new DependencyException(e);
+            }
+        } catch (DynamoDbException | TimeoutException e) {
+            throw convertAndRethrowExceptions("batchDelete", null, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean updateLease(@NonNull final Lease lease)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        return resolve(updateLeaseAsync(lease));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Boolean> updateLeaseAsync(@NonNull final Lease lease) {
+        log.debug("Updating lease: {}", lease);
 
         Map<String, AttributeValueUpdate> updates = serializer.getDynamoLeaseCounterUpdate(lease);
         updates.putAll(serializer.getDynamoUpdateLeaseUpdate(lease));
@@ -1292,27 +1892,22 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
                 .attributeUpdates(updates)
                 .build();
 
-        try {
-            try {
-                FutureUtils.resolveOrCancelFuture(dynamoDBClient.updateItem(request), dynamoDbRequestTimeout);
-            } catch (ExecutionException e) {
-                throw exceptionManager.apply(e.getCause());
-            } catch (InterruptedException e) {
-                throw new DependencyException(e);
+        return withRequestTimeout(dynamoDBClient.updateItem(request)).handle((response, throwable) -> {
+            if (throwable != null) {
+                if (FutureUtils.unwrap(throwable) instanceof ConditionalCheckFailedException) {
+                    log.debug(
+                            "Lease update failed for lease with key {} because the lease counter was not {}",
+                            lease.leaseKey(),
+                            lease.leaseCounter());
+                    return false;
+                }
+                throw new CompletionException(convertAsyncException("update", lease.leaseKey(), throwable));
             }
-        } catch (ConditionalCheckFailedException e) {
-            log.debug(
-                    "Lease update failed for lease with key {} because the lease counter was not {}",
-                    lease.leaseKey(),
-                    lease.leaseCounter());
-            return false;
-        } catch (DynamoDbException | TimeoutException e) {
-            throw convertAndRethrowExceptions("update", lease.leaseKey(), e);
-        }
 
-        lease.leaseCounter(lease.leaseCounter() + 1);
-        log.info("Updated lease {}.", lease.leaseKey());
-        return true;
+            lease.leaseCounter(lease.leaseCounter() + 1);
+            log.info("Updated lease {}.", lease.leaseKey());
+            return true;
+        });
     }
 
     @Override
@@ -1408,6 +2003,55 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
         return builder;
     }
 
+    private <T> CompletableFuture<T> withRequestTimeout(final CompletableFuture<T> future) {
+        return FutureUtils.withTimeout(future, dynamoDbRequestTimeout);
+    }
+
+    /**
+     * Converts the failure of an asynchronous request into the exception {@link #convertAndRethrowExceptions} throws
+     * for the failure of a synchronous request.
+     */
+    private Throwable convertAsyncException(final String operation, final String leaseKey, final Throwable throwable) {
+        final Throwable cause = FutureUtils.unwrap(throwable);
+        if (cause instanceof DependencyException
+                || cause instanceof InvalidStateException
+                || cause instanceof ProvisionedThroughputException) {
+            return cause;
+        }
+        if (cause instanceof DynamoDbException || cause instanceof TimeoutException) {
+            try {
+                return convertAndRethrowExceptions(operation, leaseKey, (Exception) cause);
+            } catch (ProvisionedThroughputException | InvalidStateException e) {
+                return e;
+            }
+        }
+        return new DependencyException(cause);
+    }
+
+    /**
+     * Waits for the future of an asynchronous lease operation, and throws the exception it failed with.
+     */
+    private static <T> T resolve(final CompletableFuture<T> future)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw new DependencyException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = FutureUtils.unwrap(e);
+            if (cause instanceof DependencyException) {
+                throw (DependencyException) cause;
+            } else if (cause instanceof InvalidStateException) {
+                throw (InvalidStateException) cause;
+            } else if (cause instanceof ProvisionedThroughputException) {
+                throw (ProvisionedThroughputException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new DependencyException(cause);
+        }
+    }
+
     private AWSExceptionManager createExceptionManager() {
         final AWSExceptionManager exceptionManager = new AWSExceptionManager();
         exceptionManager.add(DynamoDbException.class, t -> t);
@@ -1421,13 +2065,12 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
                 .build());
     }
 
-    private boolean handleGracefulShutdown(Lease lease, Lease ddbLease)
-            throws ProvisionedThroughputException, InvalidStateException, DependencyException {
+    private CompletableFuture<Boolean> handleGracefulShutdown(Lease lease, Lease ddbLease) {
         // Drop the lease if lease and updatedLease have different owners. This can happen if lease is taken
         // by someone else.
         if (!lease.actualOwner().equals(ddbLease.actualOwner())) {
             log.warn("Lease and updatedLease have different owners. Lease {}, updatedLease {}", lease, ddbLease);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         if (ddbLease.checkpointOwner().equals(ddbLease.leaseOwner())) {
             log.warn(
@@ -1435,7 +2078,7 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
                             + " this lease. Lease {}, updatedLease {}",
                     lease,
                     ddbLease);
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         // This updates the checkpointOwner and leaseOwner of the authoritative lease so the
         // thread handling the lease graceful shutdown can perform the shutdown logic by checking this signal.
@@ -1447,7 +2090,7 @@ public class DynamoDBLeaseRefresher implements LeaseRefresher {
                 lease.leaseOwner(),
                 lease.checkpointOwner());
         // Retry lease renewal after updating the in-memory lease with shutdown attributes
-        return renewLease(lease);
+        return renewLeaseAsync(lease);
     }
 
     // used by takeLease, evictLease and assignLease. These methods result in change in lease ownership so these
@@ -18,28 +18,38 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
+import com.google.common.collect.Lists;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.common.FutureUtils;
 import software.amazon.kinesis.common.StreamIdentifier;
+import software.amazon.kinesis.jfr.FlightRecorderEvents;
+import software.amazon.kinesis.jfr.TimedEvent;
 import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseRefresher;
 import software.amazon.kinesis.leases.LeaseRenewer;
@@ -80,7 +90,20 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
     private final LeaseStatsRecorder leaseStatsRecorder;
     private final Consumer<Lease> leaseGracefulShutdownCallback;
     private final int leaseTableScanTotalSegments;
+    private final int leaseRenewalBatchSize;
+    private final LeaseSnapshotFile leaseSnapshotFile;
+    /**
+     * Lease keys in the last written lease snapshot, the snapshot is only rewritten when the held leases change.
+     */
+    private Set<String> snapshotLeaseKeys = Collections.emptySet();
+
     private final ConcurrentNavigableMap<String, Lease> ownedLeases = new ConcurrentSkipListMap<>();
+    /**
+     * Renewals that have been sent to DynamoDB but whose result has not been applied to the held lease yet, keyed by
+     * lease key. Entries are added and removed while holding the lock of the lease, so {@link #updateLease} can wait
+     * for them instead of racing its own conditional write against the renewal.
+     */
+    private final ConcurrentMap<String, CompletableFuture<Boolean>> renewalsInFlight = new ConcurrentHashMap<>();
 
     /**
      * Constructor.
@@ -103,6 +126,72 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
             final LeaseStatsRecorder leaseStatsRecorder,
             final Consumer<Lease> leaseGracefulShutdownCallback,
             final int leaseTableScanTotalSegments) {
+        this(
+                leaseRefresher,
+                workerIdentifier,
+                leaseDurationMillis,
+                executorService,
+                metricsFactory,
+                leaseStatsRecorder,
+                leaseGracefulShutdownCallback,
+                leaseTableScanTotalSegments,
+                0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param leaseRefresher
+     *            LeaseRefresher to use
+     * @param workerIdentifier
+     *            identifier of this worker
+     * @param leaseDurationMillis
+     *            duration of a lease in milliseconds
+     * @param executorService
+     *            ExecutorService to use for renewing leases in parallel
+     * @param leaseRenewalBatchSize
+     *            number of leases renewed together with {@link LeaseRefresher#batchRenewLeases(List)}, 0 renews each
+     *            lease with its own request
+     */
+    public DynamoDBLeaseRenewer(
+            final LeaseRefresher leaseRefresher,
+            final String workerIdentifier,
+            final long leaseDurationMillis,
+            final ExecutorService executorService,
+            final MetricsFactory metricsFactory,
+            final LeaseStatsRecorder leaseStatsRecorder,
+            final Consumer<Lease> leaseGracefulShutdownCallback,
+            final int leaseTableScanTotalSegments,
+            final int leaseRenewalBatchSize) {
+        this(
+                leaseRefresher,
+                workerIdentifier,
+                leaseDurationMillis,
+                executorService,
+                metricsFactory,
+                leaseStatsRecorder,
+                leaseGracefulShutdownCallback,
+                leaseTableScanTotalSegments,
+                leaseRenewalBatchSize,
+                null);
+    }
+
+    /**
+     * @param leaseSnapshotFile
+     *            snapshot of the held leases, read by {@link #initialize()} instead of scanning the lease table and
+     *            rewritten whenever the held leases change. Null disables the snapshot.
+     */
+    public DynamoDBLeaseRenewer(
+            final LeaseRefresher leaseRefresher,
+            final String workerIdentifier,
+            final long leaseDurationMillis,
+            final ExecutorService executorService,
+            final MetricsFactory metricsFactory,
+            final LeaseStatsRecorder leaseStatsRecorder,
+            final Consumer<Lease> leaseGracefulShutdownCallback,
+            final int leaseTableScanTotalSegments,
+            final int leaseRenewalBatchSize,
+            final LeaseSnapshotFile leaseSnapshotFile) {
         this.leaseRefresher = leaseRefresher;
         this.workerIdentifier = workerIdentifier;
         this.leaseDurationNanos = TimeUnit.MILLISECONDS.toNanos(leaseDurationMillis);
@@ -111,6 +200,8 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
         this.leaseStatsRecorder = leaseStatsRecorder;
         this.leaseGracefulShutdownCallback = leaseGracefulShutdownCallback;
         this.leaseTableScanTotalSegments = leaseTableScanTotalSegments;
+        this.leaseRenewalBatchSize = leaseRenewalBatchSize;
+        this.leaseSnapshotFile = leaseSnapshotFile;
     }
 
     /**
@@ -139,13 +230,38 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
              * to getCurrentlyHeldLeases. They'll still cross paths, but they won't interleave their executions.
              */
             int lostLeases = 0;
-            List<Future<Boolean>> renewLeaseTasks = new ArrayList<>();
-            for (Lease lease : ownedLeases.descendingMap().values()) {
-                renewLeaseTasks.add(executorService.submit(new RenewLeaseTask(lease)));
-            }
             int leasesInUnknownState = 0;
             Exception lastException = null;
-            for (Future<Boolean> renewLeaseTask : renewLeaseTasks) {
+            Collection<Lease> leasesToRenew = ownedLeases.descendingMap().values();
+            if (leaseRenewalBatchSize > 0) {
+                final List<List<Lease>> batches =
+                        Lists.partition(new ArrayList<>(leasesToRenew), leaseRenewalBatchSize);
+                final List<Future<List<Lease>>> renewLeaseBatchTasks = new ArrayList<>();
+                for (List<Lease> leaseBatch : batches) {
+                    renewLeaseBatchTasks.add(executorService.submit(() -> renewLeaseBatch(leaseBatch)));
+                }
+                // Leases the batches could not renew are renewed one at a time, which tells lost leases apart from
+                // leases whose renewal conflicted with another write.
+                leasesToRenew = new ArrayList<>();
+                for (int i = 0; i < renewLeaseBatchTasks.size(); i++) {
+                    try {
+                        leasesToRenew.addAll(renewLeaseBatchTasks.get(i).get());
+                    } catch (InterruptedException e) {
+                        log.info("Interrupted while waiting for a batch of leases to renew.");
+                        leasesInUnknownState += batches.get(i).size();
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException e) {
+                        log.error("Encountered an exception while renewing a batch of leases.", e.getCause());
+                        leasesInUnknownState += batches.get(i).size();
+                        lastException = e;
+                    }
+                }
+            }
+            final List<CompletableFuture<Boolean>> renewLeaseTasks = new ArrayList<>();
+            for (Lease lease : leasesToRenew) {
+                renewLeaseTasks.add(renewLeaseAsync(lease, false));
+            }
+            for (CompletableFuture<Boolean> renewLeaseTask : renewLeaseTasks) {
                 try {
                     if (!renewLeaseTask.get()) {
                         lostLeases++;
@@ -163,6 +279,7 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
 
             scope.addData("LostLeases", lostLeases, StandardUnit.COUNT, MetricsLevel.SUMMARY);
             scope.addData("CurrentLeases", ownedLeases.size(), StandardUnit.COUNT, MetricsLevel.SUMMARY);
+            writeLeaseSnapshotIfChanged();
             if (leasesInUnknownState > 0) {
                 throw new DependencyException(
                         String.format(
@@ -178,18 +295,103 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
         }
     }
 
-    @RequiredArgsConstructor
-    private class RenewLeaseTask implements Callable<Boolean> {
-        private final Lease lease;
+    /**
+     * Renews a batch of leases with {@link LeaseRefresher#batchRenewLeases(List)}. The refresher renews copies of the
+     * leases, and the renewals are applied to the held leases afterwards, so no lease is locked while the batch is
+     * written.
+     *
+     * @param leases leases to renew
+     * @return leases that were not renewed by the batch and need to be renewed one at a time
+     */
+    private List<Lease> renewLeaseBatch(final List<Lease> leases) {
+        final MetricsScope scope = MetricsUtil.createMetricsWithOperation(metricsFactory, RENEW_ALL_LEASES_DIMENSION);
+        MetricsUtil.addWorkerIdentifier(scope, workerIdentifier);
 
-        @Override
-        public Boolean call() throws Exception {
-            return renewLease(lease);
+        final List<Lease> leasesToRenewIndividually = new ArrayList<>();
+        final Map<String, Lease> leaseCopies = new HashMap<>();
+        final Map<String, CompletableFuture<Boolean>> renewals = new HashMap<>();
+        final Map<String, TimedEvent> renewLeaseEvents = new HashMap<>();
+        for (Lease lease : leases) {
+            synchronized (lease) {
+                if (!isCheckpointOwner(lease) || lease.isExpired(leaseDurationNanos, System.nanoTime())) {
+                    leasesToRenewIndividually.add(lease);
+                    continue;
+                }
+                final Double throughputPerKBps = this.leaseStatsRecorder.getThroughputKBps(lease.leaseKey());
+                if (nonNull(throughputPerKBps)) {
+                    lease.throughputKBps(BigDecimal.valueOf(throughputPerKBps)
+                            .setScale(DEFAULT_THROUGHPUT_DIGIT_AFTER_DECIMAL, RoundingMode.HALF_UP)
+                            .doubleValue());
+                }
+                final Lease leaseCopy = lease.copy();
+                leaseCopy.throughputKBps(lease.throughputKBps());
+                leaseCopies.put(lease.leaseKey(), leaseCopy);
+                final TimedEvent renewLeaseEvent = FlightRecorderEvents.beginRenewLease();
+                if (renewLeaseEvent != null) {
+                    renewLeaseEvents.put(lease.leaseKey(), renewLeaseEvent);
+                }
+                final CompletableFuture<Boolean> renewal = new CompletableFuture<>();
+                renewals.put(lease.leaseKey(), renewal);
+                renewalsInFlight.put(lease.leaseKey(), renewal);
+            }
         }
-    }
 
-    private boolean renewLease(Lease lease) throws DependencyException, InvalidStateException {
-        return renewLease(lease, false);
+        boolean success = false;
+        final long startTime = System.currentTimeMillis();
+        try {
+            final Set<String> renewedLeaseKeys = leaseCopies.isEmpty()
+                    ? Collections.emptySet()
+                    : leaseRefresher.batchRenewLeases(new ArrayList<>(leaseCopies.values()));
+            for (Lease lease : leases) {
+                final Lease leaseCopy = leaseCopies.get(lease.leaseKey());
+                if (leaseCopy == null) {
+                    continue;
+                }
+                if (!renewedLeaseKeys.contains(lease.leaseKey())) {
+                    leasesToRenewIndividually.add(lease);
+                    continue;
+                }
+                synchronized (lease) {
+                    // A changed counter means the lease was updated or taken while the batch was being written, in
+                    // which case that update has already dealt with the lease.
+                    if (leaseCopy.leaseCounter().equals(lease.leaseCounter())) {
+                        lease.leaseCounter(lease.leaseCounter() + 1);
+                        lease.lastCounterIncrementNanos(System.nanoTime());
+                        if (lease.shutdownRequested()) {
+                            // the underlying function will dedup
+                            leaseGracefulShutdownCallback.accept(lease.copy());
+                        }
+                    }
+                    completeRenewal(lease.leaseKey(), renewals.remove(lease.leaseKey()), true);
+                }
+                FlightRecorderEvents.renewLease(renewLeaseEvents.get(lease.leaseKey()), lease, true);
+            }
+            success = true;
+        } catch (DependencyException | InvalidStateException | ProvisionedThroughputException e) {
+            log.warn(
+                    "Worker {} could not renew a batch of {} leases, renewing them individually",
+                    workerIdentifier,
+                    leaseCopies.size(),
+                    e);
+            for (Lease lease : leases) {
+                if (leaseCopies.containsKey(lease.leaseKey())) {
+                    leasesToRenewIndividually.add(lease);
+                }
+            }
+        } finally {
+            // leases the batch did not renew are released before they are renewed individually
+            for (Map.Entry<String, CompletableFuture<Boolean>> renewal : renewals.entrySet()) {
+                completeRenewal(renewal.getKey(), renewal.getValue(), false);
+            }
+            scope.addData(
+                    "BatchRenewLeases.IndividualRenewals",
+                    leasesToRenewIndividually.size(),
+                    StandardUnit.COUNT,
+                    MetricsLevel.DETAILED);
+            MetricsUtil.addSuccessAndLatency(scope, "BatchRenewLeases", success, startTime, MetricsLevel.DETAILED);
+            MetricsUtil.endScope(scope);
+        }
+        return leasesToRenewIndividually;
     }
 
     private boolean isCheckpointOwner(Lease lease) {
@@ -204,79 +406,163 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
         return workerIdentifier.equals(lease.checkpointOwner()) && !workerIdentifier.equals(lease.leaseOwner());
     }
 
-    private boolean renewLease(Lease lease, boolean renewEvenIfExpired)
-            throws DependencyException, InvalidStateException {
-        String leaseKey = lease.leaseKey();
+    private void completeRenewal(
+            final String leaseKey, final CompletableFuture<Boolean> renewal, final boolean renewedLease) {
+        renewalsInFlight.remove(leaseKey, renewal);
+        renewal.complete(renewedLease);
+    }
+
+    /**
+     * Renews a lease with {@link LeaseRefresher#renewLeaseAsync(Lease)}. A copy of the lease is renewed, and the
+     * renewal is applied to the held lease when the request completes, so neither the lease nor the calling thread is
+     * held while DynamoDB is written.
+     *
+     * @param lease lease to renew
+     * @param renewEvenIfExpired true if the lease is renewed even if it has expired
+     * @return a future that completes with false if the lease was lost or could not be renewed due to capacity
+     */
+    private CompletableFuture<Boolean> renewLeaseAsync(final Lease lease, final boolean renewEvenIfExpired) {
+        final String leaseKey = lease.leaseKey();
 
         final MetricsScope scope = MetricsUtil.createMetricsWithOperation(metricsFactory, RENEW_ALL_LEASES_DIMENSION);
         MetricsUtil.addWorkerIdentifier(scope, workerIdentifier);
 
-        boolean success = false;
-        boolean renewedLease = false;
-        long startTime = System.currentTimeMillis();
-        try {
-            // Check if this worker should be responsible for renewing this lease
-            if (!isCheckpointOwner(lease)) {
-                log.warn(
-                        "Worker {} not renewing shutdown-requested lease {} with checkpointOwner {}",
-                        workerIdentifier,
-                        lease,
-                        lease.checkpointOwner());
-                ownedLeases.remove(leaseKey);
-                return false;
+        final long startTime = System.currentTimeMillis();
+        final TimedEvent renewLeaseEvent = FlightRecorderEvents.beginRenewLease();
+
+        // Check if this worker should be responsible for renewing this lease
+        if (!isCheckpointOwner(lease)) {
+            log.warn(
+                    "Worker {} not renewing shutdown-requested lease {} with checkpointOwner {}",
+                    workerIdentifier,
+                    lease,
+                    lease.checkpointOwner());
+            ownedLeases.remove(leaseKey);
+            endRenewLeaseScope(scope, lease, false, startTime, renewLeaseEvent, false);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        final CompletableFuture<Boolean> renewal = new CompletableFuture<>();
+        final Lease leaseCopy;
+        final Long leaseCounter;
+        synchronized (lease) {
+            // Don't renew expired lease during regular renewals. getCopyOfHeldLease may have returned null
+            // triggering the application processing to treat this as a lost lease (fail checkpoint with
+            // ShutdownException).
+            boolean isLeaseExpired = lease.isExpired(leaseDurationNanos, System.nanoTime());
+            if (renewEvenIfExpired || !isLeaseExpired) {
+                final Double throughputPerKBps = this.leaseStatsRecorder.getThroughputKBps(leaseKey);
+                if (nonNull(throughputPerKBps)) {
+                    lease.throughputKBps(BigDecimal.valueOf(throughputPerKBps)
+                            .setScale(DEFAULT_THROUGHPUT_DIGIT_AFTER_DECIMAL, RoundingMode.HALF_UP)
+                            .doubleValue());
+                }
+                leaseCopy = lease.copy();
+                leaseCopy.throughputKBps(lease.throughputKBps());
+                leaseCounter = lease.leaseCounter();
+                renewalsInFlight.put(leaseKey, renewal);
+            } else {
+                if (lease.shutdownRequested()) {
+                    // the underlying function will dedup
+                    leaseGracefulShutdownCallback.accept(lease.copy());
+                }
+                leaseCopy = null;
+                leaseCounter = null;
             }
+        }
+        if (leaseCopy == null) {
+            log.info("Worker {} lost lease with key {}", workerIdentifier, leaseKey);
+            ownedLeases.remove(leaseKey);
+            endRenewLeaseScope(scope, lease, true, startTime, renewLeaseEvent, false);
+            return CompletableFuture.completedFuture(false);
+        }
 
-            for (int i = 1; i <= RENEWAL_RETRIES; i++) {
-                try {
-                    synchronized (lease) {
-                        // Don't renew expired lease during regular renewals. getCopyOfHeldLease may have returned null
-                        // triggering the application processing to treat this as a lost lease (fail checkpoint with
-                        // ShutdownException).
-                        boolean isLeaseExpired = lease.isExpired(leaseDurationNanos, System.nanoTime());
-                        if (renewEvenIfExpired || !isLeaseExpired) {
-                            final Double throughputPerKBps = this.leaseStatsRecorder.getThroughputKBps(leaseKey);
-                            if (nonNull(throughputPerKBps)) {
-                                lease.throughputKBps(BigDecimal.valueOf(throughputPerKBps)
-                                        .setScale(DEFAULT_THROUGHPUT_DIGIT_AFTER_DECIMAL, RoundingMode.HALF_UP)
-                                        .doubleValue());
-                            }
-                            renewedLease = leaseRefresher.renewLease(lease);
-                        }
-                        if (renewedLease) {
-                            lease.lastCounterIncrementNanos(System.nanoTime());
-                        }
-                        if (lease.shutdownRequested()) {
-                            // the underlying function will dedup
-                            leaseGracefulShutdownCallback.accept(lease.copy());
-                        }
+        renewLeaseCopyAsync(leaseCopy, 1).whenComplete((renewed, throwable) -> {
+            boolean success = false;
+            boolean renewedLease = false;
+            try {
+                if (throwable == null) {
+                    renewedLease = renewed;
+                    success = true;
+                } else if (!(FutureUtils.unwrap(throwable) instanceof ProvisionedThroughputException)) {
+                    return;
+                }
+                synchronized (lease) {
+                    // A changed counter means the lease was updated or taken while the renewal was being written, in
+                    // which case that update has already dealt with the lease.
+                    if (renewedLease && leaseCounter.equals(lease.leaseCounter())) {
+                        lease.leaseCounter(leaseCopy.leaseCounter());
+                        lease.leaseOwner(leaseCopy.leaseOwner());
+                        lease.checkpointOwner(leaseCopy.checkpointOwner());
+                        lease.lastCounterIncrementNanos(System.nanoTime());
                     }
-
-                    if (renewedLease) {
-                        if (log.isDebugEnabled()) {
-                            log.debug("Worker {} successfully renewed lease with key {}", workerIdentifier, leaseKey);
-                        }
-                    } else {
-                        log.info("Worker {} lost lease with key {}", workerIdentifier, leaseKey);
-                        ownedLeases.remove(leaseKey);
+                    if (lease.shutdownRequested() || leaseCopy.shutdownRequested()) {
+                        // the underlying function will dedup
+                        leaseGracefulShutdownCallback.accept(lease.copy());
                     }
+                    renewalsInFlight.remove(leaseKey, renewal);
+                }
 
-                    success = true;
-                    break;
-                } catch (ProvisionedThroughputException e) {
-                    log.info(
-                            "Worker {} could not renew lease with key {} on try {} out of {} due to capacity",
-                            workerIdentifier,
-                            leaseKey,
-                            i,
-                            RENEWAL_RETRIES);
+                if (renewedLease) {
+                    if (log.isDebugEnabled()) {
+                        log.debug("Worker {} successfully renewed lease with key {}", workerIdentifier, leaseKey);
+                    }
+                } else if (success) {
+                    log.info("Worker {} lost lease with key {}", workerIdentifier, leaseKey);
+                    ownedLeases.remove(leaseKey);
+                }
+            } finally {
+                endRenewLeaseScope(scope, lease, success, startTime, renewLeaseEvent, renewedLease);
+                if (success || throwable == null) {
+                    renewal.complete(renewedLease);
+                } else if (FutureUtils.unwrap(throwable) instanceof ProvisionedThroughputException) {
+                    renewal.complete(false);
+                } else {
+                    renewalsInFlight.remove(leaseKey, renewal);
+                    renewal.completeExceptionally(FutureUtils.unwrap(throwable));
                 }
             }
-        } finally {
-            MetricsUtil.addSuccessAndLatency(scope, "RenewLease", success, startTime, MetricsLevel.DETAILED);
-            MetricsUtil.endScope(scope);
-        }
+        });
+        return renewal;
+    }
 
-        return renewedLease;
+    /**
+     * Renews the copy of a held lease, retrying up to {@link #RENEWAL_RETRIES} times if DynamoDB is out of capacity.
+     */
+    private CompletableFuture<Boolean> renewLeaseCopyAsync(final Lease leaseCopy, final int attempt) {
+        return leaseRefresher
+                .renewLeaseAsync(leaseCopy)
+                .handle((renewed, throwable) -> {
+                    if (throwable == null) {
+                        return CompletableFuture.completedFuture(renewed);
+                    }
+                    final Throwable cause = FutureUtils.unwrap(throwable);
+                    if (cause instanceof ProvisionedThroughputException) {
+                        log.info(
+                                "Worker {} could not renew lease with key {} on try {} out of {} due to capacity",
+                                workerIdentifier,
+                                leaseCopy.leaseKey(),
+                                attempt,
+                                RENEWAL_RETRIES);
+                        if (attempt < RENEWAL_RETRIES) {
+                            return renewLeaseCopyAsync(leaseCopy, attempt + 1);
+                        }
+                    }
+                    return FutureUtils.<Boolean>failedFuture(cause);
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private void endRenewLeaseScope(
+            final MetricsScope scope,
+            final Lease lease,
+            final boolean success,
+            final long startTime,
+            final TimedEvent renewLeaseEvent,
+            final boolean renewedLease) {
+        MetricsUtil.addSuccessAndLatency(scope, "RenewLease", success, startTime, MetricsLevel.DETAILED);
+        MetricsUtil.endScope(scope);
+        FlightRecorderEvents.renewLease(renewLeaseEvent, lease, renewedLease);
     }
 
     /**
@@ -380,47 +666,54 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
         boolean success = false;
         try {
             log.debug("Updating lease from {} to {}", authoritativeLease, lease);
-            synchronized (authoritativeLease) {
-                Lease authoritativeLeaseCopy = authoritativeLease.copy();
-                try {
-                    authoritativeLease.update(lease);
-                    boolean updatedLease = leaseRefresher.updateLease(authoritativeLease);
-                    if (updatedLease) {
-                        // Updates increment the counter
-                        authoritativeLease.lastCounterIncrementNanos(System.nanoTime());
-                    } else {
-                        /*
-                         * If updateLease returns false, it means someone took the lease from us. Remove the lease
-                         * from our set of owned leases pro-actively rather than waiting for a run of renewLeases().
-                         */
-                        log.info(
-                                "Worker {} lost lease with key {} - discovered during update",
-                                workerIdentifier,
-                                leaseKey);
-                        /*
-                         * Remove only if the value currently in the map is the same as the authoritative lease. We're
-                         * guarding against a pause after the concurrency token check above. It plays out like so:
-                         *
-                         * 1) Concurrency token check passes
-                         * 2) Pause. Lose lease, re-acquire lease. This requires at least one lease counter update.
-                         * 3) Unpause. leaseRefresher.updateLease fails conditional write due to counter updates, returns
-                         * false.
-                         * 4) ownedLeases.remove(key, value) doesn't do anything because authoritativeLease does not
-                         * .equals() the re-acquired version in the map on the basis of lease counter. This is what we want.
-                         * If we just used ownedLease.remove(key), we would have pro-actively removed a lease incorrectly.
-                         *
-                         * Note that there is a subtlety here - Lease.equals() deliberately does not check the concurrency
-                         * token, but it does check the lease counter, so this scheme works.
-                         */
-                        ownedLeases.remove(leaseKey, authoritativeLease);
+            while (true) {
+                awaitRenewalInFlight(leaseKey);
+                synchronized (authoritativeLease) {
+                    if (renewalsInFlight.containsKey(leaseKey)) {
+                        // a renewal started after the wait above, wait for it too
+                        continue;
                     }
+                    Lease authoritativeLeaseCopy = authoritativeLease.copy();
+                    try {
+                        authoritativeLease.update(lease);
+                        boolean updatedLease = leaseRefresher.updateLease(authoritativeLease);
+                        if (updatedLease) {
+                            // Updates increment the counter
+                            authoritativeLease.lastCounterIncrementNanos(System.nanoTime());
+                        } else {
+                            /*
+                             * If updateLease returns false, it means someone took the lease from us. Remove the lease
+                             * from our set of owned leases pro-actively rather than waiting for a run of renewLeases().
+                             */
+                            log.info(
+                                    "Worker {} lost lease with key {} - discovered during update",
+                                    workerIdentifier,
+                                    leaseKey);
+                            /*
+                             * Remove only if the value currently in the map is the same as the authoritative lease. We're
+                             * guarding against a pause after the concurrency token check above. It plays out like so:
+                             *
+                             * 1) Concurrency token check passes
+                             * 2) Pause. Lose lease, re-acquire lease. This requires at least one lease counter update.
+                             * 3) Unpause. leaseRefresher.updateLease fails conditional write due to counter updates, returns
+                             * false.
+                             * 4) ownedLeases.remove(key, value) doesn't do anything because authoritativeLease does not
+                             * .equals() the re-acquired version in the map on the basis of lease counter. This is what we want.
+                             * If we just used ownedLease.remove(key), we would have pro-actively removed a lease incorrectly.
+                             *
+                             * Note that there is a subtlety here - Lease.equals() deliberately does not check the concurrency
+                             * token, but it does check the lease counter, so this scheme works.
+                             */
+                            ownedLeases.remove(leaseKey, authoritativeLease);
+                        }
 
-                    success = true;
-                    return updatedLease;
-                } catch (ProvisionedThroughputException | InvalidStateException | DependencyException e) {
-                    // On failure in updating DDB, revert changes to in memory lease
-                    authoritativeLease.update(authoritativeLeaseCopy);
-                    throw e;
+                        success = true;
+                        return updatedLease;
+                    } catch (ProvisionedThroughputException | InvalidStateException | DependencyException e) {
+                        // On failure in updating DDB, revert changes to in memory lease
+                        authoritativeLease.update(authoritativeLeaseCopy);
+                        throw e;
+                    }
                 }
             }
         } finally {
@@ -429,6 +722,25 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
         }
     }
 
+    /**
+     * Waits for the renewal of a lease that is being written to DynamoDB, if there is one. The result of the renewal
+     * doesn't matter to the caller, which reads the held lease afterwards.
+     */
+    private void awaitRenewalInFlight(final String leaseKey) throws DependencyException {
+        final CompletableFuture<Boolean> renewal = renewalsInFlight.get(leaseKey);
+        if (renewal == null) {
+            return;
+        }
+        try {
+            renewal.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DependencyException("Interrupted while waiting for the renewal of lease " + leaseKey, e);
+        } catch (ExecutionException e) {
+            log.debug("Renewal of lease {} failed before the lease was updated", leaseKey, e.getCause());
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -466,9 +778,22 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
      */
     @Override
     public void clearCurrentlyHeldLeases() {
+        // Keep the leases held until the stop in the snapshot, a restarted worker renews the ones it still owns.
+        writeLeaseSnapshotIfChanged();
         ownedLeases.clear();
     }
 
+    private synchronized void writeLeaseSnapshotIfChanged() {
+        if (leaseSnapshotFile == null) {
+            return;
+        }
+        final Set<String> leaseKeys = new LinkedHashSet<>(ownedLeases.keySet());
+        if (!leaseKeys.equals(snapshotLeaseKeys)) {
+            leaseSnapshotFile.write(leaseKeys);
+            snapshotLeaseKeys = leaseKeys;
+        }
+    }
+
     /**
      * {@inheritDoc}
      * @param lease the lease to drop.
@@ -485,20 +810,34 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
     @Override
     public void initialize() throws DependencyException, InvalidStateException, ProvisionedThroughputException {
         final MetricsScope scope = MetricsUtil.createMetricsWithOperation(metricsFactory, LEASE_RENEWER_INITIALIZE);
-        final ExecutorService parallelScanExecutorService = Executors.newCachedThreadPool();
         boolean success = false;
         try {
-            final Map.Entry<List<Lease>, List<String>> response =
-                    leaseRefresher.listLeasesParallely(parallelScanExecutorService, leaseTableScanTotalSegments);
+            final List<Lease> leases;
+            final Optional<Set<String>> leaseKeysInSnapshot =
+                    leaseSnapshotFile == null ? Optional.empty() : leaseSnapshotFile.read();
+            if (leaseKeysInSnapshot.isPresent()) {
+                // Leases this worker got assigned after the snapshot was written are found by the lease discovery.
+                log.info(
+                        "Worker {} reading {} leases from the lease snapshot",
+                        workerIdentifier,
+                        leaseKeysInSnapshot.get().size());
+                leases = leaseRefresher.batchGetLeases(leaseKeysInSnapshot.get());
+                MetricsUtil.addCount(scope, "SnapshotLeases", leases.size(), MetricsLevel.SUMMARY);
+            } else {
+                final Map.Entry<List<Lease>, List<String>> response = leaseRefresher
+                        .listLeasesParallelyAsync(leaseTableScanTotalSegments)
+                        .get();
 
-            if (!response.getValue().isEmpty()) {
-                log.warn("List of leaseKeys failed to deserialize : {} ", response.getValue());
+                if (!response.getValue().isEmpty()) {
+                    log.warn("List of leaseKeys failed to deserialize : {} ", response.getValue());
+                }
+                leases = response.getKey();
             }
 
-            final List<Lease> myLeases = new LinkedList<>();
+            final Map<Lease, CompletableFuture<Boolean>> renewals = new LinkedHashMap<>();
             boolean renewEvenIfExpired = true;
 
-            for (Lease lease : response.getKey()) {
+            for (Lease lease : leases) {
                 if (workerIdentifier.equals(lease.leaseOwner())) {
                     // Skip leases in pending checkpoint state - they're still being shut down by previous owner
                     // If previous owner is unable to shutdown the lease, the leader will reassign it. If leaseTaker
@@ -515,14 +854,19 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
                     // could
                     // continue renewing a lease after signaling a lease loss to the application.
 
-                    if (renewLease(lease, renewEvenIfExpired)) {
-                        myLeases.add(lease);
-                    }
+                    renewals.put(lease, renewLeaseAsync(lease, renewEvenIfExpired));
                 } else {
                     log.debug("Worker {} ignoring lease {} ", workerIdentifier, lease);
                 }
             }
 
+            final List<Lease> myLeases = new LinkedList<>();
+            for (Map.Entry<Lease, CompletableFuture<Boolean>> renewal : renewals.entrySet()) {
+                if (renewal.getValue().get()) {
+                    myLeases.add(renewal.getKey());
+                }
+            }
+
             addLeasesToRenew(myLeases);
             success = true;
         } catch (final Exception e) {
@@ -530,7 +874,6 @@ public class DynamoDBLeaseRenewer implements LeaseRenewer {
             // care of reassignment if some lease is expired.
             log.warn("LeaseRefresher failed in initialization during renewing of pre assigned leases", e);
         } finally {
-            parallelScanExecutorService.shutdown();
             MetricsUtil.addCount(scope, "Fault", success ? 0 : 1, MetricsLevel.DETAILED);
             MetricsUtil.endScope(scope);
         }
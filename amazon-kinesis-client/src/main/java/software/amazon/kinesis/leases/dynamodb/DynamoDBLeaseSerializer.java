@@ -15,6 +15,7 @@
 package software.amazon.kinesis.leases.dynamodb;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -47,8 +48,8 @@ import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
 @KinesisClientInternalApi
 @Slf4j
 public class DynamoDBLeaseSerializer implements LeaseSerializer {
-    private static final String LEASE_COUNTER_KEY = "leaseCounter";
-    private static final String OWNER_SWITCHES_KEY = "ownerSwitchesSinceCheckpoint";
+    static final String LEASE_COUNTER_KEY = "leaseCounter";
+    static final String OWNER_SWITCHES_KEY = "ownerSwitchesSinceCheckpoint";
     private static final String CHECKPOINT_SUBSEQUENCE_NUMBER_KEY = "checkpointSubSequenceNumber";
     private static final String PENDING_CHECKPOINT_SEQUENCE_KEY = "pendingCheckpoint";
     private static final String PENDING_CHECKPOINT_SUBSEQUENCE_KEY = "pendingCheckpointSubSequenceNumber";
@@ -185,6 +186,46 @@ public class DynamoDBLeaseSerializer implements LeaseSerializer {
         return null;
     }
 
+    @Override
+    public Lease leaseViewFromDynamoRecord(final Map<String, AttributeValue> dynamoRecord) {
+        return leaseViewFromDynamoRecord(dynamoRecord, new Lease());
+    }
+
+    Lease leaseViewFromDynamoRecord(final Map<String, AttributeValue> dynamoRecord, final Lease leaseToUpdate) {
+        final String entityType = DynamoUtils.safeGetString(dynamoRecord, ENTITY_TYPE_ATTRIBUTE_NAME);
+        if (entityType != null && !EntityType.LEASE.getDdbValue().equals(entityType)) {
+            log.debug("dynamoRecord is not a Lease entity {}", dynamoRecord);
+            return null;
+        }
+        leaseToUpdate.leaseKey(DynamoUtils.safeGetString(dynamoRecord, LEASE_KEY_KEY));
+        leaseToUpdate.leaseOwner(DynamoUtils.safeGetString(dynamoRecord, LEASE_OWNER_KEY));
+        leaseToUpdate.leaseCounter(DynamoUtils.safeGetLong(dynamoRecord, LEASE_COUNTER_KEY));
+        leaseToUpdate.ownerSwitchesSinceCheckpoint(DynamoUtils.safeGetLong(dynamoRecord, OWNER_SWITCHES_KEY));
+        leaseToUpdate.checkpoint(new ExtendedSequenceNumber(
+                DynamoUtils.safeGetString(dynamoRecord, CHECKPOINT_SEQUENCE_NUMBER_KEY),
+                DynamoUtils.safeGetLong(dynamoRecord, CHECKPOINT_SUBSEQUENCE_NUMBER_KEY)));
+        final Double throughputKBps = DynamoUtils.safeGetDouble(dynamoRecord, THROUGHPUT_KBPS);
+        if (throughputKBps != null) {
+            leaseToUpdate.throughputKBps(throughputKBps);
+        }
+        leaseToUpdate.checkpointOwner(DynamoUtils.safeGetString(dynamoRecord, CHECKPOINT_OWNER));
+        return leaseToUpdate;
+    }
+
+    @Override
+    public Collection<String> getLeaseViewAttributes() {
+        return new ArrayList<>(Arrays.asList(
+                LEASE_KEY_KEY,
+                ENTITY_TYPE_ATTRIBUTE_NAME,
+                LEASE_OWNER_KEY,
+                LEASE_COUNTER_KEY,
+                OWNER_SWITCHES_KEY,
+                CHECKPOINT_SEQUENCE_NUMBER_KEY,
+                CHECKPOINT_SUBSEQUENCE_NUMBER_KEY,
+                THROUGHPUT_KBPS,
+                CHECKPOINT_OWNER));
+    }
+
     @Override
     public Map<String, AttributeValue> getDynamoHashKey(final String leaseKey) {
         Map<String, AttributeValue> result = new HashMap<>();
@@ -464,6 +505,25 @@ public class DynamoDBLeaseSerializer implements LeaseSerializer {
         return keySchema;
     }
 
+    @Override
+    public Collection<String> getLeaseOwnerToLeaseIndexNonKeyAttributes() {
+        return new ArrayList<>(Arrays.asList(
+                ENTITY_TYPE_ATTRIBUTE_NAME,
+                LEASE_COUNTER_KEY,
+                OWNER_SWITCHES_KEY,
+                CHECKPOINT_SEQUENCE_NUMBER_KEY,
+                CHECKPOINT_SUBSEQUENCE_NUMBER_KEY,
+                PENDING_CHECKPOINT_SEQUENCE_KEY,
+                PENDING_CHECKPOINT_SUBSEQUENCE_KEY,
+                PENDING_CHECKPOINT_STATE_KEY,
+                PARENT_SHARD_ID_KEY,
+                CHILD_SHARD_IDS_KEY,
+                STARTING_HASH_KEY,
+                ENDING_HASH_KEY,
+                THROUGHPUT_KBPS,
+                CHECKPOINT_OWNER));
+    }
+
     @Override
     public Collection<AttributeDefinition> getWorkerIdToLeaseKeyIndexAttributeDefinitions() {
         final List<AttributeDefinition> definitions = new ArrayList<>();
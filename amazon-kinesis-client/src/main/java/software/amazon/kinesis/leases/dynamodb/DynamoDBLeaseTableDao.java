@@ -16,17 +16,24 @@ package software.amazon.kinesis.leases.dynamodb;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
@@ -45,9 +52,12 @@ import software.amazon.kinesis.leases.EntityDAO;
 import software.amazon.kinesis.leases.EntityType;
 import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseSerializer;
+import software.amazon.kinesis.leases.dynamodb.LeaseTableScanSegmentResolver.SegmentScan;
 import software.amazon.kinesis.leases.exceptions.DependencyException;
 import software.amazon.kinesis.leases.exceptions.InvalidStateException;
 import software.amazon.kinesis.leases.exceptions.ProvisionedThroughputException;
+import software.amazon.kinesis.metrics.MetricsFactory;
+import software.amazon.kinesis.metrics.NullMetricsFactory;
 import software.amazon.kinesis.worker.metricstats.WorkerMetricStats;
 
 /**
@@ -56,7 +66,8 @@ import software.amazon.kinesis.worker.metricstats.WorkerMetricStats;
  *
  * <p>Delegates deserialization to the appropriate existing DAO:
  * <ul>
- *   <li>Lease entities → {@link LeaseSerializer#fromDynamoRecord(Map)}</li>
+ *   <li>Lease entities → {@link LeaseSerializer#fromDynamoRecord(Map)}, or
+ *   {@link LeaseSerializer#leaseViewFromDynamoRecord(Map)} for scans limited to leases and worker metric stats</li>
  *   <li>CoordinatorState entities → {@link CoordinatorStateDAODelegate#fromDynamoRecord(Map)}</li>
  *   <li>WorkerMetricStats entities → DynamoDB Enhanced Client {@link TableSchema}</li>
  * </ul>
@@ -64,13 +75,17 @@ import software.amazon.kinesis.worker.metricstats.WorkerMetricStats;
  * <p>Records without an entityType attribute are treated as {@link EntityType#LEASE}.</p>
  *
  * <p>Uses a parallel scan pattern similar to
- * {@code DynamoDBLeaseRefresher.listLeasesParallely} for throughput.</p>
+ * {@code DynamoDBLeaseRefresher.listLeasesParallely} for throughput. The number of segments is planned by a
+ * {@link LeaseTableScanSegmentResolver} from the table size and the latency of previous scans.</p>
  */
 @Slf4j
 @KinesisClientInternalApi
 public class DynamoDBLeaseTableDao implements EntityDAO {
 
     private static final String ENTITY_TYPE_ATTRIBUTE_NAME = "entityType";
+    private static final long SCAN_THREAD_KEEP_ALIVE_SECONDS = 60;
+    private static final Set<EntityType> PROJECTABLE_ENTITY_TYPES =
+            Collections.unmodifiableSet(EnumSet.of(EntityType.LEASE, EntityType.WORKER_METRIC_STATS));
 
     private final DynamoDbAsyncClient dynamoDbAsyncClient;
     private final String tableName;
@@ -87,20 +102,84 @@ public class DynamoDBLeaseTableDao implements EntityDAO {
             final CoordinatorStateDAODelegate coordinatorStateDAODelegate,
             final ExecutorService executorService,
             final int leaseTableScanTotalSegments) {
+        this(
+                dynamoDbAsyncClient,
+                tableName,
+                leaseSerializer,
+                coordinatorStateDAODelegate,
+                executorService,
+                leaseTableScanTotalSegments,
+                new NullMetricsFactory());
+    }
+
+    /**
+     * @param executorService executor the segments of a scan are run on, see {@link #createScanExecutor(int)}
+     * @param leaseTableScanTotalSegments number of segments of a scan, or 0 to plan it from the table size and the
+     *         latency of previous scans
+     * @param metricsFactory factory of the per-segment scan metrics
+     */
+    public DynamoDBLeaseTableDao(
+            final DynamoDbAsyncClient dynamoDbAsyncClient,
+            final String tableName,
+            final LeaseSerializer leaseSerializer,
+            final CoordinatorStateDAODelegate coordinatorStateDAODelegate,
+            final ExecutorService executorService,
+            final int leaseTableScanTotalSegments,
+            final MetricsFactory metricsFactory) {
         this.dynamoDbAsyncClient = dynamoDbAsyncClient;
         this.tableName = tableName;
         this.leaseSerializer = leaseSerializer;
         this.coordinatorStateDAODelegate = coordinatorStateDAODelegate;
         this.workerMetricStatsSchema = TableSchema.fromBean(WorkerMetricStats.LeaseTableWorkerMetricStats.class);
         this.executorService = executorService;
-        this.scanSegmentResolver = new LeaseTableScanSegmentResolver(leaseTableScanTotalSegments, this::describeTable);
+        this.scanSegmentResolver =
+                new LeaseTableScanSegmentResolver(leaseTableScanTotalSegments, this::describeTable, metricsFactory);
+    }
+
+    /**
+     * Creates the executor that runs the segments of the scans. It runs at most as many segments at once as a scan
+     * can have, and its threads exit when no scan is running.
+     *
+     * @param leaseTableScanTotalSegments configured number of segments of a scan, or 0 if it is planned
+     * @return bounded executor of daemon threads
+     */
+    public static ExecutorService createScanExecutor(final int leaseTableScanTotalSegments) {
+        final int threads = Math.max(leaseTableScanTotalSegments, LeaseTableScanSegmentResolver.MAX_SCAN_SEGMENTS);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                SCAN_THREAD_KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("LeaseTableScan-%04d")
+                        .setDaemon(true)
+                        .build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     @Override
     public Map<EntityType, EntityScanList> scanAllEntities()
             throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        return scan(EnumSet.allOf(EntityType.class), Collections.emptyMap());
+    }
+
+    /**
+     * Scans the lease table, deserializing only the records of the requested entity types.
+     *
+     * @param requested entity types to deserialize
+     * @param projection expression attribute names of the attributes to read, or an empty map to read whole items
+     */
+    private Map<EntityType, EntityScanList> scan(final Set<EntityType> requested, final Map<String, String> projection)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
         final int totalSegments = scanSegmentResolver.resolveTotalSegments();
-        log.debug("Scanning all entities from lease table {} with {} segments", tableName, totalSegments);
+        log.debug(
+                "Scanning {} from lease table {} with {} segments{}",
+                requested,
+                tableName,
+                totalSegments,
+                projection.isEmpty() ? "" : " and a projection of " + projection.values());
 
         // Initialize EntityScanList per type with mutable ArrayLists.
         // EntityScanList is @Value but the underlying List references are mutable ArrayLists,
@@ -115,11 +194,26 @@ public class DynamoDBLeaseTableDao implements EntityDAO {
                             .build());
         }
 
+        final List<SegmentScan> segmentScans = new ArrayList<>(totalSegments);
         final List<Future<Void>> futures = new ArrayList<>();
         for (int i = 0; i < totalSegments; i++) {
             final int segment = i;
             futures.add(executorService.submit(() -> {
-                scanSegment(segment, totalSegments, result);
+                final long startNanos = System.nanoTime();
+                int itemCount = 0;
+                boolean throttled = false;
+                try {
+                    itemCount = scanSegment(segment, totalSegments, requested, projection, result);
+                } catch (final ProvisionedThroughputException e) {
+                    throttled = true;
+                    throw e;
+                } finally {
+                    final SegmentScan segmentScan = new SegmentScan(
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), itemCount, throttled);
+                    synchronized (segmentScans) {
+                        segmentScans.add(segmentScan);
+                    }
+                }
                 return null;
             }));
         }
@@ -140,6 +234,10 @@ public class DynamoDBLeaseTableDao implements EntityDAO {
             }
         } catch (final InterruptedException e) {
             throw new DependencyException(e);
+        } finally {
+            synchronized (segmentScans) {
+                scanSegmentResolver.recordScan(totalSegments, segmentScans);
+            }
         }
 
         if (log.isDebugEnabled()) {
@@ -168,8 +266,8 @@ public class DynamoDBLeaseTableDao implements EntityDAO {
             throws DependencyException, InvalidStateException, ProvisionedThroughputException {
         final Set<EntityType> requested = EnumSet.copyOf(Arrays.asList(entityTypes));
 
-        // Perform the full scan — all records are read, but only requested types are deserialized/collected
-        final Map<EntityType, EntityScanList> allEntities = scanAllEntities();
+        // All records are read, but only requested types are deserialized/collected
+        final Map<EntityType, EntityScanList> allEntities = scan(requested, projectionFor(requested));
 
         // Filter to only the requested types
         final Map<EntityType, EntityScanList> filtered = new EnumMap<>(EntityType.class);
@@ -181,6 +279,33 @@ public class DynamoDBLeaseTableDao implements EntityDAO {
         return filtered;
     }
 
+    /**
+     * Builds the projection for a scan of the given entity types. Only scans limited to leases and worker metric
+     * stats are projected: leases are read as lease views, which carry the attributes needed to assign leases, and
+     * worker metric stats are read with the attributes of their schema. Returns an empty map, meaning whole items are
+     * read, if other entity types are requested or the lease serializer does not support lease views.
+     */
+    private Map<String, String> projectionFor(final Set<EntityType> requested) {
+        final Collection<String> leaseViewAttributes = leaseSerializer.getLeaseViewAttributes();
+        if (leaseViewAttributes.isEmpty() || !PROJECTABLE_ENTITY_TYPES.containsAll(requested)) {
+            return Collections.emptyMap();
+        }
+        final Set<String> attributes = new LinkedHashSet<>();
+        attributes.add(DynamoDBLeaseSerializer.LEASE_KEY_KEY);
+        attributes.add(ENTITY_TYPE_ATTRIBUTE_NAME);
+        if (requested.contains(EntityType.LEASE)) {
+            attributes.addAll(leaseViewAttributes);
+        }
+        if (requested.contains(EntityType.WORKER_METRIC_STATS)) {
+            attributes.addAll(workerMetricStatsSchema.attributeNames());
+        }
+        final Map<String, String> projection = new LinkedHashMap<>();
+        for (final String attribute : attributes) {
+            projection.put("#p" + projection.size(), attribute);
+        }
+        return projection;
+    }
+
     /**
      * Scans a single segment of the parallel scan. Successfully deserialized entities are added
      * to the {@link EntityScanList#getEntities()} list; failed records have their partition key
@@ -188,9 +313,17 @@ public class DynamoDBLeaseTableDao implements EntityDAO {
      *
      * <p>Thread safety: the result map's EntityScanList objects contain mutable ArrayLists.
      * All appends are guarded by {@code synchronized (result)}.</p>
+     *
+     * @return number of items read from the segment
      */
-    private void scanSegment(final int segment, final int totalSegments, final Map<EntityType, EntityScanList> result)
+    private int scanSegment(
+            final int segment,
+            final int totalSegments,
+            final Set<EntityType> requested,
+            final Map<String, String> projection,
+            final Map<EntityType, EntityScanList> result)
             throws DependencyException, ProvisionedThroughputException {
+        int itemCount = 0;
 
         final Map<EntityType, EntityScanList> localResult = new EnumMap<>(EntityType.class);
         for (final EntityType type : EntityType.values()) {
@@ -208,12 +341,17 @@ public class DynamoDBLeaseTableDao implements EntityDAO {
                 Thread.currentThread().interrupt();
                 throw new DependencyException(new InterruptedException("Scan segment " + segment + " was interrupted"));
             }
-            final ScanRequest scanRequest = ScanRequest.builder()
+            final ScanRequest.Builder scanRequestBuilder = ScanRequest.builder()
                     .tableName(tableName)
                     .segment(segment)
                     .totalSegments(totalSegments)
-                    .exclusiveStartKey(lastEvaluatedKey)
-                    .build();
+                    .exclusiveStartKey(lastEvaluatedKey);
+            if (!projection.isEmpty()) {
+                scanRequestBuilder
+                        .projectionExpression(String.join(", ", projection.keySet()))
+                        .expressionAttributeNames(projection);
+            }
+            final ScanRequest scanRequest = scanRequestBuilder.build();
 
             final ScanResponse scanResponse;
             try {
@@ -222,11 +360,15 @@ public class DynamoDBLeaseTableDao implements EntityDAO {
                 throw new ProvisionedThroughputException(e);
             }
 
+            itemCount += scanResponse.items().size();
             for (final Map<String, AttributeValue> record : scanResponse.items()) {
                 final EntityType entityType = resolveEntityType(record);
+                if (!requested.contains(entityType)) {
+                    continue;
+                }
                 final EntityScanList scanList = localResult.get(entityType);
                 try {
-                    final Entity entity = deserializeRecord(entityType, record);
+                    final Entity entity = deserializeRecord(entityType, record, !projection.isEmpty());
                     if (entity != null) {
                         scanList.getEntities().add(entity);
                     }
@@ -252,6 +394,7 @@ public class DynamoDBLeaseTableDao implements EntityDAO {
                 into.getDeserializationFailures().addAll(from.getDeserializationFailures());
             }
         }
+        return itemCount;
     }
 
     /**
@@ -281,14 +424,17 @@ public class DynamoDBLeaseTableDao implements EntityDAO {
      * Deserialize a DDB record into the appropriate Entity by delegating to the existing DAO
      * responsible for that entity type.
      */
-    private Entity deserializeRecord(final EntityType entityType, final Map<String, AttributeValue> record) {
+    private Entity deserializeRecord(
+            final EntityType entityType, final Map<String, AttributeValue> record, final boolean leaseView) {
         switch (entityType) {
             case LEASE:
                 // Remove entityType attribute before deserializing as a lease because
                 // leaseSerializer.fromDynamoRecord rejects records with unrecognized entityType values.
                 final Map<String, AttributeValue> leaseRecord = new HashMap<>(record);
                 leaseRecord.remove(ENTITY_TYPE_ATTRIBUTE_NAME);
-                final Lease lease = leaseSerializer.fromDynamoRecord(leaseRecord);
+                final Lease lease = leaseView
+                        ? leaseSerializer.leaseViewFromDynamoRecord(leaseRecord)
+                        : leaseSerializer.fromDynamoRecord(leaseRecord);
                 return lease;
             case STREAM_INFO:
             case CLIENT_VERSION_MIGRATION:
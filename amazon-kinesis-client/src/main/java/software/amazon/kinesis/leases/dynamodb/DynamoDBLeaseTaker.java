@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
@@ -34,6 +35,8 @@ import software.amazon.kinesis.annotations.KinesisClientInternalApi;
 import software.amazon.kinesis.common.StreamIdentifier;
 import software.amazon.kinesis.coordinator.streamInfo.StreamIdCacheManager;
 import software.amazon.kinesis.coordinator.streamInfo.StreamInfo;
+import software.amazon.kinesis.jfr.FlightRecorderEvents;
+import software.amazon.kinesis.jfr.TimedEvent;
 import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseRefresher;
 import software.amazon.kinesis.leases.LeaseTaker;
@@ -221,20 +224,26 @@ public class DynamoDBLeaseTaker implements LeaseTaker {
             List<Lease> availableLeases = getAvailableLeases();
 
             Set<Lease> leasesToTake = computeLeasesToTake(availableLeases, timeProvider);
-            leasesToTake = updateStaleLeasesWithLatestState(updateAllLeasesTotalTimeMillis, leasesToTake);
+            final boolean staleScan =
+                    updateAllLeasesTotalTimeMillis > leaseRenewalIntervalMillis * RENEWAL_SLACK_PERCENTAGE;
 
             Set<String> untakenLeaseKeys = new HashSet<>();
 
-            for (Lease lease : leasesToTake) {
-                String leaseKey = lease.leaseKey();
+            for (Lease leaseView : leasesToTake) {
+                String leaseKey = leaseView.leaseKey();
 
                 startTime = System.currentTimeMillis();
+                final TimedEvent takeLeaseEvent = FlightRecorderEvents.beginTakeLease();
+                final String previousOwner = leaseView.leaseOwner();
+                Lease lease = leaseView;
                 success = false;
                 try {
                     for (int i = 1; i <= TAKE_RETRIES; i++) {
                         try {
-                            if (leaseRefresher.takeLease(lease, workerIdentifier)) {
+                            lease = getLeaseToTake(leaseView, staleScan);
+                            if (lease != null && leaseRefresher.takeLease(lease, workerIdentifier)) {
                                 lease.lastCounterIncrementNanos(System.nanoTime());
+                                allLeases.put(leaseKey, lease);
                                 takenLeases.put(leaseKey, lease);
                                 resolveStreamId(lease);
                             } else {
@@ -255,6 +264,12 @@ public class DynamoDBLeaseTaker implements LeaseTaker {
                     }
                 } finally {
                     MetricsUtil.addSuccessAndLatency(scope, "TakeLease", success, startTime, MetricsLevel.DETAILED);
+                    FlightRecorderEvents.takeLease(
+                            takeLeaseEvent,
+                            leaseView,
+                            previousOwner,
+                            leaseView.isMarkedForLeaseSteal(),
+                            takenLeases.containsKey(leaseKey));
                 }
             }
 
@@ -284,35 +299,33 @@ public class DynamoDBLeaseTaker implements LeaseTaker {
     }
 
     /**
-     * If update all leases takes longer than the lease renewal time,
-     * we fetch the latest lease info for the given leases that are marked for lease steal.
-     * If nothing is found (or any transient network error occurs),
-     * we default to the last known state of the lease
+     * Reads the full lease for a lease view that was chosen to be taken. The take is conditional on the lease counter
+     * seen by the scan, so if the lease has been renewed or taken since the scan the lease is not taken, as the take
+     * would fail anyway. Leases to be stolen are the exception when the scan took longer than the lease renewal
+     * time: the owner renews them in the meantime, so the latest state of the lease is taken instead.
      *
-     * @param updateAllLeasesEndTime How long it takes for update all leases to complete
-     * @return set of leases to take.
+     * @param leaseView lease view from the last scan
+     * @param staleScan whether the last scan took longer than the lease renewal time
+     * @return the full lease to take, or null if the lease should not be taken
      */
-    private Set<Lease> updateStaleLeasesWithLatestState(long updateAllLeasesEndTime, Set<Lease> leasesToTake) {
-        if (updateAllLeasesEndTime > leaseRenewalIntervalMillis * RENEWAL_SLACK_PERCENTAGE) {
-            leasesToTake = leasesToTake.stream()
-                    .map(lease -> {
-                        if (lease.isMarkedForLeaseSteal()) {
-                            try {
-                                log.debug("Updating stale lease {}.", lease.leaseKey());
-                                return leaseRefresher.getLease(lease.leaseKey());
-                            } catch (DependencyException | InvalidStateException | ProvisionedThroughputException e) {
-                                log.warn(
-                                        "Failed to fetch latest state of the lease {} that needs to be stolen, "
-                                                + "defaulting to existing lease",
-                                        lease.leaseKey(),
-                                        e);
-                            }
-                        }
-                        return lease;
-                    })
-                    .collect(Collectors.toSet());
+    private Lease getLeaseToTake(final Lease leaseView, final boolean staleScan)
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        final Lease lease = leaseRefresher.getLease(leaseView.leaseKey());
+        if (lease == null) {
+            log.debug("Lease {} was deleted since the last scan.", leaseView.leaseKey());
+            return null;
         }
-        return leasesToTake;
+        if (!staleScan || !leaseView.isMarkedForLeaseSteal()) {
+            if (!Objects.equals(lease.leaseCounter(), leaseView.leaseCounter())) {
+                log.debug("Lease {} was updated since the last scan.", leaseView.leaseKey());
+                return null;
+            }
+        } else {
+            log.debug("Updating stale lease {}.", leaseView.leaseKey());
+        }
+        lease.isMarkedForLeaseSteal(leaseView.isMarkedForLeaseSteal());
+        lease.lastCounterIncrementNanos(leaseView.lastCounterIncrementNanos());
+        return lease;
     }
 
     /** Package access for testing purposes.
@@ -336,7 +349,8 @@ public class DynamoDBLeaseTaker implements LeaseTaker {
     }
 
     /**
-     * Scan all leases and update lastRenewalTime. Add new leases and delete old leases.
+     * Scan all lease views and update lastRenewalTime. Add new leases and delete old leases. Only the attributes
+     * needed to choose the leases to take are read, the full leases are read when they are taken.
      *
      * @param timeProvider callable that supplies the current time
      *
@@ -348,7 +362,7 @@ public class DynamoDBLeaseTaker implements LeaseTaker {
      */
     private void updateAllLeases(Callable<Long> timeProvider)
             throws DependencyException, InvalidStateException, ProvisionedThroughputException {
-        List<Lease> freshList = leaseRefresher.listLeases();
+        List<Lease> freshList = leaseRefresher.listLeaseViews();
         try {
             lastScanTimeNanos = timeProvider.call();
         } catch (Exception e) {
@@ -691,9 +705,31 @@ public class DynamoDBLeaseTaker implements LeaseTaker {
 
     /**
      * {@inheritDoc}
+     *
+     * The leases found by the last scan are read in full, as the scan only reads lease views. If the read fails, the
+     * lease views are returned.
      */
     @Override
-    public synchronized List<Lease> allLeases() {
-        return new ArrayList<>(allLeases.values());
+    public List<Lease> allLeases() {
+        final Map<String, Lease> leaseViews;
+        synchronized (this) {
+            leaseViews = new HashMap<>(allLeases);
+        }
+        if (leaseViews.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            final List<Lease> leases = leaseRefresher.batchGetLeases(leaseViews.keySet());
+            for (Lease lease : leases) {
+                final Lease leaseView = leaseViews.get(lease.leaseKey());
+                if (leaseView != null) {
+                    lease.lastCounterIncrementNanos(leaseView.lastCounterIncrementNanos());
+                }
+            }
+            return leases;
+        } catch (DependencyException | InvalidStateException | ProvisionedThroughputException e) {
+            log.warn("Worker {} could not read the full leases, returning the lease views", workerIdentifier, e);
+            return new ArrayList<>(leaseViews.values());
+        }
     }
 }
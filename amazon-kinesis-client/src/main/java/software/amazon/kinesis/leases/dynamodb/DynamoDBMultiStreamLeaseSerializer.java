@@ -15,6 +15,7 @@
 
 package software.amazon.kinesis.leases.dynamodb;
 
+import java.util.Collection;
 import java.util.Map;
 
 import lombok.NoArgsConstructor;
@@ -51,6 +52,34 @@ public class DynamoDBMultiStreamLeaseSerializer extends DynamoDBLeaseSerializer
         return multiStreamLease;
     }
 
+    @Override
+    public MultiStreamLease leaseViewFromDynamoRecord(Map<String, AttributeValue> dynamoRecord) {
+        final MultiStreamLease multiStreamLease =
+                (MultiStreamLease) super.leaseViewFromDynamoRecord(dynamoRecord, new MultiStreamLease());
+        if (multiStreamLease == null) {
+            return null;
+        }
+        multiStreamLease.streamIdentifier(DynamoUtils.safeGetString(dynamoRecord, STREAM_ID_KEY));
+        multiStreamLease.shardId(DynamoUtils.safeGetString(dynamoRecord, SHARD_ID_KEY));
+        return multiStreamLease;
+    }
+
+    @Override
+    public Collection<String> getLeaseViewAttributes() {
+        final Collection<String> attributes = super.getLeaseViewAttributes();
+        attributes.add(STREAM_ID_KEY);
+        attributes.add(SHARD_ID_KEY);
+        return attributes;
+    }
+
+    @Override
+    public Collection<String> getLeaseOwnerToLeaseIndexNonKeyAttributes() {
+        final Collection<String> attributes = super.getLeaseOwnerToLeaseIndexNonKeyAttributes();
+        attributes.add(STREAM_ID_KEY);
+        attributes.add(SHARD_ID_KEY);
+        return attributes;
+    }
+
     @Override
     public Map<String, AttributeValueUpdate> getDynamoUpdateLeaseUpdate(Lease lease) {
         final MultiStreamLease multiStreamLease = validateAndCast(lease);
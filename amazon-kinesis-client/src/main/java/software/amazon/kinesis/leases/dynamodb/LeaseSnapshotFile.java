@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.leases.dynamodb;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+
+/**
+ * Local file with the keys of the leases a worker holds, so that a restarted worker can renew its leases with a read
+ * of those leases instead of scanning the whole lease table. The file only tells which leases to read, the owner,
+ * lease counter and checkpoint always come from the lease table.
+ *
+ * The file holds a header line, the worker identifier and one lease key per line. It is replaced atomically, and a
+ * file written by another worker or in an unknown format is ignored.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@KinesisClientInternalApi
+public class LeaseSnapshotFile {
+    static final String HEADER = "kcl-lease-snapshot-v1";
+
+    @NonNull
+    private final Path path;
+
+    @NonNull
+    private final String workerIdentifier;
+
+    /**
+     * @return keys of the leases held when the snapshot was written, or empty if there is no usable snapshot
+     */
+    public Optional<Set<String>> read() {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            final List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            if (lines.size() < 2 || !HEADER.equals(lines.get(0)) || !workerIdentifier.equals(lines.get(1))) {
+                log.warn("Ignoring lease snapshot {}, it was not written by worker {}", path, workerIdentifier);
+                return Optional.empty();
+            }
+            return Optional.of(new LinkedHashSet<>(lines.subList(2, lines.size())));
+        } catch (final IOException e) {
+            log.warn("Unable to read lease snapshot {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replaces the snapshot with the given lease keys. Failures are logged, a missing snapshot only costs a lease
+     * table scan on the next start.
+     */
+    public void write(final Collection<String> leaseKeys) {
+        final List<String> lines = new ArrayList<>(leaseKeys.size() + 2);
+        lines.add(HEADER);
+        lines.add(workerIdentifier);
+        lines.addAll(leaseKeys);
+        final Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.write(tempFile, lines, StandardCharsets.UTF_8);
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            log.warn("Unable to write lease snapshot {}", path, e);
+        }
+    }
+}
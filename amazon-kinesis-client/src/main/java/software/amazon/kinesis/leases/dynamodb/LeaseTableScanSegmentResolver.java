@@ -16,15 +16,40 @@ package software.amazon.kinesis.leases.dynamodb;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 
 import com.google.common.annotations.VisibleForTesting;
-import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.metrics.MetricsFactory;
+import software.amazon.kinesis.metrics.MetricsLevel;
+import software.amazon.kinesis.metrics.MetricsScope;
+import software.amazon.kinesis.metrics.MetricsUtil;
+import software.amazon.kinesis.metrics.NullMetricsFactory;
 
+/**
+ * Plans the number of segments of parallel lease table scans.
+ *
+ * <p>
+ * Unless the number of segments is configured, the plan starts from a number of segments derived from the table size
+ * and then adapts to the scans that were run with it, which are reported with {@link #recordScan(int, List)}:
+ * <ul>
+ *   <li>a throttled scan halves the number of segments, so that fewer requests compete for the table capacity;</li>
+ *   <li>a scan with a segment slower than {@link #TARGET_SEGMENT_SCAN_LATENCY}, or with a segment that is much slower
+ *   or holds many more items than the median segment, doubles the number of segments, which splits the slow
+ *   segment;</li>
+ *   <li>a scan whose segments were all fast halves the number of segments again, but not below the number derived
+ *   from the table size.</li>
+ * </ul>
+ * The latency and item count of each segment are emitted as metrics.
+ * </p>
+ */
 @Slf4j
-@RequiredArgsConstructor
 @KinesisClientInternalApi
 class LeaseTableScanSegmentResolver {
 
@@ -37,15 +62,47 @@ class LeaseTableScanSegmentResolver {
         DescribeTableResponse describe() throws Exception;
     }
 
+    /**
+     * Observation of a single segment of a parallel scan.
+     */
+    @Value
+    @Accessors(fluent = true)
+    static class SegmentScan {
+        /**
+         * Time from the first request of the segment until the last page was read or the segment failed.
+         */
+        long latencyMillis;
+        /**
+         * Number of items read from the segment.
+         */
+        int itemCount;
+        /**
+         * Whether the segment failed because the table capacity was exceeded.
+         */
+        boolean throttled;
+    }
+
     /**
      * Default parallelism factor used when the table size cannot be determined.
      */
     static final int DEFAULT_LEASE_TABLE_SCAN_PARALLELISM_FACTOR = 10;
 
+    static final int MAX_SCAN_SEGMENTS = 32;
+
+    /**
+     * Latency above which a segment is split by doubling the number of segments.
+     */
+    static final Duration TARGET_SEGMENT_SCAN_LATENCY = Duration.ofSeconds(1);
+
+    /**
+     * Ratio of the slowest (or largest) segment to the median segment above which the slowest segment is split.
+     */
+    static final int SEGMENT_SKEW_FACTOR = 4;
+
+    private static final String METRICS_OPERATION = "LeaseTableScan";
     private static final long NUMBER_OF_BYTES_PER_GB = 1024 * 1024 * 1024;
     private static final double GB_PER_SEGMENT = 0.2;
     private static final int MIN_SCAN_SEGMENTS = 1;
-    private static final int MAX_SCAN_SEGMENTS = 32;
     private static final Duration CACHE_DURATION_FOR_TOTAL_SEGMENTS = Duration.ofHours(2);
 
     /**
@@ -54,9 +111,27 @@ class LeaseTableScanSegmentResolver {
     private final int configuredTotalSegments;
 
     private final TableDescriber tableDescriber;
+    private final MetricsFactory metricsFactory;
 
     private Integer cachedTotalSegments;
     private Instant expirationTimeForTotalSegmentsCache;
+    /**
+     * Number of segments adapted to the recorded scans, null until the first scan is recorded.
+     */
+    private Integer adaptedTotalSegments;
+
+    LeaseTableScanSegmentResolver(final int configuredTotalSegments, final TableDescriber tableDescriber) {
+        this(configuredTotalSegments, tableDescriber, new NullMetricsFactory());
+    }
+
+    LeaseTableScanSegmentResolver(
+            final int configuredTotalSegments,
+            final TableDescriber tableDescriber,
+            final MetricsFactory metricsFactory) {
+        this.configuredTotalSegments = configuredTotalSegments;
+        this.tableDescriber = tableDescriber;
+        this.metricsFactory = metricsFactory;
+    }
 
     @VisibleForTesting
     static int calculateTotalSegments(final long tableSizeBytes) {
@@ -68,6 +143,91 @@ class LeaseTableScanSegmentResolver {
         if (configuredTotalSegments > 0) {
             return configuredTotalSegments;
         }
+        final int tableSizeSegments = resolveTableSizeSegments();
+        return adaptedTotalSegments == null ? tableSizeSegments : adaptedTotalSegments;
+    }
+
+    /**
+     * Records the segments of a parallel scan, emits their metrics and adapts the number of segments of the next
+     * scans. Scans that did not use the current plan, e.g. because they were run with an explicit number of segments
+     * or the plan changed while they ran, are only reported.
+     *
+     * @param totalSegments number of segments the scan was run with
+     * @param segments observations of the segments of the scan that completed or failed
+     */
+    public void recordScan(final int totalSegments, final List<SegmentScan> segments) {
+        emitMetrics(totalSegments, segments);
+        if (configuredTotalSegments > 0 || segments.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            final Integer plannedTotalSegments =
+                    adaptedTotalSegments == null ? cachedTotalSegments : adaptedTotalSegments;
+            if (plannedTotalSegments == null || totalSegments != plannedTotalSegments) {
+                return;
+            }
+            final int nextTotalSegments = adapt(totalSegments, segments);
+            if (nextTotalSegments != totalSegments) {
+                log.info(
+                        "Changing totalSegments for Lease table parallel scan from {} to {}",
+                        totalSegments,
+                        nextTotalSegments);
+            }
+            adaptedTotalSegments = nextTotalSegments;
+        }
+    }
+
+    private int adapt(final int totalSegments, final List<SegmentScan> segments) {
+        final long[] latencies =
+                segments.stream().mapToLong(SegmentScan::latencyMillis).toArray();
+        final int[] itemCounts =
+                segments.stream().mapToInt(SegmentScan::itemCount).toArray();
+        Arrays.sort(latencies);
+        Arrays.sort(itemCounts);
+        final long maxLatency = latencies[latencies.length - 1];
+        final long medianLatency = latencies[latencies.length / 2];
+        final int maxItemCount = itemCounts[itemCounts.length - 1];
+        final int medianItemCount = itemCounts[itemCounts.length / 2];
+        final long targetLatency = TARGET_SEGMENT_SCAN_LATENCY.toMillis();
+
+        if (segments.stream().anyMatch(SegmentScan::throttled)) {
+            return Math.max(MIN_SCAN_SEGMENTS, totalSegments / 2);
+        }
+        final boolean skewed = maxLatency > SEGMENT_SKEW_FACTOR * medianLatency
+                || maxItemCount > SEGMENT_SKEW_FACTOR * Math.max(1, medianItemCount);
+        if (maxLatency > targetLatency || (skewed && maxLatency > targetLatency / 4)) {
+            return Math.min(MAX_SCAN_SEGMENTS, totalSegments * 2);
+        }
+        final int tableSizeSegments = cachedTotalSegments == null ? MIN_SCAN_SEGMENTS : cachedTotalSegments;
+        if (maxLatency < targetLatency / 4 && totalSegments > tableSizeSegments) {
+            return Math.max(tableSizeSegments, totalSegments / 2);
+        }
+        return totalSegments;
+    }
+
+    private void emitMetrics(final int totalSegments, final List<SegmentScan> segments) {
+        final MetricsScope scope = MetricsUtil.createMetricsWithOperation(metricsFactory, METRICS_OPERATION);
+        try {
+            scope.addData("TotalSegments", totalSegments, StandardUnit.COUNT, MetricsLevel.DETAILED);
+            for (final SegmentScan segment : segments) {
+                scope.addData(
+                        "SegmentScanTime", segment.latencyMillis(), StandardUnit.MILLISECONDS, MetricsLevel.DETAILED);
+                scope.addData("SegmentItemCount", segment.itemCount(), StandardUnit.COUNT, MetricsLevel.DETAILED);
+                if (segment.throttled()) {
+                    scope.addData("ThrottledSegments", 1, StandardUnit.COUNT, MetricsLevel.DETAILED);
+                }
+            }
+        } finally {
+            MetricsUtil.endScope(scope);
+        }
+    }
+
+    /**
+     * Resolves the number of segments derived from the table size, which is cached for
+     * {@link #CACHE_DURATION_FOR_TOTAL_SEGMENTS}. When the cached value is refreshed and the table has grown beyond
+     * the adapted number of segments, the adapted number is raised to it.
+     */
+    private int resolveTableSizeSegments() {
         if (isTotalSegmentsCacheValid()) {
             return cachedTotalSegments;
         }
@@ -85,6 +245,9 @@ class LeaseTableScanSegmentResolver {
             }
             cachedTotalSegments = totalSegments;
             expirationTimeForTotalSegmentsCache = Instant.now().plus(CACHE_DURATION_FOR_TOTAL_SEGMENTS);
+            if (adaptedTotalSegments != null && adaptedTotalSegments < totalSegments) {
+                adaptedTotalSegments = totalSegments;
+            }
         } catch (final Exception e) {
             log.warn("DescribeTable failed, using totalSegments: {}. Error: {}", totalSegments, e.getMessage());
         }
@@ -14,6 +14,11 @@
  */
 package software.amazon.kinesis.lifecycle;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import lombok.AccessLevel;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +27,7 @@ import software.amazon.kinesis.annotations.KinesisClientInternalApi;
 import software.amazon.kinesis.exceptions.internal.BlockedOnParentShardException;
 import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseRefresher;
+import software.amazon.kinesis.leases.ParentShardCompletionRegistry;
 import software.amazon.kinesis.leases.ShardInfo;
 import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
 
@@ -32,6 +38,9 @@ import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
  * (application has checkpointed after processing all records in the shard).
  * If we don't find a checkpoint for the parent shard(s), we assume they have been trimmed and directly
  * proceed with processing data from the shard.
+ * If a {@link ParentShardCompletionRegistry} is available, parent shards known to be completed are not read from the
+ * lease table, and instead of sleeping the task waits on the completion of the parent shard it is blocked on, so it
+ * returns as soon as the parent shard completes on this worker.
  */
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 @Slf4j
@@ -44,9 +53,18 @@ public class BlockOnParentShardTask implements ConsumerTask {
     private final LeaseRefresher leaseRefresher;
     // Sleep for this duration if the parent shards have not completed processing, or we encounter an exception.
     private final long parentShardPollIntervalMillis;
+    // Null if parent shard completion is only polled from the lease table.
+    private final ParentShardCompletionRegistry parentShardCompletionRegistry;
 
     private final TaskType taskType = TaskType.BLOCK_ON_PARENT_SHARDS;
 
+    BlockOnParentShardTask(
+            @NonNull final ShardInfo shardInfo,
+            final LeaseRefresher leaseRefresher,
+            final long parentShardPollIntervalMillis) {
+        this(shardInfo, leaseRefresher, parentShardPollIntervalMillis, null);
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -55,28 +73,51 @@ public class BlockOnParentShardTask implements ConsumerTask {
     @Override
     public TaskResult call() {
         Exception exception = null;
+        String blockingLeaseKey = null;
         final String shardInfoId = ShardInfo.getLeaseKey(shardInfo);
         try {
-            boolean blockedOnParentShard = false;
             for (String shardId : shardInfo.parentShardIds()) {
                 final String leaseKey = ShardInfo.getLeaseKey(shardInfo, shardId);
+                if (parentShardCompletionRegistry != null) {
+                    if (parentShardCompletionRegistry.isCompleted(leaseKey)) {
+                        log.debug("Shard {} is known to be completely processed.", leaseKey);
+                        continue;
+                    }
+                    // Another child of the same parent just read it, no need to read it again.
+                    if (parentShardCompletionRegistry.wasInProgressSince(
+                            leaseKey, System.currentTimeMillis() - parentShardPollIntervalMillis)) {
+                        log.debug("Shard {} was recently read and is not yet done.", leaseKey);
+                        blockingLeaseKey = leaseKey;
+                        exception = new BlockedOnParentShardException("Parent shard not yet done");
+                        break;
+                    }
+                }
                 final Lease lease = leaseRefresher.getLease(leaseKey);
                 if (lease != null) {
                     ExtendedSequenceNumber checkpoint = lease.checkpoint();
                     if ((checkpoint == null) || (!checkpoint.equals(ExtendedSequenceNumber.SHARD_END))) {
                         log.debug("Shard {} is not yet done. Its current checkpoint is {}", shardInfoId, checkpoint);
-                        blockedOnParentShard = true;
+                        if (parentShardCompletionRegistry != null) {
+                            parentShardCompletionRegistry.recordInProgress(leaseKey, System.currentTimeMillis());
+                        }
+                        blockingLeaseKey = leaseKey;
                         exception = new BlockedOnParentShardException("Parent shard not yet done");
                         break;
                     } else {
                         log.debug("Shard {} has been completely processed.", shardInfoId);
+                        if (parentShardCompletionRegistry != null) {
+                            parentShardCompletionRegistry.markCompleted(leaseKey);
+                        }
                     }
                 } else {
                     log.info("No lease found for shard {}. Not blocking on completion of this shard.", shardInfoId);
+                    if (parentShardCompletionRegistry != null) {
+                        parentShardCompletionRegistry.markCompleted(leaseKey);
+                    }
                 }
             }
 
-            if (!blockedOnParentShard) {
+            if (blockingLeaseKey == null) {
                 log.info("No need to block on parents {} of shard {}", shardInfo.parentShardIds(), shardInfoId);
                 return new TaskResult(null);
             }
@@ -85,7 +126,11 @@ public class BlockOnParentShardTask implements ConsumerTask {
             exception = e;
         }
         try {
-            Thread.sleep(parentShardPollIntervalMillis);
+            if (parentShardCompletionRegistry != null && blockingLeaseKey != null) {
+                waitForParentShardCompletion(blockingLeaseKey);
+            } else {
+                Thread.sleep(parentShardPollIntervalMillis);
+            }
         } catch (InterruptedException e) {
             log.error("Sleep interrupted when waiting on parent shard(s) of {}", shardInfoId, e);
         }
@@ -93,6 +138,25 @@ public class BlockOnParentShardTask implements ConsumerTask {
         return new TaskResult(exception);
     }
 
+    /**
+     * Waits up to the poll interval for the parent shard to be completed. The parent shard is read from the lease
+     * table again on the next attempt, which returns right away if the parent shard completed meanwhile.
+     */
+    private void waitForParentShardCompletion(final String leaseKey) throws InterruptedException {
+        final CompletableFuture<Void> completion = parentShardCompletionRegistry.awaitCompletion(leaseKey);
+        try {
+            completion.get(parentShardPollIntervalMillis, TimeUnit.MILLISECONDS);
+            log.debug("Parent shard {} of shard {} completed", leaseKey, ShardInfo.getLeaseKey(shardInfo));
+        } catch (TimeoutException e) {
+            log.debug("Parent shard {} not completed within {} ms", leaseKey, parentShardPollIntervalMillis);
+        } catch (ExecutionException e) {
+            // Completion futures are never completed exceptionally.
+            log.warn("Unexpected failure waiting on parent shard {}", leaseKey, e);
+        } finally {
+            parentShardCompletionRegistry.stopWaiting(leaseKey, completion);
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -60,7 +60,7 @@ public class KinesisConsumerTaskFactory implements ConsumerTaskFactory {
                 argument.shouldCallProcessRecordsEvenForEmptyRecordList(),
                 argument.idleTimeInMilliseconds(),
                 argument.aggregatorUtil(),
-                argument.metricsFactory(),
+                argument.shardConsumerMetrics(),
                 argument.schemaRegistryDecoder(),
                 argument.leaseCoordinator().leaseStatsRecorder());
     }
@@ -83,7 +83,8 @@ public class KinesisConsumerTaskFactory implements ConsumerTaskFactory {
         return new BlockOnParentShardTask(
                 argument.shardInfo(),
                 argument.leaseCoordinator().leaseRefresher(),
-                argument.parentShardPollIntervalMillis());
+                argument.parentShardPollIntervalMillis(),
+                argument.leaseCoordinator().parentShardCompletionRegistry());
     }
 
     @Override
@@ -23,7 +23,8 @@ import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
 import software.amazon.awssdk.services.kinesis.model.Shard;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
 import software.amazon.kinesis.checkpoint.ShardRecordProcessorCheckpointer;
-import software.amazon.kinesis.common.StreamIdentifier;
+import software.amazon.kinesis.jfr.FlightRecorderEvents;
+import software.amazon.kinesis.jfr.TimedEvent;
 import software.amazon.kinesis.leases.LeaseStatsRecorder;
 import software.amazon.kinesis.leases.ShardDetector;
 import software.amazon.kinesis.leases.ShardInfo;
@@ -62,7 +63,7 @@ public class ProcessTask implements ConsumerTask {
     private final boolean shouldCallProcessRecordsEvenForEmptyRecordList;
     private final long idleTimeInMilliseconds;
     private final ProcessRecordsInput processRecordsInput;
-    private final MetricsFactory metricsFactory;
+    private final ShardConsumerMetrics shardConsumerMetrics;
     private final AggregatorUtil aggregatorUtil;
     private final String shardInfoId;
     private final SchemaRegistryDecoder schemaRegistryDecoder;
@@ -83,6 +84,38 @@ public class ProcessTask implements ConsumerTask {
             @NonNull MetricsFactory metricsFactory,
             SchemaRegistryDecoder schemaRegistryDecoder,
             @NonNull LeaseStatsRecorder leaseStatsRecorder) {
+        this(
+                shardInfo,
+                shardRecordProcessor,
+                recordProcessorCheckpointer,
+                backoffTimeMillis,
+                skipShardSyncAtWorkerInitializationIfLeasesExist,
+                shardDetector,
+                throttlingReporter,
+                processRecordsInput,
+                shouldCallProcessRecordsEvenForEmptyRecordList,
+                idleTimeInMilliseconds,
+                aggregatorUtil,
+                new ShardConsumerMetrics(metricsFactory, shardInfo),
+                schemaRegistryDecoder,
+                leaseStatsRecorder);
+    }
+
+    public ProcessTask(
+            @NonNull ShardInfo shardInfo,
+            @NonNull ShardRecordProcessor shardRecordProcessor,
+            @NonNull ShardRecordProcessorCheckpointer recordProcessorCheckpointer,
+            long backoffTimeMillis,
+            boolean skipShardSyncAtWorkerInitializationIfLeasesExist,
+            ShardDetector shardDetector,
+            @NonNull ThrottlingReporter throttlingReporter,
+            ProcessRecordsInput processRecordsInput,
+            boolean shouldCallProcessRecordsEvenForEmptyRecordList,
+            long idleTimeInMilliseconds,
+            @NonNull AggregatorUtil aggregatorUtil,
+            @NonNull ShardConsumerMetrics shardConsumerMetrics,
+            SchemaRegistryDecoder schemaRegistryDecoder,
+            @NonNull LeaseStatsRecorder leaseStatsRecorder) {
         this.shardInfo = shardInfo;
         this.shardInfoId = ShardInfo.getLeaseKey(shardInfo);
         this.shardRecordProcessor = shardRecordProcessor;
@@ -92,7 +125,7 @@ public class ProcessTask implements ConsumerTask {
         this.processRecordsInput = processRecordsInput;
         this.shouldCallProcessRecordsEvenForEmptyRecordList = shouldCallProcessRecordsEvenForEmptyRecordList;
         this.idleTimeInMilliseconds = idleTimeInMilliseconds;
-        this.metricsFactory = metricsFactory;
+        this.shardConsumerMetrics = shardConsumerMetrics;
         this.schemaRegistryDecoder = schemaRegistryDecoder;
         this.leaseStatsRecorder = leaseStatsRecorder;
 
@@ -124,13 +157,9 @@ public class ProcessTask implements ConsumerTask {
          * which is the app-level MillsBehindLatest metric.
          */
         final MetricsScope appScope =
-                MetricsUtil.createMetricsWithOperation(metricsFactory, APPLICATION_TRACKER_OPERATION);
-        final MetricsScope shardScope = MetricsUtil.createMetricsWithOperation(metricsFactory, PROCESS_TASK_OPERATION);
-        shardInfo
-                .streamIdentifierSerOpt()
-                .ifPresent(streamId ->
-                        MetricsUtil.addStreamId(shardScope, StreamIdentifier.multiStreamInstance(streamId)));
-        MetricsUtil.addShardId(shardScope, shardInfo.shardId());
+                shardConsumerMetrics.createScope(APPLICATION_TRACKER_OPERATION, MetricsLevel.SUMMARY);
+        final MetricsScope shardScope =
+                shardConsumerMetrics.createShardScope(PROCESS_TASK_OPERATION, MetricsLevel.SUMMARY);
         long startTimeMillis = System.currentTimeMillis();
         boolean success = false;
         try {
@@ -171,14 +200,20 @@ public class ProcessTask implements ConsumerTask {
                 }
 
                 recordProcessorCheckpointer.largestPermittedCheckpointValue(filterAndGetMaxExtendedSequenceNumber(
-                        shardScope,
                         records,
                         recordProcessorCheckpointer.lastCheckpointValue(),
                         recordProcessorCheckpointer.largestPermittedCheckpointValue()));
 
+                // Emitted once per batch rather than once per record, so the hot loop stays free of metrics calls.
+                final long dataBytes = totalDataBytes(records);
+                if (dataBytes > 0) {
+                    shardScope.addData(
+                            DATA_BYTES_PROCESSED_METRIC, dataBytes, StandardUnit.BYTES, MetricsLevel.SUMMARY);
+                }
+
                 if (shouldCallProcessRecords(records)) {
-                    publishLeaseStats(records);
-                    callProcessRecords(processRecordsInput, records);
+                    publishLeaseStats(dataBytes);
+                    callProcessRecords(processRecordsInput, records, dataBytes);
                 }
                 success = true;
             } catch (RuntimeException e) {
@@ -202,13 +237,16 @@ public class ProcessTask implements ConsumerTask {
         }
     }
 
-    private void publishLeaseStats(final List<KinesisClientRecord> records) {
-        leaseStatsRecorder.recordStats(LeaseStatsRecorder.LeaseStats.builder()
-                .bytes(records.stream()
-                        .mapToInt(record -> record.data().limit())
-                        .sum())
-                .leaseKey(ShardInfo.getLeaseKey(shardInfo))
-                .build());
+    private void publishLeaseStats(final long dataBytes) {
+        leaseStatsRecorder.recordStats(shardInfoId, dataBytes);
+    }
+
+    private static long totalDataBytes(final List<KinesisClientRecord> records) {
+        long dataBytes = 0;
+        for (final KinesisClientRecord record : records) {
+            dataBytes += record.data().limit();
+        }
+        return dataBytes;
     }
 
     private List<KinesisClientRecord> deaggregateAnyKplRecords(List<KinesisClientRecord> records) {
@@ -241,8 +279,10 @@ public class ProcessTask implements ConsumerTask {
      *            the result of the last call to Kinesis
      * @param records
      *            the records to be dispatched. It's possible the records have been adjusted by KPL deaggregation.
+     * @param dataBytes
+     *            total size of the data of the records to be dispatched
      */
-    private void callProcessRecords(ProcessRecordsInput input, List<KinesisClientRecord> records) {
+    private void callProcessRecords(ProcessRecordsInput input, List<KinesisClientRecord> records, long dataBytes) {
         log.debug("Calling application processRecords() with {} records from {}", records.size(), shardInfoId);
 
         final ProcessRecordsInput processRecordsInput = input.toBuilder()
@@ -250,14 +290,13 @@ public class ProcessTask implements ConsumerTask {
                 .checkpointer(recordProcessorCheckpointer)
                 .build();
 
-        final MetricsScope scope = MetricsUtil.createMetricsWithOperation(metricsFactory, PROCESS_TASK_OPERATION);
-        shardInfo
-                .streamIdentifierSerOpt()
-                .ifPresent(streamId -> MetricsUtil.addStreamId(scope, StreamIdentifier.multiStreamInstance(streamId)));
-        MetricsUtil.addShardId(scope, shardInfo.shardId());
+        final MetricsScope scope = shardConsumerMetrics.createShardScope(PROCESS_TASK_OPERATION, MetricsLevel.SUMMARY);
         final long startTime = System.currentTimeMillis();
+        final TimedEvent processRecordsEvent = FlightRecorderEvents.beginProcessRecords();
+        boolean success = false;
         try {
             shardRecordProcessor.processRecords(processRecordsInput);
+            success = true;
         } catch (Exception e) {
             log.error(
                     "ShardId {}: Application processRecords() threw an exception when processing shard ",
@@ -267,6 +306,7 @@ public class ProcessTask implements ConsumerTask {
         } finally {
             MetricsUtil.addLatency(scope, RECORD_PROCESSOR_PROCESS_RECORDS_METRIC, startTime, MetricsLevel.SUMMARY);
             MetricsUtil.endScope(scope);
+            FlightRecorderEvents.processRecords(processRecordsEvent, shardInfo, records.size(), dataBytes, success);
         }
     }
 
@@ -288,10 +328,8 @@ public class ProcessTask implements ConsumerTask {
 
     /**
      * Scans a list of records to filter out records up to and including the most recent checkpoint value and to get the
-     * greatest extended sequence number from the retained records. Also emits metrics about the records.
+     * greatest extended sequence number from the retained records.
      *
-     * @param scope
-     *            metrics scope to emit metrics into
      * @param records
      *            list of records to scan and change in-place as needed
      * @param lastCheckpointValue
@@ -301,7 +339,6 @@ public class ProcessTask implements ConsumerTask {
      * @return the largest extended sequence number among the retained records
      */
     private ExtendedSequenceNumber filterAndGetMaxExtendedSequenceNumber(
-            final MetricsScope scope,
             final List<KinesisClientRecord> records,
             final ExtendedSequenceNumber lastCheckpointValue,
             final ExtendedSequenceNumber lastLargestPermittedCheckpointValue) {
@@ -326,8 +363,6 @@ public class ProcessTask implements ConsumerTask {
                     || largestExtendedSequenceNumber.compareTo(extendedSequenceNumber) < 0) {
                 largestExtendedSequenceNumber = extendedSequenceNumber;
             }
-
-            scope.addData(DATA_BYTES_PROCESSED_METRIC, record.data().limit(), StandardUnit.BYTES, MetricsLevel.SUMMARY);
         }
         return largestExtendedSequenceNumber;
     }
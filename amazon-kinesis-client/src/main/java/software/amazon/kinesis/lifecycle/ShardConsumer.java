@@ -31,6 +31,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Subscription;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
 import software.amazon.kinesis.exceptions.internal.BlockedOnParentShardException;
+import software.amazon.kinesis.jfr.FlightRecorderEvents;
 import software.amazon.kinesis.leases.ShardInfo;
 import software.amazon.kinesis.lifecycle.events.ProcessRecordsInput;
 import software.amazon.kinesis.lifecycle.events.TaskExecutionListenerInput;
@@ -378,6 +379,10 @@ public class ShardConsumer {
 
         nextState = handleShutdownTransition(outcome, nextState);
 
+        if (nextState != currentState) {
+            FlightRecorderEvents.shardConsumerStateTransition(
+                    shardInfo, String.valueOf(currentState.state()), String.valueOf(nextState.state()));
+        }
         currentState = nextState;
     }
 
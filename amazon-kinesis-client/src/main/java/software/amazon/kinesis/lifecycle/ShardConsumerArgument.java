@@ -90,6 +90,11 @@ public class ShardConsumerArgument {
     private final LeaseCleanupManager leaseCleanupManager;
     private final SchemaRegistryDecoder schemaRegistryDecoder;
 
+    /**
+     * Metrics handle with the dimensions of this shard pre-resolved, shared by the tasks of the consumer.
+     */
+    private final ShardConsumerMetrics shardConsumerMetrics;
+
     /**
      * Consumer ID generated from lease table ARN to uniquely identify this KCL application
      */
@@ -198,6 +203,7 @@ public class ShardConsumerArgument {
         this.metricsFactory = metricsFactory;
         this.leaseCleanupManager = leaseCleanupManager;
         this.schemaRegistryDecoder = schemaRegistryDecoder;
+        this.shardConsumerMetrics = metricsFactory == null ? null : new ShardConsumerMetrics(metricsFactory, shardInfo);
         this.consumerId = consumerId;
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.lifecycle;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.experimental.Accessors;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.common.StreamIdentifier;
+import software.amazon.kinesis.leases.ShardInfo;
+import software.amazon.kinesis.metrics.MetricsFactory;
+import software.amazon.kinesis.metrics.MetricsLevel;
+import software.amazon.kinesis.metrics.MetricsScope;
+import software.amazon.kinesis.metrics.MetricsUtil;
+import software.amazon.kinesis.metrics.NullMetricsScope;
+
+/**
+ * Metrics handle for a single {@link ShardConsumer}. The stream and shard dimensions are resolved once when the
+ * consumer is created, and the enabled metrics levels are checked up front, so tasks running with metrics turned off
+ * only pay for a branch instead of creating scopes and resolving dimensions for every batch.
+ */
+@Accessors(fluent = true)
+@KinesisClientInternalApi
+public class ShardConsumerMetrics {
+    private static final MetricsScope DISABLED_SCOPE = new NullMetricsScope();
+
+    @Getter
+    private final MetricsFactory metricsFactory;
+
+    private final String shardId;
+    /**
+     * Stream identifier used for the StreamId dimension, null in single stream mode.
+     */
+    private final StreamIdentifier streamIdentifier;
+
+    private final boolean summaryEnabled;
+    private final boolean detailedEnabled;
+
+    public ShardConsumerMetrics(@NonNull final MetricsFactory metricsFactory, @NonNull final ShardInfo shardInfo) {
+        this.metricsFactory = metricsFactory;
+        this.shardId = shardInfo.shardId();
+        this.streamIdentifier = shardInfo
+                .streamIdentifierSerOpt()
+                .map(StreamIdentifier::multiStreamInstance)
+                .orElse(null);
+        this.summaryEnabled = metricsFactory.isEnabled(MetricsLevel.SUMMARY);
+        this.detailedEnabled = metricsFactory.isEnabled(MetricsLevel.DETAILED);
+    }
+
+    /**
+     * @param metricsLevel level of the data to be added
+     * @return true if data at the given level will be emitted
+     */
+    public boolean isEnabled(@NonNull final MetricsLevel metricsLevel) {
+        switch (metricsLevel) {
+            case SUMMARY:
+                return summaryEnabled;
+            case DETAILED:
+                return detailedEnabled;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Creates a scope with the operation, stream and shard dimensions of this consumer.
+     *
+     * @param operation value of the Operation dimension
+     * @param metricsLevel highest level of data that will be added to the scope
+     * @return a new scope, or a shared no-op scope if data at the given level would be dropped
+     */
+    public MetricsScope createShardScope(@NonNull final String operation, @NonNull final MetricsLevel metricsLevel) {
+        if (!isEnabled(metricsLevel)) {
+            return DISABLED_SCOPE;
+        }
+        final MetricsScope scope = MetricsUtil.createMetricsWithOperation(metricsFactory, operation);
+        if (streamIdentifier != null) {
+            MetricsUtil.addStreamId(scope, streamIdentifier);
+        }
+        MetricsUtil.addShardId(scope, shardId);
+        return scope;
+    }
+
+    /**
+     * Creates a scope with only the operation dimension, so data is aggregated across all consumers of the
+     * application.
+     *
+     * @param operation value of the Operation dimension
+     * @param metricsLevel highest level of data that will be added to the scope
+     * @return a new scope, or a shared no-op scope if data at the given level would be dropped
+     */
+    public MetricsScope createScope(@NonNull final String operation, @NonNull final MetricsLevel metricsLevel) {
+        if (!isEnabled(metricsLevel)) {
+            return DISABLED_SCOPE;
+        }
+        return MetricsUtil.createMetricsWithOperation(metricsFactory, operation);
+    }
+}
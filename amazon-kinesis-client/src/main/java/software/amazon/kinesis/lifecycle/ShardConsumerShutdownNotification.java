@@ -16,25 +16,36 @@ package software.amazon.kinesis.lifecycle;
 
 import java.util.concurrent.CountDownLatch;
 
+import lombok.extern.slf4j.Slf4j;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
 import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseCoordinator;
+import software.amazon.kinesis.metrics.MetricsFactory;
+import software.amazon.kinesis.metrics.MetricsLevel;
+import software.amazon.kinesis.metrics.MetricsScope;
+import software.amazon.kinesis.metrics.MetricsUtil;
+import software.amazon.kinesis.metrics.NullMetricsFactory;
 import software.amazon.kinesis.processor.ShardRecordProcessor;
 
 /**
  * Contains callbacks for completion of stages in a requested record processor shutdown.
  *
  */
+@Slf4j
 @KinesisClientInternalApi
 public class ShardConsumerShutdownNotification implements ShutdownNotification {
+    private static final String GRACEFUL_SHUTDOWN_OPERATION = "GracefulShutdown";
 
     private final LeaseCoordinator leaseCoordinator;
     private final Lease lease;
     private final CountDownLatch shutdownCompleteLatch;
     private final CountDownLatch notificationCompleteLatch;
+    private final boolean releaseLease;
+    private final MetricsFactory metricsFactory;
+    private final long startTimeMillis = System.currentTimeMillis();
 
-    private boolean notificationComplete = false;
-    private boolean allNotificationCompleted = false;
+    private volatile boolean notificationComplete = false;
+    private volatile boolean allNotificationCompleted = false;
 
     /**
      * Creates a new shutdown request object.
@@ -55,10 +66,49 @@ public class ShardConsumerShutdownNotification implements ShutdownNotification {
             final Lease lease,
             final CountDownLatch notificationCompleteLatch,
             final CountDownLatch shutdownCompleteLatch) {
+        this(
+                leaseCoordinator,
+                lease,
+                notificationCompleteLatch,
+                shutdownCompleteLatch,
+                false,
+                new NullMetricsFactory());
+    }
+
+    /**
+     * Creates a new shutdown request object.
+     *
+     * @param releaseLease
+     *            whether to release the lease in the lease table once the initial shutdown request is completed, so
+     *            that another worker can take it without waiting for it to expire
+     * @param metricsFactory
+     *            used to publish how long the record processor took to complete the shutdown request
+     * @see #ShardConsumerShutdownNotification(LeaseCoordinator, Lease, CountDownLatch, CountDownLatch)
+     */
+    public ShardConsumerShutdownNotification(
+            final LeaseCoordinator leaseCoordinator,
+            final Lease lease,
+            final CountDownLatch notificationCompleteLatch,
+            final CountDownLatch shutdownCompleteLatch,
+            final boolean releaseLease,
+            final MetricsFactory metricsFactory) {
         this.leaseCoordinator = leaseCoordinator;
         this.lease = lease;
         this.notificationCompleteLatch = notificationCompleteLatch;
         this.shutdownCompleteLatch = shutdownCompleteLatch;
+        this.releaseLease = releaseLease;
+        this.metricsFactory = metricsFactory;
+    }
+
+    public String leaseKey() {
+        return lease.leaseKey();
+    }
+
+    /**
+     * @return true once the record processor completed the shutdown request, or was shut down
+     */
+    public boolean isNotificationComplete() {
+        return notificationComplete || allNotificationCompleted;
     }
 
     @Override
@@ -71,10 +121,31 @@ public class ShardConsumerShutdownNotification implements ShutdownNotification {
         // shutdown of the record processor.
         //
         leaseCoordinator.dropLease(lease);
+        if (releaseLease) {
+            releaseLease();
+        }
+        final MetricsScope scope = MetricsUtil.createMetricsWithOperation(metricsFactory, GRACEFUL_SHUTDOWN_OPERATION);
+        MetricsUtil.addShardId(scope, lease.leaseKey());
+        MetricsUtil.addLatency(scope, "ShardDrainTime", startTimeMillis, MetricsLevel.DETAILED);
+        MetricsUtil.endScope(scope);
         notificationCompleteLatch.countDown();
         notificationComplete = true;
     }
 
+    /**
+     * Releases the lease so another worker can take it right away. The record processor completed the shutdown
+     * request, so the lease is not processed by this worker any longer.
+     */
+    private void releaseLease() {
+        try {
+            if (leaseCoordinator.leaseRefresher().evictLease(lease)) {
+                log.info("Released lease {} after the shutdown request completed", lease.leaseKey());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to release lease {}, it will be taken over once it expires", lease.leaseKey(), e);
+        }
+    }
+
     @Override
     public void shutdownComplete() {
         if (allNotificationCompleted) {
@@ -37,6 +37,7 @@ import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseCleanupManager;
 import software.amazon.kinesis.leases.LeaseCoordinator;
 import software.amazon.kinesis.leases.LeaseRefresher;
+import software.amazon.kinesis.leases.ParentShardCompletionRegistry;
 import software.amazon.kinesis.leases.ShardDetector;
 import software.amazon.kinesis.leases.ShardInfo;
 import software.amazon.kinesis.leases.UpdateField;
@@ -257,6 +258,12 @@ public class ShutdownTask implements ConsumerTask {
             throwOnApplicationException(
                     leaseKey, () -> applicationCheckpointAndVerification(leaseKey), scope, startTime);
         }
+        // Wake up the child shards of this worker blocked on this shard.
+        final ParentShardCompletionRegistry parentShardCompletionRegistry =
+                leaseCoordinator.parentShardCompletionRegistry();
+        if (parentShardCompletionRegistry != null) {
+            parentShardCompletionRegistry.markCompleted(leaseKey);
+        }
         return true;
     }
 
@@ -335,10 +342,15 @@ public class ShutdownTask implements ConsumerTask {
                         leaseKey);
                 final Lease leaseToCreate =
                         hierarchicalShardSyncer.createLeaseForChildShard(childShard, shardDetector.streamIdentifier());
+                // Take the child lease in the same write that creates it, if this worker inherits child leases.
+                final boolean inherited = leaseCoordinator.inheritChildLease(leaseToCreate);
                 final long startTime = System.currentTimeMillis();
                 boolean success = false;
                 try {
-                    leaseRefresher.createLeaseIfNotExists(leaseToCreate);
+                    final boolean created = leaseRefresher.createLeaseIfNotExists(leaseToCreate);
+                    if (created && inherited) {
+                        leaseCoordinator.addInheritedChildLease(leaseToCreate);
+                    }
                     success = true;
                 } finally {
                     MetricsUtil.addSuccessAndLatency(scope, "CreateLease", success, startTime, MetricsLevel.DETAILED);
@@ -86,6 +86,11 @@ public class CloudWatchMetricsFactory implements MetricsFactory {
         return new CloudWatchMetricsScope(runnable, metricsLevel, metricsEnabledDimensions);
     }
 
+    @Override
+    public boolean isEnabled(@NonNull final MetricsLevel metricsLevel) {
+        return metricsLevel.getValue() >= this.metricsLevel.getValue();
+    }
+
     public void shutdown() {
         runnable.shutdown();
         try {
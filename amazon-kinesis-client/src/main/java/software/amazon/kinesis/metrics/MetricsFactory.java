@@ -22,4 +22,15 @@ public interface MetricsFactory {
      * @return a new IMetricsScope object of the type constructed by this factory.
      */
     MetricsScope createMetrics();
+
+    /**
+     * Whether data added at the given level would be emitted by scopes created by this factory. Callers on hot paths
+     * can use this to skip creating scopes and resolving dimensions when the data would be dropped anyway.
+     *
+     * @param metricsLevel level of the data to be added
+     * @return true if data at the given level is emitted; defaults to true
+     */
+    default boolean isEnabled(MetricsLevel metricsLevel) {
+        return true;
+    }
 }
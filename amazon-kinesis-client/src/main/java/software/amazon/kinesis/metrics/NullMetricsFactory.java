@@ -22,4 +22,9 @@ public class NullMetricsFactory implements MetricsFactory {
     public MetricsScope createMetrics() {
         return SCOPE;
     }
+
+    @Override
+    public boolean isEnabled(MetricsLevel metricsLevel) {
+        return false;
+    }
 }
@@ -57,6 +57,11 @@ public class OtelMetricsFactory implements MetricsFactory {
         return new OtelMetricsScope(meter, metricsLevel, metricsEnabledDimensions);
     }
 
+    @Override
+    public boolean isEnabled(@NonNull final MetricsLevel metricsLevel) {
+        return metricsLevel.getValue() >= this.metricsLevel.getValue();
+    }
+
     /**
      * No-op shutdown. The application owner is responsible for managing the OTel
      * {@code MeterProvider} lifecycle (including flushing and shutting down exporters).
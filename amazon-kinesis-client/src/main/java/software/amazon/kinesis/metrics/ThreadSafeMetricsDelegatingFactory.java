@@ -38,4 +38,12 @@ public class ThreadSafeMetricsDelegatingFactory implements MetricsFactory {
     public MetricsScope createMetrics() {
         return new ThreadSafeMetricsDelegatingScope(delegate.createMetrics());
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEnabled(MetricsLevel metricsLevel) {
+        return delegate.isEnabled(metricsLevel);
+    }
 }
@@ -49,6 +49,8 @@ import software.amazon.kinesis.common.KinesisRequestsBuilder;
 import software.amazon.kinesis.common.RequestDetails;
 import software.amazon.kinesis.common.StreamIdentifier;
 import software.amazon.kinesis.coordinator.streamInfo.StreamIdCache;
+import software.amazon.kinesis.jfr.FlightRecorderEvents;
+import software.amazon.kinesis.jfr.TimedEvent;
 import software.amazon.kinesis.leases.exceptions.InvalidStateException;
 import software.amazon.kinesis.lifecycle.events.ProcessRecordsInput;
 import software.amazon.kinesis.retrieval.BatchUniqueIdentifier;
@@ -556,6 +558,7 @@ public class FanOutRecordsPublisher implements RecordsPublisher {
                 return;
             }
 
+            final TimedEvent subscribeToShardEvent = FlightRecorderEvents.beginSubscribeToShardEvent();
             try {
                 // If recordBatchEvent is not valid event, RuntimeException will be thrown here and trigger the
                 // errorOccurred call.
@@ -591,6 +594,8 @@ public class FanOutRecordsPublisher implements RecordsPublisher {
                 FanoutRecordsRetrieved recordsRetrieved = new FanoutRecordsRetrieved(
                         input, continuationSequenceNumber, triggeringFlow.subscribeToShardId);
                 bufferCurrentEventAndScheduleIfRequired(recordsRetrieved, triggeringFlow);
+                FlightRecorderEvents.subscribeToShardEvent(
+                        subscribeToShardEvent, streamIdentifier, shardId, recordBatchEvent);
             } catch (Throwable t) {
                 log.warn(
                         "{}: Unable to buffer or schedule onNext for subscriber.  Failing publisher."
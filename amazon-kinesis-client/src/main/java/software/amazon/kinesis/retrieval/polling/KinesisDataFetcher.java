@@ -40,6 +40,8 @@ import software.amazon.kinesis.common.InitialPositionInStreamExtended;
 import software.amazon.kinesis.common.KinesisRequestsBuilder;
 import software.amazon.kinesis.common.StreamIdentifier;
 import software.amazon.kinesis.coordinator.streamInfo.StreamIdCache;
+import software.amazon.kinesis.jfr.FlightRecorderEvents;
+import software.amazon.kinesis.jfr.TimedEvent;
 import software.amazon.kinesis.metrics.MetricsFactory;
 import software.amazon.kinesis.metrics.MetricsLevel;
 import software.amazon.kinesis.metrics.MetricsScope;
@@ -433,8 +435,10 @@ public class KinesisDataFetcher implements DataFetcher {
         MetricsUtil.addShardId(metricsScope, shardId);
         boolean success = false;
         long startTime = System.currentTimeMillis();
+        final TimedEvent getRecordsEvent = FlightRecorderEvents.beginGetRecords();
+        GetRecordsResponseAdapter response = null;
         try {
-            final GetRecordsResponseAdapter response = getRecordsAdapter(nextIterator);
+            response = getRecordsAdapter(nextIterator);
             success = true;
             return response;
         } finally {
@@ -445,6 +449,7 @@ public class KinesisDataFetcher implements DataFetcher {
                     startTime,
                     MetricsLevel.DETAILED);
             MetricsUtil.endScope(metricsScope);
+            FlightRecorderEvents.getRecords(getRecordsEvent, streamIdentifier, shardId, response);
         }
     }
 
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+
+/**
+ * Reads numeric statistics out of procfs and cgroupfs files without allocating on every read. The file content is read
+ * into a reusable direct buffer and parsed in place with a tokenizer over the ASCII bytes.
+ *
+ * Files under /proc and /sys are pseudo files whose content is generated on every read, so their channel is kept open
+ * and every read re-reads the file from offset 0. Other files, e.g. in tests, are opened on every read as they may be
+ * replaced between reads.
+ *
+ * Usage: {@link #read()} the file, position the tokenizer with {@link #findLine(byte[])} or {@link #nextLine()}, then
+ * read the values with {@link #nextLong()}, {@link #skipToken()} and {@link #nextTokenEquals(byte[])}. Parse failures
+ * and I/O errors are thrown as IllegalArgumentException, like {@link Cgroup#readSingleLineFile(String)}.
+ *
+ * Instances are not thread safe.
+ */
+@Slf4j
+@KinesisClientInternalApi
+public class StatFileReader implements Closeable {
+    private static final int DEFAULT_BUFFER_CAPACITY = 64 * 1024;
+
+    private final String path;
+    private final boolean keepOpen;
+    private final ByteBuffer buffer;
+    private FileChannel channel;
+    private int position;
+    private int limit;
+
+    public StatFileReader(final String path) {
+        this(path, DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * @param path path of the file to read
+     * @param bufferCapacity maximum number of bytes read from the file, content past it is ignored
+     */
+    public StatFileReader(final String path, final int bufferCapacity) {
+        this.path = path;
+        this.keepOpen = path.startsWith("/proc/") || path.startsWith("/sys/");
+        this.buffer = ByteBuffer.allocateDirect(bufferCapacity);
+    }
+
+    /**
+     * Reads the file from the start, and positions the tokenizer at the start of the first line.
+     */
+    public void read() {
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+            }
+            buffer.clear();
+            long filePosition = 0;
+            int bytesRead;
+            while (buffer.hasRemaining() && (bytesRead = channel.read(buffer, filePosition)) > 0) {
+                filePosition += bytesRead;
+            }
+            position = 0;
+            limit = buffer.position();
+        } catch (final NoSuchFileException e) {
+            throw new IllegalArgumentException(String.format("Failed to read file. %s does not exist", path), e);
+        } catch (final IOException e) {
+            closeChannel();
+            throw new IllegalArgumentException("Failed to read file " + path, e);
+        } finally {
+            if (!keepOpen) {
+                closeChannel();
+            }
+        }
+    }
+
+    /**
+     * Positions the tokenizer right after the given prefix on the first line, starting from the current line, that
+     * starts with the prefix after leading whitespace.
+     *
+     * @return false if no line starts with the prefix
+     */
+    public boolean findLine(final byte[] prefix) {
+        do {
+            skipWhitespace();
+            if (startsWith(prefix)) {
+                position += prefix.length;
+                return true;
+            }
+        } while (nextLine());
+        return false;
+    }
+
+    /**
+     * Positions the tokenizer at the start of the next line.
+     *
+     * @return false if there is no next line
+     */
+    public boolean nextLine() {
+        while (position < limit && buffer.get(position) != '\n') {
+            position++;
+        }
+        if (position >= limit) {
+            return false;
+        }
+        position++;
+        return position < limit;
+    }
+
+    /**
+     * Parses the next whitespace separated token on the current line as a long.
+     */
+    public long nextLong() {
+        skipWhitespace();
+        boolean negative = false;
+        if (position < limit && buffer.get(position) == '-') {
+            negative = true;
+            position++;
+        }
+        final int start = position;
+        long value = 0;
+        while (position < limit) {
+            final byte b = buffer.get(position);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value = value * 10 + (b - '0');
+            position++;
+        }
+        if (position == start || (position < limit && !isWhitespace(buffer.get(position)))) {
+            throw new IllegalArgumentException(
+                    String.format("Failed to parse a number out of %s at offset %d", path, start));
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Skips the next whitespace separated token on the current line.
+     */
+    public void skipToken() {
+        skipWhitespace();
+        while (position < limit && !isWhitespace(buffer.get(position))) {
+            position++;
+        }
+    }
+
+    /**
+     * Consumes the next token on the current line if it equals the given token.
+     *
+     * @return true if the token was consumed
+     */
+    public boolean nextTokenEquals(final byte[] token) {
+        skipWhitespace();
+        if (startsWith(token)
+                && (position + token.length == limit || isWhitespace(buffer.get(position + token.length)))) {
+            position += token.length;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        closeChannel();
+    }
+
+    /**
+     * @return ASCII bytes of the token, to be kept in a constant and passed to the tokenizer methods
+     */
+    public static byte[] token(final String token) {
+        return token.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private boolean startsWith(final byte[] prefix) {
+        if (position + prefix.length > limit) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(position + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skips spaces and tabs, but not line breaks, so that tokens are never read from the next line.
+     */
+    private void skipWhitespace() {
+        while (position < limit) {
+            final byte b = buffer.get(position);
+            if (b != ' ' && b != '\t') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private static boolean isWhitespace(final byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                log.warn("Failed to close {}", path, e);
+            }
+            channel = null;
+        }
+    }
+}
@@ -24,7 +24,10 @@ public enum WorkerMetricType {
     MEMORY("M"),
     NETWORK_IN("NI"),
     NETWORK_OUT("NO"),
-    THROUGHPUT("T");
+    THROUGHPUT("T"),
+    GC_PAUSE("GC"),
+    ALLOCATION_RATE("A"),
+    PROCESSING_POOL_SATURATION("P");
 
     @Getter
     private final String shortName;
@@ -22,6 +22,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.utils.StatFileReader;
 import software.amazon.kinesis.worker.metric.OperatingRange;
 import software.amazon.kinesis.worker.metric.WorkerMetric;
 import software.amazon.kinesis.worker.metric.WorkerMetricType;
@@ -48,7 +49,6 @@ import static software.amazon.kinesis.utils.Cgroup.readSingleLineFile;
 @KinesisClientInternalApi
 public class Cgroupv1CpuWorkerMetric implements WorkerMetric {
 
-    private static final Object LOCK_OBJECT = new Object();
     private static final WorkerMetricType CPU_WORKER_METRICS_TYPE = WorkerMetricType.CPU;
     private static final String CGROUP_ROOT = "/sys/fs/cgroup/";
     private static final String CPU_TIME_FILE = CGROUP_ROOT + "cpu/cpuacct.usage";
@@ -61,6 +61,7 @@ public class Cgroupv1CpuWorkerMetric implements WorkerMetric {
     private final String cfsPeriodFile;
     private final String effectiveCpuSetFile;
     private final Clock clock;
+    private StatFileReader cpuTimeFileReader;
     private double cpuLimit = -1;
     private long lastCpuUseTimeNanos = 0;
     private long lastSystemTimeNanos = 0;
@@ -85,33 +86,34 @@ public class Cgroupv1CpuWorkerMetric implements WorkerMetric {
         return WorkerMetricValue.builder().value(calculateCpuUsage()).build();
     }
 
-    private double calculateCpuUsage() {
+    private synchronized double calculateCpuUsage() {
         if (cpuLimit == -1) {
             cpuLimit = calculateCpuLimit();
         }
 
-        final long cpuTimeNanos = Long.parseLong(readSingleLineFile(cpuTimeFile));
+        if (cpuTimeFileReader == null) {
+            cpuTimeFileReader = new StatFileReader(cpuTimeFile);
+        }
+        cpuTimeFileReader.read();
+        final long cpuTimeNanos = cpuTimeFileReader.nextLong();
         final long currentTimeNanos = TimeUnit.MILLISECONDS.toNanos(clock.millis());
 
         boolean skip = false;
-        double cpuCoreTimeUsed;
-        synchronized (LOCK_OBJECT) {
-            if (lastCpuUseTimeNanos == 0 && lastSystemTimeNanos == 0) {
-                // Case where this is a first call so no diff available
-                skip = true;
-            }
-
-            final long nanoTimeDiff = currentTimeNanos - lastSystemTimeNanos;
-            final long cpuUseDiff = cpuTimeNanos - lastCpuUseTimeNanos;
-            // This value is not a percent, but rather how much CPU core time was consumed. i.e. this number can be
-            // 2.2 which stands for 2.2 CPU cores were fully utilized. If this number is less than 1 than that means
-            // that less than 1 CPU core was used.
-            cpuCoreTimeUsed = ((double) cpuUseDiff / nanoTimeDiff);
-
-            lastCpuUseTimeNanos = cpuTimeNanos;
-            lastSystemTimeNanos = currentTimeNanos;
+        if (lastCpuUseTimeNanos == 0 && lastSystemTimeNanos == 0) {
+            // Case where this is a first call so no diff available
+            skip = true;
         }
 
+        final long nanoTimeDiff = currentTimeNanos - lastSystemTimeNanos;
+        final long cpuUseDiff = cpuTimeNanos - lastCpuUseTimeNanos;
+        // This value is not a percent, but rather how much CPU core time was consumed. i.e. this number can be
+        // 2.2 which stands for 2.2 CPU cores were fully utilized. If this number is less than 1 than that means
+        // that less than 1 CPU core was used.
+        final double cpuCoreTimeUsed = ((double) cpuUseDiff / nanoTimeDiff);
+
+        lastCpuUseTimeNanos = cpuTimeNanos;
+        lastSystemTimeNanos = currentTimeNanos;
+
         if (skip) {
             return 0D;
         } else {
@@ -22,6 +22,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.utils.StatFileReader;
 import software.amazon.kinesis.worker.metric.OperatingRange;
 import software.amazon.kinesis.worker.metric.WorkerMetric;
 import software.amazon.kinesis.worker.metric.WorkerMetricType;
@@ -47,17 +48,18 @@ import static software.amazon.kinesis.utils.Cgroup.readSingleLineFile;
 @KinesisClientInternalApi
 public class Cgroupv2CpuWorkerMetric implements WorkerMetric {
 
-    private static final Object LOCK_OBJECT = new Object();
     private static final WorkerMetricType CPU_WORKER_METRICS_TYPE = WorkerMetricType.CPU;
     private static final String CGROUP_ROOT = "/sys/fs/cgroup/";
     private static final String CPU_MAX_FILE = CGROUP_ROOT + "cpu.max";
     private static final String EFFECTIVE_CPU_SET_FILE = CGROUP_ROOT + "cpuset.cpus.effective";
     private static final String CPU_STAT_FILE = CGROUP_ROOT + "cpu.stat";
+    private static final byte[] USAGE_USEC = StatFileReader.token("usage_usec");
     private final OperatingRange operatingRange;
     private final String cpuMaxFile;
     private final String effectiveCpuSetFile;
     private final String cpuStatFile;
     private final Clock clock;
+    private StatFileReader cpuStatFileReader;
     private double cpuLimit = -1;
     private long lastCpuUseTimeMicros = 0;
     private long lastSystemTimeMicros = 0;
@@ -76,7 +78,7 @@ public class Cgroupv2CpuWorkerMetric implements WorkerMetric {
         return WorkerMetricValue.builder().value(calculateCpuUsage()).build();
     }
 
-    private double calculateCpuUsage() {
+    private synchronized double calculateCpuUsage() {
         if (cpuLimit == -1) {
             cpuLimit = calculateCpuLimit();
         }
@@ -84,29 +86,32 @@ public class Cgroupv2CpuWorkerMetric implements WorkerMetric {
         // The first line of this file is of the format
         // usage_usec $MICROSECONDS
         // where $MICROSECONDS is always a number
-        final String cpuUsageStat = readSingleLineFile(cpuStatFile);
-        final long cpuTimeMicros = Long.parseLong(cpuUsageStat.split(" ")[1]);
+        if (cpuStatFileReader == null) {
+            cpuStatFileReader = new StatFileReader(cpuStatFile);
+        }
+        cpuStatFileReader.read();
+        if (!cpuStatFileReader.nextTokenEquals(USAGE_USEC)) {
+            throw new IllegalArgumentException(String.format("Failed to find usage_usec in %s", cpuStatFile));
+        }
+        final long cpuTimeMicros = cpuStatFileReader.nextLong();
         final long currentTimeMicros = TimeUnit.MILLISECONDS.toMicros(clock.millis());
 
         boolean skip = false;
-        double cpuCoreTimeUsed;
-        synchronized (LOCK_OBJECT) {
-            if (lastCpuUseTimeMicros == 0 && lastSystemTimeMicros == 0) {
-                // Case where this is a first call so no diff available
-                skip = true;
-            }
-
-            final long microTimeDiff = currentTimeMicros - lastSystemTimeMicros;
-            final long cpuUseDiff = cpuTimeMicros - lastCpuUseTimeMicros;
-            // This value is not a percent, but rather how much CPU core time was consumed. i.e. this number can be
-            // 2.2 which stands for 2.2 CPU cores were fully utilized. If this number is less than 1 than that means
-            // that less than 1 CPU core was used.
-            cpuCoreTimeUsed = ((double) cpuUseDiff / microTimeDiff);
-
-            lastCpuUseTimeMicros = cpuTimeMicros;
-            lastSystemTimeMicros = currentTimeMicros;
+        if (lastCpuUseTimeMicros == 0 && lastSystemTimeMicros == 0) {
+            // Case where this is a first call so no diff available
+            skip = true;
         }
 
+        final long microTimeDiff = currentTimeMicros - lastSystemTimeMicros;
+        final long cpuUseDiff = cpuTimeMicros - lastCpuUseTimeMicros;
+        // This value is not a percent, but rather how much CPU core time was consumed. i.e. this number can be
+        // 2.2 which stands for 2.2 CPU cores were fully utilized. If this number is less than 1 than that means
+        // that less than 1 CPU core was used.
+        final double cpuCoreTimeUsed = ((double) cpuUseDiff / microTimeDiff);
+
+        lastCpuUseTimeMicros = cpuTimeMicros;
+        lastSystemTimeMicros = currentTimeMicros;
+
         if (skip) {
             return 0D;
         } else {
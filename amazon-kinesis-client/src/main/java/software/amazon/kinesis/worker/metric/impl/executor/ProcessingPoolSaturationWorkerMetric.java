@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.worker.metric.impl.executor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import com.google.common.base.Preconditions;
+import lombok.NonNull;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.worker.metric.OperatingRange;
+import software.amazon.kinesis.worker.metric.WorkerMetric;
+import software.amazon.kinesis.worker.metric.WorkerMetricType;
+
+/**
+ * Processing pool saturation WorkerMetric, the number of tasks running or queued on the executor that runs the shard
+ * consumer tasks, as a percentage of the number of tasks the worker can run concurrently. Record processors that fall
+ * behind keep more tasks in flight, so the pool can saturate before the CPU utilization reaches the operating range.
+ */
+@KinesisClientInternalApi
+public class ProcessingPoolSaturationWorkerMetric implements WorkerMetric {
+
+    private static final WorkerMetricType PROCESSING_POOL_SATURATION_WORKER_METRICS_TYPE =
+            WorkerMetricType.PROCESSING_POOL_SATURATION;
+
+    private final OperatingRange operatingRange;
+    private final ThreadPoolExecutor executor;
+    private final int capacity;
+
+    /**
+     * @param executor executor running the shard consumer tasks
+     * @param capacity number of tasks in flight at which the worker is fully utilized
+     */
+    public ProcessingPoolSaturationWorkerMetric(
+            final OperatingRange operatingRange, @NonNull final ThreadPoolExecutor executor, final int capacity) {
+        Preconditions.checkArgument(capacity > 0, "capacity should be greater than 0.");
+        this.operatingRange = operatingRange;
+        this.executor = executor;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public String getShortName() {
+        return PROCESSING_POOL_SATURATION_WORKER_METRICS_TYPE.getShortName();
+    }
+
+    @Override
+    public WorkerMetricValue capture() {
+        final int tasksInFlight =
+                executor.getActiveCount() + executor.getQueue().size();
+        return WorkerMetricValue.builder()
+                .value(Math.min(100, (double) tasksInFlight / capacity * 100))
+                .build();
+    }
+
+    @Override
+    public OperatingRange getOperatingRange() {
+        return operatingRange;
+    }
+
+    @Override
+    public WorkerMetricType getWorkerMetricType() {
+        return PROCESSING_POOL_SATURATION_WORKER_METRICS_TYPE;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.worker.metric.impl.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.worker.metric.OperatingRange;
+import software.amazon.kinesis.worker.metric.WorkerMetric;
+import software.amazon.kinesis.worker.metric.WorkerMetricType;
+
+/**
+ * Allocation rate WorkerMetric, the heap bytes allocated per second by all live threads, read with
+ * {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}, as a percentage of the maximum allocation rate the
+ * worker sustains.
+ *
+ * When this is invoked for the first time, the value returned is always 0 as the prev values are not available
+ * to calculate the diff. Bytes allocated by threads that terminated since the last capture are not accounted.
+ * In case the JVM does not support thread allocation accounting, this throws IllegalArgumentException.
+ */
+@KinesisClientInternalApi
+public class AllocationRateWorkerMetric implements WorkerMetric {
+
+    private static final WorkerMetricType ALLOCATION_RATE_WORKER_METRICS_TYPE = WorkerMetricType.ALLOCATION_RATE;
+
+    private final OperatingRange operatingRange;
+    private final double maxAllocationRateInMBps;
+    private final LongSupplier allocatedBytesSupplier;
+    // Stopwatch to keep track of elapsed time between invocation.
+    private final Stopwatch stopwatch;
+    private long lastAllocatedBytes = -1;
+
+    /**
+     * @param maxAllocationRateInMBps allocation rate in MB per second at which the worker is fully utilized
+     */
+    public AllocationRateWorkerMetric(final OperatingRange operatingRange, final double maxAllocationRateInMBps) {
+        this(
+                operatingRange,
+                maxAllocationRateInMBps,
+                AllocationRateWorkerMetric::allocatedBytesOfLiveThreads,
+                Stopwatch.createUnstarted());
+    }
+
+    @VisibleForTesting
+    AllocationRateWorkerMetric(
+            final OperatingRange operatingRange,
+            final double maxAllocationRateInMBps,
+            final LongSupplier allocatedBytesSupplier,
+            final Stopwatch stopwatch) {
+        Preconditions.checkArgument(maxAllocationRateInMBps > 0, "maxAllocationRateInMBps should be greater than 0.");
+        this.operatingRange = operatingRange;
+        this.maxAllocationRateInMBps = maxAllocationRateInMBps;
+        this.allocatedBytesSupplier = allocatedBytesSupplier;
+        this.stopwatch = stopwatch;
+    }
+
+    @Override
+    public String getShortName() {
+        return ALLOCATION_RATE_WORKER_METRICS_TYPE.getShortName();
+    }
+
+    @Override
+    public synchronized WorkerMetricValue capture() {
+        final long allocatedBytes = allocatedBytesSupplier.getAsLong();
+        double allocationRateInMBps = 0D;
+        if (lastAllocatedBytes != -1 && stopwatch.isRunning()) {
+            // Specifically, getting nanos and converting to seconds to get the decimal precision.
+            final double elapsedTimeInSecond = (double) stopwatch.elapsed().toNanos()
+                    / Duration.ofSeconds(1).toNanos();
+            if (elapsedTimeInSecond > 0) {
+                // The sum decreases when threads that allocated terminate, count that as no allocation.
+                final long allocatedBytesDiff = Math.max(0, allocatedBytes - lastAllocatedBytes);
+                allocationRateInMBps = (double) allocatedBytesDiff / (1024 * 1024) / elapsedTimeInSecond;
+            }
+        }
+        stopwatch.reset().start();
+        lastAllocatedBytes = allocatedBytes;
+        return WorkerMetricValue.builder()
+                // If maxAllocationRateInMBps is less than the allocation rate (could be wrong configuration),
+                // default to 100 % utilization.
+                .value(Math.min(100, allocationRateInMBps / maxAllocationRateInMBps * 100))
+                .build();
+    }
+
+    private static long allocatedBytesOfLiveThreads() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            throw new IllegalArgumentException("Thread allocated bytes are not supported by this JVM");
+        }
+        final com.sun.management.ThreadMXBean allocationThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!allocationThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+            throw new IllegalArgumentException("Thread allocated memory measurement is disabled");
+        }
+        long allocatedBytes = 0;
+        for (long threadAllocatedBytes :
+                allocationThreadMXBean.getThreadAllocatedBytes(allocationThreadMXBean.getAllThreadIds())) {
+            // Allocated bytes are -1 for threads that terminated in the meantime.
+            allocatedBytes += Math.max(0, threadAllocatedBytes);
+        }
+        return allocatedBytes;
+    }
+
+    @Override
+    public OperatingRange getOperatingRange() {
+        return operatingRange;
+    }
+
+    @Override
+    public WorkerMetricType getWorkerMetricType() {
+        return ALLOCATION_RATE_WORKER_METRICS_TYPE;
+    }
+}
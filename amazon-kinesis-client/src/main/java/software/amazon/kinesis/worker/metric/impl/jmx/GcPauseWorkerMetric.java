@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.worker.metric.impl.jmx;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.worker.metric.OperatingRange;
+import software.amazon.kinesis.worker.metric.WorkerMetric;
+import software.amazon.kinesis.worker.metric.WorkerMetricType;
+
+/**
+ * GC pause WorkerMetric, the percentage of wall clock time spent in garbage collection since the last capture, read
+ * from the accumulated collection time of all {@link GarbageCollectorMXBean}s. A worker can saturate on GC pauses
+ * well before its CPU utilization reaches the operating range.
+ *
+ * When this is invoked for the first time, the value returned is always 0 as the prev values are not available
+ * to calculate the diff.
+ */
+@KinesisClientInternalApi
+public class GcPauseWorkerMetric implements WorkerMetric {
+
+    private static final WorkerMetricType GC_PAUSE_WORKER_METRICS_TYPE = WorkerMetricType.GC_PAUSE;
+
+    private final OperatingRange operatingRange;
+    private final List<GarbageCollectorMXBean> garbageCollectorMXBeans;
+    // Stopwatch to keep track of elapsed time between invocation.
+    private final Stopwatch stopwatch;
+    private long lastCollectionTimeMillis = -1;
+
+    public GcPauseWorkerMetric(final OperatingRange operatingRange) {
+        this(operatingRange, ManagementFactory.getGarbageCollectorMXBeans(), Stopwatch.createUnstarted());
+    }
+
+    @VisibleForTesting
+    GcPauseWorkerMetric(
+            final OperatingRange operatingRange,
+            final List<GarbageCollectorMXBean> garbageCollectorMXBeans,
+            final Stopwatch stopwatch) {
+        this.operatingRange = operatingRange;
+        this.garbageCollectorMXBeans = garbageCollectorMXBeans;
+        this.stopwatch = stopwatch;
+    }
+
+    @Override
+    public String getShortName() {
+        return GC_PAUSE_WORKER_METRICS_TYPE.getShortName();
+    }
+
+    @Override
+    public synchronized WorkerMetricValue capture() {
+        long collectionTimeMillis = 0;
+        for (GarbageCollectorMXBean garbageCollectorMXBean : garbageCollectorMXBeans) {
+            // Collection time is -1 if the collector does not report it.
+            collectionTimeMillis += Math.max(0, garbageCollectorMXBean.getCollectionTime());
+        }
+
+        double gcPausePercentage = 0D;
+        if (lastCollectionTimeMillis != -1 && stopwatch.isRunning()) {
+            final double elapsedMillis = (double) stopwatch.elapsed().toNanos() / 1_000_000;
+            if (elapsedMillis > 0) {
+                gcPausePercentage = (collectionTimeMillis - lastCollectionTimeMillis) / elapsedMillis * 100;
+            }
+        }
+        stopwatch.reset().start();
+        lastCollectionTimeMillis = collectionTimeMillis;
+        return WorkerMetricValue.builder()
+                // Collection time is accounted at the end of a collection, so a collection that started before the
+                // last capture can make this exceed 100 %.
+                .value(Math.min(100, Math.max(0, gcPausePercentage)))
+                .build();
+    }
+
+    @Override
+    public OperatingRange getOperatingRange() {
+        return operatingRange;
+    }
+
+    @Override
+    public WorkerMetricType getWorkerMetricType() {
+        return GC_PAUSE_WORKER_METRICS_TYPE;
+    }
+}
@@ -15,21 +15,18 @@
 
 package software.amazon.kinesis.worker.metric.impl.linux;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
-
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.utils.StatFileReader;
 import software.amazon.kinesis.worker.metric.OperatingRange;
 import software.amazon.kinesis.worker.metric.WorkerMetric;
 import software.amazon.kinesis.worker.metric.WorkerMetricType;
 
 /**
  * Reads CPU usage statistics out of /proc/stat file that is present on the EC2 instances. The value is % utilization
- * of the CPU.
+ * of the CPU. The file is read with a {@link StatFileReader}, which does not allocate on every capture.
  * When this is invoked for the first time, the value returned is always 0 as the prev values are not available
  * to calculate the diff. If the file hasn't changed this also returns 0.
  * In case the file is not present or any other exception occurs, this throws IllegalArgumentException.
@@ -39,12 +36,12 @@ import software.amazon.kinesis.worker.metric.WorkerMetricType;
 @KinesisClientInternalApi
 public class LinuxCpuWorkerMetric implements WorkerMetric {
 
-    private static final Object LOCK_OBJECT = new Object();
     private static final WorkerMetricType CPU_WORKER_METRICS_TYPE = WorkerMetricType.CPU;
+    private static final byte[] CPU_LINE_PREFIX = StatFileReader.token("cpu");
     private final OperatingRange operatingRange;
     private final String statFile;
+    private StatFileReader statFileReader;
     private long lastUsr, lastIow, lastSys, lastIdl, lastTot;
-    private String lastLine;
 
     public LinuxCpuWorkerMetric(final OperatingRange operatingRange) {
         this(operatingRange, "/proc/stat");
@@ -60,82 +57,64 @@ public class LinuxCpuWorkerMetric implements WorkerMetric {
         return WorkerMetricValue.builder().value(calculateCpuUsage()).build();
     }
 
-    private double calculateCpuUsage() {
-        BufferedReader bufferedReader = null;
-        try {
-
-            final File stat = new File(statFile);
-            if (stat.exists()) {
-
-                bufferedReader = new BufferedReader(new FileReader(stat));
-                final String line = bufferedReader.readLine();
-                final String[] lineVals = line.split("\\s+");
-
-                long usr = Long.parseLong(lineVals[1]) + Long.parseLong(lineVals[2]);
-                long sys = Long.parseLong(lineVals[3]);
-                long idl = Long.parseLong(lineVals[4]);
-                long iow = Long.parseLong(lineVals[5]);
-                long tot = usr + sys + idl + iow;
-                long diffIdl = -1;
-                long diffTot = -1;
-
-                boolean skip = false;
-                synchronized (LOCK_OBJECT) {
-                    if (lastUsr == 0 || line.equals(lastLine)) {
-                        // Case where this is a first call so no diff available or
-                        // /proc/stat file is not updated since last time.
-                        skip = true;
-                    }
-
-                    diffIdl = Math.abs(idl - lastIdl);
-                    diffTot = Math.abs(tot - lastTot);
-                    if (diffTot < diffIdl) {
-                        log.warn(
-                                "diffTot is less than diff_idle. \nPrev cpu line : {} and current cpu line : {} ",
-                                lastLine,
-                                line);
-                        if (iow < lastIow) {
-                            // this is case where current iow value less than prev, this can happen in rare cases as per
-                            // https://docs.kernel.org/filesystems/proc.html, and when the worker is idle
-                            // there is no increase in usr or sys values as well resulting in diffTot < diffIdl as
-                            // current tot increases less than current idl
-                            // return 0 in this case as this is the case where worker is not doing anything anyways.
-                            skip = true;
-                        }
-                    }
-                    lastUsr = usr;
-                    lastSys = sys;
-                    lastIdl = idl;
-                    lastIow = iow;
-                    lastTot = usr + sys + idl + iow;
-                    lastLine = line;
-                }
-
-                if (skip) {
-                    return 0D;
-                }
+    private synchronized double calculateCpuUsage() {
+        if (statFileReader == null) {
+            statFileReader = new StatFileReader(statFile);
+        }
+        statFileReader.read();
+        if (!statFileReader.nextTokenEquals(CPU_LINE_PREFIX)) {
+            throw new IllegalArgumentException(String.format(
+                    "LinuxCpuWorkerMetric is not configured properly, file : %s does not start with cpu line",
+                    this.statFile));
+        }
 
-                return ((double) (diffTot - diffIdl) / (double) diffTot) * 100.0;
+        final long usr = statFileReader.nextLong() + statFileReader.nextLong();
+        final long sys = statFileReader.nextLong();
+        final long idl = statFileReader.nextLong();
+        final long iow = statFileReader.nextLong();
+        final long tot = usr + sys + idl + iow;
+
+        boolean skip = false;
+        if (lastUsr == 0 || (usr == lastUsr && sys == lastSys && idl == lastIdl && iow == lastIow)) {
+            // Case where this is a first call so no diff available or
+            // /proc/stat file is not updated since last time.
+            skip = true;
+        }
 
-            } else {
-                throw new IllegalArgumentException(String.format(
-                        "LinuxCpuWorkerMetric is not configured properly, file : %s does not exists", this.statFile));
-            }
-        } catch (final Throwable t) {
-            if (t instanceof IllegalArgumentException) {
-                throw (IllegalArgumentException) t;
-            }
-            throw new IllegalArgumentException(
-                    "LinuxCpuWorkerMetric failed to read metric stats or not configured properly.", t);
-        } finally {
-            try {
-                if (bufferedReader != null) {
-                    bufferedReader.close();
-                }
-            } catch (Throwable x) {
-                log.warn("Failed to close bufferedReader ", x);
+        final long diffIdl = Math.abs(idl - lastIdl);
+        final long diffTot = Math.abs(tot - lastTot);
+        if (diffTot < diffIdl) {
+            log.warn(
+                    "diffTot is less than diff_idle. \nPrev cpu values usr {} sys {} idl {} iow {} and current cpu values"
+                            + " usr {} sys {} idl {} iow {}",
+                    lastUsr,
+                    lastSys,
+                    lastIdl,
+                    lastIow,
+                    usr,
+                    sys,
+                    idl,
+                    iow);
+            if (iow < lastIow) {
+                // this is case where current iow value less than prev, this can happen in rare cases as per
+                // https://docs.kernel.org/filesystems/proc.html, and when the worker is idle
+                // there is no increase in usr or sys values as well resulting in diffTot < diffIdl as
+                // current tot increases less than current idl
+                // return 0 in this case as this is the case where worker is not doing anything anyways.
+                skip = true;
             }
         }
+        lastUsr = usr;
+        lastSys = sys;
+        lastIdl = idl;
+        lastIow = iow;
+        lastTot = tot;
+
+        if (skip) {
+            return 0D;
+        }
+
+        return ((double) (diffTot - diffIdl) / (double) diffTot) * 100.0;
     }
 
     @Override
@@ -15,24 +15,21 @@
 
 package software.amazon.kinesis.worker.metric.impl.linux;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
 import java.time.Duration;
-import java.util.Map;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
-import com.google.common.collect.ImmutableMap;
 import lombok.extern.slf4j.Slf4j;
 import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.utils.StatFileReader;
 import software.amazon.kinesis.worker.metric.OperatingRange;
 import software.amazon.kinesis.worker.metric.WorkerMetric;
 import software.amazon.kinesis.worker.metric.WorkerMetricType;
 
 /**
  * Base class for EC2NetworkWorkerMetrics, this reads and parses /proc/net/dev file and look for the specific
- * interface and reads received and transmitted bytes.
+ * interface and reads received and transmitted bytes. The file is read with a {@link StatFileReader}, which does not
+ * allocate on every capture.
  * To get the percentage of bandwidth consumed, the fetch bytes are converted to per second (based on the interval
  * between invocation) and percentage is calculated by dividing it by the maximum bandwidth in MBps.
  *
@@ -46,11 +43,15 @@ public abstract class LinuxNetworkWorkerMetricBase implements WorkerMetric {
 
     protected static final String DEFAULT_NETWORK_STAT_FILE = "/proc/net/dev";
     protected static final String DEFAULT_INTERFACE_NAME = "eth0";
-    private final Object lockObject = new Object();
+    /**
+     * Column of the transmitted bytes after the interface name, the received bytes are in the first column.
+     */
+    private static final int TRANSMIT_BYTES_COLUMN = 8;
 
     private final OperatingRange operatingRange;
     private final String interfaceName;
-    private final String statFile;
+    private final byte[] interfacePrefix;
+    private final StatFileReader statFileReader;
     private final double maxBandwidthInMBps;
     // Stopwatch to keep track of elapsed time between invocation.
     private final Stopwatch stopwatch;
@@ -64,7 +65,8 @@ public abstract class LinuxNetworkWorkerMetricBase implements WorkerMetric {
         Preconditions.checkArgument(maxBandwidthInMBps > 0, "maxBandwidthInMBps should be greater than 0.");
         this.operatingRange = operatingRange;
         this.interfaceName = interfaceName;
-        this.statFile = statFile;
+        this.interfacePrefix = StatFileReader.token(interfaceName + ":");
+        this.statFileReader = new StatFileReader(statFile);
         this.maxBandwidthInMBps = maxBandwidthInMBps;
         this.stopwatch = stopwatch;
     }
@@ -95,8 +97,7 @@ public abstract class LinuxNetworkWorkerMetricBase implements WorkerMetric {
      */
     @Override
     public WorkerMetricValue capture() {
-        final double percentageOfMaxBandwidth =
-                convertToMBps(calculateNetworkUsage().get(getWorkerMetricsType())) / maxBandwidthInMBps * 100;
+        final double percentageOfMaxBandwidth = convertToMBps(calculateNetworkUsage()) / maxBandwidthInMBps * 100;
         return WorkerMetricValue.builder()
                 // If maxBandwidthInMBps is less than utilized (could be wrong configuration),
                 // default to 100 % bandwidth utilization.
@@ -129,77 +130,30 @@ public abstract class LinuxNetworkWorkerMetricBase implements WorkerMetric {
     protected abstract WorkerMetricType getWorkerMetricsType();
 
     /**
-     * Returns the absolute bytes in and out since the last invocation of the method.
-     * @return Map of WorkerMetricType to bytes
+     * Returns the absolute bytes in or out, depending on {@link #getWorkerMetricsType()}, since the last invocation of
+     * the method.
      */
-    private Map<WorkerMetricType, Long> calculateNetworkUsage() {
-        BufferedReader bufferedReader = null;
-        try {
-            final File net = new File(statFile);
-            if (net.exists()) {
-                bufferedReader = new BufferedReader(new FileReader(net));
-
-                // skip over header lines
-                bufferedReader.readLine();
-                bufferedReader.readLine();
-
-                // find specified interface
-                String line = bufferedReader.readLine();
-                while (line != null && !line.matches("^\\s*" + interfaceName + ":.*")) {
-                    line = bufferedReader.readLine();
-                }
-                if (line == null) {
-                    throw new IllegalArgumentException(
-                            "Failed to parse the file and find interface : " + interfaceName);
-                }
-
-                int n = line.indexOf(':') + 1;
-                line = line.substring(n).trim();
-                String[] parts = line.split("\\s+");
-
-                long rx = Long.parseLong(parts[0]);
-                long tx = Long.parseLong(parts[8]);
-                long diffRx = -1, diffTx = -1;
-                boolean skip = false;
-                synchronized (lockObject) {
-                    if (lastRx == -1) {
-                        skip = true;
-                    } else {
-                        diffRx = Math.abs(rx - lastRx);
-                        diffTx = Math.abs(tx - lastTx);
-                    }
-                    lastRx = rx;
-                    lastTx = tx;
-                }
-
-                if (skip) {
-                    return createResponse(0L, 0L);
-                }
-
-                return createResponse(diffRx, diffTx);
-            } else {
-                throw new IllegalArgumentException(String.format(
-                        "NetworkWorkerMetrics is not configured properly, file : %s does not exists", this.statFile));
-            }
-        } catch (final Throwable t) {
-            if (t instanceof IllegalArgumentException) {
-                throw (IllegalArgumentException) t;
-            }
-            throw new IllegalArgumentException("Cannot read/parse " + this.statFile, t);
-        } finally {
-            try {
-                if (bufferedReader != null) {
-                    bufferedReader.close();
-                }
-            } catch (Throwable x) {
-                log.warn("Failed to close bufferedReader ", x);
-            }
+    private synchronized long calculateNetworkUsage() {
+        statFileReader.read();
+        // skip over header lines
+        if (!statFileReader.nextLine() || !statFileReader.nextLine() || !statFileReader.findLine(interfacePrefix)) {
+            throw new IllegalArgumentException("Failed to parse the file and find interface : " + interfaceName);
         }
-    }
 
-    private Map<WorkerMetricType, Long> createResponse(final long diffRx, final long diffTx) {
-        return ImmutableMap.of(
-                WorkerMetricType.NETWORK_IN, diffRx,
-                WorkerMetricType.NETWORK_OUT, diffTx);
+        final long rx = statFileReader.nextLong();
+        for (int i = 0; i < TRANSMIT_BYTES_COLUMN - 1; i++) {
+            statFileReader.skipToken();
+        }
+        final long tx = statFileReader.nextLong();
+        long diffRx = 0;
+        long diffTx = 0;
+        if (lastRx != -1) {
+            diffRx = Math.abs(rx - lastRx);
+            diffTx = Math.abs(tx - lastTx);
+        }
+        lastRx = rx;
+        lastTx = tx;
+
+        return getWorkerMetricsType() == WorkerMetricType.NETWORK_IN ? diffRx : diffTx;
     }
 }
@@ -32,6 +32,7 @@ import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbIgnore;
@@ -60,6 +61,8 @@ import static software.amazon.kinesis.leases.dynamodb.DynamoDBLeaseSerializer.LE
  * supportCodeUpdateEpochSeconds : wall epoch in seconds when the support code was last heartbeated. Since older
  *                                 versions performing partial DDB updates would leave stale supportCode values
  *                                 after rollback, this timestamp lets the leader distinguish current from stale.
+ * compactStats : metricStats and operatingRange in the binary encoding of {@link WorkerMetricStatsCodec}, written
+ *                instead of the two maps when the compact encoding is enabled.
  * metricStatsMap : runtime computed WorkerMetric name to its average value map. This field is not stored in ddb
  *                        and is used during Lease assignment only
  *
@@ -190,6 +193,9 @@ public class WorkerMetricStats implements Entity {
     @Getter(onMethod_ = {@DynamoDbAttribute("slu")})
     private Long supportCodeUpdateEpochSeconds;
 
+    @Getter(onMethod_ = {@DynamoDbAttribute("cms")})
+    private SdkBytes compactStats;
+
     /**
      * This map contains the WorkerMetric to its metric stat value. Metric stat value stored in this is exponentially averaged over
      * available number of different datapoints.
@@ -237,6 +243,29 @@ public class WorkerMetricStats implements Entity {
         }
     }
 
+    /**
+     * Replaces metricStats and operatingRange with the values decoded from compactStats, if present. The decoded
+     * values are only used if they were encoded with the current lastUpdateTime, compactStats left behind by a
+     * worker that no longer uses the compact encoding are ignored.
+     */
+    public void decodeCompactStats() {
+        if (isNull(compactStats) || isNull(lastUpdateTime)) {
+            return;
+        }
+        try {
+            final WorkerMetricStatsCodec.Decoded decoded = WorkerMetricStatsCodec.decode(compactStats.asByteBuffer());
+            if (decoded.lastUpdateTime() != lastUpdateTime) {
+                log.debug("Ignoring stale compactStats of worker {}", workerId);
+                return;
+            }
+            metricStats = decoded.metricStats();
+            operatingRange = decoded.operatingRange();
+            metricStatsMap.clear();
+        } catch (final IllegalArgumentException e) {
+            log.warn("Unable to decode compactStats of worker {}, ignoring them", workerId, e);
+        }
+    }
+
     /**
      * Returns true if given {@param workerMetricName} is available for the current worker else false
      */
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.worker.metricstats;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Value;
+import lombok.experimental.Accessors;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+
+/**
+ * Compact binary encoding of the metricStats and operatingRange of a {@link WorkerMetricStats} entry, stored in a
+ * single binary attribute instead of two maps of number lists.
+ *
+ * Layout, where every integer is a zigzag encoded varint:
+ * <pre>
+ * schema version (1 byte)
+ * lastUpdateTime
+ * number of metricStats entries, then for each: name, number of values, first value, deltas to the previous value
+ * number of operatingRange entries, then for each: name, number of values, values
+ * </pre>
+ * Names are a varint length followed by the UTF-8 bytes. Metric stat values are percentages, quantized to
+ * 1/{@value #QUANTIZATION_SCALE} before delta encoding, so consecutive samples of a stable worker take a single byte.
+ *
+ * The lastUpdateTime is encoded so that readers can tell whether the encoded values are the current ones: a worker
+ * that stops using the compact encoding leaves the binary attribute behind, as updates ignore null attributes.
+ */
+@KinesisClientInternalApi
+public final class WorkerMetricStatsCodec {
+    static final byte SCHEMA_VERSION = 1;
+    static final int QUANTIZATION_SCALE = 100;
+
+    private WorkerMetricStatsCodec() {}
+
+    /**
+     * @return copy of the entry with metricStats and operatingRange encoded in compactStats, and the maps emptied so
+     *         that readers not aware of the encoding treat the worker as using the default WorkerMetric
+     */
+    public static WorkerMetricStats toCompactEntry(final WorkerMetricStats workerMetricStats) {
+        return WorkerMetricStats.builder()
+                .workerId(workerMetricStats.getWorkerId())
+                .entityType(workerMetricStats.getEntityType())
+                .lastUpdateTime(workerMetricStats.getLastUpdateTime())
+                .metricStats(Collections.emptyMap())
+                .operatingRange(Collections.emptyMap())
+                .compactStats(encode(workerMetricStats))
+                .properties(workerMetricStats.getProperties())
+                .supportCode(workerMetricStats.getSupportCode())
+                .supportCodeUpdateEpochSeconds(workerMetricStats.getSupportCodeUpdateEpochSeconds())
+                .build();
+    }
+
+    public static SdkBytes encode(final WorkerMetricStats workerMetricStats) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(SCHEMA_VERSION);
+        writeVarLong(out, workerMetricStats.getLastUpdateTime());
+
+        final Map<String, List<Double>> metricStats = nullToEmpty(workerMetricStats.getMetricStats());
+        writeVarLong(out, metricStats.size());
+        metricStats.forEach((name, values) -> {
+            writeName(out, name);
+            writeVarLong(out, values.size());
+            long previous = 0;
+            for (Double value : values) {
+                final long quantized = Math.round(value * QUANTIZATION_SCALE);
+                writeVarLong(out, quantized - previous);
+                previous = quantized;
+            }
+        });
+
+        final Map<String, List<Long>> operatingRange = nullToEmpty(workerMetricStats.getOperatingRange());
+        writeVarLong(out, operatingRange.size());
+        operatingRange.forEach((name, values) -> {
+            writeName(out, name);
+            writeVarLong(out, values.size());
+            values.forEach(value -> writeVarLong(out, value));
+        });
+        return SdkBytes.fromByteArrayUnsafe(out.toByteArray());
+    }
+
+    /**
+     * Decodes the values straight out of the given buffer, without copying it.
+     *
+     * @throws IllegalArgumentException if the schema version is unknown or the encoding is malformed
+     */
+    public static Decoded decode(final ByteBuffer buffer) {
+        try {
+            final byte schemaVersion = buffer.get();
+            if (schemaVersion != SCHEMA_VERSION) {
+                throw new IllegalArgumentException("Unknown WorkerMetricStats schema version " + schemaVersion);
+            }
+            final long lastUpdateTime = readVarLong(buffer);
+
+            final int metricStatsCount = readCount(buffer);
+            final Map<String, List<Double>> metricStats = new HashMap<>(metricStatsCount * 2);
+            for (int i = 0; i < metricStatsCount; i++) {
+                final String name = readName(buffer);
+                final int valueCount = readCount(buffer);
+                final List<Double> values = new ArrayList<>(valueCount);
+                long quantized = 0;
+                for (int j = 0; j < valueCount; j++) {
+                    quantized += readVarLong(buffer);
+                    values.add((double) quantized / QUANTIZATION_SCALE);
+                }
+                metricStats.put(name, values);
+            }
+
+            final int operatingRangeCount = readCount(buffer);
+            final Map<String, List<Long>> operatingRange = new HashMap<>(operatingRangeCount * 2);
+            for (int i = 0; i < operatingRangeCount; i++) {
+                final String name = readName(buffer);
+                final int valueCount = readCount(buffer);
+                final List<Long> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(readVarLong(buffer));
+                }
+                operatingRange.put(name, values);
+            }
+            return new Decoded(lastUpdateTime, metricStats, operatingRange);
+        } catch (final BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated WorkerMetricStats encoding", e);
+        }
+    }
+
+    @Value
+    @Accessors(fluent = true)
+    public static class Decoded {
+        long lastUpdateTime;
+        Map<String, List<Double>> metricStats;
+        Map<String, List<Long>> operatingRange;
+    }
+
+    private static <V> Map<String, V> nullToEmpty(final Map<String, V> map) {
+        return map == null ? Collections.emptyMap() : map;
+    }
+
+    private static void writeName(final ByteArrayOutputStream out, final String name) {
+        final byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readName(final ByteBuffer buffer) {
+        final int length = readCount(buffer);
+        if (buffer.hasArray()) {
+            final String name = new String(
+                    buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return name;
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarLong(final ByteArrayOutputStream out, final long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+    private static long readVarLong(final ByteBuffer buffer) {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = buffer.get();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in WorkerMetricStats encoding");
+    }
+
+    private static int readCount(final ByteBuffer buffer) {
+        final long count = readVarLong(buffer);
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IllegalArgumentException("Malformed count " + count + " in WorkerMetricStats encoding");
+        }
+        return (int) count;
+    }
+}
@@ -72,10 +72,30 @@ public class WorkerMetricStatsDAO {
             final String leaseTableName,
             Long workerMetricsReporterFrequencyMillis,
             final TableMigrationStatusProvider tableMigrationStatusProvider) {
+        this(
+                dynamoDbAsyncClient,
+                workerMetricsTableConfig,
+                leaseTableName,
+                workerMetricsReporterFrequencyMillis,
+                tableMigrationStatusProvider,
+                false);
+    }
+
+    /**
+     * @param compactEncoding whether worker metric stats are written in the compact encoding of
+     *                        {@link WorkerMetricStatsCodec}. Entries in either encoding are always readable.
+     */
+    public WorkerMetricStatsDAO(
+            final DynamoDbAsyncClient dynamoDbAsyncClient,
+            final WorkerMetricsTableConfig workerMetricsTableConfig,
+            final String leaseTableName,
+            Long workerMetricsReporterFrequencyMillis,
+            final TableMigrationStatusProvider tableMigrationStatusProvider,
+            final boolean compactEncoding) {
         this.leaseTableDaoDelegate = new LeaseTableWorkerMetricStatsDAODelegate(
-                dynamoDbAsyncClient, leaseTableName, workerMetricsReporterFrequencyMillis);
+                dynamoDbAsyncClient, leaseTableName, workerMetricsReporterFrequencyMillis, compactEncoding);
         this.legacyTableDaoDelegate = new LegacyTableWorkerMetricStatsDAODelegate(
-                dynamoDbAsyncClient, workerMetricsTableConfig, workerMetricsReporterFrequencyMillis);
+                dynamoDbAsyncClient, workerMetricsTableConfig, workerMetricsReporterFrequencyMillis, compactEncoding);
         this.tableMigrationStatusProvider = tableMigrationStatusProvider;
         this.initialized = false;
     }
@@ -132,13 +152,16 @@ public class WorkerMetricStatsDAO {
         ensureInitialized();
 
         if (isTableMigrationComplete()) {
-            return leaseTableDaoDelegate.getAllWorkerMetricStats();
+            final List<WorkerMetricStats> leaseTableWorkerMetricStats = leaseTableDaoDelegate.getAllWorkerMetricStats();
+            leaseTableWorkerMetricStats.forEach(WorkerMetricStats::decodeCompactStats);
+            return leaseTableWorkerMetricStats;
         }
 
         // Combine from both tables; caller decides which entries are current
         final List<WorkerMetricStats> combined = new ArrayList<>();
         combined.addAll(legacyTableDaoDelegate.getAllWorkerMetricStats());
         combined.addAll(leaseTableDaoDelegate.getAllWorkerMetricStats());
+        combined.forEach(WorkerMetricStats::decodeCompactStats);
         return combined;
     }
 
@@ -65,6 +65,14 @@ public class LeaseTableWorkerMetricStatsDAODelegate extends WorkerMetricStatsDAO
             final DynamoDbAsyncClient dynamoDbAsyncClient,
             String leaseTableName,
             final Long workerMetricsReporterFrequencyMillis) {
+        this(dynamoDbAsyncClient, leaseTableName, workerMetricsReporterFrequencyMillis, false);
+    }
+
+    public LeaseTableWorkerMetricStatsDAODelegate(
+            final DynamoDbAsyncClient dynamoDbAsyncClient,
+            String leaseTableName,
+            final Long workerMetricsReporterFrequencyMillis,
+            final boolean compactEncoding) {
         super(
                 dynamoDbAsyncClient,
                 leaseTableName,
@@ -72,6 +80,7 @@ public class LeaseTableWorkerMetricStatsDAODelegate extends WorkerMetricStatsDAO
                 TableSchema.fromBean(LeaseTableWorkerMetricStats.class),
                 DynamoDBLeaseSerializer.LEASE_KEY_KEY,
                 workerMetricsReporterFrequencyMillis,
+                compactEncoding,
                 log);
     }
 
@@ -145,6 +154,7 @@ public class LeaseTableWorkerMetricStatsDAODelegate extends WorkerMetricStatsDAO
                 .properties(workerMetrics.getProperties())
                 .supportCode(workerMetrics.getSupportCode())
                 .supportCodeUpdateEpochSeconds(workerMetrics.getSupportCodeUpdateEpochSeconds())
+                .compactStats(workerMetrics.getCompactStats())
                 .build();
     }
 }
@@ -58,6 +58,14 @@ public class LegacyTableWorkerMetricStatsDAODelegate extends WorkerMetricStatsDA
             final DynamoDbAsyncClient dynamoDbAsyncClient,
             final WorkerMetricsTableConfig tableConfig,
             final Long workerMetricsReporterFrequencyMillis) {
+        this(dynamoDbAsyncClient, tableConfig, workerMetricsReporterFrequencyMillis, false);
+    }
+
+    public LegacyTableWorkerMetricStatsDAODelegate(
+            final DynamoDbAsyncClient dynamoDbAsyncClient,
+            final WorkerMetricsTableConfig tableConfig,
+            final Long workerMetricsReporterFrequencyMillis,
+            final boolean compactEncoding) {
         super(
                 dynamoDbAsyncClient,
                 tableConfig.tableName(),
@@ -65,6 +73,7 @@ public class LegacyTableWorkerMetricStatsDAODelegate extends WorkerMetricStatsDA
                 TableSchema.fromBean(LegacyWorkerMetricStats.class),
                 WorkerMetricStats.KEY_WORKER_ID,
                 workerMetricsReporterFrequencyMillis,
+                compactEncoding,
                 log);
     }
 
@@ -102,6 +111,7 @@ public class LegacyTableWorkerMetricStatsDAODelegate extends WorkerMetricStatsDA
                 .properties(workerMetrics.getProperties())
                 .supportCode(workerMetrics.getSupportCode())
                 .supportCodeUpdateEpochSeconds(workerMetrics.getSupportCodeUpdateEpochSeconds())
+                .compactStats(workerMetrics.getCompactStats())
                 .build();
     }
 
@@ -39,6 +39,7 @@ import software.amazon.kinesis.leases.exceptions.DependencyException;
 import software.amazon.kinesis.leases.exceptions.InvalidStateException;
 import software.amazon.kinesis.leases.exceptions.ProvisionedThroughputException;
 import software.amazon.kinesis.worker.metricstats.WorkerMetricStats;
+import software.amazon.kinesis.worker.metricstats.WorkerMetricStatsCodec;
 
 import static java.util.Objects.nonNull;
 import static software.amazon.kinesis.common.FutureUtils.unwrappingFuture;
@@ -72,6 +73,7 @@ public abstract class WorkerMetricStatsDAODelegate<T extends WorkerMetricStats>
     private final Class<T> beanClass;
     private final String paritionKeyAttributeName;
     private final Long workerMetricsReporterFrequencyMillis;
+    private final boolean compactEncoding;
 
     /**
      * @param dynamoDbAsyncClient the DynamoDB async client
@@ -87,6 +89,30 @@ public abstract class WorkerMetricStatsDAODelegate<T extends WorkerMetricStats>
             final String paritionKeyAttributeName,
             final Long workerMetricsReporterFrequencyMillis,
             final Logger logger) {
+        this(
+                dynamoDbAsyncClient,
+                tableName,
+                beanClass,
+                tableSchema,
+                paritionKeyAttributeName,
+                workerMetricsReporterFrequencyMillis,
+                false,
+                logger);
+    }
+
+    /**
+     * @param compactEncoding whether metricStats and operatingRange are written in the encoding of
+     *                        {@link WorkerMetricStatsCodec} instead of as maps
+     */
+    public WorkerMetricStatsDAODelegate(
+            final DynamoDbAsyncClient dynamoDbAsyncClient,
+            final String tableName,
+            final Class<T> beanClass,
+            final TableSchema<T> tableSchema,
+            final String paritionKeyAttributeName,
+            final Long workerMetricsReporterFrequencyMillis,
+            final boolean compactEncoding,
+            final Logger logger) {
         this.dynamoDbAsyncClient = dynamoDbAsyncClient;
         this.tableName = tableName;
         this.beanClass = beanClass;
@@ -96,6 +122,7 @@ public abstract class WorkerMetricStatsDAODelegate<T extends WorkerMetricStats>
         this.table = enhancedClient.table(tableName, tableSchema);
         this.paritionKeyAttributeName = paritionKeyAttributeName;
         this.workerMetricsReporterFrequencyMillis = workerMetricsReporterFrequencyMillis;
+        this.compactEncoding = compactEncoding;
         this.log = logger;
     }
 
@@ -135,7 +162,9 @@ public abstract class WorkerMetricStatsDAODelegate<T extends WorkerMetricStats>
 
     /**
      * Update (or create) the worker metric stats for a given worker.
-     * Performs an upsert, ignoring null attributes.
+     * Performs an upsert, ignoring null attributes. With the compact encoding, metricStats and operatingRange are
+     * written as compactStats and the maps are cleared, so that readers not aware of the encoding treat the worker as
+     * using the default WorkerMetric.
      *
      * @param workerMetrics the worker metrics to persist
      * @throws DependencyException if DynamoDB operation fails unexpectedly
@@ -144,7 +173,8 @@ public abstract class WorkerMetricStatsDAODelegate<T extends WorkerMetricStats>
      */
     public void updateMetrics(final WorkerMetricStats workerMetrics)
             throws DependencyException, InvalidStateException, ProvisionedThroughputException {
-        final T entity = toEntity(workerMetrics);
+        final T entity =
+                toEntity(compactEncoding ? WorkerMetricStatsCodec.toCompactEntry(workerMetrics) : workerMetrics);
         validateWorkerMetrics(workerMetrics);
         final UpdateItemEnhancedRequest<T> request = UpdateItemEnhancedRequest.builder(beanClass)
                 .item(entity)
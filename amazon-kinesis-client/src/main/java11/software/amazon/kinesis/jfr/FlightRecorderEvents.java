@@ -0,0 +1,372 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import software.amazon.awssdk.services.kinesis.model.Record;
+import software.amazon.awssdk.services.kinesis.model.SubscribeToShardEvent;
+import software.amazon.kinesis.annotations.KinesisClientInternalApi;
+import software.amazon.kinesis.common.StreamIdentifier;
+import software.amazon.kinesis.leases.Lease;
+import software.amazon.kinesis.leases.ShardInfo;
+import software.amazon.kinesis.retrieval.GetRecordsResponseAdapter;
+import software.amazon.kinesis.retrieval.KinesisClientRecord;
+import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
+
+/**
+ * Emits JDK Flight Recorder events for the hot paths of the KCL.
+ *
+ * <p>
+ * This is the Java 11 variant of a multi-release class. The {@code begin} methods check whether their event type is
+ * enabled in a running recording before creating the event, so the cost while no recording is running is a single
+ * check and no allocation. Begun events are ended when the operation completed, so their start time and duration
+ * are the ones of the operation, and identifiers and sizes are only resolved for events that are committed.
+ * </p>
+ */
+@KinesisClientInternalApi
+public final class FlightRecorderEvents {
+    private static final String CATEGORY = "Amazon Kinesis Client Library";
+
+    private static final EventType GET_RECORDS = EventType.getEventType(GetRecordsEvent.class);
+    private static final EventType SUBSCRIBE_TO_SHARD_RECORDS =
+            EventType.getEventType(SubscribeToShardRecordsEvent.class);
+    private static final EventType PROCESS_RECORDS = EventType.getEventType(ProcessRecordsEvent.class);
+    private static final EventType CHECKPOINT = EventType.getEventType(CheckpointEvent.class);
+    private static final EventType LEASE_RENEWAL = EventType.getEventType(LeaseRenewalEvent.class);
+    private static final EventType LEASE_TAKE = EventType.getEventType(LeaseTakeEvent.class);
+    private static final EventType SHARD_CONSUMER_STATE_TRANSITION =
+            EventType.getEventType(ShardConsumerStateTransitionEvent.class);
+
+    private FlightRecorderEvents() {}
+
+    public static TimedEvent beginGetRecords() {
+        return GET_RECORDS.isEnabled() ? begin(new GetRecordsEvent()) : null;
+    }
+
+    public static void getRecords(
+            final TimedEvent timedEvent,
+            final StreamIdentifier streamIdentifier,
+            final String shardId,
+            final GetRecordsResponseAdapter response) {
+        final GetRecordsEvent event = (GetRecordsEvent) timedEvent;
+        if (!end(event)) {
+            return;
+        }
+        event.streamIdentifier = serialize(streamIdentifier);
+        event.shardId = shardId;
+        event.success = response != null;
+        if (response != null) {
+            event.recordCount = response.records().size();
+            long bytes = 0;
+            for (final KinesisClientRecord record : response.records()) {
+                bytes += record.data().limit();
+            }
+            event.bytes = bytes;
+            event.millisBehindLatest = response.millisBehindLatest() == null ? -1 : response.millisBehindLatest();
+        }
+        event.commit();
+    }
+
+    public static TimedEvent beginSubscribeToShardEvent() {
+        return SUBSCRIBE_TO_SHARD_RECORDS.isEnabled() ? begin(new SubscribeToShardRecordsEvent()) : null;
+    }
+
+    public static void subscribeToShardEvent(
+            final TimedEvent timedEvent,
+            final StreamIdentifier streamIdentifier,
+            final String shardId,
+            final SubscribeToShardEvent subscribeToShardEvent) {
+        final SubscribeToShardRecordsEvent event = (SubscribeToShardRecordsEvent) timedEvent;
+        if (!end(event)) {
+            return;
+        }
+        event.streamIdentifier = serialize(streamIdentifier);
+        event.shardId = shardId;
+        event.recordCount = subscribeToShardEvent.records().size();
+        long bytes = 0;
+        for (final Record record : subscribeToShardEvent.records()) {
+            bytes += record.data().asByteArrayUnsafe().length;
+        }
+        event.bytes = bytes;
+        event.millisBehindLatest = subscribeToShardEvent.millisBehindLatest() == null
+                ? -1
+                : subscribeToShardEvent.millisBehindLatest();
+        event.continuationSequenceNumber = subscribeToShardEvent.continuationSequenceNumber();
+        event.commit();
+    }
+
+    public static TimedEvent beginProcessRecords() {
+        return PROCESS_RECORDS.isEnabled() ? begin(new ProcessRecordsEvent()) : null;
+    }
+
+    public static void processRecords(
+            final TimedEvent timedEvent,
+            final ShardInfo shardInfo,
+            final int recordCount,
+            final long bytes,
+            final boolean success) {
+        final ProcessRecordsEvent event = (ProcessRecordsEvent) timedEvent;
+        if (!end(event)) {
+            return;
+        }
+        event.streamIdentifier = shardInfo.streamIdentifierSerOpt().orElse(null);
+        event.shardId = shardInfo.shardId();
+        event.recordCount = recordCount;
+        event.bytes = bytes;
+        event.success = success;
+        event.commit();
+    }
+
+    public static TimedEvent beginCheckpoint() {
+        return CHECKPOINT.isEnabled() ? begin(new CheckpointEvent()) : null;
+    }
+
+    public static void checkpoint(
+            final TimedEvent timedEvent,
+            final String leaseKey,
+            final ExtendedSequenceNumber checkpoint,
+            final boolean success) {
+        final CheckpointEvent event = (CheckpointEvent) timedEvent;
+        if (!end(event)) {
+            return;
+        }
+        event.leaseKey = leaseKey;
+        event.checkpoint = checkpoint == null ? null : checkpoint.toString();
+        event.success = success;
+        event.commit();
+    }
+
+    public static TimedEvent beginRenewLease() {
+        return LEASE_RENEWAL.isEnabled() ? begin(new LeaseRenewalEvent()) : null;
+    }
+
+    public static void renewLease(final TimedEvent timedEvent, final Lease lease, final boolean renewed) {
+        final LeaseRenewalEvent event = (LeaseRenewalEvent) timedEvent;
+        if (!end(event)) {
+            return;
+        }
+        event.leaseKey = lease.leaseKey();
+        event.leaseCounter = lease.leaseCounter() == null ? -1 : lease.leaseCounter();
+        event.renewed = renewed;
+        event.commit();
+    }
+
+    public static TimedEvent beginTakeLease() {
+        return LEASE_TAKE.isEnabled() ? begin(new LeaseTakeEvent()) : null;
+    }
+
+    public static void takeLease(
+            final TimedEvent timedEvent,
+            final Lease lease,
+            final String previousOwner,
+            final boolean steal,
+            final boolean taken) {
+        final LeaseTakeEvent event = (LeaseTakeEvent) timedEvent;
+        if (!end(event)) {
+            return;
+        }
+        event.leaseKey = lease.leaseKey();
+        event.previousOwner = previousOwner;
+        event.steal = steal;
+        event.taken = taken;
+        event.commit();
+    }
+
+    public static void shardConsumerStateTransition(
+            final ShardInfo shardInfo, final String previousState, final String nextState) {
+        if (!SHARD_CONSUMER_STATE_TRANSITION.isEnabled()) {
+            return;
+        }
+        final ShardConsumerStateTransitionEvent event = new ShardConsumerStateTransitionEvent();
+        event.streamIdentifier = shardInfo.streamIdentifierSerOpt().orElse(null);
+        event.shardId = shardInfo.shardId();
+        event.previousState = previousState;
+        event.nextState = nextState;
+        event.commit();
+    }
+
+    private static <E extends Event & TimedEvent> E begin(final E event) {
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event if there is one.
+     *
+     * @return true if the event is to be committed, false if there is no event or it is below the threshold of the
+     *         recording
+     */
+    private static boolean end(final Event event) {
+        if (event == null) {
+            return false;
+        }
+        event.end();
+        return event.shouldCommit();
+    }
+
+    private static String serialize(final StreamIdentifier streamIdentifier) {
+        return streamIdentifier == null ? null : streamIdentifier.serialize();
+    }
+
+    @Name("software.amazon.kinesis.GetRecords")
+    @Label("GetRecords")
+    @Description("GetRecords call made by a polling consumer")
+    @Category({CATEGORY, "Retrieval"})
+    @StackTrace(false)
+    static class GetRecordsEvent extends Event implements TimedEvent {
+        @Label("Stream")
+        String streamIdentifier;
+
+        @Label("Shard")
+        String shardId;
+
+        @Label("Records")
+        int recordCount;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Millis Behind Latest")
+        long millisBehindLatest = -1;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("software.amazon.kinesis.SubscribeToShardEvent")
+    @Label("SubscribeToShard Event")
+    @Description("SubscribeToShard event received by a fan-out consumer")
+    @Category({CATEGORY, "Retrieval"})
+    @StackTrace(false)
+    static class SubscribeToShardRecordsEvent extends Event implements TimedEvent {
+        @Label("Stream")
+        String streamIdentifier;
+
+        @Label("Shard")
+        String shardId;
+
+        @Label("Records")
+        int recordCount;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Millis Behind Latest")
+        long millisBehindLatest = -1;
+
+        @Label("Continuation Sequence Number")
+        String continuationSequenceNumber;
+    }
+
+    @Name("software.amazon.kinesis.ProcessRecords")
+    @Label("Process Records")
+    @Description("Call to the application record processor")
+    @Category({CATEGORY, "Processing"})
+    @StackTrace(false)
+    static class ProcessRecordsEvent extends Event implements TimedEvent {
+        @Label("Stream")
+        String streamIdentifier;
+
+        @Label("Shard")
+        String shardId;
+
+        @Label("Records")
+        int recordCount;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("software.amazon.kinesis.ShardConsumerStateTransition")
+    @Label("Shard Consumer State Transition")
+    @Category({CATEGORY, "Processing"})
+    @StackTrace(false)
+    static class ShardConsumerStateTransitionEvent extends Event {
+        @Label("Stream")
+        String streamIdentifier;
+
+        @Label("Shard")
+        String shardId;
+
+        @Label("Previous State")
+        String previousState;
+
+        @Label("Next State")
+        String nextState;
+    }
+
+    @Name("software.amazon.kinesis.Checkpoint")
+    @Label("Checkpoint")
+    @Description("Checkpoint written to the lease table")
+    @Category({CATEGORY, "Leases"})
+    @StackTrace(false)
+    static class CheckpointEvent extends Event implements TimedEvent {
+        @Label("Lease Key")
+        String leaseKey;
+
+        @Label("Checkpoint")
+        String checkpoint;
+
+        @Label("Success")
+        boolean success;
+    }
+
+    @Name("software.amazon.kinesis.LeaseRenewal")
+    @Label("Lease Renewal")
+    @Category({CATEGORY, "Leases"})
+    @StackTrace(false)
+    static class LeaseRenewalEvent extends Event implements TimedEvent {
+        @Label("Lease Key")
+        String leaseKey;
+
+        @Label("Lease Counter")
+        long leaseCounter;
+
+        @Label("Renewed")
+        boolean renewed;
+    }
+
+    @Name("software.amazon.kinesis.LeaseTake")
+    @Label("Lease Take")
+    @Description("Attempt to take an expired, unassigned or stolen lease")
+    @Category({CATEGORY, "Leases"})
+    @StackTrace(false)
+    static class LeaseTakeEvent extends Event implements TimedEvent {
+        @Label("Lease Key")
+        String leaseKey;
+
+        @Label("Previous Owner")
+        String previousOwner;
+
+        @Label("Steal")
+        boolean steal;
+
+        @Label("Taken")
+        boolean taken;
+    }
+}
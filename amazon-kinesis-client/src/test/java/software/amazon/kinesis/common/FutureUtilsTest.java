@@ -15,6 +15,8 @@
 package software.amazon.kinesis.common;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
 
@@ -25,6 +27,9 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
@@ -52,4 +57,27 @@ public class FutureUtilsTest {
             verify(future).cancel(eq(true));
         }
     }
+
+    @Test
+    public void testWithTimeoutFailsAndCancelsIncompleteFuture() throws Exception {
+        final CompletableFuture<String> incompleteFuture = new CompletableFuture<>();
+        final CompletableFuture<String> result = FutureUtils.withTimeout(incompleteFuture, Duration.ofMillis(10));
+
+        try {
+            result.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertTrue(incompleteFuture.isCancelled());
+    }
+
+    @Test
+    public void testWithTimeoutCompletesWithResultOfFuture() throws Exception {
+        final CompletableFuture<String> completedFuture = CompletableFuture.completedFuture("result");
+
+        assertEquals(
+                "result",
+                FutureUtils.withTimeout(completedFuture, Duration.ofSeconds(10)).get());
+    }
 }
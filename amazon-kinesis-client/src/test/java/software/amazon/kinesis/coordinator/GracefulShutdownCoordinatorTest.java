@@ -14,6 +14,7 @@
  */
 package software.amazon.kinesis.coordinator;
 
+import java.util.Collections;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
@@ -26,12 +27,15 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.verification.VerificationMode;
 import software.amazon.kinesis.leases.ShardInfo;
 import software.amazon.kinesis.lifecycle.ShardConsumer;
+import software.amazon.kinesis.lifecycle.ShardConsumerShutdownNotification;
+import software.amazon.kinesis.metrics.NullMetricsFactory;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -355,6 +359,35 @@ public class GracefulShutdownCoordinatorTest {
         when(latch.await(anyLong(), any(TimeUnit.class))).thenReturn(initial, remaining);
     }
 
+    @Test
+    public void testDrainDeadlineExceeded() throws Exception {
+        final ShardConsumerShutdownNotification drainingNotification = mock(ShardConsumerShutdownNotification.class);
+        when(drainingNotification.isNotificationComplete()).thenReturn(false);
+        when(drainingNotification.leaseKey()).thenReturn("shardId-0");
+        final GracefulShutdownContext context = GracefulShutdownContext.builder()
+                .shutdownCompleteLatch(shutdownCompleteLatch)
+                .notificationCompleteLatch(notificationCompleteLatch)
+                .finalShutdownLatch(finalShutdownLatch)
+                .scheduler(scheduler)
+                .shutdownNotifications(Collections.singletonList(drainingNotification))
+                .drainDeadlineMillis(System.currentTimeMillis() - 1)
+                .metricsFactory(new NullMetricsFactory())
+                .build();
+        when(contextCallable.call()).thenReturn(context);
+        final Callable<Boolean> requestedShutdownCallable =
+                new GracefulShutdownCoordinator().createGracefulShutdownCallable(contextCallable);
+
+        // The record processor never completes the shutdown request.
+        mockLatchAwait(notificationCompleteLatch, false);
+        mockLatchAwait(shutdownCompleteLatch, true);
+        when(finalShutdownLatch.await(anyLong(), any(TimeUnit.class))).thenReturn(true);
+        mockShardInfoConsumerMap(1);
+
+        assertThat(requestedShutdownCallable.call(), equalTo(true));
+        verify(notificationCompleteLatch).await(anyLong(), any(TimeUnit.class));
+        verify(scheduler).shutdown();
+    }
+
     private Callable<Boolean> buildRequestedShutdownCallable() throws Exception {
         GracefulShutdownContext context = GracefulShutdownContext.builder()
                 .shutdownCompleteLatch(shutdownCompleteLatch)
@@ -18,26 +18,36 @@ package software.amazon.kinesis.coordinator;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.services.kinesis.model.HashKeyRange;
 import software.amazon.awssdk.services.kinesis.model.Shard;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.kinesis.common.HashKeyRangeForLease;
+import software.amazon.kinesis.common.InitialPositionInStream;
+import software.amazon.kinesis.common.InitialPositionInStreamExtended;
 import software.amazon.kinesis.common.StreamConfig;
 import software.amazon.kinesis.common.StreamIdentifier;
 import software.amazon.kinesis.leases.Lease;
@@ -49,7 +59,11 @@ import software.amazon.kinesis.metrics.NullMetricsFactory;
 import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static software.amazon.kinesis.common.HashKeyRangeForLease.deserialize;
 import static software.amazon.kinesis.coordinator.PeriodicShardSyncManager.MAX_HASH_KEY;
@@ -227,6 +241,39 @@ public class PeriodicShardSyncManagerTest {
                         .shouldDoShardSync()));
     }
 
+    @Test
+    public void testHoleIsLoggedOnEveryCheckWhileHashRangesAreUnchanged() {
+        List<Lease> multiStreamLeases = new ArrayList<HashKeyRangeForLease>() {
+            {
+                add(deserialize(MIN_HASH_KEY.toString(), "23"));
+                add(deserialize("25", MAX_HASH_KEY.toString())); // Hole between 23 and 25
+            }
+        }.stream()
+                .map(hashKeyRangeForLease -> {
+                    MultiStreamLease lease = new MultiStreamLease();
+                    lease.hashKeyRange(hashKeyRangeForLease);
+                    lease.checkpoint(ExtendedSequenceNumber.TRIM_HORIZON);
+                    return lease;
+                })
+                .collect(Collectors.toList());
+        final Logger logger = (Logger) LoggerFactory.getLogger(PeriodicShardSyncManager.class);
+        final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            IntStream.range(0, DEFAULT_CONSECUTIVE_HOLES_FOR_TRIGGERING_LEASE_RECOVERY)
+                    .forEach(i -> periodicShardSyncManager.checkForShardSync(streamIdentifier, multiStreamLeases));
+        } finally {
+            logger.detachAppender(appender);
+        }
+        Assert.assertEquals(
+                DEFAULT_CONSECUTIVE_HOLES_FOR_TRIGGERING_LEASE_RECOVERY,
+                appender.list.stream()
+                        .filter(event -> event.getLevel() == Level.ERROR
+                                && event.getMessage().startsWith("Incomplete hash range found"))
+                        .count());
+    }
+
     @Test
     public void testIfShardSyncIsInitiatedWhenConfidenceFactorIsReached() {
         List<Lease> multiStreamLeases = new ArrayList<HashKeyRangeForLease>() {
@@ -606,6 +653,89 @@ public class PeriodicShardSyncManagerTest {
         }
     }
 
+    @Test
+    public void testHoleIsDetectedWhenLeasesChangeBetweenChecks() {
+        final List<Lease> leases = generateInitialLeases(10);
+        Assert.assertFalse(periodicShardSyncManager
+                .hasHoleInLeases(streamIdentifier, leases)
+                .isPresent());
+
+        final Lease removedLease = leases.remove(4);
+        Assert.assertTrue(periodicShardSyncManager
+                .hasHoleInLeases(streamIdentifier, leases)
+                .isPresent());
+
+        leases.add(removedLease);
+        Assert.assertFalse(periodicShardSyncManager
+                .hasHoleInLeases(streamIdentifier, leases)
+                .isPresent());
+
+        removedLease.checkpoint(ExtendedSequenceNumber.SHARD_END);
+        Assert.assertTrue(periodicShardSyncManager
+                .hasHoleInLeases(streamIdentifier, leases)
+                .isPresent());
+    }
+
+    @Test
+    public void testShardSyncIsOnlySubmittedForStreamsWithHolesWhenStreamsAreCheckedInParallel() throws Exception {
+        final Map<StreamIdentifier, StreamConfig> streamConfigMap = new HashMap<>();
+        final Map<StreamConfig, ShardSyncTaskManager> shardSyncTaskManagerMap = new HashMap<>();
+        final List<Lease> leases = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            final StreamIdentifier stream = StreamIdentifier.multiStreamInstance("123456789012:stream-" + i + ":" + i);
+            final StreamConfig streamConfig = new StreamConfig(
+                    stream, InitialPositionInStreamExtended.newInitialPosition(InitialPositionInStream.LATEST));
+            streamConfigMap.put(stream, streamConfig);
+            final ShardSyncTaskManager shardSyncTaskManager = mock(ShardSyncTaskManager.class, RETURNS_DEEP_STUBS);
+            when(shardSyncTaskManager.submitShardSyncTask()).thenReturn(true);
+            shardSyncTaskManagerMap.put(streamConfig, shardSyncTaskManager);
+            // Even streams have all their leases, odd streams miss one lease.
+            for (Lease lease : generateInitialLeases(10)) {
+                if (i % 2 == 1 && lease.leaseKey().equals("shard-5")) {
+                    continue;
+                }
+                final MultiStreamLease multiStreamLease = new MultiStreamLease();
+                multiStreamLease.streamIdentifier(stream.serialize());
+                multiStreamLease.shardId(lease.leaseKey());
+                multiStreamLease.leaseKey(stream.serialize() + ":" + lease.leaseKey());
+                multiStreamLease.hashKeyRange(lease.hashKeyRangeForLease());
+                multiStreamLease.checkpoint(lease.checkpoint());
+                leases.add(multiStreamLease);
+            }
+        }
+        when(leaseRefresher.listLeases()).thenReturn(leases);
+        when(leaderDecider.isLeader("worker")).thenReturn(true);
+        final ScheduledExecutorService shardSyncThreadPool = mock(ScheduledExecutorService.class);
+        final PeriodicShardSyncManager parallelPeriodicShardSyncManager = new PeriodicShardSyncManager(
+                "worker",
+                leaseRefresher,
+                streamConfigMap,
+                shardSyncTaskManagerProvider,
+                shardSyncTaskManagerMap,
+                shardSyncThreadPool,
+                true,
+                new NullMetricsFactory(),
+                2 * 60 * 1000,
+                DEFAULT_CONSECUTIVE_HOLES_FOR_TRIGGERING_LEASE_RECOVERY,
+                4,
+                new AtomicBoolean(true));
+        parallelPeriodicShardSyncManager.start(leaderDecider);
+        final ArgumentCaptor<Runnable> shardSyncRunCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(shardSyncThreadPool)
+                .scheduleWithFixedDelay(shardSyncRunCaptor.capture(), anyLong(), anyLong(), any(TimeUnit.class));
+
+        for (int run = 0; run < DEFAULT_CONSECUTIVE_HOLES_FOR_TRIGGERING_LEASE_RECOVERY; run++) {
+            shardSyncRunCaptor.getValue().run();
+        }
+        parallelPeriodicShardSyncManager.stop();
+
+        for (Map.Entry<StreamIdentifier, StreamConfig> entry : streamConfigMap.entrySet()) {
+            final boolean hasHole = entry.getKey().streamName().matches("stream-[1357]");
+            verify(shardSyncTaskManagerMap.get(entry.getValue()), times(hasHole ? 1 : 0))
+                    .submitShardSyncTask();
+        }
+    }
+
     private List<Lease> generateInitialLeases(int initialShardCount) {
         long hashRangeInternalMax = 10000000;
         List<Lease> initialLeases = new ArrayList<>();
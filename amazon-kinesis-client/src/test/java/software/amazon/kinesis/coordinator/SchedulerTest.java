@@ -31,6 +31,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -128,6 +129,7 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -217,11 +219,13 @@ public class SchedulerTest {
 
     private Map<StreamIdentifier, ShardSyncTaskManager> shardSyncTaskManagerMap;
     private Map<StreamIdentifier, ShardDetector> shardDetectorMap;
+    private Map<StreamIdentifier, HierarchicalShardSyncer> hierarchicalShardSyncerMap;
 
     @Before
     public void setup() {
         shardSyncTaskManagerMap = new HashMap<>();
         shardDetectorMap = new HashMap<>();
+        hierarchicalShardSyncerMap = new HashMap<>();
         shardRecordProcessorFactory = new TestShardRecordProcessorFactory();
 
         // Create the lease table in embedded DynamoDB so TableMigrationStateMachine can write to it
@@ -908,6 +912,11 @@ public class SchedulerTest {
                 });
         testMultiStreamStaleStreamsAreDeletedAfterDefermentPeriod(true, null);
         verify(streamInfoManager, times(2)).deleteStreamInfo(any(StreamIdentifier.class));
+        IntStream.range(1, 3)
+                .mapToObj(streamId -> StreamIdentifier.multiStreamInstance(
+                        Joiner.on(":").join(streamId * TEST_ACCOUNT, "multiStreamTest-" + streamId, streamId * 12345)))
+                .forEach(streamIdentifier ->
+                        verify(hierarchicalShardSyncerMap.get(streamIdentifier)).clearShardLineage(streamIdentifier));
     }
 
     @Test
@@ -988,6 +997,8 @@ public class SchedulerTest {
                 retrievalConfig));
         when(scheduler.shouldSyncStreamsNow()).thenReturn(true);
         mockListLeases(streamConfigList1);
+        // The shards of the tracked streams have been synced before.
+        scheduler.currentStreamConfigMap().values().forEach(scheduler.hierarchicalShardSyncerProvider()::apply);
 
         Set<StreamIdentifier> syncedStreams = scheduler.checkAndSyncStreamShardsAndLeases();
         Set<StreamIdentifier> expectedSyncedStreams = IntStream.range(1, 3)
@@ -1314,6 +1325,35 @@ public class SchedulerTest {
                 .onWorkerStateChange(WorkerStateChangeListener.WorkerState.SHUT_DOWN);
     }
 
+    @Test
+    public void testLeaseCleanupManagerStartsAfterMigrationComponentsAreInitialized() throws Exception {
+        final AtomicBoolean migrationComponentsInitialized = new AtomicBoolean(false);
+        final AtomicBoolean leaseCleanupManagerStartedAfterMigration = new AtomicBoolean(false);
+        final MigrationStateMachine mockMigrationStateMachine = mock(MigrationStateMachineImpl.class);
+        doAnswer(invocation -> {
+                    Thread.sleep(200);
+                    migrationComponentsInitialized.set(true);
+                    return null;
+                })
+                .when(mockMigrationStateMachine)
+                .initialize();
+        doAnswer(invocation -> {
+                    leaseCleanupManagerStartedAfterMigration.set(migrationComponentsInitialized.get());
+                    return null;
+                })
+                .when(leaseCleanupManager)
+                .start();
+        final DynamicMigrationComponentsInitializer mockInitializer = mock(DynamicMigrationComponentsInitializer.class);
+        when(mockInitializer.leaderDecider()).thenReturn(mock(LeaderDecider.class));
+        setSchedulerFieldToAccessible("migrationComponentsInitializer", mockInitializer);
+        setSchedulerFieldToAccessible("migrationStateMachine", mockMigrationStateMachine);
+
+        scheduler.initialize();
+
+        verify(leaseCleanupManager).start();
+        assertTrue(leaseCleanupManagerStartedAfterMigration.get());
+    }
+
     /**
      * The initializer gets shutdown in two places - once in the GracefulShutdownCallable and another during the
      * shutdown() method of the scheduler. In the case where startGracefulShutdown isn't called, the
@@ -1960,7 +2000,8 @@ public class SchedulerTest {
             shardSyncTaskManagerMap.put(streamConfig.streamIdentifier(), shardSyncTaskManager);
             shardDetectorMap.put(streamConfig.streamIdentifier(), shardDetector);
             when(shardSyncTaskManager.shardDetector()).thenReturn(shardDetector);
-            final HierarchicalShardSyncer hierarchicalShardSyncer = new HierarchicalShardSyncer();
+            final HierarchicalShardSyncer hierarchicalShardSyncer = spy(new HierarchicalShardSyncer());
+            hierarchicalShardSyncerMap.put(streamConfig.streamIdentifier(), hierarchicalShardSyncer);
             when(shardSyncTaskManager.hierarchicalShardSyncer()).thenReturn(hierarchicalShardSyncer);
             if (shardSyncFirstAttemptFailure) {
                 when(shardDetector.listShards())
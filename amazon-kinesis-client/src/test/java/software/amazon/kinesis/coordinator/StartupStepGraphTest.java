@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.coordinator;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
+import software.amazon.kinesis.leases.exceptions.DependencyException;
+import software.amazon.kinesis.metrics.MetricsLevel;
+import software.amazon.kinesis.metrics.MetricsScope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class StartupStepGraphTest {
+
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+    private final MetricsScope metricsScope = mock(MetricsScope.class);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void await_independentSteps_assertRunConcurrently() throws Exception {
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final StartupStepGraph.StartupStep awaitOther = () -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(10, TimeUnit.SECONDS), "Steps did not run concurrently");
+        };
+
+        new StartupStepGraph(executorService)
+                .add("A", awaitOther)
+                .add("B", awaitOther)
+                .await(metricsScope);
+
+        assertEquals(0, bothStarted.getCount());
+    }
+
+    @Test
+    void await_dependentSteps_assertRunAfterDependencies() throws Exception {
+        final List<String> order = new CopyOnWriteArrayList<>();
+
+        new StartupStepGraph(executorService)
+                .add("A", () -> {
+                    Thread.sleep(50);
+                    order.add("A");
+                })
+                .add("B", () -> order.add("B"))
+                .add("C", () -> order.add("C"), "A", "B")
+                .await(metricsScope);
+
+        assertEquals("C", order.get(2));
+        assertTrue(order.containsAll(ImmutableList.of("A", "B")));
+    }
+
+    @Test
+    void await_stepFails_assertDependentsSkippedAndFailureThrown() {
+        final DependencyException failure = new DependencyException("table not found", null);
+        final List<String> ran = new CopyOnWriteArrayList<>();
+
+        final DependencyException thrown =
+                assertThrows(DependencyException.class, () -> new StartupStepGraph(executorService)
+                        .add("A", () -> {
+                            throw failure;
+                        })
+                        .add("B", () -> ran.add("B"), "A")
+                        .add("C", () -> ran.add("C"))
+                        .await(metricsScope));
+
+        assertSame(failure, thrown);
+        assertEquals(ImmutableList.of("C"), ran);
+        verify(metricsScope)
+                .addData(eq("A.Time"), anyDouble(), eq(StandardUnit.MILLISECONDS), eq(MetricsLevel.SUMMARY));
+        verify(metricsScope, never())
+                .addData(eq("B.Time"), anyDouble(), eq(StandardUnit.MILLISECONDS), eq(MetricsLevel.SUMMARY));
+    }
+
+    @Test
+    void await_allStepsSucceed_assertTimingsPublished() throws Exception {
+        new StartupStepGraph(executorService)
+                .add("A", () -> {})
+                .add("B", () -> {}, "A")
+                .await(metricsScope);
+
+        verify(metricsScope)
+                .addData(eq("A.Time"), anyDouble(), eq(StandardUnit.MILLISECONDS), eq(MetricsLevel.SUMMARY));
+        verify(metricsScope)
+                .addData(eq("B.Time"), anyDouble(), eq(StandardUnit.MILLISECONDS), eq(MetricsLevel.SUMMARY));
+        verify(metricsScope)
+                .addData(eq("Startup.Time"), anyDouble(), eq(StandardUnit.MILLISECONDS), eq(MetricsLevel.SUMMARY));
+    }
+
+    @Test
+    void add_unknownDependency_assertIllegalArgumentException() {
+        assertThrows(
+                IllegalArgumentException.class, () -> new StartupStepGraph(executorService).add("A", () -> {}, "B"));
+    }
+}
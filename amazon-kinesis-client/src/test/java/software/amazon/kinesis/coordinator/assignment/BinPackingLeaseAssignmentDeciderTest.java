@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.coordinator.assignment;
+
+import java.util.Random;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import software.amazon.kinesis.leases.LeaseManagementConfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static software.amazon.kinesis.leases.LeaseAssignmentStrategy.WORKER_UTILIZATION_AWARE;
+import static software.amazon.kinesis.leases.LeaseAssignmentStrategy.WORKER_UTILIZATION_AWARE_BIN_PACKING;
+
+/**
+ * Compares {@link BinPackingLeaseAssignmentDecider} with {@link VarianceBasedLeaseAssignmentDecider} on simulated
+ * fleets, see {@link LeaseAssignmentSimulator}.
+ */
+@Slf4j
+class BinPackingLeaseAssignmentDeciderTest {
+    private static final int MAX_CYCLES = 30;
+    private static final int SEEDS = 5;
+
+    @Test
+    void simulate_scaleOut_assertFewerCyclesAndHandoffsThanVarianceBased() throws Exception {
+        final Totals totals = compare("scale out", seed -> {
+            final Random random = new Random(seed);
+            final LeaseAssignmentSimulator simulator = new LeaseAssignmentSimulator();
+            for (int worker = 0; worker < 20; worker++) {
+                simulator.withWorker(workerId(worker), 5D, 0.01D);
+            }
+            // All leases are on the first half of the workers, the second half just joined.
+            for (int lease = 0; lease < 400; lease++) {
+                simulator.withLease(leaseKey(lease), workerId(lease % 10), 20D + random.nextDouble() * 180D);
+            }
+            return simulator;
+        });
+
+        assertTrue(totals.getBinPackingCycles() < totals.getVarianceBasedCycles());
+        assertTrue(totals.getBinPackingHandoffs() < totals.getVarianceBasedHandoffs());
+    }
+
+    /**
+     * The CPU cost of a lease differs per worker, so the load of a worker after an assignment is only an estimate and
+     * it takes a few runs to converge.
+     */
+    @Test
+    void simulate_heterogeneousWorkersAndSkewedLeases_assertFewerCyclesAndHandoffsThanVarianceBased() throws Exception {
+        final Totals totals = compare("heterogeneous fleet", seed -> {
+            final Random random = new Random(seed);
+            final LeaseAssignmentSimulator simulator = new LeaseAssignmentSimulator();
+            for (int worker = 0; worker < 20; worker++) {
+                // Every third worker processes a KBps at twice the CPU cost.
+                simulator.withWorker(workerId(worker), 5D + random.nextDouble() * 5D, worker % 3 == 0 ? 0.02D : 0.01D);
+            }
+            for (int lease = 0; lease < 400; lease++) {
+                // A few hot leases with most of the throughput.
+                final double throughput =
+                        lease % 20 == 0 ? 200D + random.nextDouble() * 200D : random.nextDouble() * 100D;
+                simulator.withLease(leaseKey(lease), workerId(random.nextInt(20)), throughput);
+            }
+            return simulator;
+        });
+
+        assertTrue(totals.getBinPackingCycles() < totals.getVarianceBasedCycles());
+        assertTrue(totals.getBinPackingHandoffs() < totals.getVarianceBasedHandoffs());
+    }
+
+    @Test
+    void simulate_balancedFleet_assertNoHandoffs() throws Exception {
+        final LeaseAssignmentSimulator simulator = new LeaseAssignmentSimulator();
+        for (int worker = 0; worker < 4; worker++) {
+            simulator.withWorker(workerId(worker), 5D, 0.01D);
+        }
+        for (int lease = 0; lease < 40; lease++) {
+            simulator.withLease(leaseKey(lease), workerId(lease % 4), 100D);
+        }
+
+        final LeaseAssignmentSimulator.SimulationResult result =
+                simulator.run(WORKER_UTILIZATION_AWARE_BIN_PACKING, config(), 5);
+
+        assertEquals(1, result.getCyclesToConverge());
+        assertEquals(0, result.getHandoffs());
+    }
+
+    @Test
+    void simulate_unassignedLeases_assertAllAssignedWithinThreshold() throws Exception {
+        final LeaseAssignmentSimulator simulator = new LeaseAssignmentSimulator();
+        for (int worker = 0; worker < 4; worker++) {
+            simulator.withWorker(workerId(worker), 5D, 0.01D);
+        }
+        final Random random = new Random(0);
+        for (int lease = 0; lease < 40; lease++) {
+            simulator.withLease(leaseKey(lease), null, 50D + random.nextDouble() * 100D);
+        }
+
+        final LeaseAssignmentSimulator.SimulationResult result =
+                simulator.run(WORKER_UTILIZATION_AWARE_BIN_PACKING, config(), 5);
+
+        assertEquals(1, result.getCyclesToConverge());
+        assertEquals(40, result.getHandoffs());
+    }
+
+    /**
+     * Runs the scenario with both deciders for {@link #SEEDS} seeds and asserts that bin packing converges for every
+     * seed. Runs of the variance based decider that do not converge count as {@link #MAX_CYCLES} cycles.
+     */
+    private Totals compare(final String scenario, final SimulatorFactory simulatorFactory) throws Exception {
+        int varianceBasedCycles = 0;
+        int varianceBasedHandoffs = 0;
+        int binPackingCycles = 0;
+        int binPackingHandoffs = 0;
+        for (int seed = 0; seed < SEEDS; seed++) {
+            final LeaseAssignmentSimulator.SimulationResult varianceBased =
+                    simulatorFactory.create(seed).run(WORKER_UTILIZATION_AWARE, config(), MAX_CYCLES);
+            final LeaseAssignmentSimulator.SimulationResult binPacking =
+                    simulatorFactory.create(seed).run(WORKER_UTILIZATION_AWARE_BIN_PACKING, config(), MAX_CYCLES);
+            log.info(
+                    "Simulation of {} with seed {}: variance based {}, bin packing {}",
+                    scenario,
+                    seed,
+                    varianceBased,
+                    binPacking);
+
+            assertTrue(binPacking.getCyclesToConverge() > 0, "Bin packing did not converge with seed " + seed);
+            varianceBasedCycles += cyclesOrMax(varianceBased);
+            varianceBasedHandoffs += varianceBased.getHandoffs();
+            binPackingCycles += binPacking.getCyclesToConverge();
+            binPackingHandoffs += binPacking.getHandoffs();
+        }
+        log.info(
+                "Simulation of {} over {} seeds: variance based {} cycles and {} handoffs, bin packing {} cycles and {}"
+                        + " handoffs",
+                scenario,
+                SEEDS,
+                varianceBasedCycles,
+                varianceBasedHandoffs,
+                binPackingCycles,
+                binPackingHandoffs);
+        return new Totals(varianceBasedCycles, varianceBasedHandoffs, binPackingCycles, binPackingHandoffs);
+    }
+
+    private static int cyclesOrMax(final LeaseAssignmentSimulator.SimulationResult result) {
+        return result.getCyclesToConverge() > 0 ? result.getCyclesToConverge() : MAX_CYCLES;
+    }
+
+    private static LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig config() {
+        final LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig config =
+                new LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig();
+        config.varianceBalancingFrequency(1);
+        return config;
+    }
+
+    private static String workerId(final int worker) {
+        return "worker-" + worker;
+    }
+
+    private static String leaseKey(final int lease) {
+        return String.format("shardId-%012d", lease);
+    }
+
+    private interface SimulatorFactory {
+        LeaseAssignmentSimulator create(int seed);
+    }
+
+    @Value
+    private static class Totals {
+        int varianceBasedCycles;
+        int varianceBasedHandoffs;
+        int binPackingCycles;
+        int binPackingHandoffs;
+    }
+}
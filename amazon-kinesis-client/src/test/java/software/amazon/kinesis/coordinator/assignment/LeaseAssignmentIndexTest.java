@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.coordinator.assignment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.kinesis.leases.Lease;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LeaseAssignmentIndexTest {
+
+    private final LeaseAssignmentIndex index = new LeaseAssignmentIndex();
+
+    @Test
+    void update_sameOwnersAndThroughput_assertOnlyLeaseObjectsReplaced() {
+        assertEquals(
+                3,
+                index.update(Arrays.asList(
+                        lease("lease1", "worker1", 30D), lease("lease2", "worker1", 10D), lease("lease3", null, 5D))));
+
+        final Lease renewedLease = lease("lease1", "worker1", 30D);
+        renewedLease.leaseCounter(5L);
+        assertEquals(
+                0,
+                index.update(Arrays.asList(renewedLease, lease("lease2", "worker1", 10D), lease("lease3", null, 5D))));
+
+        assertSame(renewedLease, index.getLease("lease1"));
+        assertEquals(
+                Arrays.asList("lease2", "lease1"),
+                leaseKeys(index.workerToLeases().get("worker1")));
+        assertEquals(
+                Collections.singletonList("lease3"),
+                leaseKeys(index.workerToLeases().get(null)));
+        assertEquals(40D, index.totalThroughputKBps("worker1"));
+    }
+
+    @Test
+    void update_ownerAndThroughputChangesAndRemovals_assertOnlyChangedLeasesReindexed() {
+        index.update(Arrays.asList(
+                lease("lease1", "worker1", 30D), lease("lease2", "worker1", 10D), lease("lease3", "worker2", 5D)));
+
+        assertEquals(3, index.update(Arrays.asList(lease("lease1", "worker1", 50D), lease("lease2", "worker2", 10D))));
+
+        assertEquals(1, index.leaseCount("worker1"));
+        assertEquals(50D, index.totalThroughputKBps("worker1"));
+        assertEquals(
+                Collections.singletonList("lease2"),
+                leaseKeys(index.workerToLeases().get("worker2")));
+        assertEquals(10D, index.totalThroughputKBps("worker2"));
+        assertNull(index.getLease("lease3"));
+    }
+
+    @Test
+    void update_allLeasesRenewedAndFewThroughputsChanged_assertOnlyChangedLeasesReindexed() {
+        final List<Lease> leases = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            leases.add(lease("lease" + i, "worker" + (i % 4), i));
+        }
+        index.update(leases);
+
+        final List<Lease> nextScan = new ArrayList<>();
+        for (final Lease lease : leases) {
+            final Lease renewedLease = lease(lease.leaseKey(), lease.leaseOwner(), lease.throughputKBps());
+            renewedLease.leaseCounter(lease.leaseCounter() + 1);
+            nextScan.add(renewedLease);
+        }
+        for (int i = 0; i < 100; i += 10) {
+            nextScan.get(i).throughputKBps(nextScan.get(i).throughputKBps() + 1D);
+        }
+
+        assertEquals(10, index.update(nextScan));
+
+        final LeaseAssignmentIndex rebuiltIndex = new LeaseAssignmentIndex();
+        rebuiltIndex.update(nextScan);
+        for (int worker = 0; worker < 4; worker++) {
+            final String workerId = "worker" + worker;
+            assertEquals(rebuiltIndex.leaseCount(workerId), index.leaseCount(workerId));
+            assertEquals(rebuiltIndex.totalThroughputKBps(workerId), index.totalThroughputKBps(workerId));
+            assertEquals(
+                    leaseKeys(rebuiltIndex.workerToLeases().get(workerId)),
+                    leaseKeys(index.workerToLeases().get(workerId)));
+        }
+        nextScan.forEach(lease -> assertSame(lease, index.getLease(lease.leaseKey())));
+    }
+
+    @Test
+    void reassign_assertLeaseMovedUntilNextUpdate() {
+        final Lease lease = lease("lease1", "worker1", 30D);
+        index.update(Collections.singletonList(lease));
+
+        index.reassign(lease, "worker2");
+
+        assertEquals(0, index.leaseCount("worker1"));
+        assertFalse(index.workerToLeases().containsKey("worker1"));
+        assertTrue(index.workerToLeases().get("worker2").contains(lease));
+        assertEquals(30D, index.totalThroughputKBps("worker2"));
+
+        // The assignment did not go through, the next scan still has worker1 as the owner.
+        assertEquals(1, index.update(Collections.singletonList(lease("lease1", "worker1", 30D))));
+        assertEquals(1, index.leaseCount("worker1"));
+        assertEquals(0, index.leaseCount("worker2"));
+    }
+
+    @Test
+    void leasesWithThroughputBelow_assertStrictlyBelowInAscendingOrder() {
+        index.update(Arrays.asList(
+                lease("lease1", "worker1", 30D),
+                lease("lease2", "worker1", 10D),
+                lease("lease3", "worker1", 20D),
+                lease("lease4", "worker1", 20D)));
+
+        assertEquals(
+                Arrays.asList("lease2", "lease3", "lease4"),
+                leaseKeys(index.leasesWithThroughputBelow("worker1", 30D)));
+        assertEquals(Collections.singletonList("lease2"), leaseKeys(index.leasesWithThroughputBelow("worker1", 20D)));
+        assertTrue(index.leasesWithThroughputBelow("worker1", 10D).isEmpty());
+        assertTrue(index.leasesWithThroughputBelow("worker2", 100D).isEmpty());
+        assertEquals("lease2", index.minThroughputLease("worker1").leaseKey());
+        assertEquals("lease1", index.maxThroughputLease("worker1").leaseKey());
+        assertNull(index.minThroughputLease("worker2"));
+    }
+
+    @Test
+    void workerToLeases_assertReadOnly() {
+        final Lease lease = lease("lease1", "worker1", 30D);
+        index.update(Collections.singletonList(lease));
+
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> index.workerToLeases().get("worker1").remove(lease));
+        assertThrows(UnsupportedOperationException.class, () -> index.workerToLeases()
+                .remove("worker1"));
+        assertEquals(1, index.leaseCount("worker1"));
+    }
+
+    private static List<String> leaseKeys(final Iterable<Lease> leases) {
+        final List<String> leaseKeys = new ArrayList<>();
+        leases.forEach(lease -> leaseKeys.add(lease.leaseKey()));
+        return leaseKeys;
+    }
+
+    private static Lease lease(final String leaseKey, final String leaseOwner, final double throughputKBps) {
+        final Lease lease = new Lease();
+        lease.leaseKey(leaseKey);
+        lease.leaseOwner(leaseOwner);
+        lease.leaseCounter(1L);
+        lease.throughputKBps(throughputKBps);
+        return lease;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.coordinator.assignment;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import software.amazon.kinesis.coordinator.LeaderDecider;
+import software.amazon.kinesis.coordinator.streamInfo.StreamIdCacheManager;
+import software.amazon.kinesis.leases.Lease;
+import software.amazon.kinesis.leases.LeaseAssignmentStrategy;
+import software.amazon.kinesis.leases.LeaseManagementConfig;
+import software.amazon.kinesis.leases.LeaseRefresher;
+import software.amazon.kinesis.metrics.NullMetricsFactory;
+import software.amazon.kinesis.worker.metricstats.WorkerMetricStats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Measures the lease assignment runs of {@link LeaseAssignmentManager} for a large fleet, and the cost of updating
+ * the {@link LeaseAssignmentIndex} kept across runs compared to building it from scratch. Between runs a small share
+ * of the leases changes throughput, as lease stats get reported, while all leases are renewed.
+ *
+ * <p>Excluded from the unit test run, run it with
+ * {@code mvn test -pl amazon-kinesis-client -Dtest=LeaseAssignmentManagerScalingBenchmarkTest}.
+ */
+@Slf4j
+class LeaseAssignmentManagerScalingBenchmarkTest {
+    private static final int LEASES = 100_000;
+    private static final int WORKERS = 1_000;
+    private static final int CHANGED_LEASES_PER_RUN = LEASES / 100;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    private static final long LEASE_DURATION_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Random random = new Random(0);
+    /**
+     * Lease key to the lease as stored in the lease table, updated by successful assignments.
+     */
+    private final Map<String, Lease> leaseTable = new ConcurrentHashMap<>();
+
+    private final List<WorkerMetricStats> workerMetricStats = new ArrayList<>();
+
+    @Test
+    void benchmarkAssignmentRunsAndIndexUpdates() throws Exception {
+        for (int i = 0; i < LEASES; i++) {
+            final Lease lease = new Lease();
+            lease.leaseKey(String.format("shardId-%012d", i));
+            lease.leaseOwner(workerId(i % WORKERS));
+            lease.leaseCounter(1L);
+            lease.throughputKBps(random.nextDouble() * 100);
+            leaseTable.put(lease.leaseKey(), lease);
+        }
+        for (int i = 0; i < WORKERS; i++) {
+            // Spread the utilization so that every variance balancing run has leases to move.
+            final double utilization = 40D + random.nextDouble() * 30D;
+            workerMetricStats.add(WorkerMetricStats.LeaseTableWorkerMetricStats.builder()
+                    .workerId(workerId(i))
+                    .lastUpdateTime(Instant.now().getEpochSecond())
+                    .metricStats(ImmutableMap.of("C", ImmutableList.of(utilization, utilization)))
+                    .operatingRange(ImmutableMap.of("C", ImmutableList.of(80L)))
+                    .build());
+        }
+
+        final AtomicInteger assignments = new AtomicInteger();
+        final Runnable assignmentRun = createLeaseAssignmentManagerRun(assignments);
+
+        long firstRunNanos = 0L;
+        long measuredRunNanos = 0L;
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            final long startNanos = System.nanoTime();
+            assignmentRun.run();
+            final long elapsedNanos = System.nanoTime() - startNanos;
+            if (run == 0) {
+                firstRunNanos = elapsedNanos;
+            } else if (run >= WARMUP_RUNS) {
+                measuredRunNanos += elapsedNanos;
+            }
+            renewAndChangeThroughput();
+        }
+
+        final List<Lease> scan = scanLeaseTable();
+        final LeaseAssignmentIndex index = new LeaseAssignmentIndex();
+        final long buildStartNanos = System.nanoTime();
+        assertEquals(LEASES, index.update(scan));
+        final long buildNanos = System.nanoTime() - buildStartNanos;
+
+        renewAndChangeThroughput();
+        final List<Lease> nextScan = scanLeaseTable();
+        final long updateStartNanos = System.nanoTime();
+        final int changedLeases = index.update(nextScan);
+        final long updateNanos = System.nanoTime() - updateStartNanos;
+
+        log.info(
+                "LeaseAssignmentManager with {} leases and {} workers: first run {} ms, average of {} later runs {} ms,"
+                        + " {} leases assigned in total",
+                LEASES,
+                WORKERS,
+                TimeUnit.NANOSECONDS.toMillis(firstRunNanos),
+                MEASURED_RUNS,
+                TimeUnit.NANOSECONDS.toMillis(measuredRunNanos / MEASURED_RUNS),
+                assignments.get());
+        log.info(
+                "LeaseAssignmentIndex with {} leases: build {} ms, update with {} changed leases {} ms",
+                LEASES,
+                TimeUnit.NANOSECONDS.toMillis(buildNanos),
+                changedLeases,
+                TimeUnit.NANOSECONDS.toMillis(updateNanos));
+        assertEquals(CHANGED_LEASES_PER_RUN, changedLeases);
+        assertTrue(assignments.get() > 0);
+    }
+
+    private Runnable createLeaseAssignmentManagerRun(final AtomicInteger assignments) throws Exception {
+        final LeaseRefresher leaseRefresher =
+                mock(LeaseRefresher.class, withSettings().stubOnly());
+        when(leaseRefresher.assignLease(any(Lease.class), anyString())).thenAnswer(invocation -> {
+            final Lease lease = invocation.getArgument(0);
+            final Lease stored = leaseTable.get(lease.leaseKey()).copy();
+            stored.throughputKBps(leaseTable.get(lease.leaseKey()).throughputKBps());
+            stored.leaseOwner(invocation.getArgument(1));
+            stored.leaseCounter(stored.leaseCounter() + 1);
+            leaseTable.put(lease.leaseKey(), stored);
+            assignments.incrementAndGet();
+            return true;
+        });
+        final LeaderDecider leaderDecider =
+                mock(LeaderDecider.class, withSettings().stubOnly());
+        when(leaderDecider.isLeader(anyString())).thenReturn(true);
+        final LAMDataManager lamDataManager =
+                mock(LAMDataManager.class, withSettings().stubOnly());
+        when(lamDataManager.loadData(any())).thenAnswer(invocation -> LAMDataSnapshot.builder()
+                .leases(scanLeaseTable())
+                .leaseDeserializationFailures(Collections.emptyList())
+                .workerMetricStats(new ArrayList<>(workerMetricStats))
+                .build());
+
+        final AtomicReference<Runnable> assignmentRun = new AtomicReference<>();
+        final ScheduledExecutorService executorService =
+                mock(ScheduledExecutorService.class, withSettings().stubOnly());
+        when(executorService.scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class)))
+                .thenAnswer(invocation -> {
+                    assignmentRun.set(invocation.getArgument(0));
+                    return null;
+                });
+
+        final LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig config =
+                new LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig();
+        config.varianceBalancingFrequency(1);
+        new LeaseAssignmentManager(
+                        leaseRefresher,
+                        leaderDecider,
+                        config,
+                        workerId(0),
+                        LEASE_DURATION_MILLIS,
+                        new NullMetricsFactory(),
+                        executorService,
+                        System::nanoTime,
+                        Integer.MAX_VALUE,
+                        LeaseManagementConfig.GracefulLeaseHandoffConfig.builder()
+                                .isGracefulLeaseHandoffEnabled(false)
+                                .build(),
+                        LeaseAssignmentStrategy.WORKER_UTILIZATION_AWARE,
+                        LEASE_DURATION_MILLIS,
+                        mock(StreamIdCacheManager.class, withSettings().stubOnly()),
+                        lamDataManager)
+                .start();
+        return assignmentRun.get();
+    }
+
+    /**
+     * Renews all leases and changes the throughput of {@link #CHANGED_LEASES_PER_RUN} of them.
+     */
+    private void renewAndChangeThroughput() {
+        leaseTable.values().forEach(lease -> lease.leaseCounter(lease.leaseCounter() + 1));
+        for (int i = 0; i < CHANGED_LEASES_PER_RUN; i++) {
+            // Every 97th lease, so that no lease is changed twice.
+            final Lease lease = leaseTable.get(String.format("shardId-%012d", (i * 97) % LEASES));
+            lease.throughputKBps(lease.throughputKBps() + 1D + random.nextDouble());
+        }
+    }
+
+    /**
+     * @return new lease objects with the current state of the lease table, as a scan of the lease table returns
+     */
+    private List<Lease> scanLeaseTable() {
+        final List<Lease> leases = new ArrayList<>(leaseTable.size());
+        leaseTable.values().forEach(lease -> {
+            final Lease scanned = lease.copy();
+            scanned.throughputKBps(lease.throughputKBps());
+            leases.add(scanned);
+        });
+        return leases;
+    }
+
+    private static String workerId(final int worker) {
+        return "worker-" + worker;
+    }
+}
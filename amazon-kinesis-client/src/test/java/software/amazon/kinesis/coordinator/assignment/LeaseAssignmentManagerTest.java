@@ -6,6 +6,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -48,6 +49,7 @@ import software.amazon.kinesis.leases.LeaseManagementConfig;
 import software.amazon.kinesis.leases.LeaseManagementConfig.WorkerMetricsTableConfig;
 import software.amazon.kinesis.leases.LeaseRefresher;
 import software.amazon.kinesis.leases.LeaseSerializer;
+import software.amazon.kinesis.leases.ParentShardCompletionRegistry;
 import software.amazon.kinesis.leases.dynamodb.DynamoDBLeaseRefresher;
 import software.amazon.kinesis.leases.dynamodb.DynamoDBLeaseSerializer;
 import software.amazon.kinesis.leases.dynamodb.DynamoDBLeaseTableDao;
@@ -75,6 +77,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber.SHARD_END;
 import static software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber.TRIM_HORIZON;
 
 class LeaseAssignmentManagerTest {
@@ -119,6 +122,7 @@ class LeaseAssignmentManagerTest {
             Runtime.getRuntime().availableProcessors());
     private WorkerMetricStatsDAO workerMetricsDAO;
     private TableMigrationStatusProvider mockProvider;
+    private Consumer<List<Lease>> leaseScanConsumer = leases -> {};
 
     @BeforeEach
     void setup() throws ProvisionedThroughputException, DependencyException {
@@ -935,6 +939,65 @@ class LeaseAssignmentManagerTest {
                         .count());
     }
 
+    @Test
+    void performAssignment_shardEndLeasesReadThroughProjectedScan_assertAssignedWithoutGracefulHandoff()
+            throws Exception {
+        gracefulLeaseHandoffConfig =
+                LeaseManagementConfig.GracefulLeaseHandoffConfig.builder().build();
+        createLeaseAssignmentManager(
+                getWorkerUtilizationAwareAssignmentConfig(Double.MAX_VALUE, 20),
+                Duration.ofHours(1).toMillis(),
+                System::nanoTime,
+                Integer.MAX_VALUE);
+
+        workerMetricsDAO.updateMetrics(createDummyYieldWorkerMetrics(TEST_YIELD_WORKER_ID));
+        workerMetricsDAO.updateMetrics(createDummyTakeWorkerMetrics(TEST_TAKE_WORKER_ID));
+
+        final Lease lease1 = createDummyLease("lease1", TEST_YIELD_WORKER_ID);
+        lease1.throughputKBps(5D);
+        lease1.checkpoint(SHARD_END);
+        final Lease lease2 = createDummyLease("lease2", TEST_YIELD_WORKER_ID);
+        lease2.throughputKBps(30D);
+        lease2.checkpoint(SHARD_END);
+        populateLeasesInLeaseTable(lease1, lease2);
+
+        leaseAssignmentManagerRunnable.run();
+
+        // Leases at SHARD_END have nothing left to checkpoint, so they are reassigned without a graceful handoff.
+        final List<Lease> leases = leaseRefresher.listLeases();
+        assertEquals(0, leases.stream().filter(l -> l.checkpointOwner() != null).count());
+        assertEquals(
+                1,
+                leases.stream()
+                        .filter(l -> TEST_TAKE_WORKER_ID.equals(l.leaseOwner()))
+                        .count());
+    }
+
+    @Test
+    void performAssignment_shardEndLeaseReadThroughProjectedScan_assertParentShardCompletionRegistryNotified()
+            throws Exception {
+        final ParentShardCompletionRegistry registry = new ParentShardCompletionRegistry();
+        leaseScanConsumer = registry::onLeaseTableScan;
+        createLeaseAssignmentManager(
+                getWorkerUtilizationAwareAssignmentConfig(Double.MAX_VALUE, 20),
+                Duration.ofHours(1).toMillis(),
+                System::nanoTime,
+                Integer.MAX_VALUE);
+
+        workerMetricsDAO.updateMetrics(createDummyYieldWorkerMetrics(TEST_YIELD_WORKER_ID));
+        final Lease parentLease = createDummyLease("parentLease", TEST_YIELD_WORKER_ID);
+        parentLease.checkpoint(SHARD_END);
+        final Lease inProgressLease = createDummyLease("inProgressLease", TEST_YIELD_WORKER_ID);
+        populateLeasesInLeaseTable(parentLease, inProgressLease);
+        final CompletableFuture<Void> parentCompletion = registry.awaitCompletion("parentLease");
+
+        leaseAssignmentManagerRunnable.run();
+
+        assertTrue(parentCompletion.isDone());
+        assertTrue(registry.isCompleted("parentLease"));
+        assertFalse(registry.isCompleted("inProgressLease"));
+    }
+
     @Test
     void performAssignment_expiredLeasesButPendingCheckpointNotExpiredLease_validateItIsAssigned() throws Exception {
         final Supplier<Long> mockNanoTimeProvider = Mockito.mock(Supplier.class);
@@ -1326,6 +1389,7 @@ class LeaseAssignmentManagerTest {
                 workerMetricStatsDao,
                 mockProvider,
                 mock(Consumer.class),
+                leaseScanConsumer,
                 config,
                 MoreExecutors.newDirectExecutorService(),
                 new NullMetricsFactory());
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.coordinator.assignment;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import lombok.Value;
+import software.amazon.kinesis.coordinator.LeaderDecider;
+import software.amazon.kinesis.coordinator.streamInfo.StreamIdCacheManager;
+import software.amazon.kinesis.leases.Lease;
+import software.amazon.kinesis.leases.LeaseAssignmentStrategy;
+import software.amazon.kinesis.leases.LeaseManagementConfig;
+import software.amazon.kinesis.leases.LeaseRefresher;
+import software.amazon.kinesis.metrics.NullMetricsFactory;
+import software.amazon.kinesis.worker.metricstats.WorkerMetricStats;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Simulates a fleet of workers running {@link LeaseAssignmentManager} cycles with a given
+ * {@link LeaseAssignmentStrategy}. The CPU utilization of a worker is a baseline plus a per worker cost for every KBps
+ * of lease throughput it processes, and is reported to LAM at the start of every cycle. The simulation scores how many
+ * cycles it takes for all workers to get within the re-balance threshold of the fleet average, and how many lease
+ * handoffs are made along the way.
+ */
+class LeaseAssignmentSimulator {
+    private static final String CPU = "C";
+    private static final long LEASE_DURATION_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Map<String, SimulatedWorker> workers = new HashMap<>();
+    /**
+     * Lease key to the lease as stored in the lease table.
+     */
+    private final Map<String, Lease> leaseTable = new ConcurrentHashMap<>();
+
+    private final AtomicInteger handoffs = new AtomicInteger();
+
+    /**
+     * Adds a worker to the fleet.
+     *
+     * @param workerId id of the worker
+     * @param baselineCpu CPU utilization of the worker without any leases
+     * @param cpuPerKBps CPU utilization of the worker for each KBps of lease throughput
+     */
+    LeaseAssignmentSimulator withWorker(final String workerId, final double baselineCpu, final double cpuPerKBps) {
+        workers.put(workerId, new SimulatedWorker(baselineCpu, cpuPerKBps));
+        return this;
+    }
+
+    LeaseAssignmentSimulator withLease(final String leaseKey, final String owner, final double throughputKBps) {
+        final Lease lease = new Lease();
+        lease.leaseKey(leaseKey);
+        lease.leaseOwner(owner);
+        lease.leaseCounter(1L);
+        lease.throughputKBps(throughputKBps);
+        leaseTable.put(leaseKey, lease);
+        return this;
+    }
+
+    /**
+     * Runs LAM cycles until the fleet converged or {@code maxCycles} cycles ran.
+     */
+    SimulationResult run(
+            final LeaseAssignmentStrategy strategy,
+            final LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig config,
+            final int maxCycles)
+            throws Exception {
+        final Runnable assignmentRun = createLeaseAssignmentManagerRun(strategy, config);
+        final double allowedDeviation = (double) config.reBalanceThresholdPercentage() / 100;
+        for (int cycle = 1; cycle <= maxCycles; cycle++) {
+            assignmentRun.run();
+            leaseTable.values().forEach(lease -> lease.leaseCounter(lease.leaseCounter() + 1));
+            if (maxDeviationFromAverage() <= allowedDeviation) {
+                return new SimulationResult(cycle, handoffs.get(), maxDeviationFromAverage());
+            }
+        }
+        return new SimulationResult(-1, handoffs.get(), maxDeviationFromAverage());
+    }
+
+    /**
+     * @return highest relative difference of the CPU utilization of a worker to the fleet average
+     */
+    double maxDeviationFromAverage() {
+        final Map<String, Double> cpuPerWorker = cpuPerWorker();
+        final double average = cpuPerWorker.values().stream()
+                .mapToDouble(Double::doubleValue)
+                .average()
+                .orElse(0D);
+        return cpuPerWorker.values().stream()
+                .mapToDouble(cpu -> Math.abs(cpu - average) / average)
+                .max()
+                .orElse(0D);
+    }
+
+    private Map<String, Double> cpuPerWorker() {
+        final Map<String, Double> throughputPerWorker = new HashMap<>();
+        leaseTable
+                .values()
+                .forEach(lease -> throughputPerWorker.merge(lease.leaseOwner(), lease.throughputKBps(), Double::sum));
+        final Map<String, Double> cpuPerWorker = new HashMap<>();
+        workers.forEach((workerId, worker) -> cpuPerWorker.put(
+                workerId, worker.baselineCpu + worker.cpuPerKBps * throughputPerWorker.getOrDefault(workerId, 0D)));
+        return cpuPerWorker;
+    }
+
+    private LAMDataSnapshot snapshot() {
+        final List<Lease> leases = new ArrayList<>(leaseTable.size());
+        leaseTable.values().forEach(lease -> {
+            final Lease scanned = lease.copy();
+            scanned.throughputKBps(lease.throughputKBps());
+            leases.add(scanned);
+        });
+        final List<WorkerMetricStats> workerMetricStats = new ArrayList<>();
+        cpuPerWorker()
+                .forEach(
+                        (workerId, cpu) -> workerMetricStats.add(WorkerMetricStats.LeaseTableWorkerMetricStats.builder()
+                                .workerId(workerId)
+                                .lastUpdateTime(Instant.now().getEpochSecond())
+                                .metricStats(ImmutableMap.of(CPU, ImmutableList.of(cpu, cpu)))
+                                .operatingRange(ImmutableMap.of(CPU, ImmutableList.of(100L)))
+                                .build()));
+        return LAMDataSnapshot.builder()
+                .leases(leases)
+                .leaseDeserializationFailures(Collections.emptyList())
+                .workerMetricStats(workerMetricStats)
+                .build();
+    }
+
+    private Runnable createLeaseAssignmentManagerRun(
+            final LeaseAssignmentStrategy strategy,
+            final LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig config)
+            throws Exception {
+        final LeaseRefresher leaseRefresher =
+                mock(LeaseRefresher.class, withSettings().stubOnly());
+        when(leaseRefresher.assignLease(any(Lease.class), anyString())).thenAnswer(invocation -> {
+            final Lease lease = leaseTable.get(((Lease) invocation.getArgument(0)).leaseKey());
+            lease.leaseOwner(invocation.getArgument(1));
+            lease.leaseCounter(lease.leaseCounter() + 1);
+            handoffs.incrementAndGet();
+            return true;
+        });
+        final LeaderDecider leaderDecider =
+                mock(LeaderDecider.class, withSettings().stubOnly());
+        when(leaderDecider.isLeader(anyString())).thenReturn(true);
+        final LAMDataManager lamDataManager =
+                mock(LAMDataManager.class, withSettings().stubOnly());
+        when(lamDataManager.loadData(any())).thenAnswer(invocation -> snapshot());
+
+        final AtomicReference<Runnable> assignmentRun = new AtomicReference<>();
+        final ScheduledExecutorService executorService =
+                mock(ScheduledExecutorService.class, withSettings().stubOnly());
+        when(executorService.scheduleWithFixedDelay(any(Runnable.class), anyLong(), anyLong(), any(TimeUnit.class)))
+                .thenAnswer(invocation -> {
+                    assignmentRun.set(invocation.getArgument(0));
+                    return null;
+                });
+
+        new LeaseAssignmentManager(
+                        leaseRefresher,
+                        leaderDecider,
+                        config,
+                        "leader",
+                        LEASE_DURATION_MILLIS,
+                        new NullMetricsFactory(),
+                        executorService,
+                        System::nanoTime,
+                        Integer.MAX_VALUE,
+                        LeaseManagementConfig.GracefulLeaseHandoffConfig.builder()
+                                .isGracefulLeaseHandoffEnabled(false)
+                                .build(),
+                        strategy,
+                        LEASE_DURATION_MILLIS,
+                        mock(StreamIdCacheManager.class, withSettings().stubOnly()),
+                        lamDataManager)
+                .start();
+        return assignmentRun.get();
+    }
+
+    @Value
+    private static class SimulatedWorker {
+        double baselineCpu;
+        double cpuPerKBps;
+    }
+
+    @Value
+    static class SimulationResult {
+        /**
+         * Number of LAM cycles after which all workers were within the re-balance threshold, or -1 if the fleet did
+         * not converge.
+         */
+        int cyclesToConverge;
+
+        int handoffs;
+
+        double maxDeviationFromAverage;
+    }
+}
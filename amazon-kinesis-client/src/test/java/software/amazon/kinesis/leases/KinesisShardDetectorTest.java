@@ -20,6 +20,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -31,6 +34,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import software.amazon.awssdk.services.kinesis.KinesisAsyncClient;
@@ -40,6 +44,8 @@ import software.amazon.awssdk.services.kinesis.model.ListShardsResponse;
 import software.amazon.awssdk.services.kinesis.model.ResourceInUseException;
 import software.amazon.awssdk.services.kinesis.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.kinesis.model.Shard;
+import software.amazon.awssdk.services.kinesis.model.ShardFilter;
+import software.amazon.awssdk.services.kinesis.model.ShardFilterType;
 import software.amazon.kinesis.common.StreamIdentifier;
 import software.amazon.kinesis.coordinator.streamInfo.StreamIdCacheManager;
 import software.amazon.kinesis.coordinator.streamInfo.StreamIdCacheTestUtil;
@@ -52,6 +58,7 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -268,6 +275,88 @@ public class KinesisShardDetectorTest {
         verify(client).listShards(any(ListShardsRequest.class));
     }
 
+    @Test
+    public void testGetShardNewShardRefreshesIncrementally() {
+        final String shardId = String.format(SHARD_ID, 5);
+        final CompletableFuture<ListShardsResponse> future =
+                CompletableFuture.completedFuture(ListShardsResponse.builder()
+                        .shards(Shard.builder().shardId(shardId).build())
+                        .build());
+
+        shardDetector.cachedShardMap(createShardList());
+        shardDetector.cacheMisses().set(MAX_CACHE_MISSES_BEFORE_RELOAD);
+
+        final ArgumentCaptor<ListShardsRequest> requestCaptor = ArgumentCaptor.forClass(ListShardsRequest.class);
+        when(client.listShards(requestCaptor.capture())).thenReturn(future);
+
+        assertThat(
+                shardDetector.shard(shardId),
+                equalTo(Shard.builder().shardId(shardId).build()));
+        assertThat(
+                shardDetector.shard(String.format(SHARD_ID, 1)),
+                equalTo(Shard.builder().shardId(String.format(SHARD_ID, 1)).build()));
+
+        verify(client).listShards(any(ListShardsRequest.class));
+        final ShardFilter shardFilter = requestCaptor.getValue().shardFilter();
+        assertThat(shardFilter.type(), equalTo(ShardFilterType.AFTER_SHARD_ID));
+        assertThat(shardFilter.shardId(), equalTo(String.format(SHARD_ID, 4)));
+    }
+
+    @Test
+    public void testGetShardAfterFilteredListingRefreshesAllShards() {
+        final String shardId = String.format(SHARD_ID, 0);
+        final ArgumentCaptor<ListShardsRequest> requestCaptor = ArgumentCaptor.forClass(ListShardsRequest.class);
+        when(client.listShards(requestCaptor.capture()))
+                .thenReturn(CompletableFuture.completedFuture(ListShardsResponse.builder()
+                        .shards(Shard.builder()
+                                .shardId(String.format(SHARD_ID, 4))
+                                .build())
+                        .build()))
+                .thenReturn(CompletableFuture.completedFuture(
+                        ListShardsResponse.builder().shards(createShardList()).build()));
+
+        shardDetector.listShardsWithFilter(
+                ShardFilter.builder().type(ShardFilterType.AT_LATEST).build());
+        shardDetector.cacheMisses().set(MAX_CACHE_MISSES_BEFORE_RELOAD);
+
+        assertThat(
+                shardDetector.shard(shardId),
+                equalTo(Shard.builder().shardId(shardId).build()));
+        verify(client, times(2)).listShards(any(ListShardsRequest.class));
+        assertThat(requestCaptor.getAllValues().get(1).shardFilter(), nullValue());
+    }
+
+    @Test
+    public void testGetShardConcurrentCallersShareRefresh() throws Exception {
+        final String shardId = String.format(SHARD_ID, 5);
+        final CompletableFuture<ListShardsResponse> future = new CompletableFuture<>();
+
+        shardDetector.cachedShardMap(createShardList());
+        shardDetector.cacheMisses().set(MAX_CACHE_MISSES_BEFORE_RELOAD);
+        when(client.listShards(any(ListShardsRequest.class))).thenReturn(future);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Shard>> results = IntStream.range(0, 4)
+                    .mapToObj(x -> executorService.submit(() -> shardDetector.shard(shardId)))
+                    .collect(Collectors.toList());
+
+            verify(client, timeout(5000)).listShards(any(ListShardsRequest.class));
+            future.complete(ListShardsResponse.builder()
+                    .shards(Shard.builder().shardId(shardId).build())
+                    .build());
+
+            for (final Future<Shard> result : results) {
+                assertThat(
+                        result.get(5, TimeUnit.SECONDS),
+                        equalTo(Shard.builder().shardId(shardId).build()));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        verify(client, times(1)).listShards(any(ListShardsRequest.class));
+    }
+
     private List<Shard> createShardList() {
         return Arrays.asList(
                 Shard.builder().shardId(String.format(SHARD_ID, 0)).build(),
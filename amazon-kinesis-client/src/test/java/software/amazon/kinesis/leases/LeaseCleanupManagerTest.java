@@ -17,8 +17,12 @@ package software.amazon.kinesis.leases;
 
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
@@ -30,6 +34,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import software.amazon.awssdk.services.kinesis.model.ChildShard;
 import software.amazon.awssdk.services.kinesis.model.ResourceNotFoundException;
+import software.amazon.awssdk.services.kinesis.model.Shard;
 import software.amazon.kinesis.common.StreamIdentifier;
 import software.amazon.kinesis.leases.exceptions.LeasePendingDeletion;
 import software.amazon.kinesis.metrics.MetricsFactory;
@@ -37,6 +42,7 @@ import software.amazon.kinesis.metrics.NullMetricsFactory;
 import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -245,6 +251,181 @@ public class LeaseCleanupManagerTest {
         verify(leaseRefresher).deleteLease(heldLease);
     }
 
+    /**
+     * Tests that leases cleaned up in batches are read, checked against one shard listing of the stream and deleted
+     * with batched calls.
+     */
+    @Test
+    public final void testBatchCleanupDeletesCompletedLeases() throws Exception {
+        leaseCleanupManager = createBatchingLeaseCleanupManager();
+        final Lease leaseA = completedLease("shardId-a", "shardId-c");
+        final Lease leaseB = completedLease("shardId-b", "shardId-d");
+        stubLeaseTable(
+                leaseA,
+                leaseB,
+                childLease("shardId-c", "shardId-a", ExtendedSequenceNumber.LATEST),
+                childLease("shardId-d", "shardId-b", ExtendedSequenceNumber.LATEST));
+        when(shardDetector.listShards())
+                .thenReturn(Arrays.asList(
+                        Shard.builder().shardId("shardId-a").build(),
+                        Shard.builder().shardId("shardId-b").build(),
+                        Shard.builder()
+                                .shardId("shardId-c")
+                                .parentShardId("shardId-a")
+                                .build(),
+                        Shard.builder()
+                                .shardId("shardId-d")
+                                .parentShardId("shardId-b")
+                                .build()));
+
+        leaseCleanupManager.enqueueForDeletion(createLeasePendingDeletion(leaseA, shardInfo("shardId-a")));
+        leaseCleanupManager.enqueueForDeletion(createLeasePendingDeletion(leaseB, shardInfo("shardId-b")));
+        leaseCleanupManager.cleanupLeases();
+
+        verify(shardDetector, times(1)).listShards();
+        verify(shardDetector, never()).getChildShards(any(String.class));
+        verify(leaseRefresher).batchDeleteLeases(Arrays.asList(leaseA, leaseB));
+        verify(leaseRefresher, never()).deleteLease(any(Lease.class));
+        Assert.assertFalse(
+                leaseCleanupManager.isEnqueuedForDeletion(createLeasePendingDeletion(leaseA, shardInfo("shardId-a"))));
+        Assert.assertFalse(
+                leaseCleanupManager.isEnqueuedForDeletion(createLeasePendingDeletion(leaseB, shardInfo("shardId-b"))));
+    }
+
+    /**
+     * Tests that leases whose child shards have not begun processing stay enqueued when cleaning up in batches.
+     */
+    @Test
+    public final void testBatchCleanupReenqueuesLeaseWhenChildIsAtTrim() throws Exception {
+        leaseCleanupManager = createBatchingLeaseCleanupManager();
+        final Lease leaseA = completedLease("shardId-a", "shardId-c");
+        final Lease leaseB = completedLease("shardId-b", "shardId-d");
+        stubLeaseTable(
+                leaseA,
+                leaseB,
+                childLease("shardId-c", "shardId-a", ExtendedSequenceNumber.LATEST),
+                childLease("shardId-d", "shardId-b", ExtendedSequenceNumber.TRIM_HORIZON));
+        when(shardDetector.listShards())
+                .thenReturn(Arrays.asList(
+                        Shard.builder().shardId("shardId-a").build(),
+                        Shard.builder().shardId("shardId-b").build(),
+                        Shard.builder()
+                                .shardId("shardId-c")
+                                .parentShardId("shardId-a")
+                                .build(),
+                        Shard.builder()
+                                .shardId("shardId-d")
+                                .parentShardId("shardId-b")
+                                .build()));
+
+        leaseCleanupManager.enqueueForDeletion(createLeasePendingDeletion(leaseA, shardInfo("shardId-a")));
+        leaseCleanupManager.enqueueForDeletion(createLeasePendingDeletion(leaseB, shardInfo("shardId-b")));
+        leaseCleanupManager.cleanupLeases();
+
+        verify(leaseRefresher).batchDeleteLeases(Collections.singletonList(leaseA));
+        Assert.assertFalse(
+                leaseCleanupManager.isEnqueuedForDeletion(createLeasePendingDeletion(leaseA, shardInfo("shardId-a"))));
+        Assert.assertTrue(
+                leaseCleanupManager.isEnqueuedForDeletion(createLeasePendingDeletion(leaseB, shardInfo("shardId-b"))));
+    }
+
+    /**
+     * Tests that a lease of a shard the stream does not list any more is cleaned up on its own when cleaning up in
+     * batches, which deletes it once the shard is found to be expired.
+     */
+    @Test
+    public final void testBatchCleanupFallsBackForShardNotListed() throws Exception {
+        leaseCleanupManager = createBatchingLeaseCleanupManager();
+        final Lease lease =
+                LeaseHelper.createLease(SHARD_INFO.shardId(), "leaseOwner", Collections.singleton("parentShardId"));
+        stubLeaseTable(lease);
+        when(shardDetector.listShards()).thenReturn(Collections.emptyList());
+        when(shardDetector.getChildShards(any(String.class))).thenThrow(ResourceNotFoundException.class);
+
+        leaseCleanupManager.enqueueForDeletion(createLeasePendingDeletion(lease, SHARD_INFO));
+        leaseCleanupManager.cleanupLeases();
+
+        verify(shardDetector).getChildShards(SHARD_INFO.shardId());
+        verify(leaseRefresher).deleteLease(lease);
+        verify(leaseRefresher, never()).batchDeleteLeases(any());
+    }
+
+    /**
+     * Tests that leases cleaned up in batches are re-enqueued without listing the shards of the stream when neither
+     * the completed lease check nor the garbage lease check is due.
+     */
+    @Test
+    public final void testBatchCleanupSkipsShardLookupWhenNoCheckIsDue() throws Exception {
+        leaseCleanupManager = new LeaseCleanupManager(
+                leaseCoordinator,
+                NULL_METRICS_FACTORY,
+                deletionThreadPool,
+                false,
+                leaseCleanupIntervalMillis,
+                completedLeaseCleanupIntervalMillis,
+                Duration.ofHours(1).toMillis(),
+                10,
+                0);
+        final Lease lease = completedLease("shardId-a", "shardId-c");
+
+        leaseCleanupManager.enqueueForDeletion(createLeasePendingDeletion(lease, shardInfo("shardId-a")));
+        leaseCleanupManager.cleanupLeases();
+
+        verify(shardDetector, never()).listShards();
+        verify(shardDetector, never()).getChildShards(any(String.class));
+        verify(leaseRefresher, never()).batchGetLeases(any());
+        Assert.assertTrue(
+                leaseCleanupManager.isEnqueuedForDeletion(createLeasePendingDeletion(lease, shardInfo("shardId-a"))));
+    }
+
+    private LeaseCleanupManager createBatchingLeaseCleanupManager() {
+        return new LeaseCleanupManager(
+                leaseCoordinator,
+                NULL_METRICS_FACTORY,
+                deletionThreadPool,
+                cleanupLeasesOfCompletedShards,
+                leaseCleanupIntervalMillis,
+                completedLeaseCleanupIntervalMillis,
+                garbageLeaseCleanupIntervalMillis,
+                10,
+                0);
+    }
+
+    private void stubLeaseTable(final Lease... leases) throws Exception {
+        final Map<String, Lease> leaseTable = new HashMap<>();
+        for (Lease lease : leases) {
+            leaseTable.put(lease.leaseKey(), lease);
+        }
+        when(leaseRefresher.getLease(any(String.class)))
+                .thenAnswer(invocation -> leaseTable.get(invocation.getArgument(0)));
+        when(leaseRefresher.batchGetLeases(any())).thenAnswer(invocation -> {
+            final Collection<String> leaseKeys = invocation.getArgument(0);
+            return leaseKeys.stream()
+                    .map(leaseTable::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private static Lease completedLease(final String shardId, final String childShardId) {
+        return LeaseHelper.createLease(
+                shardId,
+                "leaseOwner",
+                Collections.emptySet(),
+                Collections.singleton(childShardId),
+                ExtendedSequenceNumber.SHARD_END);
+    }
+
+    private static Lease childLease(
+            final String shardId, final String parentShardId, final ExtendedSequenceNumber checkpoint) {
+        return LeaseHelper.createLease(
+                shardId, "leaseOwner", Collections.singleton(parentShardId), Collections.emptyList(), checkpoint);
+    }
+
+    private static ShardInfo shardInfo(final String shardId) {
+        return new ShardInfo(shardId, "concurrencyToken", Collections.emptySet(), ExtendedSequenceNumber.SHARD_END);
+    }
+
     private void verifyExpectedDeletedLeasesCompletedShardCase(
             ShardInfo shardInfo,
             List<ChildShard> childShards,
@@ -136,7 +136,10 @@ public class LeaseCoordinatorExerciser {
                     new ConcurrentHashMap<>(),
                     2 * leaseDurationMillis,
                     mockStreamIdCacheManager,
-                    0);
+                    0,
+                    0,
+                    false,
+                    null);
 
             coordinators.add(coord);
         }
@@ -1,8 +1,14 @@
 package software.amazon.kinesis.leases;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -111,6 +117,69 @@ class LeaseStatsRecorderTest {
                 "LeaseStats exists even after dropping lease stats");
     }
 
+    @Test
+    void recordStatsWithLeaseKey_usesTimeProvider() throws Exception {
+        final long currentTime = System.currentTimeMillis();
+        when(mockedTimeProviderInMillis.call()).thenReturn(currentTime);
+        this.leaseStatsRecorder.recordStats("lease-key1", 1024 * 1024);
+
+        when(mockedTimeProviderInMillis.call()).thenReturn(currentTime + TEST_RENEWER_FREQ / 2);
+        assertEquals(17.0, Math.floor(this.leaseStatsRecorder.getThroughputKBps("lease-key1")));
+
+        // Once the recorded bucket is older than the renewer frequency it no longer counts towards the throughput.
+        when(mockedTimeProviderInMillis.call()).thenReturn(currentTime + TEST_RENEWER_FREQ + 1);
+        assertEquals(8.0, Math.floor(this.leaseStatsRecorder.getThroughputKBps("lease-key1")));
+    }
+
+    @Test
+    void recordStats_bucketReusedAfterInterval_assertOnlyNewBytesCounted() throws Exception {
+        final long currentTime = System.currentTimeMillis();
+        for (int i = 0; i <= LeaseStatsRecorder.BUCKETS_PER_INTERVAL * 3; i++) {
+            // Wraps around the ring several times, so every slot is reused for a newer bucket.
+            this.leaseStatsRecorder.recordStats(generateRandomLeaseStat(
+                    "lease-key1", currentTime + i * TEST_RENEWER_FREQ / LeaseStatsRecorder.BUCKETS_PER_INTERVAL));
+        }
+        when(mockedTimeProviderInMillis.call()).thenReturn(currentTime + 3 * TEST_RENEWER_FREQ);
+
+        // Only the last BUCKETS_PER_INTERVAL buckets are within the interval, 1 MB each.
+        assertEquals(
+                Math.floor(LeaseStatsRecorder.BUCKETS_PER_INTERVAL * 1024.0 / (TEST_RENEWER_FREQ / 1000.0)),
+                Math.floor(this.leaseStatsRecorder.getThroughputKBps("lease-key1")));
+    }
+
+    @Test
+    void recordStats_concurrentWriters_assertNoBytesLost() throws Exception {
+        final long currentTime = System.currentTimeMillis();
+        final LeaseStatsRecorder recorder = new LeaseStatsRecorder(TEST_RENEWER_FREQ, () -> currentTime);
+        final int threads = 8;
+        final int recordsPerThread = 10_000;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executorService.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < recordsPerThread; j++) {
+                        recorder.recordStats("lease-key1", 1024);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(
+                threads * recordsPerThread / (TEST_RENEWER_FREQ / 1000.0),
+                recorder.getThroughputKBps("lease-key1"),
+                0.0001);
+    }
+
     private static LeaseStatsRecorder.LeaseStats generateRandomLeaseStat(final String leaseKey) {
         return generateRandomLeaseStat(leaseKey, System.currentTimeMillis());
     }
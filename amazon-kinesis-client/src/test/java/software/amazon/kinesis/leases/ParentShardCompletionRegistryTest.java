@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.leases;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParentShardCompletionRegistryTest {
+    private final ParentShardCompletionRegistry registry = new ParentShardCompletionRegistry();
+
+    @Test
+    void markCompleted_assertWaitingChildrenWokenUp() {
+        final CompletableFuture<Void> completion = registry.awaitCompletion("shardId-1");
+        assertFalse(completion.isDone());
+
+        registry.markCompleted("shardId-1");
+
+        assertTrue(completion.isDone());
+        assertTrue(registry.isCompleted("shardId-1"));
+    }
+
+    @Test
+    void awaitCompletion_alreadyCompleted_assertCompletedRightAway() {
+        registry.markCompleted("shardId-1");
+
+        assertTrue(registry.awaitCompletion("shardId-1").isDone());
+    }
+
+    @Test
+    void onLeaseTableScan_assertOnlyShardEndLeasesCompleted() {
+        final CompletableFuture<Void> completion = registry.awaitCompletion("shardId-1");
+
+        registry.onLeaseTableScan(Arrays.asList(
+                lease("shardId-1", ExtendedSequenceNumber.SHARD_END),
+                lease("shardId-2", ExtendedSequenceNumber.TRIM_HORIZON)));
+
+        assertTrue(completion.isDone());
+        assertFalse(registry.isCompleted("shardId-2"));
+    }
+
+    @Test
+    void recordInProgress_assertForgottenOnceCompleted() {
+        registry.recordInProgress("shardId-1", 1000L);
+        assertTrue(registry.wasInProgressSince("shardId-1", 1000L));
+        assertFalse(registry.wasInProgressSince("shardId-1", 1001L));
+
+        registry.markCompleted("shardId-1");
+
+        assertFalse(registry.wasInProgressSince("shardId-1", 0L));
+    }
+
+    @Test
+    void stopWaiting_lastWaiter_assertLeaseForgotten() {
+        registry.recordInProgress("shardId-1", 1000L);
+        final CompletableFuture<Void> firstCompletion = registry.awaitCompletion("shardId-1");
+        final CompletableFuture<Void> secondCompletion = registry.awaitCompletion("shardId-1");
+
+        registry.stopWaiting("shardId-1", firstCompletion);
+
+        assertEquals(1, registry.pendingCompletionCount());
+        assertTrue(registry.wasInProgressSince("shardId-1", 1000L));
+
+        registry.stopWaiting("shardId-1", secondCompletion);
+
+        assertEquals(0, registry.pendingCompletionCount());
+        assertFalse(registry.wasInProgressSince("shardId-1", 0L));
+        assertFalse(registry.isCompleted("shardId-1"));
+    }
+
+    @Test
+    void stopWaiting_afterCompletion_assertNothingPending() {
+        final CompletableFuture<Void> staleCompletion = registry.awaitCompletion("shardId-1");
+        registry.markCompleted("shardId-1");
+        assertEquals(0, registry.pendingCompletionCount());
+
+        registry.stopWaiting("shardId-1", staleCompletion);
+
+        assertEquals(0, registry.pendingCompletionCount());
+    }
+
+    @Test
+    void markCompleted_beyondCapacity_assertOldestForgotten() {
+        for (int i = 0; i <= ParentShardCompletionRegistry.MAX_COMPLETED_LEASE_KEYS; i++) {
+            registry.markCompleted("shardId-" + i);
+        }
+
+        assertFalse(registry.isCompleted("shardId-0"));
+        assertTrue(registry.isCompleted("shardId-" + ParentShardCompletionRegistry.MAX_COMPLETED_LEASE_KEYS));
+    }
+
+    private static Lease lease(final String leaseKey, final ExtendedSequenceNumber checkpoint) {
+        final Lease lease = new Lease();
+        lease.leaseKey(leaseKey);
+        lease.checkpoint(checkpoint);
+        return lease;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.leases;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.kinesis.model.Shard;
+import software.amazon.kinesis.common.InitialPositionInStream;
+import software.amazon.kinesis.common.InitialPositionInStreamExtended;
+import software.amazon.kinesis.common.StreamIdentifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static software.amazon.kinesis.leases.ShardObjectHelper.MAX_HASH_KEY;
+import static software.amazon.kinesis.leases.ShardObjectHelper.MIN_HASH_KEY;
+import static software.amazon.kinesis.leases.ShardObjectHelper.newHashKeyRange;
+import static software.amazon.kinesis.leases.ShardObjectHelper.newSequenceNumberRange;
+import static software.amazon.kinesis.leases.ShardObjectHelper.newShard;
+
+class ShardLineageGraphTest {
+    private static final List<InitialPositionInStreamExtended> INITIAL_POSITIONS = Arrays.asList(
+            InitialPositionInStreamExtended.newInitialPosition(InitialPositionInStream.LATEST),
+            InitialPositionInStreamExtended.newInitialPosition(InitialPositionInStream.TRIM_HORIZON),
+            InitialPositionInStreamExtended.newInitialPositionAtTimestamp(new Date(1000L)));
+    private static final HierarchicalShardSyncer.MultiStreamArgs SINGLE_STREAM_ARGS =
+            new HierarchicalShardSyncer.MultiStreamArgs(false, null);
+    private static final HierarchicalShardSyncer.MultiStreamArgs MULTI_STREAM_ARGS =
+            new HierarchicalShardSyncer.MultiStreamArgs(
+                    true, StreamIdentifier.multiStreamInstance("123456789012:stream:1"));
+    private static final int SEEDS = 200;
+    private static final int RESHARDS_PER_SEED = 40;
+
+    @Test
+    void update_sameListing_assertNoChanges() {
+        final ShardLineageGraph graph = new ShardLineageGraph();
+        final List<Shard> shards =
+                Arrays.asList(closedShard("shardId-0", null, null, 0), openShard("shardId-1", "shardId-0", null, 10));
+
+        assertEquals(2, graph.update(shards));
+        assertEquals(0, graph.update(new ArrayList<>(shards)));
+        assertEquals(2, graph.shardIdToShardMap().size());
+        assertEquals(Collections.singletonList("shardId-1"), shardIds(graph.openShards()));
+    }
+
+    @Test
+    void update_shardClosedAndTrimmed_assertGraphMatchesListing() {
+        final ShardLineageGraph graph = new ShardLineageGraph();
+        graph.update(
+                Arrays.asList(openShard("shardId-0", null, null, 0), openShard("shardId-1", "shardId-0", null, 10)));
+        assertEquals(Collections.singleton("shardId-1"), graph.inconsistentShardIds());
+
+        assertEquals(
+                1,
+                graph.update(Arrays.asList(
+                        closedShard("shardId-0", null, null, 0), openShard("shardId-1", "shardId-0", null, 10))));
+        assertTrue(graph.inconsistentShardIds().isEmpty());
+
+        assertEquals(1, graph.update(Collections.singletonList(openShard("shardId-1", "shardId-0", null, 10))));
+        assertEquals(
+                Collections.singleton("shardId-1"), graph.shardIdToShardMap().keySet());
+        assertEquals(Collections.singletonList("shardId-1"), shardIds(graph.openShards()));
+
+        // The parent shows up open again, e.g. from a stale listing, which makes the child inconsistent again.
+        assertEquals(
+                1,
+                graph.update(Arrays.asList(
+                        openShard("shardId-0", null, null, 0), openShard("shardId-1", "shardId-0", null, 10))));
+        assertEquals(Collections.singleton("shardId-1"), graph.inconsistentShardIds());
+    }
+
+    /**
+     * Evolves random shard lineages through splits, merges, trims and stale listings, and checks after every listing
+     * that the graph kept across listings yields the same inconsistent shards and leases to create as the
+     * computation from the listing alone.
+     */
+    @Test
+    void determineNewLeasesToCreate_randomReshards_assertSameAsListingBasedSynchronizer() {
+        for (int seed = 0; seed < SEEDS; seed++) {
+            final Random random = new Random(seed);
+            final RandomStream stream = new RandomStream(random);
+            final ShardLineageGraph graph = new ShardLineageGraph();
+            final HierarchicalShardSyncer.MultiStreamArgs multiStreamArgs =
+                    random.nextBoolean() ? MULTI_STREAM_ARGS : SINGLE_STREAM_ARGS;
+
+            for (int step = 0; step < RESHARDS_PER_SEED; step++) {
+                stream.reshard();
+                final List<Shard> listing = stream.listing();
+                graph.update(listing);
+
+                final Map<String, Shard> shardIdToShardMap =
+                        HierarchicalShardSyncer.constructShardIdToShardMap(listing);
+                final Set<String> expectedInconsistentShardIds = HierarchicalShardSyncer.findInconsistentShardIds(
+                        HierarchicalShardSyncer.constructShardIdToChildShardIdsMap(shardIdToShardMap),
+                        shardIdToShardMap);
+                final String context = "seed " + seed + ", step " + step;
+                assertEquals(expectedInconsistentShardIds, graph.inconsistentShardIds(), context);
+
+                final List<Lease> currentLeases = stream.randomLeases(multiStreamArgs);
+                final InitialPositionInStreamExtended initialPosition =
+                        INITIAL_POSITIONS.get(random.nextInt(INITIAL_POSITIONS.size()));
+                final List<Lease> expected = new HierarchicalShardSyncer.NonEmptyLeaseTableSynchronizer(
+                                null, null, null)
+                        .determineNewLeasesToCreate(
+                                listing, currentLeases, initialPosition, expectedInconsistentShardIds, multiStreamArgs);
+                final List<Lease> actual = new HierarchicalShardSyncer.ShardLineageGraphSynchronizer(graph)
+                        .determineNewLeasesToCreate(
+                                listing, currentLeases, initialPosition, graph.inconsistentShardIds(), multiStreamArgs);
+
+                assertEquals(expected, actual, context);
+                assertEquals(checkpoints(expected), checkpoints(actual), context);
+            }
+        }
+    }
+
+    private static List<String> shardIds(final Iterable<Shard> shards) {
+        final List<String> shardIds = new ArrayList<>();
+        shards.forEach(shard -> shardIds.add(shard.shardId()));
+        return shardIds;
+    }
+
+    private static Map<String, String> checkpoints(final List<Lease> leases) {
+        return leases.stream()
+                .collect(Collectors.toMap(
+                        Lease::leaseKey, lease -> String.valueOf(lease.checkpoint()), (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private static Shard openShard(
+            final String shardId, final String parentShardId, final String adjacentParentShardId, final long start) {
+        return newShard(
+                shardId,
+                parentShardId,
+                adjacentParentShardId,
+                newSequenceNumberRange(String.valueOf(start), null),
+                newHashKeyRange(MIN_HASH_KEY, MAX_HASH_KEY));
+    }
+
+    private static Shard closedShard(
+            final String shardId, final String parentShardId, final String adjacentParentShardId, final long start) {
+        return newShard(
+                shardId,
+                parentShardId,
+                adjacentParentShardId,
+                newSequenceNumberRange(String.valueOf(start), String.valueOf(start + 5)),
+                newHashKeyRange(MIN_HASH_KEY, MAX_HASH_KEY));
+    }
+
+    /**
+     * Shards of a stream that is resharded at random.
+     */
+    private static class RandomStream {
+        private final Random random;
+        private final Map<String, Shard> shards = new LinkedHashMap<>();
+        private long sequenceNumber = 0;
+        private int nextShardId = 0;
+
+        RandomStream(final Random random) {
+            this.random = random;
+            final int initialShards = 1 + random.nextInt(4);
+            for (int i = 0; i < initialShards; i++) {
+                addOpenShard(null, null);
+            }
+        }
+
+        void reshard() {
+            final List<Shard> openShards = shards.values().stream()
+                    .filter(shard -> shard.sequenceNumberRange().endingSequenceNumber() == null)
+                    .collect(Collectors.toList());
+            final List<Shard> closedShards = shards.values().stream()
+                    .filter(shard -> shard.sequenceNumberRange().endingSequenceNumber() != null)
+                    .collect(Collectors.toList());
+            final int operation = random.nextInt(4);
+            if (operation == 0 && !openShards.isEmpty()) {
+                final Shard parent = openShards.get(random.nextInt(openShards.size()));
+                close(parent);
+                addOpenShard(parent.shardId(), null);
+                addOpenShard(parent.shardId(), null);
+            } else if (operation == 1 && openShards.size() > 1) {
+                Collections.shuffle(openShards, random);
+                close(openShards.get(0));
+                close(openShards.get(1));
+                addOpenShard(openShards.get(0).shardId(), openShards.get(1).shardId());
+            } else if (operation == 2 && !closedShards.isEmpty()) {
+                shards.remove(
+                        closedShards.get(random.nextInt(closedShards.size())).shardId());
+            }
+        }
+
+        /**
+         * @return the shards in random order, occasionally with a closed shard still reported as open
+         */
+        List<Shard> listing() {
+            final List<Shard> listing = new ArrayList<>(shards.values());
+            if (random.nextInt(5) == 0) {
+                for (int i = 0; i < listing.size(); i++) {
+                    final Shard shard = listing.get(i);
+                    if (shard.sequenceNumberRange().endingSequenceNumber() != null) {
+                        listing.set(
+                                i,
+                                openShard(
+                                        shard.shardId(),
+                                        shard.parentShardId(),
+                                        shard.adjacentParentShardId(),
+                                        Long.parseLong(
+                                                shard.sequenceNumberRange().startingSequenceNumber())));
+                        break;
+                    }
+                }
+            }
+            Collections.shuffle(listing, random);
+            return listing;
+        }
+
+        List<Lease> randomLeases(final HierarchicalShardSyncer.MultiStreamArgs multiStreamArgs) {
+            final double leaseProbability = random.nextDouble();
+            final List<Lease> leases = new ArrayList<>();
+            for (int shardId = 0; shardId < nextShardId; shardId++) {
+                if (random.nextDouble() < leaseProbability) {
+                    leases.add(newLease(shardId(shardId), multiStreamArgs));
+                }
+            }
+            return leases;
+        }
+
+        private static Lease newLease(final String shardId, final HierarchicalShardSyncer.MultiStreamArgs args) {
+            if (args.isMultiStreamMode()) {
+                final MultiStreamLease lease = new MultiStreamLease();
+                lease.leaseKey(
+                        MultiStreamLease.getLeaseKey(args.streamIdentifier().serialize(), shardId));
+                lease.streamIdentifier(args.streamIdentifier().serialize());
+                lease.shardId(shardId);
+                return lease;
+            }
+            final Lease lease = new Lease();
+            lease.leaseKey(shardId);
+            return lease;
+        }
+
+        private void addOpenShard(final String parentShardId, final String adjacentParentShardId) {
+            final String shardId = shardId(nextShardId++);
+            shards.put(shardId, openShard(shardId, parentShardId, adjacentParentShardId, sequenceNumber++));
+        }
+
+        private void close(final Shard shard) {
+            shards.put(
+                    shard.shardId(),
+                    shard.toBuilder()
+                            .sequenceNumberRange(newSequenceNumberRange(
+                                    shard.sequenceNumberRange().startingSequenceNumber(),
+                                    String.valueOf(sequenceNumber++)))
+                            .build());
+        }
+
+        private static String shardId(final int shardId) {
+            return String.format("shardId-%012d", shardId);
+        }
+    }
+}
@@ -139,7 +139,10 @@ public class DynamoDBLeaseCoordinatorIntegrationTest {
                 new ConcurrentHashMap<>(),
                 2 * LEASE_DURATION_MILLIS,
                 mockStreamIdCacheManager,
-                0);
+                0,
+                0,
+                false,
+                null);
         dynamoDBCheckpointer = new DynamoDBCheckpointer(coordinator, leaseRefresher);
         dynamoDBCheckpointer.operation(OPERATION);
 
@@ -27,14 +27,21 @@ import org.mockito.MockitoAnnotations;
 import software.amazon.kinesis.coordinator.MigrationAdaptiveLeaseAssignmentModeProvider;
 import software.amazon.kinesis.coordinator.MigrationAdaptiveLeaseAssignmentModeProvider.LeaseAssignmentMode;
 import software.amazon.kinesis.coordinator.streamInfo.StreamIdCacheManager;
+import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseManagementConfig;
 import software.amazon.kinesis.leases.LeaseRefresher;
 import software.amazon.kinesis.leases.ShardInfo;
 import software.amazon.kinesis.lifecycle.ShardConsumer;
 import software.amazon.kinesis.metrics.NullMetricsFactory;
+import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DynamoDBLeaseCoordinatorTest {
@@ -81,7 +88,10 @@ class DynamoDBLeaseCoordinatorTest {
                 new ConcurrentHashMap<ShardInfo, ShardConsumer>(),
                 2 * LEASE_DURATION_MILLIS,
                 mockStreamIdCacheManager,
-                0);
+                0,
+                0,
+                false,
+                null);
     }
 
     @AfterEach
@@ -155,6 +165,95 @@ class DynamoDBLeaseCoordinatorTest {
                 "Taker future should be set when dynamicModeChangeSupportNeeded is true regardless of current mode");
     }
 
+    @Test
+    void inheritChildLease_notEnabled_assertNotInherited() {
+        final Lease childLease = childLease("shardId-1");
+
+        assertFalse(coordinator.inheritChildLease(childLease));
+        assertNull(childLease.leaseOwner());
+    }
+
+    @Test
+    void inheritChildLease_enabled_assertInheritedUpToMaxLeasesForWorker() throws Exception {
+        final DynamoDBLeaseCoordinator inheritingCoordinator = inheritingCoordinator(1);
+        try {
+            inheritingCoordinator.start(mockModeProvider);
+
+            final Lease firstChildLease = childLease("shardId-1");
+            assertTrue(inheritingCoordinator.inheritChildLease(firstChildLease));
+            assertEquals(WORKER_ID, firstChildLease.leaseOwner());
+            inheritingCoordinator.addInheritedChildLease(firstChildLease);
+            assertNotNull(inheritingCoordinator.getCurrentlyHeldLease("shardId-1"));
+
+            // The worker holds the maximum number of leases.
+            final Lease secondChildLease = childLease("shardId-2");
+            assertFalse(inheritingCoordinator.inheritChildLease(secondChildLease));
+            assertNull(secondChildLease.leaseOwner());
+        } finally {
+            inheritingCoordinator.stop();
+        }
+    }
+
+    @Test
+    void addInheritedChildLease_maxLeasesReachedByOtherChild_assertReleased() throws Exception {
+        final DynamoDBLeaseCoordinator inheritingCoordinator = inheritingCoordinator(2);
+        try {
+            inheritingCoordinator.start(mockModeProvider);
+            final Lease parentLease = childLease("shardId-0");
+            assertTrue(inheritingCoordinator.inheritChildLease(parentLease));
+            inheritingCoordinator.addInheritedChildLease(parentLease);
+
+            // Both children of the split are inherited while the worker is one lease under the maximum.
+            final Lease firstChildLease = childLease("shardId-1");
+            final Lease secondChildLease = childLease("shardId-2");
+            assertTrue(inheritingCoordinator.inheritChildLease(firstChildLease));
+            assertTrue(inheritingCoordinator.inheritChildLease(secondChildLease));
+            inheritingCoordinator.addInheritedChildLease(firstChildLease);
+            inheritingCoordinator.addInheritedChildLease(secondChildLease);
+
+            assertEquals(2, inheritingCoordinator.getAssignments().size());
+            assertNotNull(inheritingCoordinator.getCurrentlyHeldLease("shardId-1"));
+            assertNull(inheritingCoordinator.getCurrentlyHeldLease("shardId-2"));
+            verify(mockLeaseRefresher).evictLease(secondChildLease);
+            verify(mockLeaseRefresher, never()).evictLease(firstChildLease);
+        } finally {
+            inheritingCoordinator.stop();
+        }
+    }
+
+    private DynamoDBLeaseCoordinator inheritingCoordinator(final int maxLeasesForWorker) {
+        when(mockModeProvider.getLeaseAssignmentMode())
+                .thenReturn(LeaseAssignmentMode.WORKER_UTILIZATION_AWARE_ASSIGNMENT);
+        return new DynamoDBLeaseCoordinator(
+                mockLeaseRefresher,
+                WORKER_ID,
+                LEASE_DURATION_MILLIS,
+                LeaseManagementConfig.DEFAULT_ENABLE_PRIORITY_LEASE_ASSIGNMENT,
+                EPSILON_MILLIS,
+                maxLeasesForWorker,
+                MAX_LEASES_TO_STEAL_AT_ONE_TIME,
+                MAX_LEASE_RENEWER_THREAD_COUNT,
+                INITIAL_LEASE_TABLE_READ_CAPACITY,
+                INITIAL_LEASE_TABLE_WRITE_CAPACITY,
+                new NullMetricsFactory(),
+                new LeaseManagementConfig.WorkerUtilizationAwareAssignmentConfig(),
+                LeaseManagementConfig.GracefulLeaseHandoffConfig.builder().build(),
+                new ConcurrentHashMap<ShardInfo, ShardConsumer>(),
+                2 * LEASE_DURATION_MILLIS,
+                mockStreamIdCacheManager,
+                0,
+                0,
+                true,
+                null);
+    }
+
+    private static Lease childLease(final String leaseKey) {
+        final Lease lease = new Lease();
+        lease.leaseKey(leaseKey);
+        lease.checkpoint(ExtendedSequenceNumber.TRIM_HORIZON);
+        return lease;
+    }
+
     private ScheduledFuture<?> getTakerFuture() throws Exception {
         Field field = DynamoDBLeaseCoordinator.class.getDeclaredField("takerFuture");
         field.setAccessible(true);
@@ -4,6 +4,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
@@ -13,7 +14,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.IndexStatus;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
 import software.amazon.kinesis.common.DdbTableConfig;
+import software.amazon.kinesis.common.FutureUtils;
 import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseRefresher;
 import software.amazon.kinesis.leases.LeaseRenewer;
@@ -28,6 +32,10 @@ import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DynamoDBLeaseDiscovererTest {
@@ -58,12 +66,8 @@ class DynamoDBLeaseDiscovererTest {
             new LeaseStatsRecorder(30000L, System::currentTimeMillis),
             lease -> {},
             1);
-    private final DynamoDBLeaseDiscoverer dynamoDBLeaseDiscoverer = new DynamoDBLeaseDiscoverer(
-            leaseRefresher,
-            leaseRenewer,
-            TEST_METRICS_FACTORY,
-            TEST_WORKER_IDENTIFIER,
-            Executors.newFixedThreadPool(2));
+    private final DynamoDBLeaseDiscoverer dynamoDBLeaseDiscoverer =
+            new DynamoDBLeaseDiscoverer(leaseRefresher, leaseRenewer, TEST_METRICS_FACTORY, TEST_WORKER_IDENTIFIER);
 
     @BeforeEach
     void setUp() throws ProvisionedThroughputException, DependencyException {
@@ -109,15 +113,12 @@ class DynamoDBLeaseDiscovererTest {
     void discoverNewLeases_leaseRefresherThrowsException_assertEmptyResponse()
             throws ProvisionedThroughputException, InvalidStateException, DependencyException {
         final LeaseRefresher leaseRefresher1 = Mockito.mock(LeaseRefresher.class);
-        when(leaseRefresher1.getLease(any())).thenThrow(new DependencyException(new RuntimeException()));
+        when(leaseRefresher1.getLeaseAsync(any()))
+                .thenReturn(FutureUtils.failedFuture(new DependencyException(new RuntimeException())));
         when(leaseRefresher1.listLeaseKeysForWorker(any())).thenReturn(ImmutableList.of("lease-3"));
 
         final DynamoDBLeaseDiscoverer dynamoDBLeaseDiscoverer = new DynamoDBLeaseDiscoverer(
-                leaseRefresher1,
-                leaseRenewer,
-                TEST_METRICS_FACTORY,
-                TEST_WORKER_IDENTIFIER,
-                Executors.newFixedThreadPool(2));
+                leaseRefresher1, leaseRenewer, TEST_METRICS_FACTORY, TEST_WORKER_IDENTIFIER);
 
         final List<Lease> response = dynamoDBLeaseDiscoverer.discoverNewLeases();
         assertEquals(0, response.size());
@@ -138,17 +139,15 @@ class DynamoDBLeaseDiscovererTest {
         // Any random owner
         ownerMatchingLease.leaseOwner(TEST_WORKER_IDENTIFIER);
 
-        when(leaseRefresher1.getLease(ownerNotMatchingLease.leaseKey())).thenReturn(ownerNotMatchingLease);
-        when(leaseRefresher1.getLease(ownerMatchingLease.leaseKey())).thenReturn(ownerMatchingLease);
+        when(leaseRefresher1.getLeaseAsync(ownerNotMatchingLease.leaseKey()))
+                .thenReturn(CompletableFuture.completedFuture(ownerNotMatchingLease));
+        when(leaseRefresher1.getLeaseAsync(ownerMatchingLease.leaseKey()))
+                .thenReturn(CompletableFuture.completedFuture(ownerMatchingLease));
         when(leaseRefresher1.listLeaseKeysForWorker(TEST_WORKER_IDENTIFIER))
                 .thenReturn(ImmutableList.of("ownerMatchingKey", "ownerNotMatchingKey"));
 
         final DynamoDBLeaseDiscoverer dynamoDBLeaseDiscoverer = new DynamoDBLeaseDiscoverer(
-                leaseRefresher1,
-                leaseRenewer,
-                TEST_METRICS_FACTORY,
-                TEST_WORKER_IDENTIFIER,
-                Executors.newFixedThreadPool(2));
+                leaseRefresher1, leaseRenewer, TEST_METRICS_FACTORY, TEST_WORKER_IDENTIFIER);
 
         final List<Lease> response = dynamoDBLeaseDiscoverer.discoverNewLeases();
         // Validate that only 1 lease is returned.
@@ -171,6 +170,100 @@ class DynamoDBLeaseDiscovererTest {
         assertEquals(2, dynamoDBLeaseDiscoverer.discoverNewLeases().size());
     }
 
+    @Test
+    void discoverNewLeases_projectedIndexActive_assertLeasesReadFromIndex()
+            throws ProvisionedThroughputException, InvalidStateException, DependencyException, InterruptedException {
+        final DynamoDBLeaseRefresher projectedIndexLeaseRefresher = Mockito.spy(new DynamoDBLeaseRefresher(
+                TEST_LEASE_TABLE_NAME,
+                dynamoDbAsyncClient,
+                new DynamoDBLeaseSerializer(),
+                true,
+                TableCreatorCallback.NOOP_TABLE_CREATOR_CALLBACK,
+                Duration.ofSeconds(10),
+                new DdbTableConfig(),
+                true,
+                false,
+                new ArrayList<>(),
+                ProjectionType.INCLUDE));
+        assertEquals(
+                IndexStatus.CREATING.toString(),
+                projectedIndexLeaseRefresher.createLeaseOwnerToLeaseIndexIfNotExists());
+        for (int i = 0;
+                i < 30
+                        && !IndexStatus.ACTIVE
+                                .toString()
+                                .equals(projectedIndexLeaseRefresher.createLeaseOwnerToLeaseIndexIfNotExists());
+                i++) {
+            Thread.sleep(1000);
+        }
+
+        leaseRenewer.addLeasesToRenew(Arrays.asList(createAssignAndAddLease("lease-1")));
+        createAssignAndAddLease("lease-2");
+        final Lease pendingCheckpointLease = createLease("pendingCheckpointLease");
+        pendingCheckpointLease.checkpointOwner("other_worker");
+        this.leaseRefresher.createLeaseIfNotExists(pendingCheckpointLease);
+
+        final DynamoDBLeaseDiscoverer dynamoDBLeaseDiscoverer = new DynamoDBLeaseDiscoverer(
+                projectedIndexLeaseRefresher, leaseRenewer, TEST_METRICS_FACTORY, TEST_WORKER_IDENTIFIER);
+
+        final List<Lease> response = dynamoDBLeaseDiscoverer.discoverNewLeases();
+        assertEquals(1, response.size());
+        assertEquals("lease-2", response.get(0).leaseKey());
+        assertEquals(new ExtendedSequenceNumber("123"), response.get(0).checkpoint());
+        verify(projectedIndexLeaseRefresher, never()).listLeaseKeysForWorker(any());
+        verify(projectedIndexLeaseRefresher, never()).getLeaseAsync(any());
+    }
+
+    @Test
+    void discoverNewLeases_projectedIndexInconsistent_assertOnlyConfirmedLeases()
+            throws ProvisionedThroughputException, InvalidStateException, DependencyException {
+        final LeaseRefresher leaseRefresher1 = Mockito.mock(LeaseRefresher.class);
+        when(leaseRefresher1.createLeaseOwnerToLeaseIndexIfNotExists()).thenReturn(IndexStatus.ACTIVE.toString());
+        when(leaseRefresher1.listLeasesForWorker(eq(TEST_WORKER_IDENTIFIER), any()))
+                .thenReturn(ImmutableList.of(
+                        createLease("confirmed"),
+                        createLease("ownerNotMatching"),
+                        createLease("staleCounter"),
+                        createLease("pendingCheckpoint"),
+                        createLease("missing")));
+        final Lease ownerNotMatching = createLease("ownerNotMatching");
+        ownerNotMatching.leaseOwner("RandomOwner");
+        final Lease staleCounter = createLease("staleCounter");
+        staleCounter.leaseCounter(14L);
+        final Lease pendingCheckpoint = createLease("pendingCheckpoint");
+        pendingCheckpoint.checkpointOwner("other_worker");
+        when(leaseRefresher1.batchGetLeaseOwnership(any(), any()))
+                .thenReturn(
+                        ImmutableList.of(createLease("confirmed"), ownerNotMatching, staleCounter, pendingCheckpoint));
+
+        final DynamoDBLeaseDiscoverer dynamoDBLeaseDiscoverer = new DynamoDBLeaseDiscoverer(
+                leaseRefresher1, leaseRenewer, TEST_METRICS_FACTORY, TEST_WORKER_IDENTIFIER);
+
+        final List<Lease> response = dynamoDBLeaseDiscoverer.discoverNewLeases();
+        assertEquals(1, response.size());
+        assertEquals("confirmed", response.get(0).leaseKey());
+    }
+
+    @Test
+    void discoverNewLeases_projectedIndexMissing_assertFallbackToLeaseKeyIndex()
+            throws ProvisionedThroughputException, InvalidStateException, DependencyException {
+        final LeaseRefresher leaseRefresher1 = Mockito.mock(LeaseRefresher.class);
+        when(leaseRefresher1.createLeaseOwnerToLeaseIndexIfNotExists()).thenReturn(IndexStatus.ACTIVE.toString());
+        when(leaseRefresher1.listLeasesForWorker(eq(TEST_WORKER_IDENTIFIER), any()))
+                .thenThrow(new InvalidStateException("index does not exist"));
+        when(leaseRefresher1.listLeaseKeysForWorker(TEST_WORKER_IDENTIFIER)).thenReturn(ImmutableList.of("lease-3"));
+        when(leaseRefresher1.getLeaseAsync("lease-3"))
+                .thenReturn(CompletableFuture.completedFuture(createLease("lease-3")));
+
+        final DynamoDBLeaseDiscoverer dynamoDBLeaseDiscoverer = new DynamoDBLeaseDiscoverer(
+                leaseRefresher1, leaseRenewer, TEST_METRICS_FACTORY, TEST_WORKER_IDENTIFIER);
+
+        assertEquals(1, dynamoDBLeaseDiscoverer.discoverNewLeases().size());
+        assertEquals(1, dynamoDBLeaseDiscoverer.discoverNewLeases().size());
+        // The index is not queried again until its status is checked again.
+        verify(leaseRefresher1, times(1)).listLeasesForWorker(any(), any());
+    }
+
     private Lease createAssignAndAddLease(final String leaseKey)
             throws ProvisionedThroughputException, InvalidStateException, DependencyException {
         final Lease lease = createLease(leaseKey);
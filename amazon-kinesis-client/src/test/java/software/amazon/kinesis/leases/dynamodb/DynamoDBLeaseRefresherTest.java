@@ -3,33 +3,52 @@ package software.amazon.kinesis.leases.dynamodb;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import com.amazonaws.services.dynamodbv2.local.embedded.DynamoDBEmbedded;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.BillingMode;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
 import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndexDescription;
 import software.amazon.awssdk.services.dynamodb.model.IndexStatus;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
 import software.amazon.awssdk.services.dynamodb.model.TableDescription;
 import software.amazon.awssdk.services.dynamodb.model.TableStatus;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
 import software.amazon.awssdk.services.dynamodb.model.UpdateContinuousBackupsRequest;
 import software.amazon.awssdk.services.dynamodb.model.UpdateContinuousBackupsResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 import software.amazon.kinesis.common.DdbTableConfig;
 import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseRefresher;
@@ -42,8 +61,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.longThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
@@ -139,6 +160,281 @@ class DynamoDBLeaseRefresherTest {
                 describeTableResponse.table().globalSecondaryIndexes().get(0).indexStatus());
     }
 
+    @Test
+    void createLeaseOwnerToLeaseIndexIfNotExists_keysOnly_assertNotCreated()
+            throws DependencyException, ProvisionedThroughputException {
+        DynamoDBLeaseRefresher leaseRefresher = createLeaseRefresher(new DdbTableConfig(), dynamoDbAsyncClient);
+        setupTableWithLeaseKeyIndex(leaseRefresher);
+
+        assertNull(leaseRefresher.createLeaseOwnerToLeaseIndexIfNotExists());
+        assertEquals(
+                1,
+                dynamoDbAsyncClient
+                        .describeTable(DescribeTableRequest.builder()
+                                .tableName(TEST_LEASE_TABLE)
+                                .build())
+                        .join()
+                        .table()
+                        .globalSecondaryIndexes()
+                        .size());
+    }
+
+    @Test
+    void createLeaseOwnerToLeaseIndexIfNotExists_include_assertProjectedAttributes()
+            throws DependencyException, ProvisionedThroughputException {
+        DynamoDBLeaseRefresher leaseRefresher =
+                createLeaseRefresher(new DdbTableConfig(), dynamoDbAsyncClient, ProjectionType.INCLUDE);
+        setupTableWithLeaseKeyIndex(leaseRefresher);
+
+        assertEquals(CREATING.toString(), leaseRefresher.createLeaseOwnerToLeaseIndexIfNotExists());
+        waitUntilLeaseOwnerToLeaseIndexIsActive(leaseRefresher);
+
+        final GlobalSecondaryIndexDescription index = dynamoDbAsyncClient
+                .describeTable(DescribeTableRequest.builder()
+                        .tableName(TEST_LEASE_TABLE)
+                        .build())
+                .join()
+                .table()
+                .globalSecondaryIndexes()
+                .stream()
+                .filter(i -> i.indexName().equals(DynamoDBLeaseRefresher.LEASE_OWNER_TO_LEASE_INDEX_NAME))
+                .findFirst()
+                .get();
+        assertEquals(ProjectionType.INCLUDE, index.projection().projectionType());
+        assertTrue(index.projection().nonKeyAttributes().contains("checkpoint"));
+        assertTrue(index.projection().nonKeyAttributes().contains("leaseCounter"));
+    }
+
+    @Test
+    void listLeasesForWorker_projectedIndex_assertLeasesOfWorker()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        DynamoDBLeaseRefresher leaseRefresher =
+                createLeaseRefresher(new DdbTableConfig(), dynamoDbAsyncClient, ProjectionType.ALL);
+        setupTableWithLeaseKeyIndex(leaseRefresher);
+        waitUntilLeaseOwnerToLeaseIndexIsActive(leaseRefresher);
+        leaseRefresher.createLeaseIfNotExists(createDummyLease("lease1", "owner1"));
+        leaseRefresher.createLeaseIfNotExists(createDummyLease("lease2", "owner1"));
+        leaseRefresher.createLeaseIfNotExists(createDummyLease("lease3", "owner2"));
+
+        final List<Lease> leases = leaseRefresher.listLeasesForWorker("owner1", capacity -> {});
+
+        assertEquals(
+                Arrays.asList("lease1", "lease2"),
+                leases.stream().map(Lease::leaseKey).sorted().collect(Collectors.toList()));
+        assertEquals(ExtendedSequenceNumber.TRIM_HORIZON, leases.get(0).checkpoint());
+    }
+
+    @Test
+    void batchGetLeaseOwnership_moreKeysThanOneBatch_assertOwnershipOfExistingLeases()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        DynamoDBLeaseRefresher leaseRefresher = createLeaseRefresher(new DdbTableConfig(), dynamoDbAsyncClient);
+        setupTable(leaseRefresher);
+        final List<String> leaseKeys = new ArrayList<>();
+        for (int i = 0; i < DynamoDBLeaseRefresher.MAX_BATCH_GET_ITEM_KEYS + 5; i++) {
+            final Lease lease = createDummyLease("lease" + i, "owner" + (i % 2));
+            lease.checkpointOwner(i == 0 ? "previousOwner" : null);
+            leaseRefresher.createLeaseIfNotExists(lease);
+            leaseKeys.add(lease.leaseKey());
+        }
+        leaseKeys.add("missingLease");
+
+        final List<Lease> leases = leaseRefresher.batchGetLeaseOwnership(leaseKeys, capacity -> {});
+
+        assertEquals(DynamoDBLeaseRefresher.MAX_BATCH_GET_ITEM_KEYS + 5, leases.size());
+        final Map<String, Lease> leasesByKey =
+                leases.stream().collect(Collectors.toMap(Lease::leaseKey, lease -> lease));
+        assertEquals("owner1", leasesByKey.get("lease101").leaseOwner());
+        assertEquals(Long.valueOf(0L), leasesByKey.get("lease101").leaseCounter());
+        assertEquals("previousOwner", leasesByKey.get("lease0").checkpointOwner());
+        // Only the ownership attributes are read.
+        assertNull(leasesByKey.get("lease101").checkpoint().sequenceNumber());
+    }
+
+    @Test
+    void batchGetLeases_unprocessedKeysThenProcessed_assertRetriedAfterBackoff()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        final DynamoDbAsyncClient mockDdbClient = mock(DynamoDbAsyncClient.class);
+        final DynamoDBLeaseRefresher leaseRefresher = spy(createLeaseRefresher(new DdbTableConfig(), mockDdbClient));
+        final DynamoDBLeaseSerializer serializer = new DynamoDBLeaseSerializer();
+        final Lease lease1 = createDummyLease("lease1", "owner");
+        final Lease lease2 = createDummyLease("lease2", "owner");
+        when(mockDdbClient.batchGetItem(any(BatchGetItemRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(BatchGetItemResponse.builder()
+                        .responses(ImmutableMap.of(
+                                TEST_LEASE_TABLE, Collections.singletonList(serializer.toDynamoRecord(lease1))))
+                        .unprocessedKeys(ImmutableMap.of(
+                                TEST_LEASE_TABLE,
+                                KeysAndAttributes.builder()
+                                        .keys(serializer.getDynamoHashKey(lease2))
+                                        .consistentRead(true)
+                                        .build()))
+                        .build()))
+                .thenReturn(CompletableFuture.completedFuture(BatchGetItemResponse.builder()
+                        .responses(ImmutableMap.of(
+                                TEST_LEASE_TABLE, Collections.singletonList(serializer.toDynamoRecord(lease2))))
+                        .build()));
+
+        final List<Lease> leases = leaseRefresher.batchGetLeases(Arrays.asList("lease1", "lease2"));
+
+        assertEquals(
+                Arrays.asList("lease1", "lease2"),
+                leases.stream().map(Lease::leaseKey).collect(Collectors.toList()));
+        final ArgumentCaptor<BatchGetItemRequest> requestCaptor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+        verify(mockDdbClient, times(2)).batchGetItem(requestCaptor.capture());
+        assertEquals(
+                Collections.singletonList(serializer.getDynamoHashKey(lease2)),
+                requestCaptor
+                        .getAllValues()
+                        .get(1)
+                        .requestItems()
+                        .get(TEST_LEASE_TABLE)
+                        .keys());
+        verify(leaseRefresher, times(1)).sleep(longThat(millis -> millis >= 50L && millis <= 100L));
+    }
+
+    @Test
+    void batchDeleteLeases_moreLeasesThanOneBatch_assertAllDeleted()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        DynamoDBLeaseRefresher leaseRefresher = createLeaseRefresher(new DdbTableConfig(), dynamoDbAsyncClient);
+        setupTable(leaseRefresher);
+        final List<String> leaseKeys = new ArrayList<>();
+        for (int i = 0; i < DynamoDBLeaseRefresher.MAX_BATCH_WRITE_ITEMS + 5; i++) {
+            final Lease lease = createDummyLease("lease" + i, "owner");
+            leaseRefresher.createLeaseIfNotExists(lease);
+            leaseKeys.add(lease.leaseKey());
+        }
+        leaseRefresher.createLeaseIfNotExists(createDummyLease("remainingLease", "owner"));
+
+        final List<Lease> leases = leaseRefresher.batchGetLeases(leaseKeys);
+        assertEquals(leaseKeys.size(), leases.size());
+        leaseRefresher.batchDeleteLeases(leases);
+
+        assertEquals(
+                Collections.singletonList("remainingLease"),
+                leaseRefresher.listLeases().stream().map(Lease::leaseKey).collect(Collectors.toList()));
+        assertEquals(0, leaseRefresher.batchGetLeases(leaseKeys).size());
+    }
+
+    @Test
+    void batchDeleteLeases_unprocessedItemsThenProcessed_assertRetriedAfterBackoff()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        final DynamoDbAsyncClient mockDdbClient = mock(DynamoDbAsyncClient.class);
+        final DynamoDBLeaseRefresher leaseRefresher = spy(createLeaseRefresher(new DdbTableConfig(), mockDdbClient));
+        final List<Lease> leases =
+                Arrays.asList(createDummyLease("lease1", "owner"), createDummyLease("lease2", "owner"));
+        when(mockDdbClient.batchWriteItem(any(BatchWriteItemRequest.class)))
+                .thenAnswer(invocation -> {
+                    final BatchWriteItemRequest request = invocation.getArgument(0);
+                    final List<WriteRequest> writeRequests =
+                            request.requestItems().get(TEST_LEASE_TABLE);
+                    return CompletableFuture.completedFuture(BatchWriteItemResponse.builder()
+                            .unprocessedItems(ImmutableMap.of(TEST_LEASE_TABLE, writeRequests.subList(1, 2)))
+                            .build());
+                })
+                .thenReturn(CompletableFuture.completedFuture(
+                        BatchWriteItemResponse.builder().build()));
+
+        leaseRefresher.batchDeleteLeases(leases);
+
+        final ArgumentCaptor<BatchWriteItemRequest> requestCaptor =
+                ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(mockDdbClient, times(2)).batchWriteItem(requestCaptor.capture());
+        assertEquals(
+                1,
+                requestCaptor
+                        .getAllValues()
+                        .get(1)
+                        .requestItems()
+                        .get(TEST_LEASE_TABLE)
+                        .size());
+        verify(leaseRefresher, times(1)).sleep(longThat(millis -> millis >= 50L && millis <= 100L));
+    }
+
+    @Test
+    void batchRenewLeases_moreLeasesThanOneTransaction_assertAllRenewed()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        DynamoDBLeaseRefresher leaseRefresher = createLeaseRefresher(new DdbTableConfig(), dynamoDbAsyncClient);
+        setupTable(leaseRefresher);
+        final List<Lease> leases = new ArrayList<>();
+        for (int i = 0; i < DynamoDBLeaseRefresher.MAX_TRANSACT_WRITE_ITEMS + 5; i++) {
+            final Lease lease = createDummyLease("lease" + i, "owner");
+            lease.leaseCounter(0L);
+            leaseRefresher.createLeaseIfNotExists(lease);
+            leases.add(lease);
+        }
+
+        final Set<String> renewedLeaseKeys = leaseRefresher.batchRenewLeases(leases);
+
+        assertEquals(leases.size(), renewedLeaseKeys.size());
+        for (Lease lease : leases) {
+            assertEquals(0L, lease.leaseCounter());
+            assertEquals(1L, leaseRefresher.getLease(lease.leaseKey()).leaseCounter());
+        }
+    }
+
+    @Test
+    void batchRenewLeases_leasesTakenOrPendingCheckpoint_assertOtherLeasesRenewed()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        DynamoDBLeaseRefresher leaseRefresher = createLeaseRefresher(new DdbTableConfig(), dynamoDbAsyncClient);
+        setupTable(leaseRefresher);
+        final List<Lease> leases = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Lease lease = createDummyLease("lease" + i, "owner");
+            lease.leaseCounter(0L);
+            leaseRefresher.createLeaseIfNotExists(lease);
+            leases.add(lease);
+        }
+        leaseRefresher.takeLease(leases.get(2).copy(), "otherOwner");
+        leaseRefresher.initiateGracefulLeaseHandoff(leases.get(7).copy(), "otherOwner");
+
+        final Set<String> renewedLeaseKeys = leaseRefresher.batchRenewLeases(leases);
+
+        assertEquals(8, renewedLeaseKeys.size());
+        assertFalse(renewedLeaseKeys.contains("lease2"));
+        assertFalse(renewedLeaseKeys.contains("lease7"));
+        assertEquals(1L, leaseRefresher.getLease("lease0").leaseCounter());
+        assertEquals("otherOwner", leaseRefresher.getLease("lease2").leaseOwner());
+    }
+
+    @Test
+    void batchRenewLeases_transactionConflict_assertBisectedUntilConflictingLeaseIsIsolated()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        final DynamoDbAsyncClient mockDdbClient = mock(DynamoDbAsyncClient.class);
+        DynamoDBLeaseRefresher leaseRefresher = createLeaseRefresher(new DdbTableConfig(), mockDdbClient);
+        final List<Lease> leases = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final Lease lease = createDummyLease("lease" + i, "owner");
+            lease.leaseCounter(0L);
+            leases.add(lease);
+        }
+        when(mockDdbClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+                .thenAnswer(invocation -> {
+                    final TransactWriteItemsRequest request = invocation.getArgument(0);
+                    final boolean conflicting = request.transactItems().stream()
+                            .anyMatch(item ->
+                                    item.update().key().get("leaseKey").s().equals("lease1"));
+                    if (!conflicting) {
+                        return CompletableFuture.completedFuture(
+                                TransactWriteItemsResponse.builder().build());
+                    }
+                    final CompletableFuture<TransactWriteItemsResponse> future = new CompletableFuture<>();
+                    future.completeExceptionally(TransactionCanceledException.builder()
+                            .cancellationReasons(Collections.nCopies(
+                                    request.transactItems().size(),
+                                    CancellationReason.builder()
+                                            .code("TransactionConflict")
+                                            .build()))
+                            .build());
+                    return future;
+                });
+
+        final Set<String> renewedLeaseKeys = leaseRefresher.batchRenewLeases(leases);
+
+        assertEquals(ImmutableSet.of("lease0", "lease2", "lease3"), renewedLeaseKeys);
+        // [0..3], then [0, 1] and [2, 3], then [0] and [1]
+        verify(mockDdbClient, times(5)).transactWriteItems(any(TransactWriteItemsRequest.class));
+    }
+
     @Test
     void waitUntilLeaseOwnerToLeaseKeyIndexExists_noTransitionToActive_assertFalse()
             throws DependencyException, ProvisionedThroughputException {
@@ -397,6 +693,84 @@ class DynamoDBLeaseRefresherTest {
         assertEquals("badLeaseKey", response.getValue().get(0));
     }
 
+    @Test
+    void listLeasesParallelyAsync_sanity() throws Exception {
+        DynamoDBLeaseRefresher leaseRefresher = createLeaseRefresher(new DdbTableConfig(), dynamoDbAsyncClient);
+        setupTable(leaseRefresher);
+        for (int i = 0; i < 10; i++) {
+            leaseRefresher.createLeaseIfNotExists(createDummyLease("lease" + i, "leaseOwner" + i % 2));
+        }
+        final Map.Entry<List<Lease>, List<String>> response =
+                leaseRefresher.listLeasesParallelyAsync(4).get();
+        assertEquals(10, response.getKey().size());
+        assertEquals(0, response.getValue().size());
+    }
+
+    @Test
+    void listLeaseViews_sanity() throws Exception {
+        DynamoDBLeaseRefresher leaseRefresher = createLeaseRefresher(new DdbTableConfig(), dynamoDbAsyncClient);
+        setupTable(leaseRefresher);
+        for (int i = 0; i < 10; i++) {
+            leaseRefresher.createLeaseIfNotExists(createDummyLease("lease" + i, "leaseOwner" + i % 2));
+        }
+
+        final List<Lease> leaseViews = leaseRefresher.listLeaseViews();
+
+        assertEquals(10, leaseViews.size());
+        final Map<String, Lease> leaseViewsByKey =
+                leaseViews.stream().collect(Collectors.toMap(Lease::leaseKey, lease -> lease));
+        assertEquals("leaseOwner1", leaseViewsByKey.get("lease3").leaseOwner());
+        assertEquals(
+                leaseRefresher.getLease("lease3").leaseCounter(),
+                leaseViewsByKey.get("lease3").leaseCounter());
+        assertEquals(
+                ExtendedSequenceNumber.TRIM_HORIZON,
+                leaseViewsByKey.get("lease3").checkpoint());
+    }
+
+    @Test
+    void renewLeaseAsync_leaseTakenByAnotherWorker_assertNotRenewed() throws Exception {
+        DynamoDBLeaseRefresher leaseRefresher = createLeaseRefresher(new DdbTableConfig(), dynamoDbAsyncClient);
+        setupTable(leaseRefresher);
+        final Lease lease = createDummyLease("lease1", "leaseOwner1");
+        lease.leaseCounter(0L);
+        leaseRefresher.createLeaseIfNotExists(lease);
+        final Lease leaseOnOtherWorker = leaseRefresher.getLeaseAsync("lease1").get();
+
+        assertTrue(leaseRefresher.renewLeaseAsync(lease).get());
+        assertEquals(1L, lease.leaseCounter());
+        assertFalse(
+                leaseRefresher.takeLeaseAsync(leaseOnOtherWorker, "leaseOwner2").get());
+        assertTrue(leaseRefresher
+                .takeLeaseAsync(leaseRefresher.getLease("lease1"), "leaseOwner2")
+                .get());
+        assertFalse(leaseRefresher.renewLeaseAsync(lease).get());
+        assertFalse(leaseRefresher.updateLeaseAsync(lease).get());
+        assertEquals("leaseOwner2", leaseRefresher.getLeaseAsync("lease1").get().leaseOwner());
+        assertNull(leaseRefresher.getLeaseAsync("lease2").get());
+    }
+
+    @Test
+    void getLease_requestDoesNotComplete_assertDependencyException() {
+        final DynamoDbAsyncClient mockDdbClient = mock(DynamoDbAsyncClient.class);
+        when(mockDdbClient.getItem(any(GetItemRequest.class))).thenReturn(new CompletableFuture<>());
+        final DynamoDBLeaseRefresher leaseRefresher = new DynamoDBLeaseRefresher(
+                TEST_LEASE_TABLE,
+                mockDdbClient,
+                new DynamoDBLeaseSerializer(),
+                true,
+                NOOP_TABLE_CREATOR_CALLBACK,
+                Duration.ofMillis(100),
+                new DdbTableConfig(),
+                false,
+                false,
+                new ArrayList<>());
+
+        final DependencyException exception =
+                assertThrows(DependencyException.class, () -> leaseRefresher.getLease("lease1"));
+        assertTrue(exception.getCause() instanceof TimeoutException);
+    }
+
     @Test
     public void listLeasesParallely_UseCachedTotalSegment()
             throws ProvisionedThroughputException, DependencyException, InvalidStateException {
@@ -590,7 +964,7 @@ class DynamoDBLeaseRefresherTest {
         assertEquals(currentOwner, lease.checkpointOwner());
         assertEquals(nextOwner, lease.leaseOwner());
         assertEquals(lease, leaseRefresher.getLease(lease.leaseKey()));
-        verify(leaseRefresherSpy, times(2)).renewLease(lease);
+        verify(leaseRefresherSpy, times(2)).renewLeaseAsync(lease);
     }
 
     @Test
@@ -926,6 +1300,24 @@ class DynamoDBLeaseRefresherTest {
         return createLeaseRefresher(ddbTableConfig, dynamoDbAsyncClient, false, false);
     }
 
+    private DynamoDBLeaseRefresher createLeaseRefresher(
+            final DdbTableConfig ddbTableConfig,
+            final DynamoDbAsyncClient dynamoDbAsyncClient,
+            final ProjectionType leaseOwnerIndexProjectionType) {
+        return new DynamoDBLeaseRefresher(
+                TEST_LEASE_TABLE,
+                dynamoDbAsyncClient,
+                new DynamoDBLeaseSerializer(),
+                true,
+                NOOP_TABLE_CREATOR_CALLBACK,
+                Duration.ofSeconds(10),
+                ddbTableConfig,
+                false,
+                false,
+                new ArrayList<>(),
+                leaseOwnerIndexProjectionType);
+    }
+
     private DynamoDBLeaseRefresher createLeaseRefresher(
             final DdbTableConfig ddbTableConfig,
             final DynamoDbAsyncClient dynamoDbAsyncClient,
@@ -944,6 +1336,22 @@ class DynamoDBLeaseRefresherTest {
                 new ArrayList<>());
     }
 
+    private void waitUntilLeaseOwnerToLeaseIndexIsActive(final DynamoDBLeaseRefresher leaseRefresher)
+            throws DependencyException {
+        for (int i = 0; i < 30; i++) {
+            if (ACTIVE.toString().equals(leaseRefresher.createLeaseOwnerToLeaseIndexIfNotExists())) {
+                return;
+            }
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new AssertionError(DynamoDBLeaseRefresher.LEASE_OWNER_TO_LEASE_INDEX_NAME + " did not become active");
+    }
+
     private Lease createDummyLease(final String leaseKey, final String leaseOwner) {
         final Lease lease = new Lease();
         lease.leaseKey(leaseKey);
@@ -973,7 +1381,7 @@ class DynamoDBLeaseRefresherTest {
                         "leaseKey", AttributeValue.builder().s("badLeaseKey").build()))
                 .build();
 
-        dynamoDbAsyncClient.putItem(putItemRequest);
+        dynamoDbAsyncClient.putItem(putItemRequest).join();
     }
 
     @Test
@@ -1,19 +1,24 @@
 package software.amazon.kinesis.leases.dynamodb;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import com.amazonaws.services.dynamodbv2.local.embedded.DynamoDBEmbedded;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.Mock;
@@ -34,11 +39,15 @@ import software.amazon.kinesis.leases.exceptions.ProvisionedThroughputException;
 import software.amazon.kinesis.metrics.NullMetricsFactory;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -71,10 +80,8 @@ class DynamoDBLeaseRenewerTest {
     @Mock
     private ExecutorService mockExecutorService;
 
-    @Mock
-    private Future mockFuture;
-
-    private Callable leaseRenewalCallable;
+    @TempDir
+    Path tempDir;
 
     private final DynamoDbAsyncClient dynamoDbAsyncClient =
             DynamoDBEmbedded.create().dynamoDbAsyncClient();
@@ -135,14 +142,13 @@ class DynamoDBLeaseRenewerTest {
         leaseRefresher.createLeaseIfNotExists(lease);
         leaseRenewer.addLeasesToRenew(ImmutableList.of(lease));
         leaseRenewer.renewLeases();
-        leaseRenewalCallable.call();
         verify(mockLeaseGracefulShutdownCallBack, never()).accept(lease);
 
         leaseRefresher.initiateGracefulLeaseHandoff(lease, "newOwner");
-        leaseRenewalCallable.call();
+        leaseRenewer.renewLeases();
         verify(mockLeaseGracefulShutdownCallBack, times(1)).accept(any());
 
-        leaseRenewalCallable.call();
+        leaseRenewer.renewLeases();
         verify(mockLeaseGracefulShutdownCallBack, times(2)).accept(any());
     }
 
@@ -275,6 +281,138 @@ class DynamoDBLeaseRenewerTest {
         assertEquals(1, leaseRenewer.getCurrentlyHeldLeases().size());
     }
 
+    @Test
+    void updateLease_renewalInFlight_assertUpdateWaitsForRenewal() throws Exception {
+        final DynamoDBLeaseRefresher leaseRefresherMock = mock(DynamoDBLeaseRefresher.class);
+        final CompletableFuture<Boolean> renewal = new CompletableFuture<>();
+        when(leaseRefresherMock.renewLeaseAsync(any())).thenReturn(renewal);
+        when(leaseRefresherMock.updateLease(any())).thenReturn(true);
+        createBatchRenewer(leaseRefresherMock, 0);
+
+        final Lease lease = createDummyLease("key-1", WORKER_ID);
+        leaseRenewer.addLeasesToRenew(ImmutableList.of(lease));
+        final UUID concurrencyToken =
+                leaseRenewer.getCurrentlyHeldLease("key-1").concurrencyToken();
+        final CompletableFuture<Void> renewLeases = CompletableFuture.runAsync(() -> {
+            try {
+                leaseRenewer.renewLeases();
+            } catch (DependencyException | InvalidStateException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        verify(leaseRefresherMock, timeout(5000)).renewLeaseAsync(any());
+
+        final Lease updatedLease = createDummyLease("key-1", WORKER_ID);
+        updatedLease.checkpoint(LATEST);
+        final CompletableFuture<Boolean> update = CompletableFuture.supplyAsync(() -> {
+            try {
+                return leaseRenewer.updateLease(updatedLease, concurrencyToken, "test", "dummyShardId");
+            } catch (DependencyException | InvalidStateException | ProvisionedThroughputException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(200);
+        assertFalse(update.isDone());
+        verify(leaseRefresherMock, never()).updateLease(any());
+
+        renewal.complete(true);
+        assertTrue(update.get(5, TimeUnit.SECONDS));
+        renewLeases.get(5, TimeUnit.SECONDS);
+        assertEquals(LATEST, leaseRenewer.getCurrentlyHeldLease("key-1").checkpoint());
+    }
+
+    @Test
+    void renewLeases_batchedRenewal_assertLeasesRenewedInBatchesAndLostLeaseDropped() throws Exception {
+        final DynamoDBLeaseRefresher leaseRefresherSpy = spy(leaseRefresher);
+        createBatchRenewer(leaseRefresherSpy, 2);
+        final List<Lease> leases = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Lease lease = createDummyLease("key-" + i, WORKER_ID);
+            leaseRefresher.createLeaseIfNotExists(lease);
+            leases.add(lease);
+        }
+        leaseRenewer.addLeasesToRenew(leases);
+        leaseRefresher.takeLease(leases.get(3).copy(), "otherWorker");
+
+        leaseRenewer.renewLeases();
+
+        verify(leaseRefresherSpy, times(3)).batchRenewLeases(any());
+        verify(leaseRefresherSpy, times(1)).renewLeaseAsync(any());
+        final Map<String, Lease> heldLeases = leaseRenewer.getCurrentlyHeldLeases();
+        assertEquals(4, heldLeases.size());
+        assertFalse(heldLeases.containsKey("key-3"));
+        for (Lease heldLease : heldLeases.values()) {
+            assertEquals(124L, heldLease.leaseCounter());
+            assertEquals(124L, leaseRefresher.getLease(heldLease.leaseKey()).leaseCounter());
+        }
+    }
+
+    @Test
+    void renewLeases_batchedRenewalOfShutdownRequestedLease_assertRenewedIndividually() throws Exception {
+        createBatchRenewer(leaseRefresher, 10);
+        final Lease lease = createDummyLease("key-1", WORKER_ID);
+        leaseRefresher.createLeaseIfNotExists(lease);
+        leaseRenewer.addLeasesToRenew(ImmutableList.of(lease));
+        leaseRefresher.initiateGracefulLeaseHandoff(lease.copy(), "newOwner");
+
+        leaseRenewer.renewLeases();
+
+        verify(mockLeaseGracefulShutdownCallBack, times(1)).accept(any());
+        assertEquals(1, leaseRenewer.getCurrentlyHeldLeases().size());
+    }
+
+    @Test
+    void initialize_withLeaseSnapshot_assertSnapshotLeasesReadWithoutScan() throws Exception {
+        final DynamoDBLeaseRefresher leaseRefresherSpy = spy(leaseRefresher);
+        final LeaseSnapshotFile leaseSnapshotFile = new LeaseSnapshotFile(tempDir.resolve("leases"), WORKER_ID);
+        createSnapshotRenewer(leaseRefresherSpy, leaseSnapshotFile);
+        leaseRefresher.createLeaseIfNotExists(createDummyLease("leaseKey1", WORKER_ID));
+        leaseRefresher.createLeaseIfNotExists(createDummyLease("leaseKey2", WORKER_ID));
+        leaseRefresher.createLeaseIfNotExists(createDummyLease("leaseKey3", "leaseOwner2"));
+        leaseSnapshotFile.write(ImmutableList.of("leaseKey1", "leaseKey3", "deletedLeaseKey"));
+
+        leaseRenewer.initialize();
+
+        // leaseKey2 is not in the snapshot, the lease discovery picks it up.
+        assertEquals(
+                ImmutableSet.of("leaseKey1"),
+                leaseRenewer.getCurrentlyHeldLeases().keySet());
+        verify(leaseRefresherSpy, never()).listLeasesParallelyAsync(anyInt());
+    }
+
+    @Test
+    void initialize_noLeaseSnapshot_assertLeaseTableScanned() throws Exception {
+        final DynamoDBLeaseRefresher leaseRefresherSpy = spy(leaseRefresher);
+        createSnapshotRenewer(leaseRefresherSpy, new LeaseSnapshotFile(tempDir.resolve("leases"), WORKER_ID));
+        leaseRefresher.createLeaseIfNotExists(createDummyLease("leaseKey1", WORKER_ID));
+        leaseRefresher.createLeaseIfNotExists(createDummyLease("leaseKey2", "leaseOwner2"));
+
+        leaseRenewer.initialize();
+
+        assertEquals(
+                ImmutableSet.of("leaseKey1"),
+                leaseRenewer.getCurrentlyHeldLeases().keySet());
+        verify(leaseRefresherSpy).listLeasesParallelyAsync(anyInt());
+    }
+
+    @Test
+    void renewLeases_withLeaseSnapshot_assertHeldLeasesWrittenAndKeptOnClear() throws Exception {
+        final LeaseSnapshotFile leaseSnapshotFile = new LeaseSnapshotFile(tempDir.resolve("leases"), WORKER_ID);
+        createSnapshotRenewer(leaseRefresher, leaseSnapshotFile);
+        final Lease lease1 = createDummyLease("key-1", WORKER_ID);
+        final Lease lease2 = createDummyLease("key-2", WORKER_ID);
+        leaseRefresher.createLeaseIfNotExists(lease1);
+        leaseRefresher.createLeaseIfNotExists(lease2);
+        leaseRenewer.addLeasesToRenew(ImmutableList.of(lease1, lease2));
+
+        leaseRenewer.renewLeases();
+        assertEquals(ImmutableSet.of("key-1", "key-2"), leaseSnapshotFile.read().get());
+
+        leaseRenewer.dropLease(lease2);
+        leaseRenewer.clearCurrentlyHeldLeases();
+        assertEquals(ImmutableSet.of("key-1"), leaseSnapshotFile.read().get());
+    }
+
     private void createAndPutBadLeaseEntryInTable() {
         final PutItemRequest putItemRequest = PutItemRequest.builder()
                 .tableName(TEST_LEASE_TABLE)
@@ -282,15 +420,10 @@ class DynamoDBLeaseRenewerTest {
                         "leaseKey", AttributeValue.builder().s("badLeaseKey").build()))
                 .build();
 
-        dynamoDbAsyncClient.putItem(putItemRequest);
+        dynamoDbAsyncClient.putItem(putItemRequest).join();
     }
 
     private void createRenewer(final DynamoDBLeaseRefresher leaseRefresher) throws Exception {
-        when(mockExecutorService.submit(any(Callable.class))).thenAnswer(invocation -> {
-            this.leaseRenewalCallable = (Callable) invocation.getArguments()[0];
-            return mockFuture;
-        });
-        when(mockFuture.get()).thenReturn(false);
         this.leaseRenewer = new DynamoDBLeaseRenewer(
                 leaseRefresher,
                 WORKER_ID,
@@ -303,4 +436,32 @@ class DynamoDBLeaseRenewerTest {
         leaseRefresher.createLeaseTableIfNotExists();
         leaseRefresher.waitUntilLeaseTableExists(1, 30);
     }
+
+    private void createBatchRenewer(final DynamoDBLeaseRefresher leaseRefresher, final int leaseRenewalBatchSize) {
+        this.leaseRenewer = new DynamoDBLeaseRenewer(
+                leaseRefresher,
+                WORKER_ID,
+                Duration.ofHours(1).toMillis(),
+                Executors.newFixedThreadPool(2),
+                new NullMetricsFactory(),
+                leaseStatsRecorder,
+                mockLeaseGracefulShutdownCallBack,
+                1,
+                leaseRenewalBatchSize);
+    }
+
+    private void createSnapshotRenewer(
+            final DynamoDBLeaseRefresher leaseRefresher, final LeaseSnapshotFile leaseSnapshotFile) {
+        this.leaseRenewer = new DynamoDBLeaseRenewer(
+                leaseRefresher,
+                WORKER_ID,
+                Duration.ofHours(1).toMillis(),
+                Executors.newFixedThreadPool(1),
+                new NullMetricsFactory(),
+                leaseStatsRecorder,
+                mockLeaseGracefulShutdownCallBack,
+                1,
+                0,
+                leaseSnapshotFile);
+    }
 }
@@ -204,6 +204,41 @@ class DynamoDBLeaseSerializerTest {
         assertEquals(42L, deserialized.leaseCounter());
     }
 
+    // --- Lease view tests ---
+
+    @Test
+    void leaseViewFromDynamoRecord_projectedRecord_readsOwnershipAttributes() {
+        final Lease original = createMinimalLease("shard-view");
+        original.leaseOwner("test-owner");
+        original.leaseCounter(7L);
+        original.checkpointOwner("previous-owner");
+        original.throughputKBps(12.5);
+        original.checkpoint(new software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber("SHARD_END"));
+        original.pendingCheckpoint(new software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber("1234"));
+        final Map<String, AttributeValue> record = new HashMap<>(serializer.toDynamoRecord(original));
+        record.keySet().retainAll(serializer.getLeaseViewAttributes());
+
+        final Lease view = serializer.leaseViewFromDynamoRecord(record);
+
+        assertNotNull(view);
+        assertEquals("shard-view", view.leaseKey());
+        assertEquals("test-owner", view.leaseOwner());
+        assertEquals(7L, view.leaseCounter());
+        assertEquals("previous-owner", view.checkpointOwner());
+        assertEquals(12.5, view.throughputKBps());
+        assertEquals(original.checkpoint(), view.checkpoint());
+        assertNull(view.pendingCheckpoint());
+        assertTrue(view.parentShardIds().isEmpty());
+    }
+
+    @Test
+    void leaseViewFromDynamoRecord_withWorkerMetricStatsEntityType_returnsNull() {
+        final Map<String, AttributeValue> record = createMinimalDynamoRecord("worker-metrics-key");
+        record.put("entityType", AttributeValue.fromS("WORKER_METRIC_STATS"));
+
+        assertNull(serializer.leaseViewFromDynamoRecord(record));
+    }
+
     @Test
     void entityTypeConstant_matchesLeaseSerializerConstant() {
         assertEquals("entityType", DynamoDBLeaseSerializer.ENTITY_TYPE_ATTRIBUTE_NAME);
@@ -15,6 +15,7 @@
 package software.amazon.kinesis.leases.dynamodb;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +28,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
@@ -43,9 +45,12 @@ import software.amazon.kinesis.leases.exceptions.ProvisionedThroughputException;
 import software.amazon.kinesis.worker.metricstats.WorkerMetricStats;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -218,6 +223,36 @@ class DynamoDBLeaseTableDaoTest {
         assertEquals(1, result.get(EntityType.WORKER_METRIC_STATS).getEntities().size());
     }
 
+    @Test
+    void scanEntities_leasesAndWorkerMetricStats_scanIsProjected()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        setupScanResponse(Collections.singletonList(buildLeaseItem("lease1", "owner1")));
+
+        dao.scanEntities(EntityType.LEASE, EntityType.WORKER_METRIC_STATS);
+
+        final ArgumentCaptor<ScanRequest> captor = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(dynamoDbAsyncClient).scan(captor.capture());
+        final ScanRequest request = captor.getValue();
+        assertNotNull(request.projectionExpression());
+        final Collection<String> projected = request.expressionAttributeNames().values();
+        assertTrue(projected.containsAll(leaseSerializer.getLeaseViewAttributes()));
+        assertTrue(projected.contains("lut"));
+        assertTrue(projected.contains("checkpoint"));
+        assertFalse(projected.contains("pendingCheckpoint"));
+    }
+
+    @Test
+    void scanAllEntities_scanIsNotProjected()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        setupScanResponse(Collections.singletonList(buildLeaseItem("lease1", "owner1")));
+
+        dao.scanAllEntities();
+
+        final ArgumentCaptor<ScanRequest> captor = ArgumentCaptor.forClass(ScanRequest.class);
+        verify(dynamoDbAsyncClient).scan(captor.capture());
+        assertNull(captor.getValue().projectionExpression());
+    }
+
     @Test
     void scanAllEntities_itemWithMissingRequiredFields_recordedAsDeserializationFailure()
             throws DependencyException, InvalidStateException, ProvisionedThroughputException {
@@ -35,11 +35,14 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseRefresher;
+import software.amazon.kinesis.leases.exceptions.DependencyException;
 import software.amazon.kinesis.metrics.MetricsFactory;
 import software.amazon.kinesis.metrics.NullMetricsScope;
 import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -174,6 +177,60 @@ public class DynamoDBLeaseTakerTest {
         assertEquals(expectedOutput, output);
     }
 
+    @Test
+    public void test_takeLeases_takesFullLeaseUnlessUpdatedSinceScan() throws Exception {
+        final Lease leaseView1 = createLeaseView("1");
+        final Lease leaseView2 = createLeaseView("2");
+        final Lease lease1 = createLease(null, "1");
+        final Lease lease2 = createLease("bar", "2");
+        lease2.leaseCounter(1L);
+        when(leaseRefresher.listLeaseViews()).thenReturn(ImmutableList.of(leaseView1, leaseView2));
+        when(leaseRefresher.getLease("1")).thenReturn(lease1);
+        when(leaseRefresher.getLease("2")).thenReturn(lease2);
+        when(leaseRefresher.takeLease(lease1, WORKER_IDENTIFIER)).thenReturn(true);
+        when(metricsFactory.createMetrics()).thenReturn(new NullMetricsScope());
+        when(timeProvider.call()).thenReturn(MOCK_CURRENT_TIME);
+
+        final Map<String, Lease> takenLeases = dynamoDBLeaseTaker.takeLeases(timeProvider);
+
+        assertEquals(Collections.singleton("1"), takenLeases.keySet());
+        assertEquals(
+                new ExtendedSequenceNumber("checkpoint"), takenLeases.get("1").checkpoint());
+        verify(leaseRefresher, never()).takeLease(lease2, WORKER_IDENTIFIER);
+    }
+
+    @Test
+    public void test_allLeases_leaseViewsCached_returnsFullLeases() throws Exception {
+        final Lease leaseView = createLeaseView("1");
+        leaseView.lastCounterIncrementNanos(MOCK_CURRENT_TIME);
+        dynamoDBLeaseTaker.allLeases.put("1", leaseView);
+        final Lease lease = createLease("foo", "1");
+        when(leaseRefresher.batchGetLeases(Collections.singleton("1"))).thenReturn(ImmutableList.of(lease));
+
+        final List<Lease> allLeases = dynamoDBLeaseTaker.allLeases();
+
+        assertEquals(ImmutableList.of(lease), allLeases);
+        assertEquals(Collections.singleton("parentShardId"), allLeases.get(0).parentShardIds());
+        assertEquals(MOCK_CURRENT_TIME, (long) allLeases.get(0).lastCounterIncrementNanos());
+    }
+
+    @Test
+    public void test_allLeases_readFails_returnsLeaseViews() throws Exception {
+        final Lease leaseView = createLeaseView("1");
+        dynamoDBLeaseTaker.allLeases.put("1", leaseView);
+        when(leaseRefresher.batchGetLeases(Collections.singleton("1")))
+                .thenThrow(new DependencyException(new RuntimeException()));
+
+        assertEquals(ImmutableList.of(leaseView), dynamoDBLeaseTaker.allLeases());
+    }
+
+    private Lease createLeaseView(String leaseKey) {
+        final Lease lease = new Lease();
+        lease.leaseKey(leaseKey);
+        lease.leaseCounter(0L);
+        return lease;
+    }
+
     private Lease createLease(String leaseOwner, String leaseKey) {
         final Lease lease = new Lease();
         lease.checkpoint(new ExtendedSequenceNumber("checkpoint"));
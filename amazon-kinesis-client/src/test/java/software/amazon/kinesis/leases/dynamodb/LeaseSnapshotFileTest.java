@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.leases.dynamodb;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class LeaseSnapshotFileTest {
+
+    private static final String WORKER_ID = "WorkerId";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_afterWrite_assertLeaseKeysReturned() {
+        final LeaseSnapshotFile snapshotFile = new LeaseSnapshotFile(tempDir.resolve("leases"), WORKER_ID);
+
+        snapshotFile.write(ImmutableList.of("shardId-1", "shardId-2"));
+        snapshotFile.write(ImmutableList.of("shardId-2", "shardId-3"));
+
+        assertEquals(Optional.of(ImmutableSet.of("shardId-2", "shardId-3")), snapshotFile.read());
+        assertFalse(Files.exists(tempDir.resolve("leases.tmp")));
+    }
+
+    @Test
+    void read_writtenWithoutLeases_assertEmptySetReturned() {
+        final LeaseSnapshotFile snapshotFile = new LeaseSnapshotFile(tempDir.resolve("leases"), WORKER_ID);
+
+        snapshotFile.write(ImmutableList.of());
+
+        assertEquals(Optional.of(ImmutableSet.of()), snapshotFile.read());
+    }
+
+    @Test
+    void read_noSnapshot_assertEmpty() {
+        assertFalse(new LeaseSnapshotFile(tempDir.resolve("leases"), WORKER_ID)
+                .read()
+                .isPresent());
+    }
+
+    @Test
+    void read_writtenByOtherWorker_assertEmpty() {
+        new LeaseSnapshotFile(tempDir.resolve("leases"), "OtherWorkerId").write(ImmutableList.of("shardId-1"));
+
+        assertFalse(new LeaseSnapshotFile(tempDir.resolve("leases"), WORKER_ID)
+                .read()
+                .isPresent());
+    }
+
+    @Test
+    void read_unknownFormat_assertEmpty() throws Exception {
+        Files.write(
+                tempDir.resolve("leases"),
+                ImmutableList.of("kcl-lease-snapshot-v0", WORKER_ID),
+                StandardCharsets.UTF_8);
+
+        assertFalse(new LeaseSnapshotFile(tempDir.resolve("leases"), WORKER_ID)
+                .read()
+                .isPresent());
+    }
+}
@@ -14,13 +14,18 @@
  */
 package software.amazon.kinesis.leases.dynamodb;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
 import software.amazon.awssdk.services.dynamodb.model.TableDescription;
+import software.amazon.kinesis.leases.dynamodb.LeaseTableScanSegmentResolver.SegmentScan;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class LeaseTableScanSegmentResolverTest {
 
@@ -119,4 +124,109 @@ class LeaseTableScanSegmentResolverTest {
         // The DescribeTable result is cached, so the describer is only invoked once.
         assertEquals(1, describeCalls.get());
     }
+
+    @Test
+    void recordScan_slowSegment_splitsSegments() {
+        final LeaseTableScanSegmentResolver resolver =
+                new LeaseTableScanSegmentResolver(0, () -> describeWithSizeBytes(BYTES_PER_GB));
+        assertEquals(5, resolver.resolveTotalSegments());
+
+        resolver.recordScan(5, segments(5, 100, 1000));
+        resolver.recordScan(5, Collections.singletonList(new SegmentScan(1500, 1000, false)));
+
+        assertEquals(10, resolver.resolveTotalSegments());
+    }
+
+    @Test
+    void recordScan_skewedSegment_splitsSegments() {
+        final LeaseTableScanSegmentResolver resolver =
+                new LeaseTableScanSegmentResolver(0, () -> describeWithSizeBytes(BYTES_PER_GB));
+        final List<SegmentScan> segments = segments(4, 50, 1000);
+        segments.add(new SegmentScan(400, 8000, false));
+
+        resolver.recordScan(resolver.resolveTotalSegments(), segments);
+
+        assertEquals(10, resolver.resolveTotalSegments());
+    }
+
+    @Test
+    void recordScan_throttledSegment_mergesSegments() {
+        final LeaseTableScanSegmentResolver resolver =
+                new LeaseTableScanSegmentResolver(0, () -> describeWithSizeBytes(BYTES_PER_GB));
+        final List<SegmentScan> segments = segments(4, 50, 1000);
+        segments.add(new SegmentScan(50, 10, true));
+
+        resolver.recordScan(resolver.resolveTotalSegments(), segments);
+
+        assertEquals(2, resolver.resolveTotalSegments());
+    }
+
+    @Test
+    void recordScan_fastScans_mergeSegmentsDownToTableSizeSegments() {
+        final LeaseTableScanSegmentResolver resolver =
+                new LeaseTableScanSegmentResolver(0, () -> describeWithSizeBytes(BYTES_PER_GB));
+        assertEquals(5, resolver.resolveTotalSegments());
+        resolver.recordScan(5, segments(5, 2000, 1000));
+        assertEquals(10, resolver.resolveTotalSegments());
+
+        resolver.recordScan(10, segments(10, 50, 500));
+        assertEquals(5, resolver.resolveTotalSegments());
+        resolver.recordScan(5, segments(5, 50, 1000));
+        assertEquals(5, resolver.resolveTotalSegments());
+    }
+
+    @Test
+    void recordScan_scanWithOutdatedPlan_isIgnored() {
+        final LeaseTableScanSegmentResolver resolver =
+                new LeaseTableScanSegmentResolver(0, () -> describeWithSizeBytes(BYTES_PER_GB));
+
+        resolver.recordScan(3, segments(3, 5000, 1000));
+
+        assertEquals(5, resolver.resolveTotalSegments());
+    }
+
+    @Test
+    void recordScan_configuredSegments_areNotAdapted() {
+        final LeaseTableScanSegmentResolver resolver =
+                new LeaseTableScanSegmentResolver(4, () -> describeWithSizeBytes(BYTES_PER_GB));
+
+        resolver.recordScan(4, segments(4, 5000, 1000));
+
+        assertEquals(4, resolver.resolveTotalSegments());
+    }
+
+    /**
+     * Simulates scans of a table of 50k leases of 500 bytes each, which is sized for a single segment, with every
+     * page of 1MB taking 100ms. The plan should converge to segments that are scanned inside the target latency.
+     */
+    @Test
+    void recordScan_largeLeaseTable_convergesWithinTargetLatency() {
+        final int leases = 50_000;
+        final int leasesPerPage = 2_000;
+        final long pageLatencyMillis = 100;
+        final LeaseTableScanSegmentResolver resolver =
+                new LeaseTableScanSegmentResolver(0, () -> describeWithSizeBytes(leases * 500L));
+        assertEquals(1, resolver.resolveTotalSegments());
+
+        long scanLatencyMillis = 0;
+        for (int scan = 0; scan < 10; scan++) {
+            final int totalSegments = resolver.resolveTotalSegments();
+            final int leasesPerSegment = (leases + totalSegments - 1) / totalSegments;
+            final long segmentLatencyMillis =
+                    pageLatencyMillis * ((leasesPerSegment + leasesPerPage - 1) / leasesPerPage);
+            scanLatencyMillis = segmentLatencyMillis;
+            resolver.recordScan(totalSegments, segments(totalSegments, segmentLatencyMillis, leasesPerSegment));
+        }
+
+        assertTrue(scanLatencyMillis <= LeaseTableScanSegmentResolver.TARGET_SEGMENT_SCAN_LATENCY.toMillis());
+        assertTrue(resolver.resolveTotalSegments() > 1);
+    }
+
+    private static List<SegmentScan> segments(final int count, final long latencyMillis, final int itemCount) {
+        final List<SegmentScan> segments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            segments.add(new SegmentScan(latencyMillis, itemCount, false));
+        }
+        return segments;
+    }
 }
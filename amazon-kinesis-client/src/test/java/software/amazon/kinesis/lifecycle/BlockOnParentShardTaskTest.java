@@ -15,12 +15,19 @@
 package software.amazon.kinesis.lifecycle;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
+import software.amazon.kinesis.exceptions.internal.BlockedOnParentShardException;
 import software.amazon.kinesis.leases.Lease;
 import software.amazon.kinesis.leases.LeaseRefresher;
+import software.amazon.kinesis.leases.ParentShardCompletionRegistry;
 import software.amazon.kinesis.leases.ShardInfo;
 import software.amazon.kinesis.leases.exceptions.DependencyException;
 import software.amazon.kinesis.leases.exceptions.InvalidStateException;
@@ -28,9 +35,14 @@ import software.amazon.kinesis.leases.exceptions.ProvisionedThroughputException;
 import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -271,6 +283,108 @@ public class BlockOnParentShardTaskTest {
         assertNull(result.getException());
     }
 
+    /**
+     * Test call() returns as soon as the parent shard completes on this worker instead of sleeping for the poll
+     * interval.
+     */
+    @Test
+    public final void testCallWakesUpWhenParentShardCompletes() throws Exception {
+        final long pollIntervalMillis = TimeUnit.SECONDS.toMillis(30);
+        final String parentShardId = "shardId-1";
+        final ShardInfo shardInfo = new ShardInfo(
+                shardId,
+                concurrencyToken,
+                Collections.singletonList(parentShardId),
+                ExtendedSequenceNumber.TRIM_HORIZON);
+        final Lease parentLease = new Lease();
+        parentLease.checkpoint(new ExtendedSequenceNumber("98182584034"));
+        final LeaseRefresher leaseRefresher = mock(LeaseRefresher.class);
+        when(leaseRefresher.getLease(parentShardId)).thenReturn(parentLease);
+        final ParentShardCompletionRegistry registry = new ParentShardCompletionRegistry();
+
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            executor.schedule(() -> registry.markCompleted(parentShardId), 100, TimeUnit.MILLISECONDS);
+            final long startMillis = System.currentTimeMillis();
+            final TaskResult result =
+                    new BlockOnParentShardTask(shardInfo, leaseRefresher, pollIntervalMillis, registry).call();
+            assertTrue(result.getException() instanceof BlockedOnParentShardException);
+            assertTrue(System.currentTimeMillis() - startMillis < pollIntervalMillis);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // The parent shard is known to be completed, so it is not read again.
+        final TaskResult result =
+                new BlockOnParentShardTask(shardInfo, leaseRefresher, pollIntervalMillis, registry).call();
+        assertNull(result.getException());
+        verify(leaseRefresher, times(1)).getLease(parentShardId);
+    }
+
+    /**
+     * Test call() shares the reads of a parent shard with the other children of the parent shard.
+     */
+    @Test
+    public final void testCallSharesParentShardReadsAcrossChildren() throws Exception {
+        final String parentShardId = "shardId-1";
+        final Lease parentLease = new Lease();
+        parentLease.checkpoint(new ExtendedSequenceNumber("98182584034"));
+        final LeaseRefresher leaseRefresher = mock(LeaseRefresher.class);
+        when(leaseRefresher.getLease(parentShardId)).thenReturn(parentLease);
+        final ParentShardCompletionRegistry registry = new ParentShardCompletionRegistry();
+
+        final long pollIntervalMillis = TimeUnit.SECONDS.toMillis(30);
+        final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+        try {
+            // The first child reads the parent shard and waits on it.
+            final Future<TaskResult> firstChildResult = executor.submit(new BlockOnParentShardTask(
+                    childShardInfo("shardId-2", parentShardId), leaseRefresher, pollIntervalMillis, registry)::call);
+            verify(leaseRefresher, timeout(5000)).getLease(parentShardId);
+
+            // The second child waits on the parent shard without reading it.
+            executor.schedule(() -> registry.markCompleted(parentShardId), 100, TimeUnit.MILLISECONDS);
+            final TaskResult secondChildResult = new BlockOnParentShardTask(
+                            childShardInfo("shardId-3", parentShardId), leaseRefresher, pollIntervalMillis, registry)
+                    .call();
+            assertTrue(secondChildResult.getException() instanceof BlockedOnParentShardException);
+            assertNotNull(firstChildResult.get(5, TimeUnit.SECONDS).getException());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(leaseRefresher, times(1)).getLease(parentShardId);
+    }
+
+    /**
+     * Test call() forgets the parent shard once it stops waiting on it without the parent shard completing, e.g. when
+     * the lease of the child shard moves to another worker afterwards.
+     */
+    @Test
+    public final void testCallForgetsParentShardAfterWaitTimesOut() throws Exception {
+        final String parentShardId = "shardId-1";
+        final Lease parentLease = new Lease();
+        parentLease.checkpoint(new ExtendedSequenceNumber("98182584034"));
+        final LeaseRefresher leaseRefresher = mock(LeaseRefresher.class);
+        when(leaseRefresher.getLease(parentShardId)).thenReturn(parentLease);
+        final ParentShardCompletionRegistry registry = new ParentShardCompletionRegistry();
+        final long startMillis = System.currentTimeMillis();
+
+        final TaskResult result = new BlockOnParentShardTask(
+                        childShardInfo("shardId-2", parentShardId), leaseRefresher, 10L, registry)
+                .call();
+
+        assertTrue(result.getException() instanceof BlockedOnParentShardException);
+        assertFalse(registry.wasInProgressSince(parentShardId, startMillis));
+        assertFalse(registry.isCompleted(parentShardId));
+    }
+
+    private ShardInfo childShardInfo(final String childShardId, final String parentShardId) {
+        return new ShardInfo(
+                childShardId,
+                concurrencyToken,
+                Collections.singletonList(parentShardId),
+                ExtendedSequenceNumber.TRIM_HORIZON);
+    }
+
     /**
      * Test to verify we return the right task type.
      */
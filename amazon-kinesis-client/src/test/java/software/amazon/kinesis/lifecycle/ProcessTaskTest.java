@@ -47,6 +47,7 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
 import software.amazon.awssdk.services.kinesis.model.ChildShard;
 import software.amazon.awssdk.services.kinesis.model.HashKeyRange;
 import software.amazon.awssdk.services.kinesis.model.Shard;
@@ -55,6 +56,9 @@ import software.amazon.kinesis.leases.LeaseStatsRecorder;
 import software.amazon.kinesis.leases.ShardDetector;
 import software.amazon.kinesis.leases.ShardInfo;
 import software.amazon.kinesis.lifecycle.events.ProcessRecordsInput;
+import software.amazon.kinesis.metrics.MetricsFactory;
+import software.amazon.kinesis.metrics.MetricsLevel;
+import software.amazon.kinesis.metrics.MetricsScope;
 import software.amazon.kinesis.metrics.NullMetricsFactory;
 import software.amazon.kinesis.processor.Checkpointer;
 import software.amazon.kinesis.processor.ShardRecordProcessor;
@@ -75,8 +79,11 @@ import static org.hamcrest.beans.HasPropertyWithValue.hasProperty;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -120,6 +127,8 @@ public class ProcessTaskTest {
     @Mock
     private LeaseStatsRecorder leaseStatsRecorder;
 
+    private MetricsFactory metricsFactory = new NullMetricsFactory();
+
     private ProcessTask processTask;
 
     @Before
@@ -176,7 +185,7 @@ public class ProcessTaskTest {
                 shouldCallProcessRecordsEvenForEmptyRecordList,
                 IDLE_TIME_IN_MILLISECONDS,
                 aggregatorUtil,
-                new NullMetricsFactory(),
+                metricsFactory,
                 schemaRegistryDecoder,
                 leaseStatsRecorder);
     }
@@ -258,6 +267,42 @@ public class ProcessTaskTest {
         assertEquals(0, outcome.getCheckpointCall().subSequenceNumber());
     }
 
+    @Test
+    public void testNoMetricsWorkDoneWhenMetricsDisabled() {
+        final MetricsScope scope = mock(MetricsScope.class);
+        metricsFactory = mock(MetricsFactory.class);
+        when(metricsFactory.isEnabled(any(MetricsLevel.class))).thenReturn(false);
+        // Lenient as the scope is expected to stay unused.
+        lenient().when(metricsFactory.createMetrics()).thenReturn(scope);
+        final BigInteger sqn = new BigInteger(128, new Random());
+        final List<KinesisClientRecord> records =
+                generateConsecutiveRecords(3, "pk", ByteBuffer.wrap(TEST_DATA), new Date(), sqn);
+
+        testWithRecords(records, ExtendedSequenceNumber.TRIM_HORIZON, ExtendedSequenceNumber.TRIM_HORIZON);
+
+        verify(metricsFactory, never()).createMetrics();
+        verifyNoInteractions(scope);
+        // Lease stats do not depend on metrics and are still recorded.
+        verify(leaseStatsRecorder).recordStats(anyString(), eq(3L * TEST_DATA.length));
+    }
+
+    @Test
+    public void testDataBytesProcessedEmittedOncePerBatch() {
+        final MetricsScope scope = mock(MetricsScope.class);
+        metricsFactory = mock(MetricsFactory.class);
+        when(metricsFactory.isEnabled(any(MetricsLevel.class))).thenReturn(true);
+        when(metricsFactory.createMetrics()).thenReturn(scope);
+        final BigInteger sqn = new BigInteger(128, new Random());
+        final List<KinesisClientRecord> records =
+                generateConsecutiveRecords(3, "pk", ByteBuffer.wrap(TEST_DATA), new Date(), sqn);
+
+        testWithRecords(records, ExtendedSequenceNumber.TRIM_HORIZON, ExtendedSequenceNumber.TRIM_HORIZON);
+
+        verify(scope).addData("DataBytesProcessed", 0, StandardUnit.BYTES, MetricsLevel.SUMMARY);
+        verify(scope).addData("DataBytesProcessed", 3 * TEST_DATA.length, StandardUnit.BYTES, MetricsLevel.SUMMARY);
+        verify(leaseStatsRecorder).recordStats(anyString(), eq(3L * TEST_DATA.length));
+    }
+
     @Data
     static class ShardRecordProcessorOutcome {
         final ProcessRecordsInput processRecordsCall;
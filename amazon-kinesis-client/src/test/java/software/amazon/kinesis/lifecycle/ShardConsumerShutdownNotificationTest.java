@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.lifecycle;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.kinesis.leases.Lease;
+import software.amazon.kinesis.leases.LeaseCoordinator;
+import software.amazon.kinesis.leases.LeaseRefresher;
+import software.amazon.kinesis.leases.exceptions.DependencyException;
+import software.amazon.kinesis.metrics.NullMetricsFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShardConsumerShutdownNotificationTest {
+    private final LeaseCoordinator leaseCoordinator = mock(LeaseCoordinator.class);
+    private final LeaseRefresher leaseRefresher = mock(LeaseRefresher.class);
+    private final CountDownLatch notificationCompleteLatch = new CountDownLatch(1);
+    private final CountDownLatch shutdownCompleteLatch = new CountDownLatch(1);
+    private final Lease lease = new Lease();
+
+    @BeforeEach
+    void setup() {
+        lease.leaseKey("shardId-0");
+        lease.leaseOwner("worker");
+        when(leaseCoordinator.leaseRefresher()).thenReturn(leaseRefresher);
+    }
+
+    @Test
+    void shutdownNotificationComplete_releaseLease_assertLeaseDroppedAndEvicted() throws Exception {
+        final ShardConsumerShutdownNotification notification = notification(true);
+        assertFalse(notification.isNotificationComplete());
+
+        notification.shutdownNotificationComplete();
+
+        assertTrue(notification.isNotificationComplete());
+        assertEquals(0, notificationCompleteLatch.getCount());
+        verify(leaseCoordinator).dropLease(lease);
+        verify(leaseRefresher).evictLease(lease);
+    }
+
+    @Test
+    void shutdownNotificationComplete_releaseFails_assertNotificationStillCompleted() throws Exception {
+        when(leaseRefresher.evictLease(lease)).thenThrow(new DependencyException(new RuntimeException()));
+
+        notification(true).shutdownNotificationComplete();
+
+        assertEquals(0, notificationCompleteLatch.getCount());
+        verify(leaseCoordinator).dropLease(lease);
+    }
+
+    @Test
+    void shutdownNotificationComplete_noRelease_assertLeaseOnlyDropped() throws Exception {
+        notification(false).shutdownNotificationComplete();
+
+        verify(leaseCoordinator).dropLease(lease);
+        verify(leaseRefresher, never()).evictLease(lease);
+    }
+
+    private ShardConsumerShutdownNotification notification(final boolean releaseLease) {
+        return new ShardConsumerShutdownNotification(
+                leaseCoordinator,
+                lease,
+                notificationCompleteLatch,
+                shutdownCompleteLatch,
+                releaseLease,
+                new NullMetricsFactory());
+    }
+}
@@ -195,6 +195,25 @@ public class ShutdownTaskTest {
         verify(leaseCleanupManager).enqueueForDeletion(any(LeasePendingDeletion.class));
     }
 
+    /**
+     * Test method for {@link ShutdownTask#call()}.
+     * This test is for the scenario that the worker inherits the child leases it creates at Shard End.
+     */
+    @Test
+    public final void testCallWhenTrueShardEndInheritsCreatedChildLeases()
+            throws DependencyException, InvalidStateException, ProvisionedThroughputException {
+        when(leaseCoordinator.inheritChildLease(any(Lease.class))).thenReturn(true);
+        // The lease of the second child shard got created meanwhile.
+        when(leaseRefresher.createLeaseIfNotExists(any(Lease.class))).thenReturn(true, false);
+
+        final TaskResult result = task.call();
+
+        assertNull(result.getException());
+        verify(leaseCoordinator, times(2)).inheritChildLease(any(Lease.class));
+        verify(leaseCoordinator, times(1)).addInheritedChildLease(any(Lease.class));
+        verify(leaseCleanupManager).enqueueForDeletion(any(LeasePendingDeletion.class));
+    }
+
     /**
      * Tests the scenario when one, but not both, parent shards are accessible.
      * This test should drop the lease so another worker can make an attempt.
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static software.amazon.kinesis.worker.metric.WorkerMetricsTestUtils.writeLineToFile;
+
+class StatFileReaderTest {
+
+    @Test
+    void read_multipleLines_assertTokensParsed(final @TempDir Path tempDir) throws IOException {
+        final File file = new File(tempDir.toAbsolutePath() + "/stat");
+        writeLineToFile(file, "cpu  10 20 -30\n  eth0:40 50\teth1: 60\n");
+        final StatFileReader reader = new StatFileReader(file.getAbsolutePath());
+
+        reader.read();
+        assertTrue(reader.nextTokenEquals(StatFileReader.token("cpu")));
+        assertEquals(10L, reader.nextLong());
+        reader.skipToken();
+        assertEquals(-30L, reader.nextLong());
+
+        assertTrue(reader.findLine(StatFileReader.token("eth0:")));
+        assertEquals(40L, reader.nextLong());
+        assertEquals(50L, reader.nextLong());
+        assertFalse(reader.nextLine());
+    }
+
+    @Test
+    void findLine_missingPrefix_assertFalse(final @TempDir Path tempDir) throws IOException {
+        final File file = new File(tempDir.toAbsolutePath() + "/stat");
+        writeLineToFile(file, "lo: 1\neth0: 2\n");
+        final StatFileReader reader = new StatFileReader(file.getAbsolutePath());
+
+        reader.read();
+        assertFalse(reader.findLine(StatFileReader.token("eth1:")));
+    }
+
+    @Test
+    void read_fileRewritten_assertNewContentRead(final @TempDir Path tempDir) throws IOException {
+        final File file = new File(tempDir.toAbsolutePath() + "/stat");
+        final StatFileReader reader = new StatFileReader(file.getAbsolutePath());
+
+        writeLineToFile(file, "usage_usec 123456789");
+        reader.read();
+        assertTrue(reader.nextTokenEquals(StatFileReader.token("usage_usec")));
+        assertEquals(123456789L, reader.nextLong());
+
+        writeLineToFile(file, "usage_usec 7");
+        reader.read();
+        assertTrue(reader.nextTokenEquals(StatFileReader.token("usage_usec")));
+        assertEquals(7L, reader.nextLong());
+    }
+
+    @Test
+    void nextLong_notANumber_assertIllegalArgumentException(final @TempDir Path tempDir) throws IOException {
+        final File file = new File(tempDir.toAbsolutePath() + "/stat");
+        writeLineToFile(file, "max 100000");
+        final StatFileReader reader = new StatFileReader(file.getAbsolutePath());
+
+        reader.read();
+        assertThrows(IllegalArgumentException.class, reader::nextLong);
+        assertFalse(reader.nextTokenEquals(StatFileReader.token("ma")));
+        assertTrue(reader.nextTokenEquals(StatFileReader.token("max")));
+        assertEquals(100000L, reader.nextLong());
+    }
+
+    @Test
+    void read_fileNotFound_assertIllegalArgumentException(final @TempDir Path tempDir) {
+        final StatFileReader reader = new StatFileReader(tempDir.toAbsolutePath() + "/randomPath");
+        assertThrows(IllegalArgumentException.class, reader::read);
+    }
+
+    @Test
+    void read_procStatKeptOpen_assertCpuLineReadEveryTime() {
+        assumeTrue(new File("/proc/stat").exists());
+        try (StatFileReader reader = new StatFileReader("/proc/stat")) {
+            for (int i = 0; i < 3; i++) {
+                reader.read();
+                assertTrue(reader.nextTokenEquals(StatFileReader.token("cpu")));
+                assertTrue(reader.nextLong() >= 0);
+            }
+        }
+    }
+}
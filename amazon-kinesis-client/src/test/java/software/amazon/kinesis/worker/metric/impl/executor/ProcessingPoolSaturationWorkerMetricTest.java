@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.worker.metric.impl.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.kinesis.worker.metric.OperatingRange;
+import software.amazon.kinesis.worker.metric.WorkerMetricType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessingPoolSaturationWorkerMetricTest {
+
+    private static final OperatingRange TEST_OPERATING_RANGE =
+            OperatingRange.builder().maxUtilization(100).build();
+
+    @Test
+    void capture_activeAndQueuedTasks_assertPercentageOfCapacity() {
+        final ThreadPoolExecutor executor = mock(ThreadPoolExecutor.class);
+        final BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(10);
+        queue.add(() -> {});
+        when(executor.getActiveCount()).thenReturn(2, 8);
+        when(executor.getQueue()).thenReturn(queue);
+        final ProcessingPoolSaturationWorkerMetric workerMetric =
+                new ProcessingPoolSaturationWorkerMetric(TEST_OPERATING_RANGE, executor, 4);
+
+        assertEquals(75D, workerMetric.capture().getValue());
+        // More tasks in flight than the capacity.
+        assertEquals(100D, workerMetric.capture().getValue());
+
+        assertEquals(WorkerMetricType.PROCESSING_POOL_SATURATION, workerMetric.getWorkerMetricType());
+        assertEquals(WorkerMetricType.PROCESSING_POOL_SATURATION.getShortName(), workerMetric.getShortName());
+    }
+
+    @Test
+    void create_capacityAsZero_assertIllegalArgumentException() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ProcessingPoolSaturationWorkerMetric(
+                        TEST_OPERATING_RANGE, mock(ThreadPoolExecutor.class), 0));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.worker.metric.impl.jmx;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+import software.amazon.kinesis.worker.metric.OperatingRange;
+import software.amazon.kinesis.worker.metric.WorkerMetricType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AllocationRateWorkerMetricTest {
+
+    private static final OperatingRange TEST_OPERATING_RANGE =
+            OperatingRange.builder().maxUtilization(100).build();
+    private static final long ONE_MB = 1024 * 1024;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final Stopwatch stopwatch = Stopwatch.createUnstarted(new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    });
+
+    @Test
+    void capture_allocatedBytesIncreased_assertPercentageOfMaxRate() {
+        final AllocationRateWorkerMetric allocationRateWorkerMetric =
+                new AllocationRateWorkerMetric(TEST_OPERATING_RANGE, 100, allocatedBytes::get, stopwatch);
+
+        allocatedBytes.set(10 * ONE_MB);
+        // First request so expects the value to be 0.
+        assertEquals(0D, allocationRateWorkerMetric.capture().getValue());
+
+        // 50 MB in 2 seconds is 25 MBps, a quarter of the max rate.
+        allocatedBytes.addAndGet(50 * ONE_MB);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(25D, allocationRateWorkerMetric.capture().getValue(), 0.001);
+
+        // Threads that allocated terminated.
+        allocatedBytes.set(ONE_MB);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0D, allocationRateWorkerMetric.capture().getValue());
+    }
+
+    @Test
+    void capture_configuredMaxLessThanAllocationRate_assert100Percent() {
+        final AllocationRateWorkerMetric allocationRateWorkerMetric =
+                new AllocationRateWorkerMetric(TEST_OPERATING_RANGE, 1, allocatedBytes::get, stopwatch);
+
+        allocationRateWorkerMetric.capture();
+        allocatedBytes.addAndGet(10 * ONE_MB);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(100D, allocationRateWorkerMetric.capture().getValue());
+    }
+
+    @Test
+    void create_maxAllocationRateAsZero_assertIllegalArgumentException() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new AllocationRateWorkerMetric(TEST_OPERATING_RANGE, 0, allocatedBytes::get, stopwatch));
+    }
+
+    @Test
+    void capture_sanity() {
+        final AllocationRateWorkerMetric allocationRateWorkerMetric =
+                new AllocationRateWorkerMetric(TEST_OPERATING_RANGE, 1024);
+
+        assertNotNull(allocationRateWorkerMetric.capture().getValue());
+        assertNotNull(allocationRateWorkerMetric.capture().getValue());
+
+        assertEquals(WorkerMetricType.ALLOCATION_RATE, allocationRateWorkerMetric.getWorkerMetricType());
+        assertEquals(WorkerMetricType.ALLOCATION_RATE.getShortName(), allocationRateWorkerMetric.getShortName());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.worker.metric.impl.jmx;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Ticker;
+import org.junit.jupiter.api.Test;
+import software.amazon.kinesis.worker.metric.OperatingRange;
+import software.amazon.kinesis.worker.metric.WorkerMetricType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GcPauseWorkerMetricTest {
+
+    private static final OperatingRange TEST_OPERATING_RANGE =
+            OperatingRange.builder().maxUtilization(100).build();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Stopwatch stopwatch = Stopwatch.createUnstarted(new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    });
+
+    @Test
+    void capture_collectionTimeOfAllCollectors_assertPercentageOfElapsedTime() {
+        final GarbageCollectorMXBean young = mock(GarbageCollectorMXBean.class);
+        final GarbageCollectorMXBean old = mock(GarbageCollectorMXBean.class);
+        // The old collector does not report its collection time.
+        when(young.getCollectionTime()).thenReturn(1000L, 1150L, 1150L);
+        when(old.getCollectionTime()).thenReturn(-1L);
+        final GcPauseWorkerMetric gcPauseWorkerMetric =
+                new GcPauseWorkerMetric(TEST_OPERATING_RANGE, Arrays.asList(young, old), stopwatch);
+
+        // First request so expects the value to be 0.
+        assertEquals(0D, gcPauseWorkerMetric.capture().getValue());
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        // 150 ms of GC in 1 second.
+        assertEquals(15D, gcPauseWorkerMetric.capture().getValue(), 0.001);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0D, gcPauseWorkerMetric.capture().getValue());
+    }
+
+    @Test
+    void capture_collectionLongerThanElapsedTime_assert100Percent() {
+        final GarbageCollectorMXBean collector = mock(GarbageCollectorMXBean.class);
+        when(collector.getCollectionTime()).thenReturn(0L, 2000L);
+        final GcPauseWorkerMetric gcPauseWorkerMetric =
+                new GcPauseWorkerMetric(TEST_OPERATING_RANGE, Arrays.asList(collector), stopwatch);
+
+        gcPauseWorkerMetric.capture();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(100D, gcPauseWorkerMetric.capture().getValue());
+    }
+
+    @Test
+    void capture_sanity() {
+        final GcPauseWorkerMetric gcPauseWorkerMetric = new GcPauseWorkerMetric(TEST_OPERATING_RANGE);
+
+        assertNotNull(gcPauseWorkerMetric.capture().getValue());
+        assertNotNull(gcPauseWorkerMetric.capture().getValue());
+
+        assertEquals(WorkerMetricType.GC_PAUSE, gcPauseWorkerMetric.getWorkerMetricType());
+        assertEquals(WorkerMetricType.GC_PAUSE.getShortName(), gcPauseWorkerMetric.getShortName());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package software.amazon.kinesis.worker.metricstats;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkerMetricStatsCodecTest {
+
+    private static final long LAST_UPDATE_TIME = 1_700_000_000L;
+
+    @Test
+    void decode_encodedEntry_assertValuesRoundTrip() {
+        final WorkerMetricStats workerMetricStats = createWorkerMetricStats();
+
+        final WorkerMetricStatsCodec.Decoded decoded = WorkerMetricStatsCodec.decode(
+                WorkerMetricStatsCodec.encode(workerMetricStats).asByteBuffer());
+
+        assertEquals(LAST_UPDATE_TIME, decoded.lastUpdateTime());
+        assertEquals(workerMetricStats.getMetricStats(), decoded.metricStats());
+        assertEquals(workerMetricStats.getOperatingRange(), decoded.operatingRange());
+    }
+
+    @Test
+    void decode_valuesWithMorePrecision_assertQuantizedToHundredths() {
+        final WorkerMetricStats workerMetricStats = createWorkerMetricStats();
+        workerMetricStats.setMetricStats(ImmutableMap.of("C", ImmutableList.of(12.3456D, 99.999D)));
+
+        final WorkerMetricStatsCodec.Decoded decoded = WorkerMetricStatsCodec.decode(
+                WorkerMetricStatsCodec.encode(workerMetricStats).asByteBuffer());
+
+        assertEquals(ImmutableList.of(12.35D, 100D), decoded.metricStats().get("C"));
+    }
+
+    @Test
+    void encode_stableValues_assertOneBytePerDelta() {
+        final WorkerMetricStats workerMetricStats = createWorkerMetricStats();
+        final Double[] values = new Double[10];
+        Arrays.fill(values, 55.5D);
+        workerMetricStats.setMetricStats(ImmutableMap.of("C", Arrays.asList(values)));
+        workerMetricStats.setOperatingRange(Collections.emptyMap());
+
+        // Version and lastUpdateTime take 6 bytes, counts and name 5, the first value 2 and each of the 9 deltas 1.
+        assertEquals(22, WorkerMetricStatsCodec.encode(workerMetricStats).asByteArray().length);
+    }
+
+    @Test
+    void decode_unknownSchemaVersion_assertIllegalArgumentException() {
+        final byte[] encoded =
+                WorkerMetricStatsCodec.encode(createWorkerMetricStats()).asByteArray();
+        encoded[0] = WorkerMetricStatsCodec.SCHEMA_VERSION + 1;
+
+        assertThrows(IllegalArgumentException.class, () -> WorkerMetricStatsCodec.decode(ByteBuffer.wrap(encoded)));
+    }
+
+    @Test
+    void decode_truncated_assertIllegalArgumentException() {
+        final byte[] encoded =
+                WorkerMetricStatsCodec.encode(createWorkerMetricStats()).asByteArray();
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> WorkerMetricStatsCodec.decode(ByteBuffer.wrap(encoded, 0, encoded.length - 1)));
+    }
+
+    @Test
+    void decodeCompactStats_compactEntry_assertMapsRestored() {
+        final WorkerMetricStats workerMetricStats = createWorkerMetricStats();
+        final WorkerMetricStats compactEntry = WorkerMetricStatsCodec.toCompactEntry(workerMetricStats);
+        assertTrue(compactEntry.isUsingDefaultWorkerMetric());
+
+        compactEntry.decodeCompactStats();
+
+        assertEquals(workerMetricStats.getMetricStats(), compactEntry.getMetricStats());
+        assertEquals(workerMetricStats.getOperatingRange(), compactEntry.getOperatingRange());
+        assertEquals(50.3D, compactEntry.getMetricStat("C"), 0.01D);
+    }
+
+    @Test
+    void decodeCompactStats_encodedWithOlderLastUpdateTime_assertIgnored() {
+        final WorkerMetricStats workerMetricStats = createWorkerMetricStats();
+        workerMetricStats.setCompactStats(WorkerMetricStatsCodec.encode(workerMetricStats));
+        workerMetricStats.setLastUpdateTime(LAST_UPDATE_TIME + 30);
+        workerMetricStats.setMetricStats(ImmutableMap.of("C", ImmutableList.of(1D)));
+
+        workerMetricStats.decodeCompactStats();
+
+        assertEquals(ImmutableMap.of("C", ImmutableList.of(1D)), workerMetricStats.getMetricStats());
+    }
+
+    @Test
+    void decodeCompactStats_malformed_assertMapsUnchanged() {
+        final WorkerMetricStats workerMetricStats = createWorkerMetricStats();
+        workerMetricStats.setCompactStats(SdkBytes.fromByteArray(new byte[] {WorkerMetricStatsCodec.SCHEMA_VERSION}));
+
+        workerMetricStats.decodeCompactStats();
+
+        assertEquals(
+                ImmutableList.of(50D, 51.5D, -1D),
+                workerMetricStats.getMetricStats().get("C"));
+    }
+
+    @Test
+    void decodeCompactStats_noCompactStats_assertNoop() {
+        final WorkerMetricStats workerMetricStats = createWorkerMetricStats();
+
+        workerMetricStats.decodeCompactStats();
+
+        assertNull(workerMetricStats.getCompactStats());
+        assertEquals(
+                ImmutableList.of(100L), workerMetricStats.getOperatingRange().get("C"));
+    }
+
+    private static WorkerMetricStats createWorkerMetricStats() {
+        return WorkerMetricStats.builder()
+                .workerId("worker")
+                .lastUpdateTime(LAST_UPDATE_TIME)
+                .metricStats(ImmutableMap.of("C", ImmutableList.of(50D, 51.5D, -1D), "M", ImmutableList.of(20D)))
+                .operatingRange(ImmutableMap.of("C", ImmutableList.of(100L), "M", ImmutableList.of(80L, 10L)))
+                .build();
+    }
+}
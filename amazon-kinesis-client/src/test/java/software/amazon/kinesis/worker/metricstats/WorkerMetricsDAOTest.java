@@ -30,6 +30,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -60,6 +61,13 @@ class WorkerMetricsDAOTest {
 
     private WorkerMetricStatsDAO setUp(
             final WorkerMetricsTableConfig workerMetricsTableConfig, final DynamoDbAsyncClient dynamoDbAsyncClient) {
+        return setUp(workerMetricsTableConfig, dynamoDbAsyncClient, false);
+    }
+
+    private WorkerMetricStatsDAO setUp(
+            final WorkerMetricsTableConfig workerMetricsTableConfig,
+            final DynamoDbAsyncClient dynamoDbAsyncClient,
+            final boolean compactEncoding) {
         final TableMigrationStatusProvider statusProvider = mock(TableMigrationStatusProvider.class);
         when(statusProvider.getTableMigrationStatus()).thenReturn(TableMigrationStatus.TABLE_MIGRATION_STATUS_COMPLETE);
         when(statusProvider.dynamicModeChangeSupportNeeded()).thenReturn(true);
@@ -68,7 +76,8 @@ class WorkerMetricsDAOTest {
                 workerMetricsTableConfig,
                 TEST_WORKER_METRICS_TABLE,
                 TEST_REPORTER_FREQ_MILLIS,
-                statusProvider);
+                statusProvider,
+                compactEncoding);
         assertDoesNotThrow(dao::initialize);
         return dao;
     }
@@ -113,6 +122,26 @@ class WorkerMetricsDAOTest {
                 "ResourcesStats attribute is equal wanted unequal");
     }
 
+    @Test
+    void updateStats_compactEncoding_assertMapsClearedAndDecodedOnRead() throws Exception {
+        workerMetricsTable.createTable().join();
+        this.workerMetricsDAO = setUp(new WorkerMetricsTableConfig(null), dynamoDbAsyncClient, true);
+        final WorkerMetricStats workerMetrics = createDummyWorkerMetrics(TEST_WORKER_ID);
+        workerMetrics.setOperatingRange(ImmutableMap.of("C", ImmutableList.of(100L)));
+        workerMetricsDAO.updateMetrics(workerMetrics);
+
+        final WorkerMetricStats stored = getWorkerMetricFromTable(TEST_WORKER_ID);
+        assertTrue(stored.getMetricStats().isEmpty());
+        assertTrue(stored.getOperatingRange().isEmpty());
+        assertNotNull(stored.getCompactStats());
+
+        final List<WorkerMetricStats> workerMetricStats = workerMetricsDAO.getAllWorkerMetricStats();
+        assertEquals(1, workerMetricStats.size());
+        assertEquals(workerMetrics.getMetricStats(), workerMetricStats.get(0).getMetricStats());
+        assertEquals(workerMetrics.getOperatingRange(), workerMetricStats.get(0).getOperatingRange());
+        assertTrue(workerMetricStats.get(0).isValidWorkerMetric());
+    }
+
     @Test
     void updateStats_withEmptyStatValue_throwIllegalArgumentException() {
         setUp();
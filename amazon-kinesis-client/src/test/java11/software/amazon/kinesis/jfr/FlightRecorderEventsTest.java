@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Amazon.com, Inc. or its affiliates.
+ * Licensed under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package software.amazon.kinesis.jfr;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.kinesis.leases.Lease;
+import software.amazon.kinesis.leases.ShardInfo;
+import software.amazon.kinesis.retrieval.kpl.ExtendedSequenceNumber;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlightRecorderEventsTest {
+
+    private static final String CHECKPOINT_EVENT = "software.amazon.kinesis.Checkpoint";
+    private static final String LEASE_TAKE_EVENT = "software.amazon.kinesis.LeaseTake";
+    private static final String PROCESS_RECORDS_EVENT = "software.amazon.kinesis.ProcessRecords";
+    private static final String STATE_TRANSITION_EVENT = "software.amazon.kinesis.ShardConsumerStateTransition";
+    private static final String LEASE_RENEWAL_EVENT = "software.amazon.kinesis.LeaseRenewal";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void beginCheckpoint_noRecording_assertNoEvent() {
+        assertNull(FlightRecorderEvents.beginCheckpoint());
+        // Completing an event that was never begun is a no-op.
+        FlightRecorderEvents.checkpoint(null, "shardId-0", ExtendedSequenceNumber.TRIM_HORIZON, true);
+    }
+
+    @Test
+    void checkpoint_recording_assertEventSpansOperation() throws Exception {
+        final List<RecordedEvent> events = record(CHECKPOINT_EVENT, () -> {
+            final TimedEvent event = FlightRecorderEvents.beginCheckpoint();
+            Thread.sleep(50);
+            FlightRecorderEvents.checkpoint(event, "shardId-0", new ExtendedSequenceNumber("1234", 5L), true);
+        });
+
+        assertEquals(1, events.size());
+        final RecordedEvent event = events.get(0);
+        assertEquals("shardId-0", event.getString("leaseKey"));
+        assertEquals(new ExtendedSequenceNumber("1234", 5L).toString(), event.getString("checkpoint"));
+        assertTrue(event.getBoolean("success"));
+        assertTrue(event.getDuration().compareTo(Duration.ofMillis(50)) >= 0, "Duration " + event.getDuration());
+        assertTrue(event.getStartTime().isBefore(event.getEndTime()));
+    }
+
+    @Test
+    void beginRenewLease_eventTypeDisabled_assertNoEvent() {
+        try (Recording recording = new Recording()) {
+            recording.disable(LEASE_RENEWAL_EVENT);
+            recording.start();
+
+            assertNull(FlightRecorderEvents.beginRenewLease());
+            FlightRecorderEvents.renewLease(null, createLease(), true);
+        }
+    }
+
+    @Test
+    void renewLease_recording_assertLeaseRecorded() throws Exception {
+        final List<RecordedEvent> events = record(LEASE_RENEWAL_EVENT, () -> {
+            final TimedEvent event = FlightRecorderEvents.beginRenewLease();
+            FlightRecorderEvents.renewLease(event, createLease(), false);
+        });
+
+        assertEquals(1, events.size());
+        assertEquals("shardId-0", events.get(0).getString("leaseKey"));
+        assertEquals(7L, events.get(0).getLong("leaseCounter"));
+        assertFalse(events.get(0).getBoolean("renewed"));
+    }
+
+    @Test
+    void takeLease_recording_assertPreviousOwnerRecorded() throws Exception {
+        final List<RecordedEvent> events = record(LEASE_TAKE_EVENT, () -> {
+            final TimedEvent event = FlightRecorderEvents.beginTakeLease();
+            FlightRecorderEvents.takeLease(event, createLease(), "otherWorker", true, true);
+        });
+
+        assertEquals(1, events.size());
+        assertEquals("otherWorker", events.get(0).getString("previousOwner"));
+        assertTrue(events.get(0).getBoolean("steal"));
+        assertTrue(events.get(0).getBoolean("taken"));
+    }
+
+    @Test
+    void processRecords_recording_assertShardAndSizesRecorded() throws Exception {
+        final ShardInfo shardInfo =
+                new ShardInfo("shardId-0", "token", Collections.emptySet(), ExtendedSequenceNumber.LATEST);
+        final List<RecordedEvent> events = record(PROCESS_RECORDS_EVENT, () -> {
+            final TimedEvent event = FlightRecorderEvents.beginProcessRecords();
+            FlightRecorderEvents.processRecords(event, shardInfo, 10, 2048L, false);
+        });
+
+        assertEquals(1, events.size());
+        assertEquals("shardId-0", events.get(0).getString("shardId"));
+        assertEquals(10, events.get(0).getInt("recordCount"));
+        assertEquals(2048L, events.get(0).getLong("bytes"));
+        assertFalse(events.get(0).getBoolean("success"));
+    }
+
+    @Test
+    void shardConsumerStateTransition_recording_assertStatesRecorded() throws Exception {
+        final ShardInfo shardInfo =
+                new ShardInfo("shardId-0", "token", Collections.emptySet(), ExtendedSequenceNumber.LATEST);
+        final List<RecordedEvent> events = record(
+                STATE_TRANSITION_EVENT,
+                () -> FlightRecorderEvents.shardConsumerStateTransition(shardInfo, "INITIALIZING", "PROCESSING"));
+
+        assertEquals(1, events.size());
+        assertEquals("INITIALIZING", events.get(0).getString("previousState"));
+        assertEquals("PROCESSING", events.get(0).getString("nextState"));
+    }
+
+    @FunctionalInterface
+    private interface RecordedAction {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs the action while a recording with the given event type enabled is running, and returns the events of
+     * that type that were recorded.
+     */
+    private List<RecordedEvent> record(final String eventName, final RecordedAction action) throws Exception {
+        final Path file = tempDir.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .collect(Collectors.toList());
+    }
+
+    private static Lease createLease() {
+        final Lease lease = new Lease();
+        lease.leaseKey("shardId-0");
+        lease.leaseCounter(7L);
+        return lease;
+    }
+}